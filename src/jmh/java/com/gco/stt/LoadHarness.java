@@ -0,0 +1,254 @@
+package com.gco.stt;
+
+import com.gco.stt.config.SpeechClientFactory;
+import com.gco.stt.config.SpeechTransportSettings;
+import com.gco.stt.metrics.GrpcClientMetricsInterceptor;
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.SpeechClient;
+import com.google.cloud.speech.v2.SpeechRecognitionAlternative;
+import com.google.cloud.speech.v2.SpeechRecognitionResult;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전체 HTTP 경로 부하 테스트 (로컬 FakeSpeechServer를 upstream으로 사용, 네트워크/자격 증명 불필요)
+ *
+ * - 실제 애플리케이션을 임의 포트로 띄우고 SpeechClient만 가짜 서버에 연결 (업로드 → 정규화/VAD → recognize → JSON 응답)
+ * - load.concurrency개 가상 스레드가 응답을 받자마자 다음 요청을 보내는 closed-loop 부하
+ * - 요청마다 오디오 샘플 하나를 바꿔 결과 캐시를 우회 (load.unique=false면 같은 오디오 → 캐시 적중 경로)
+ * - 워밍업 이후 구간의 처리량(req/s), 지연 백분위수, 상태 코드 분포, upstream 호출 수/최대 동시 호출 수 출력
+ *
+ * 설정 (-P로 전달, 괄호는 기본값):
+ * - load.endpoint (/api/speech/upload), load.concurrency (64)
+ * - load.duration (30s), load.warmup (5s)
+ * - load.latency (50ms): 가짜 서버의 recognize 응답 지연
+ * - load.audio (1s): 업로드할 16 kHz 모노 WAV 길이
+ * - load.unique (true)
+ *
+ * 실행: ./gradlew loadTest -Pload.concurrency=128 -Pload.latency=200ms
+ */
+public class LoadHarness {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final String BOUNDARY = "stt-load-harness";
+
+    private static FakeSpeechServer server;  // FakeUpstream 설정이 참조
+
+    public static void main(String[] args) throws Exception {
+        String endpoint = System.getProperty("load.endpoint", "/api/speech/upload");
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        Duration duration = duration("load.duration", "30s");
+        Duration warmup = duration("load.warmup", "5s");
+        Duration latency = duration("load.latency", "50ms");
+        Duration audio = duration("load.audio", "1s");
+        boolean unique = Boolean.parseBoolean(System.getProperty("load.unique", "true"));
+
+        server = FakeSpeechServer.start();
+        server.setRecognizeDelay(latency);
+        server.setRecognizeResponse(RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .setLanguageCode("ko-kr")
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder()
+                                .setTranscript("부하 테스트 응답")
+                                .setConfidence(0.9f)))
+                .build());
+        Path workDir = Files.createTempDirectory("stt-load");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SttApplication.class, FakeUpstream.class)
+                .properties(Map.of(
+                        "server.port", "0",
+                        "google.cloud.credentials.json", "unused",
+                        "gcp.failover-locations", "",
+                        "stt.rate-limit.enabled", "false",
+                        "stt.batch.store-dir", workDir.resolve("batch").toString(),
+                        "stt.upload.spool-dir", workDir.resolve("spool").toString(),
+                        "logging.level.com.gco.stt", "WARN"))
+                .run();
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + endpoint);
+            System.out.printf("%nendpoint=%s concurrency=%d duration=%s warmup=%s upstream latency=%s audio=%s unique=%s%n",
+                    endpoint, concurrency, duration, warmup, latency, audio, unique);
+            run(uri, concurrency, warmup, duration, wav(audio), unique);
+        } finally {
+            context.close();
+            server.close();
+        }
+    }
+
+    /**
+     * 부하 실행 및 결과 출력
+     */
+    private static void run(URI uri, int concurrency, Duration warmup, Duration duration,
+                            byte[] wav, boolean unique) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        AtomicLong sequence = new AtomicLong();
+        LongAdder failures = new LongAdder();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        int callsBefore = -1;
+
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        byte[] body = multipart(wav, unique ? sequence.incrementAndGet() : 0);
+                        long sent = now;
+                        int status;
+                        try {
+                            status = client.send(HttpRequest.newBuilder(uri)
+                                            .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                                            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                                            .build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        long received = System.nanoTime();
+                        if (sent < measureFrom) {
+                            continue;  // 워밍업 구간은 기록하지 않음
+                        }
+                        if (status == -1) {
+                            failures.increment();
+                        } else {
+                            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = received - sent;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+            callsBefore = server.recognizeCount();
+        }
+
+        long[] all = workers.stream().map(LoadHarness::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = duration.toNanos() / 1e9;
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        System.out.printf("requests=%d (connection errors=%d) throughput=%.1f req/s%n",
+                all.length, failures.sum(), all.length / seconds);
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0.0 : all[all.length - 1] / 1e6);
+        System.out.printf("status=%s%n", statusCounts);
+        System.out.printf("upstream recognize calls=%d max concurrent=%d%n",
+                server.recognizeCount() - callsBefore, server.maxRunningRecognizes());
+    }
+
+    /**
+     * 가짜 upstream 연결: 기본/장애 조치 리전 클라이언트를 모두 FakeSpeechServer에 연결 (채널 풀/재시도 설정은 그대로 적용)
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class FakeUpstream {
+
+        @Bean
+        @Primary
+        SpeechClientFactory fakeSpeechClientFactory(GrpcClientMetricsInterceptor metricsInterceptor,
+                                                    SpeechTransportSettings transportSettings) {
+            return new SpeechClientFactory("", metricsInterceptor, transportSettings) {
+                @Override
+                public SpeechClient create(String location) throws IOException {
+                    return server.newClient(transportSettings);
+                }
+            };
+        }
+    }
+
+    /**
+     * 440 Hz 톤으로 채운 16 kHz 모노 16-bit WAV
+     */
+    private static byte[] wav(Duration length) {
+        int samples = (int) (SAMPLE_RATE * length.toMillis() / 1000);
+        int dataLength = samples * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + dataLength)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        buffer.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) 1)
+                .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16);
+        buffer.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataLength);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (8_000 * Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE)));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * audio 파트 하나짜리 multipart 본문 (variant != 0이면 마지막 샘플을 바꿔 내용 해시를 다르게 함)
+     */
+    private static byte[] multipart(byte[] wav, long variant) {
+        byte[] audio = wav;
+        if (variant != 0) {
+            audio = wav.clone();
+            audio[audio.length - 2] = (byte) variant;
+            audio[audio.length - 1] = (byte) (variant >>> 8);
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream(audio.length + 256);
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"audio\"; filename=\"load.wav\"\r\n"
+                + "Content-Type: audio/wav\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(audio);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    private static long[] join(Future<long[]> worker) {
+        try {
+            return worker.get();
+        } catch (Exception e) {
+            throw new IllegalStateException("부하 작업 실패", e);
+        }
+    }
+}
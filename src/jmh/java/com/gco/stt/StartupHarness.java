@@ -0,0 +1,168 @@
+package com.gco.stt;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 애플리케이션 시작 시간 측정 (일반 JVM / Spring AOT / AOT + AppCDS)
+ *
+ * - cdsArchive 작업이 추출한 jar(build/cds)를 별도 프로세스로 여러 번 실행
+ * - 프로세스 시작부터 /actuator/health가 200을 반환할 때까지(트래픽을 받을 수 있는 시점)의 시간 측정
+ * - Spring이 기록하는 "Started SttApplication in X seconds" 값도 함께 출력
+ * - 자격 증명/네트워크 불필요 (SpeechClient는 지연 생성, 워밍업 비활성)
+ *
+ * 설정 (-P로 전달, 괄호는 기본값):
+ * - startup.runs (5): 모드별 실행 횟수
+ * - startup.modes (jvm,aot,cds)
+ * - startup.timeout (60s): 실행 하나의 최대 대기 시간
+ * - startup.dir, startup.jar: 추출된 jar 위치 (Gradle 작업이 지정)
+ *
+ * 실행: ./gradlew startupTime -Pstartup.runs=10
+ */
+public class StartupHarness {
+
+    private static final Pattern PORT = Pattern.compile("Tomcat started on port (\\d+)");
+    private static final Pattern STARTED = Pattern.compile("Started SttApplication in ([\\d.]+) seconds");
+
+    private static final Map<String, List<String>> MODES = new LinkedHashMap<>();
+
+    static {
+        MODES.put("jvm", List.of());
+        MODES.put("aot", List.of("-Dspring.aot.enabled=true"));
+        MODES.put("cds", List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"));
+    }
+
+    /**
+     * 실행 한 번의 결과
+     * @param readyMillis 프로세스 시작부터 health 응답까지 (ms)
+     * @param springSeconds Spring이 기록한 컨텍스트 시작 시간 (초)
+     */
+    private record Run(long readyMillis, double springSeconds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        File dir = new File(System.getProperty("startup.dir", "build/cds"));
+        String jar = System.getProperty("startup.jar", "stt-0.0.1-SNAPSHOT.jar");
+        int runs = Integer.getInteger("startup.runs", 5);
+        List<String> modes = Arrays.asList(System.getProperty("startup.modes", "jvm,aot,cds").split(","));
+        Duration timeout = DurationStyle.detectAndParse(System.getProperty("startup.timeout", "60s"));
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        System.out.printf("%njar=%s runs=%d modes=%s%n", new File(dir, jar), runs, modes);
+        for (String mode : modes) {
+            List<String> flags = MODES.get(mode.trim());
+            if (flags == null) {
+                throw new IllegalArgumentException("알 수 없는 모드: " + mode + " (jvm, aot, cds)");
+            }
+            if (mode.trim().equals("cds") && !new File(dir, "application.jsa").exists()) {
+                System.out.printf("%-4s 건너뜀: application.jsa 없음 (./gradlew cdsArchive)%n", mode);
+                continue;
+            }
+            List<Run> results = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                results.add(start(java, flags, dir, jar, timeout));
+            }
+            long[] ready = results.stream().mapToLong(Run::readyMillis).sorted().toArray();
+            double[] spring = results.stream().mapToDouble(Run::springSeconds).sorted().toArray();
+            System.out.printf("%-4s ready median=%dms min=%dms max=%dms | spring median=%.3fs%n",
+                    mode.trim(), ready[ready.length / 2], ready[0], ready[ready.length - 1], spring[spring.length / 2]);
+        }
+    }
+
+    /**
+     * 애플리케이션을 한 번 실행하고 health 응답까지 대기한 뒤 종료
+     */
+    private static Run start(String java, List<String> flags, File dir, String jar, Duration timeout) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(flags);
+        command.addAll(List.of("-jar", jar,
+                "--server.port=0",
+                "--google.cloud.credentials.json=unused",
+                "--stt.warmup.enabled=false",
+                "--stt.adaptation.file="));
+
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(dir).redirectErrorStream(true).start();
+        try {
+            CompletableFuture<Integer> port = new CompletableFuture<>();
+            CompletableFuture<Double> started = new CompletableFuture<>();
+            Thread.ofVirtual().start(() -> readLog(process, port, started));
+
+            int localPort = port.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            awaitHealthy(URI.create("http://localhost:" + localPort + "/actuator/health"), startNanos, timeout);
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return new Run(readyMillis, started.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * 로그에서 포트와 시작 시간을 읽음 (프로세스가 먼저 끝나면 실패로 완료)
+     */
+    private static void readLog(Process process, CompletableFuture<Integer> port, CompletableFuture<Double> started) {
+        List<String> tail = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (tail.size() == 20) {
+                    tail.remove(0);
+                }
+                tail.add(line);
+                Matcher portMatcher = PORT.matcher(line);
+                if (portMatcher.find()) {
+                    port.complete(Integer.parseInt(portMatcher.group(1)));
+                }
+                Matcher startedMatcher = STARTED.matcher(line);
+                if (startedMatcher.find()) {
+                    started.complete(Double.parseDouble(startedMatcher.group(1)));
+                }
+            }
+        } catch (IOException e) {
+            // 프로세스 종료 시 스트림이 닫힘
+        }
+        IllegalStateException exited = new IllegalStateException("애플리케이션이 시작 전에 종료됨:\n" + String.join("\n", tail));
+        port.completeExceptionally(exited);
+        started.completeExceptionally(exited);
+    }
+
+    private static void awaitHealthy(URI health, long startNanos, Duration timeout) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).build();
+        while (System.nanoTime() - startNanos < timeout.toNanos()) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // 아직 연결을 받지 않음
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("health 응답 대기 시간 초과: " + health);
+    }
+}
@@ -0,0 +1,137 @@
+package com.gco.stt.audio;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 파일 → ByteString 변환 벤치마크
+ *
+ * - copyThroughBytes: 기존 방식 (getBytes() → ByteString.copyFrom())
+ * - ingest: AudioIngestor (크기에 맞춘 배열로 한 번 읽고 복사 없이 감쌈)
+ * - spoolAndMap: AudioIngestor.ingest (스풀 파일에 저장 후 메모리 매핑, 요청당 할당량이 파일 크기와 무관)
+ *
+ * gc 프로파일러의 gc.alloc.rate.norm(B/op)으로 요청당 할당량을 비교합니다.
+ * 실행: ./gradlew jmh -PjmhIncludes=AudioIngestion
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AudioIngestionBenchmark {
+
+    @Param({"65536", "1048576", "10485760"})
+    private int payloadBytes;
+
+    @Param({"memory", "disk"})
+    private String storage;  // multipart 파트 저장 위치 (file-size-threshold 기준)
+
+    private MultipartFile audioFile;
+    private Path tempFile;
+    private final AudioIngestor ingestor = new AudioIngestor();
+    private AudioIngestor spoolingIngestor;
+    private Path spoolDir;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] payload = new byte[payloadBytes];
+        ThreadLocalRandom.current().nextBytes(payload);
+        if ("disk".equals(storage)) {
+            tempFile = Files.createTempFile("ingest-bench", ".webm");
+            Files.write(tempFile, payload);
+            audioFile = new PartLikeMultipartFile(payloadBytes, () -> Files.newInputStream(tempFile));
+        } else {
+            audioFile = new PartLikeMultipartFile(payloadBytes, () -> new ByteArrayInputStream(payload));
+        }
+        spoolDir = Files.createTempDirectory("ingest-bench-spool");
+        spoolingIngestor = new AudioIngestor(spoolDir.toString(), DataSize.ofBytes(0));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (tempFile != null) {
+            Files.deleteIfExists(tempFile);
+        }
+        Files.deleteIfExists(spoolDir);
+    }
+
+    @Benchmark
+    public ByteString copyThroughBytes() throws IOException {
+        return ByteString.copyFrom(audioFile.getBytes());
+    }
+
+    @Benchmark
+    public ByteString ingest() throws IOException {
+        return ingestor.read(audioFile);
+    }
+
+    @Benchmark
+    public byte spoolAndMap() throws IOException {
+        try (AudioIngestor.Upload upload = spoolingIngestor.ingest(audioFile)) {
+            return upload.content().byteAt(upload.content().size() - 1);  // 매핑된 내용 접근
+        }
+    }
+
+    private interface StreamSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Servlet Part 기반 MultipartFile과 같은 방식으로 동작하는 테스트용 구현
+     * (getBytes()가 스트림을 끝까지 읽어 새 배열로 복사)
+     */
+    private record PartLikeMultipartFile(long size, StreamSource source) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "audio";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "recording.webm";
+        }
+
+        @Override
+        public String getContentType() {
+            return "audio/webm";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return FileCopyUtils.copyToByteArray(getInputStream());
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return source.open();
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            try (InputStream in = getInputStream()) {
+                Files.copy(in, dest.toPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.gco.stt.audio;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오디오 정규화(AudioNormalizer) 처리량 벤치마크
+ *
+ * 10초 분량의 WAV 하나를 16 kHz 모노 LINEAR16으로 변환하는 시간을 단일 스레드로 측정합니다.
+ * 결과(ops/s) × 10 = 코어 하나가 초당 처리할 수 있는 오디오 시간(초) → 인스턴스 크기 산정에 사용
+ * 실행: ./gradlew jmh -PjmhIncludes=AudioNormalization
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class AudioNormalizationBenchmark {
+
+    private static final int SECONDS = 10;
+
+    @Param({"16000", "44100", "48000"})
+    private int sampleRate;
+
+    @Param({"1", "2"})
+    private int channels;
+
+    private ByteString wav;
+    private final AudioNormalizer normalizer = new AudioNormalizer(true, 16000, true);
+
+    @Setup
+    public void setUp() {
+        // 음성과 비슷하게 톤 + 잡음, 앞뒤 1초는 무음
+        Random random = new Random(42);
+        int frames = sampleRate * SECONDS;
+        int dataBytes = frames * channels * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes()).putInt(36 + dataBytes).put("WAVE".getBytes());
+        buffer.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) channels)
+                .putInt(sampleRate).putInt(sampleRate * channels * 2).putShort((short) (channels * 2)).putShort((short) 16);
+        buffer.put("data".getBytes()).putInt(dataBytes);
+        for (int i = 0; i < frames; i++) {
+            boolean voiced = i >= sampleRate && i < frames - sampleRate;
+            double value = voiced ? Math.sin(2 * Math.PI * 220 * i / sampleRate) * 0.3 + random.nextGaussian() * 0.05 : 0;
+            for (int channel = 0; channel < channels; channel++) {
+                buffer.putShort((short) (value * 32767));
+            }
+        }
+
+        wav = ByteString.copyFrom(buffer.array());
+    }
+
+    @Benchmark
+    public ByteString normalize() {
+        return normalizer.normalize(wav).content();
+    }
+}
@@ -0,0 +1,58 @@
+package com.gco.stt.config;
+
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.cloud.speech.v2.RecognizeRequest;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.SpeechClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC 채널 풀 크기별 recognize 처리량 벤치마크 (로컬 FakeSpeechServer 대상)
+ *
+ * - 서버는 연결당 동시 스트림 수를 제한하고(실제 서버의 MAX_CONCURRENT_STREAMS 재현) 응답마다 지연을 둠
+ * - 64개 스레드가 동시에 recognize를 호출하므로, 채널이 적으면 스트림 한도에서 대기(head-of-line)하고
+ *   채널이 늘어날수록 처리량이 (연결 수 × 연결당 한도 / 응답 지연)까지 증가
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ChannelPool
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class ChannelPoolBenchmark {
+
+    private static final int STREAMS_PER_CONNECTION = 16;
+    private static final Duration RECOGNIZE_DELAY = Duration.ofMillis(10);
+
+    @Param({"1", "2", "4", "8"})
+    private int poolSize;
+
+    private FakeSpeechServer server;
+    private SpeechClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = FakeSpeechServer.start(STREAMS_PER_CONNECTION);
+        server.setRecognizeDelay(RECOGNIZE_DELAY);
+        client = server.newClient(new SpeechTransportSettings(poolSize, false, 1, poolSize, 50,
+                Duration.ofSeconds(60), Duration.ofSeconds(10), DataSize.ofMegabytes(32), 0,
+                Duration.ofSeconds(30), 1, Duration.ofMillis(200),
+                Duration.ofSeconds(10), 1, Duration.ofMillis(100)));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public RecognizeResponse recognize() {
+        return client.recognize(RecognizeRequest.getDefaultInstance());
+    }
+}
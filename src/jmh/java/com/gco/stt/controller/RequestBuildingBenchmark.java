@@ -0,0 +1,97 @@
+package com.gco.stt.controller;
+
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * recognize 요청 생성 벤치마크 (업로드 컨트롤러의 요청 구성 단계)
+ *
+ * - buildPerRequest: 요청마다 RecognitionConfig 빌더 + String.format으로 recognizer 경로 생성 (TranscriptionService 도입 전 방식)
+ * - buildFromTemplate: 미리 만든 설정/경로를 재사용하고 요청별 기능(N-best, 단어 시각)만 반영
+ *   (TranscriptionService는 여기에 더해 (디코딩, 기능) 조합별 완성된 설정을 캐시하므로 설정 생성 비용도 없음)
+ * - marshal: gRPC 전송 직전의 protobuf 직렬화 (오디오 크기에 비례하는 실제 복사 비용)
+ *
+ * 오디오는 ByteString을 그대로 참조하므로 생성 비용은 크기와 무관해야 하고, 크기에 따른 차이는 marshal에서만 나타나야 합니다.
+ * gc 프로파일러의 gc.alloc.rate.norm(B/op)으로 요청당 할당량을 비교합니다.
+ * 실행: ./gradlew jmh -PjmhIncludes=RequestBuilding
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RequestBuildingBenchmark {
+
+    private static final String PROJECT_ID = "test-project";
+    private static final String LOCATION = "global";
+
+    @Param({"16384", "262144", "1048576"})
+    private int payloadBytes;
+
+    @Param({"1", "5"})
+    private int maxAlternatives;
+
+    @Param({"false", "true"})
+    private boolean wordTimings;
+
+    private ByteString content;
+    private RecognitionConfig configTemplate;
+    private String recognizerTemplate;
+    private RecognizeRequest built;
+
+    @Setup
+    public void setUp() {
+        byte[] payload = new byte[payloadBytes];
+        ThreadLocalRandom.current().nextBytes(payload);
+        content = ByteString.copyFrom(payload);
+        configTemplate = RecognitionConfig.newBuilder()
+                .setAutoDecodingConfig(AutoDetectDecodingConfig.getDefaultInstance())
+                .addLanguageCodes("ko-KR")
+                .setModel("long")
+                .build();
+        recognizerTemplate = String.format("projects/%s/locations/%s/recognizers/_", PROJECT_ID, LOCATION);
+        built = buildPerRequest();
+    }
+
+    @Benchmark
+    public RecognizeRequest buildPerRequest() {
+        RecognitionConfig config = RecognitionConfig.newBuilder()
+                .setAutoDecodingConfig(AutoDetectDecodingConfig.newBuilder().build())
+                .addLanguageCodes("ko-KR")
+                .setModel("long")
+                .setFeatures(RecognitionFeatures.newBuilder()
+                        .setMaxAlternatives(Math.max(1, Math.min(maxAlternatives, 30)))
+                        .setEnableWordTimeOffsets(wordTimings)
+                        .setEnableWordConfidence(wordTimings)
+                        .build())
+                .build();
+        return RecognizeRequest.newBuilder()
+                .setConfig(config)
+                .setContent(content)
+                .setRecognizer(String.format("projects/%s/locations/%s/recognizers/_", PROJECT_ID, LOCATION))
+                .build();
+    }
+
+    @Benchmark
+    public RecognizeRequest buildFromTemplate() {
+        return RecognizeRequest.newBuilder()
+                .setConfig(configTemplate.toBuilder()
+                        .setFeatures(RecognitionFeatures.newBuilder()
+                                .setMaxAlternatives(maxAlternatives)
+                                .setEnableWordTimeOffsets(wordTimings)
+                                .setEnableWordConfidence(wordTimings)))
+                .setContent(content)
+                .setRecognizer(recognizerTemplate)
+                .build();
+    }
+
+    @Benchmark
+    public int marshal() throws IOException {
+        built.writeTo(OutputStream.nullOutputStream());
+        return built.getSerializedSize();
+    }
+}
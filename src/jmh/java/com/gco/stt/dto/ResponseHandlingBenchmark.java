@@ -0,0 +1,98 @@
+package com.gco.stt.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.SpeechRecognitionAlternative;
+import com.google.cloud.speech.v2.SpeechRecognitionResult;
+import com.google.cloud.speech.v2.WordInfo;
+import com.google.protobuf.Duration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * recognize 응답 처리 벤치마크 (응답 변환 + JSON 직렬화)
+ *
+ * - extract: SpeechResponse.from (결과 순회, 전체 텍스트 이어붙이기, 구간/후보/단어 목록 생성)
+ * - serialize: Jackson으로 응답 스트림에 기록 (Spring MVC와 같은 설정의 ObjectMapper, 출력은 버림)
+ * - extractAndSerialize: 컨트롤러 응답 경로 전체
+ *
+ * 결과 수(발화 구간)와 단어 시각 포함 여부에 따라 ops/s와 gc.alloc.rate.norm(B/op)을 비교합니다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ResponseHandling
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseHandlingBenchmark {
+
+    private static final int WORDS_PER_RESULT = 12;
+
+    @Param({"1", "10", "100"})
+    private int results;
+
+    @Param({"1", "3"})
+    private int alternatives;
+
+    @Param({"false", "true"})
+    private boolean wordTimings;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private RecognizeResponse response;
+    private SpeechResponse extracted;
+
+    @Setup
+    public void setUp() {
+        RecognizeResponse.Builder builder = RecognizeResponse.newBuilder();
+        for (int i = 0; i < results; i++) {
+            SpeechRecognitionResult.Builder result = SpeechRecognitionResult.newBuilder()
+                    .setLanguageCode("ko-kr")
+                    .setResultEndOffset(offset((i + 1) * 5_000L));
+            for (int a = 0; a < alternatives; a++) {
+                SpeechRecognitionAlternative.Builder alternative = SpeechRecognitionAlternative.newBuilder()
+                        .setConfidence(0.9f - a * 0.1f);
+                StringBuilder transcript = new StringBuilder();
+                for (int w = 0; w < WORDS_PER_RESULT; w++) {
+                    String word = "단어" + i + "_" + w;
+                    transcript.append(w == 0 ? "" : " ").append(word);
+                    if (wordTimings && a == 0) {
+                        long start = i * 5_000L + w * 400L;
+                        alternative.addWords(WordInfo.newBuilder()
+                                .setWord(word)
+                                .setStartOffset(offset(start))
+                                .setEndOffset(offset(start + 350))
+                                .setConfidence(0.8f));
+                    }
+                }
+                result.addAlternatives(alternative.setTranscript(transcript.toString()));
+            }
+            builder.addResults(result);
+        }
+        response = builder.build();
+        extracted = SpeechResponse.from(response);
+    }
+
+    @Benchmark
+    public SpeechResponse extract() {
+        return SpeechResponse.from(response);
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), extracted);
+    }
+
+    @Benchmark
+    public void extractAndSerialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), SpeechResponse.from(response));
+    }
+
+    private static Duration offset(long millis) {
+        return Duration.newBuilder()
+                .setSeconds(millis / 1000)
+                .setNanos((int) (millis % 1000) * 1_000_000)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.gco.stt.service;
+
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter;
+import com.gco.stt.cache.TranscriptCache;
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 짧은 음성 마이크로 배치 유무별 recognize 처리량/지연 벤치마크 (로컬 FakeSpeechServer 대상)
+ *
+ * - 64개 스레드가 0.5초짜리 LINEAR16 음성을 동시에 인식 요청 (서버 응답 지연 20ms)
+ * - 서버는 무음이 아닌 구간마다 단어 하나를 단어 시각과 함께 반환 (묶음 응답 분리 재현)
+ * - Throughput: 초당 처리한 음성 수, SampleTime: 음성별 응답 시간 분포 (p99 = max-delay만큼의 추가 지연 확인)
+ * - 종료 시 음성 하나당 실제 recognize 호출 수(RPC/clip)를 출력 (batched=true면 약 1/max-batch-size)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=MicroBatch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class MicroBatchBenchmark {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final Duration RECOGNIZE_DELAY = Duration.ofMillis(20);
+
+    @Param({"false", "true"})
+    private boolean batched;
+
+    private FakeSpeechServer server;
+    private SpeechClient client;
+    private RegionRouter router;
+    private RecognizeBatcher batcher;
+    private RecognizeRequest request;
+    private final LongAdder clips = new LongAdder();
+
+    @Setup
+    public void setUp() throws IOException {
+        server = FakeSpeechServer.start();
+        server.setRecognizeDelay(RECOGNIZE_DELAY);
+        server.setRecognizeHandler(MicroBatchBenchmark::wordPerVoicedRegion);
+        client = server.newClient();
+
+        LinkedHashMap<String, SpeechClient> clients = new LinkedHashMap<>();
+        clients.put("global", client);
+        router = new RegionRouter(clients, 0.2, false, Duration.ofSeconds(2), Duration.ofMillis(100), Duration.ofHours(1));
+        TranscriptCache cache = new TranscriptCache(false, DataSize.ofMegabytes(1), "");
+        AsyncRecognizer asyncRecognizer = new AsyncRecognizer(router, new RecognizerRegistry(router, Duration.ofSeconds(10)),
+                cache, new AdaptiveConcurrencyLimiter(1000, 1000, 1000, 1.0, 1000.0), Duration.ofSeconds(30));
+        batcher = new RecognizeBatcher(asyncRecognizer, cache, batched, 8, Duration.ofMillis(10),
+                Duration.ofSeconds(3), Duration.ofSeconds(1));
+        request = clip(Duration.ofMillis(500));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        System.out.printf("%nbatched=%s: RPC/clip = %.3f (%d RPCs / %d clips)%n", batched,
+                (double) server.recognizeCount() / Math.max(1, clips.sum()), server.recognizeCount(), clips.sum());
+        router.close();
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public RecognizeResponse recognize() throws Exception {
+        RecognizeResponse response = batcher.recognize(request).get(30, TimeUnit.SECONDS);
+        clips.increment();
+        return response;
+    }
+
+    /**
+     * 지정한 길이의 소리(0이 아닌 샘플)로 채운 16 kHz 모노 LINEAR16 요청
+     */
+    private static RecognizeRequest clip(Duration length) {
+        int samples = (int) (SAMPLE_RATE * length.toMillis() / 1000);
+        ByteBuffer pcm = ByteBuffer.allocate(samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < samples; i++) {
+            pcm.putShort((short) (i % 2 == 0 ? 1000 : -1000));
+        }
+        return RecognizeRequest.newBuilder()
+                .setRecognizer("projects/test/locations/global/recognizers/_")
+                .setConfig(RecognitionConfig.newBuilder()
+                        .setExplicitDecodingConfig(ExplicitDecodingConfig.newBuilder()
+                                .setEncoding(ExplicitDecodingConfig.AudioEncoding.LINEAR16)
+                                .setSampleRateHertz(SAMPLE_RATE)
+                                .setAudioChannelCount(1))
+                        .addLanguageCodes("ko-KR"))
+                .setContent(ByteString.copyFrom(pcm.array()))
+                .build();
+    }
+
+    /**
+     * 무음(0) 구간으로 나뉜 소리 구간마다 단어 하나를 반환하는 가짜 인식 결과
+     */
+    private static RecognizeResponse wordPerVoicedRegion(RecognizeRequest request) {
+        ByteBuffer pcm = request.getContent().asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        SpeechRecognitionAlternative.Builder alternative = SpeechRecognitionAlternative.newBuilder();
+        int samples = pcm.remaining() / 2;
+        int start = -1;
+        for (int i = 0; i <= samples; i++) {
+            boolean voiced = i < samples && pcm.getShort(i * 2) != 0;
+            if (voiced && start < 0) {
+                start = i;
+            } else if (!voiced && start >= 0) {
+                alternative.addWords(WordInfo.newBuilder()
+                        .setWord("단어" + alternative.getWordsCount())
+                        .setStartOffset(offset(start))
+                        .setEndOffset(offset(i)));
+                start = -1;
+            }
+        }
+        alternative.setTranscript(String.join(" ", alternative.getWordsList().stream().map(WordInfo::getWord).toList()));
+        return RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder().addAlternatives(alternative))
+                .build();
+    }
+
+    private static com.google.protobuf.Duration offset(int sample) {
+        long micros = sample * 1_000_000L / SAMPLE_RATE;
+        return com.google.protobuf.Duration.newBuilder()
+                .setSeconds(micros / 1_000_000)
+                .setNanos((int) (micros % 1_000_000) * 1000)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.gco.stt.adaptation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 음성 적응(도메인 어휘) 정의 파일 형식 (stt.adaptation.file, JSON)
+ *
+ * 예:
+ * <pre>
+ * {
+ *   "version": 3,
+ *   "customClasses": [{"id": "product-codes", "items": ["AX-100", "BZ-220"], "persisted": true}],
+ *   "phraseSets": [{"id": "products", "boost": 10, "persisted": false,
+ *                   "phrases": [{"value": "갤럭시 버즈"}, {"value": "모델 ${product-codes}", "boost": 15}]}],
+ *   "profiles": {"default": ["products"]}
+ * }
+ * </pre>
+ *
+ * @param version 정의 버전 (이전보다 커야 반영)
+ * @param customClasses 사용자 정의 클래스 (구문에서 ${id}로 참조)
+ * @param phraseSets 구문 집합
+ * @param profiles 인식 프로필 이름 → 적용할 구문 집합 ID 목록
+ */
+public record AdaptationFile(long version,
+                             List<CustomClassDefinition> customClasses,
+                             List<PhraseSetDefinition> phraseSets,
+                             Map<String, List<String>> profiles) {
+
+    /**
+     * 사용자 정의 클래스
+     * @param id 클래스 ID (영구 리소스면 리소스 ID)
+     * @param items 클래스에 속하는 값
+     * @param persisted true면 Speech API에 CustomClass 리소스로 저장하고 이름으로 참조, false면 요청에 직접 포함
+     */
+    public record CustomClassDefinition(String id, List<String> items, boolean persisted) {
+    }
+
+    /**
+     * 구문 집합
+     * @param id 구문 집합 ID (영구 리소스면 리소스 ID)
+     * @param boost 집합 전체 가중치 (생략 시 API 기본값)
+     * @param phrases 구문 목록
+     * @param persisted true면 Speech API에 PhraseSet 리소스로 저장하고 이름으로 참조, false면 요청에 직접 포함
+     */
+    public record PhraseSetDefinition(String id, Float boost, List<PhraseDefinition> phrases, boolean persisted) {
+    }
+
+    /**
+     * 구문 하나
+     * @param value 구문 (${클래스 ID}로 사용자 정의 클래스 참조)
+     * @param boost 구문 가중치 (생략 시 집합 가중치)
+     */
+    public record PhraseDefinition(String value, Float boost) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.gco.stt.adaptation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gco.stt.adaptation.AdaptationFile.CustomClassDefinition;
+import com.gco.stt.adaptation.AdaptationFile.PhraseDefinition;
+import com.gco.stt.adaptation.AdaptationFile.PhraseSetDefinition;
+import com.google.cloud.speech.v2.*;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 도메인 어휘(PhraseSet/CustomClass) 적응 레지스트리
+ *
+ * 주요 기능:
+ * - stt.adaptation.file(JSON, {@link AdaptationFile})을 주기적으로 확인하여 재시작 없이 반영
+ * - 정의에는 버전이 있으며 현재보다 큰 버전만 반영 (내용이 바뀌었는데 버전이 그대로면 경고 후 무시)
+ * - 프로필별 SpeechAdaptation을 반영 시점에 한 번만 만들어 보관 (요청마다 다시 만들지 않음)
+ * - persisted=true인 정의는 Speech API 리소스로 동기화하고 이름으로 참조 (내용 해시가 바뀐 경우에만 갱신)
+ * - 파일 파싱/검증/동기화에 실패하면 이전 정의를 계속 사용하고 다음 확인 때 다시 시도
+ *
+ * 처리 플로우:
+ * 1. 파일 내용이 마지막으로 반영한 내용과 다르면 파싱
+ * 2. 사용자 정의 클래스 → 구문 집합 순으로 인라인 정의 생성 또는 원격 리소스 동기화
+ * 3. 프로필별로 참조하는 구문 집합과 인라인 클래스를 묶어 SpeechAdaptation 생성
+ * 4. 스냅샷을 한 번에 교체 (진행 중인 요청은 이전 스냅샷, 이후 요청은 새 스냅샷 사용)
+ */
+@Slf4j
+@Component
+public class AdaptationRegistry {
+
+    private final ObjectMapper objectMapper;
+    private final AdaptationResources resources;
+    private final Path file;                         // 정의 파일 (null이면 비활성)
+    private final ScheduledExecutorService reloader;  // 파일 확인 스레드 (비활성이면 null)
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private String appliedContentHash;               // 마지막으로 반영한 파일 내용 해시 (reload 모니터로 보호)
+
+    public AdaptationRegistry(ObjectMapper objectMapper,
+                              AdaptationResources resources,
+                              @Value("${stt.adaptation.file:}") String file,
+                              @Value("${stt.adaptation.reload-interval:10s}") Duration reloadInterval) {
+        this.objectMapper = objectMapper;
+        this.resources = resources;
+        this.file = file.isBlank() ? null : Path.of(file);
+        if (this.file == null || reloadInterval.isZero()) {
+            this.reloader = null;
+            return;
+        }
+        // 첫 반영(원격 동기화 포함)도 시작 경로 밖에서 수행
+        this.reloader = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("stt-adaptation-reload")
+                .daemon(true)
+                .factory());
+        reloader.scheduleWithFixedDelay(this::reloadQuietly, 0, reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 반영된 적응 정의
+     * @param version 정의 버전 (반영 전에는 0)
+     * @param adaptations 프로필 이름 → SpeechAdaptation
+     */
+    public record Snapshot(long version, Map<String, SpeechAdaptation> adaptations) {
+
+        static final Snapshot EMPTY = new Snapshot(0, Map.of());
+    }
+
+    /**
+     * 프로필에 적용할 적응 설정 (없으면 null)
+     */
+    public SpeechAdaptation adaptation(String profile) {
+        return snapshot.adaptations().get(profile.toLowerCase(Locale.ROOT));
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 정의 파일을 다시 읽어 반영
+     * @return 새 정의를 반영했는지 여부
+     * @throws IOException 파일을 읽을 수 없는 경우
+     * @throws IllegalArgumentException 정의가 잘못된 경우 (알 수 없는 ID 참조 등)
+     */
+    public synchronized boolean reload() throws IOException {
+        if (file == null) {
+            return false;
+        }
+        byte[] content = Files.readAllBytes(file);
+        String contentHash = AdaptationResources.hash(content);
+        if (contentHash.equals(appliedContentHash)) {
+            return false;
+        }
+        AdaptationFile definition = objectMapper.readValue(content, AdaptationFile.class);
+        Snapshot current = snapshot;
+        if (definition.version() <= current.version()) {
+            log.warn("적응 정의 버전이 그대로여서 무시: {} (현재 {}, 파일 {})", file, current.version(), definition.version());
+            appliedContentHash = contentHash;  // 같은 내용으로 경고를 반복하지 않음
+            return false;
+        }
+        Snapshot compiled = compile(definition);
+        snapshot = compiled;
+        appliedContentHash = contentHash;
+        log.info("적응 정의 반영: 버전 {} → {}, 프로필 {}", current.version(), compiled.version(), compiled.adaptations().keySet());
+        return true;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (NoSuchFileException e) {
+            log.warn("적응 정의 파일 없음: {}", file);
+        } catch (IOException | RuntimeException e) {
+            // 이전 정의 유지, 다음 확인 때 다시 시도
+            log.error("적응 정의 반영 실패: {} ({})", file, e.getMessage(), e);
+        }
+    }
+
+    private Snapshot compile(AdaptationFile definition) {
+        // 1. 사용자 정의 클래스: 인라인 정의 또는 원격 리소스 이름
+        Map<String, CustomClass> inlineClasses = new LinkedHashMap<>();
+        Map<String, String> classReferences = new HashMap<>();  // ${id} → 구문에 넣을 참조
+        for (CustomClassDefinition customClass : orEmpty(definition.customClasses())) {
+            CustomClass.Builder builder = CustomClass.newBuilder();
+            orEmpty(customClass.items()).forEach(item -> builder.addItems(CustomClass.ClassItem.newBuilder().setValue(item)));
+            if (customClass.persisted()) {
+                String name = resources.syncCustomClass(customClass.id(), builder.build());
+                classReferences.put(customClass.id(), "${" + name + "}");
+            } else {
+                inlineClasses.put(customClass.id(), builder.setName(customClass.id()).build());
+                classReferences.put(customClass.id(), "${" + customClass.id() + "}");
+            }
+        }
+
+        // 2. 구문 집합: 영구 클래스 참조는 리소스 이름으로 치환
+        Map<String, AdaptationPhraseSet> phraseSets = new HashMap<>();
+        Map<String, List<String>> referencedClasses = new HashMap<>();
+        for (PhraseSetDefinition phraseSet : orEmpty(definition.phraseSets())) {
+            PhraseSet.Builder builder = PhraseSet.newBuilder();
+            if (phraseSet.boost() != null) {
+                builder.setBoost(phraseSet.boost());
+            }
+            for (PhraseDefinition phrase : orEmpty(phraseSet.phrases())) {
+                PhraseSet.Phrase.Builder phraseBuilder = PhraseSet.Phrase.newBuilder()
+                        .setValue(resolveClasses(phrase.value(), classReferences));
+                if (phrase.boost() != null) {
+                    phraseBuilder.setBoost(phrase.boost());
+                }
+                builder.addPhrases(phraseBuilder);
+            }
+            phraseSets.put(phraseSet.id(), phraseSet.persisted()
+                    ? AdaptationPhraseSet.newBuilder().setPhraseSet(resources.syncPhraseSet(phraseSet.id(), builder.build())).build()
+                    : AdaptationPhraseSet.newBuilder().setInlinePhraseSet(builder).build());
+            referencedClasses.put(phraseSet.id(), inlineClasses.keySet().stream()
+                    .filter(id -> orEmpty(phraseSet.phrases()).stream().anyMatch(p -> p.value().contains("${" + id + "}")))
+                    .toList());
+        }
+
+        // 3. 프로필별 SpeechAdaptation (구문 집합 + 참조하는 인라인 클래스)
+        Map<String, SpeechAdaptation> adaptations = new HashMap<>();
+        Map<String, List<String>> profiles = definition.profiles() == null ? Map.of() : definition.profiles();
+        profiles.forEach((profile, ids) -> {
+            SpeechAdaptation.Builder builder = SpeechAdaptation.newBuilder();
+            ids.stream().flatMap(id -> referencedClasses.getOrDefault(id, List.of()).stream())
+                    .distinct()
+                    .forEach(id -> builder.addCustomClasses(inlineClasses.get(id)));
+            for (String id : ids) {
+                AdaptationPhraseSet phraseSet = phraseSets.get(id);
+                if (phraseSet == null) {
+                    throw new IllegalArgumentException("알 수 없는 구문 집합: " + id + " (프로필 " + profile + ")");
+                }
+                builder.addPhraseSets(phraseSet);
+            }
+            adaptations.put(profile.toLowerCase(Locale.ROOT), builder.build());
+        });
+        return new Snapshot(definition.version(), Map.copyOf(adaptations));
+    }
+
+    private static String resolveClasses(String value, Map<String, String> classReferences) {
+        String resolved = value;
+        for (Map.Entry<String, String> reference : classReferences.entrySet()) {
+            resolved = resolved.replace("${" + reference.getKey() + "}", reference.getValue());
+        }
+        return resolved;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
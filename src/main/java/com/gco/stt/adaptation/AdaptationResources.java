@@ -0,0 +1,249 @@
+package com.gco.stt.adaptation;
+
+import com.gco.stt.service.RegionRouter;
+import com.google.api.gax.rpc.AlreadyExistsException;
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.FieldMask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 영구 PhraseSet/CustomClass 리소스 동기화
+ *
+ * 주요 기능:
+ * - 로컬 정의의 내용 해시를 리소스 annotation(content-hash)에 기록
+ * - 이 프로세스에서 이미 동기화한 해시와 같으면 RPC 없이 건너뜀
+ * - 처음 보는 해시면 원격 리소스를 조회해 annotation이 다를 때만 update, 없으면 create
+ *   → 정의 파일을 다시 읽어도(버전만 올라도) 내용이 같은 리소스는 갱신하지 않음
+ * - 기본 리전(gcp.location)과 모든 장애 조치 리전에 같은 ID로 동기화
+ *   (리소스는 recognizer와 같은 리전이어야 참조 가능, 장애 조치/hedging 요청은 {@link #relocate}로 참조를 그 리전으로 바꿈)
+ * - 리전 클라이언트는 첫 동기화 시점에 생성
+ */
+@Slf4j
+@Component
+public class AdaptationResources {
+
+    static final String HASH_ANNOTATION = "content-hash";
+
+    private static final FieldMask PHRASE_SET_MASK = FieldMask.newBuilder()
+            .addPaths("phrases").addPaths("boost").addPaths("annotations").build();
+    private static final FieldMask CUSTOM_CLASS_MASK = FieldMask.newBuilder()
+            .addPaths("items").addPaths("annotations").build();
+
+    private final Function<String, SpeechClient> speechClients;  // location → 리전 클라이언트 (영구 리소스를 쓰지 않으면 만들지 않음)
+    private final List<String> locations;  // 동기화할 리전 (첫 번째가 기본 리전)
+    private final String projectId;
+    private final String location;
+    private final Duration syncTimeout;  // create/update 작업 최대 대기 시간
+    private final Map<String, String> syncedHashes = new ConcurrentHashMap<>();  // 리소스 이름 → 마지막으로 동기화한 해시
+
+    @Autowired
+    public AdaptationResources(RegionRouter regionRouter,
+                               @Value("${gcp.project-id}") String projectId,
+                               @Value("${gcp.location}") String location,
+                               @Value("${stt.adaptation.sync-timeout:2m}") Duration syncTimeout) {
+        this(regionRouter::client, regionRouter.locations(), projectId, location, syncTimeout);
+    }
+
+    /**
+     * 단일 클라이언트로 한 리전에만 동기화
+     */
+    public AdaptationResources(SpeechClient speechClient, String projectId, String location, Duration syncTimeout) {
+        this(ignored -> speechClient, List.of(location), projectId, location, syncTimeout);
+    }
+
+    private AdaptationResources(Function<String, SpeechClient> speechClients, List<String> locations,
+                                String projectId, String location, Duration syncTimeout) {
+        this.speechClients = speechClients;
+        this.locations = locations.contains(location)
+                ? locations
+                : Stream.concat(Stream.of(location), locations.stream()).toList();
+        this.projectId = projectId;
+        this.location = location;
+        this.syncTimeout = syncTimeout;
+    }
+
+    public String phraseSetName(String id) {
+        return PhraseSetName.of(projectId, location, id).toString();
+    }
+
+    public String customClassName(String id) {
+        return CustomClassName.of(projectId, location, id).toString();
+    }
+
+    /**
+     * 기본 리전 리소스를 참조하는 적응 설정을 다른 리전용으로 변환
+     * (영구 PhraseSet 이름과 구문 안의 영구 CustomClass 참조의 location만 바꿈, 리소스는 모든 리전에 같은 ID로 동기화됨)
+     */
+    public static SpeechAdaptation relocate(SpeechAdaptation adaptation, String fromLocation, String toLocation) {
+        String source = "/locations/" + fromLocation + "/";
+        String target = "/locations/" + toLocation + "/";
+        SpeechAdaptation.Builder builder = adaptation.toBuilder();
+        for (AdaptationPhraseSet.Builder phraseSet : builder.getPhraseSetsBuilderList()) {
+            if (phraseSet.getValueCase() == AdaptationPhraseSet.ValueCase.PHRASE_SET) {
+                phraseSet.setPhraseSet(phraseSet.getPhraseSet().replace(source, target));
+            } else if (phraseSet.getValueCase() == AdaptationPhraseSet.ValueCase.INLINE_PHRASE_SET) {
+                relocatePhrases(phraseSet.getInlinePhraseSetBuilder(), source, target);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * PhraseSet 리소스를 모든 리전에서 로컬 정의와 맞춤 (리전별로 내용 해시가 바뀐 경우에만 create/update)
+     * @param id 리소스 ID
+     * @param phraseSet 구문/가중치만 채운 정의 (CustomClass 참조는 기본 리전 리소스 이름)
+     * @return 기본 리전 리소스 이름
+     */
+    public String syncPhraseSet(String id, PhraseSet phraseSet) {
+        for (String target : locations) {
+            PhraseSet.Builder regional = phraseSet.toBuilder();
+            relocatePhrases(regional, "/locations/" + location + "/", "/locations/" + target + "/");
+            syncPhraseSet(id, regional.build(), target);
+        }
+        return phraseSetName(id);
+    }
+
+    /**
+     * CustomClass 리소스를 모든 리전에서 로컬 정의와 맞춤
+     * @param id 리소스 ID
+     * @param customClass 항목만 채운 정의
+     * @return 기본 리전 리소스 이름
+     */
+    public String syncCustomClass(String id, CustomClass customClass) {
+        for (String target : locations) {
+            syncCustomClass(id, customClass, target);
+        }
+        return customClassName(id);
+    }
+
+    private static void relocatePhrases(PhraseSet.Builder phraseSet, String source, String target) {
+        for (PhraseSet.Phrase.Builder phrase : phraseSet.getPhrasesBuilderList()) {
+            phrase.setValue(phrase.getValue().replace(source, target));
+        }
+    }
+
+    /**
+     * 한 리전의 PhraseSet 리소스를 로컬 정의와 맞춤 (내용 해시가 바뀐 경우에만 create/update)
+     */
+    private void syncPhraseSet(String id, PhraseSet phraseSet, String region) {
+        String name = PhraseSetName.of(projectId, region, id).toString();
+        String hash = hash(phraseSet.toByteArray());
+        if (hash.equals(syncedHashes.get(name))) {
+            return;
+        }
+        PhraseSet desired = phraseSet.toBuilder().setName(name).putAnnotations(HASH_ANNOTATION, hash).build();
+        SpeechClient speechClient = speechClients.apply(region);
+        boolean synced = true;
+        try {
+            PhraseSet remote = speechClient.getPhraseSet(name);
+            if (hash.equals(remote.getAnnotationsMap().get(HASH_ANNOTATION))) {
+                log.info("PhraseSet 변경 없음: {}", name);
+            } else {
+                log.info("PhraseSet 갱신: {} (해시 {})", name, hash);
+                await(speechClient.updatePhraseSetAsync(UpdatePhraseSetRequest.newBuilder()
+                        .setPhraseSet(desired)
+                        .setUpdateMask(PHRASE_SET_MASK)
+                        .build()), name);
+            }
+        } catch (NotFoundException e) {
+            log.info("PhraseSet 생성: {} (해시 {})", name, hash);
+            synced = await(speechClient.createPhraseSetAsync(CreatePhraseSetRequest.newBuilder()
+                    .setParent(LocationName.of(projectId, region).toString())
+                    .setPhraseSetId(id)
+                    .setPhraseSet(desired.toBuilder().clearName())
+                    .build()), name);
+        }
+        if (synced) {
+            syncedHashes.put(name, hash);
+        }
+    }
+
+    /**
+     * 한 리전의 CustomClass 리소스를 로컬 정의와 맞춤 (내용 해시가 바뀐 경우에만 create/update)
+     */
+    private void syncCustomClass(String id, CustomClass customClass, String region) {
+        String name = CustomClassName.of(projectId, region, id).toString();
+        String hash = hash(customClass.toByteArray());
+        if (hash.equals(syncedHashes.get(name))) {
+            return;
+        }
+        CustomClass desired = customClass.toBuilder().setName(name).putAnnotations(HASH_ANNOTATION, hash).build();
+        SpeechClient speechClient = speechClients.apply(region);
+        boolean synced = true;
+        try {
+            CustomClass remote = speechClient.getCustomClass(name);
+            if (hash.equals(remote.getAnnotationsMap().get(HASH_ANNOTATION))) {
+                log.info("CustomClass 변경 없음: {}", name);
+            } else {
+                log.info("CustomClass 갱신: {} (해시 {})", name, hash);
+                await(speechClient.updateCustomClassAsync(UpdateCustomClassRequest.newBuilder()
+                        .setCustomClass(desired)
+                        .setUpdateMask(CUSTOM_CLASS_MASK)
+                        .build()), name);
+            }
+        } catch (NotFoundException e) {
+            log.info("CustomClass 생성: {} (해시 {})", name, hash);
+            synced = await(speechClient.createCustomClassAsync(CreateCustomClassRequest.newBuilder()
+                    .setParent(LocationName.of(projectId, region).toString())
+                    .setCustomClassId(id)
+                    .setCustomClass(desired.toBuilder().clearName())
+                    .build()), name);
+        }
+        if (synced) {
+            syncedHashes.put(name, hash);
+        }
+    }
+
+    /**
+     * 작업 완료 대기
+     * @return 로컬 정의가 반영되었는지 여부 (다른 인스턴스가 먼저 생성한 경우 false)
+     */
+    private boolean await(Future<?> operation, String name) {
+        try {
+            operation.get(syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            // 다른 인스턴스가 먼저 생성한 경우: 해시를 기록하지 않고 다음 동기화에서 다시 비교
+            if (e.getCause() instanceof AlreadyExistsException) {
+                log.info("이미 존재하는 적응 리소스: {}", name);
+                return false;
+            }
+            throw new IllegalStateException("적응 리소스 동기화 실패: " + name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("적응 리소스 동기화 대기 중 인터럽트: " + name, e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("적응 리소스 동기화 시간 초과: " + name, e);
+        }
+    }
+
+    /**
+     * 내용 해시 (SHA-256 앞 128비트, annotation 값 길이 제한 고려)
+     */
+    static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.gco.stt.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * upstream 응답 시간과 할당량 오류에 따라 동시 recognize 호출 한도를 조정하는 제한기 (AIMD)
+ *
+ * 주요 기능:
+ * - 한도 안에서만 호출 허가, 한도를 넘으면 대기 없이 즉시 거절 (요청 스레드가 쌓이지 않음)
+ * - 증가: 한도의 절반 이상을 사용 중일 때 성공 응답마다 +1
+ * - 감소: RESOURCE_EXHAUSTED/시간 초과, 또는 응답 시간이 기준(장기 EWMA)의 latency-tolerance배를 넘으면 backoff-ratio배
+ *   (마지막 감소 이전에 시작된 호출의 결과로는 다시 줄이지 않음 → 동시에 실패한 호출들이 한도를 연쇄적으로 깎지 않음)
+ * - 락 없이 CAS로만 상태 갱신 (동시 호출 수, 한도, 기준 응답 시간 모두 원자 변수)
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_ALPHA = 0.05;  // 기준 응답 시간 EWMA 반영 비율
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;      // 감소 시 곱하는 비율
+    private final double latencyTolerance;  // 기준 대비 이 배수를 넘는 응답은 과부하 신호로 취급
+
+    private final LongSupplier clock;       // 응답 시간 측정용 시계 (ns)
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;                                   // 현재 한도 (double 비트)
+    private final AtomicLong baselineBits = new AtomicLong(Double.doubleToLongBits(Double.NaN));  // 기준 응답 시간(ns)
+    private final AtomicLong lastDecreaseNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(@Value("${stt.admission.initial-limit:100}") int initialLimit,
+                                      @Value("${stt.admission.min-limit:10}") int minLimit,
+                                      @Value("${stt.async.max-in-flight:1000}") int maxLimit,
+                                      @Value("${stt.admission.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${stt.admission.latency-tolerance:3.0}") double latencyTolerance) {
+        this(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                               double latencyTolerance, LongSupplier clock) {
+        this.clock = clock;
+        this.lastDecreaseNanos = new AtomicLong(clock.getAsLong());
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(initialLimit, maxLimit))));
+    }
+
+    /**
+     * 호출 결과 분류
+     * - SUCCESS: 성공 (응답 시간 반영)
+     * - DROPPED: 할당량 초과/시간 초과 (한도 감소)
+     * - IGNORED: 취소 또는 요청 자체의 오류 (한도에 영향 없음)
+     */
+    public enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    /**
+     * 제한기 상태 (지표용)
+     * @param limit 현재 동시 호출 한도
+     * @param inFlight 진행 중인 호출 수
+     * @param rejected 누적 거절 수
+     */
+    public record Stats(int limit, int inFlight, long rejected) {
+    }
+
+    /**
+     * 호출 허가 (한도 초과 시 null)
+     * @return 호출이 끝나면 반드시 {@link Permit#release}를 불러야 하는 허가
+     */
+    public Permit tryAcquire() {
+        int limit = limit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(clock.getAsLong());
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public Stats stats() {
+        return new Stats(limit(), inFlight.get(), rejected.sum());
+    }
+
+    /**
+     * 과부하 응답에 담을 재시도 권장 시간 (기준 응답 시간, 최소 1초)
+     */
+    public Duration retryAfter() {
+        double baseline = Double.longBitsToDouble(baselineBits.get());
+        return Double.isNaN(baseline) ? Duration.ofSeconds(1) : Duration.ofNanos(Math.max((long) baseline, 1_000_000_000L));
+    }
+
+    /**
+     * 허가 하나 (호출 시작 시각 보관)
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 호출 종료 처리 (두 번째 이후 호출은 무시)
+         */
+        public void release(Outcome outcome) {
+            if (released) {
+                return;
+            }
+            released = true;
+            int current = inFlight.getAndDecrement();
+            long latency = clock.getAsLong() - startNanos;
+            switch (outcome) {
+                case SUCCESS -> onSuccess(latency, current);
+                case DROPPED -> decrease();
+                case IGNORED -> {
+                }
+            }
+        }
+
+        private void onSuccess(long latency, int inFlightAtRelease) {
+            double baseline = updateBaseline(latency);
+            if (latency > baseline * latencyTolerance) {
+                // 응답이 기준보다 크게 느려짐: upstream 대기열이 쌓이는 중
+                decrease();
+                return;
+            }
+            // 한도를 충분히 사용 중일 때만 증가 (한가할 때 한도가 끝없이 커지지 않도록)
+            if (inFlightAtRelease * 2 >= limit()) {
+                updateLimit(limit -> Math.min(maxLimit, limit + 1));
+            }
+        }
+
+        private void decrease() {
+            long last = lastDecreaseNanos.get();
+            if (startNanos - last < 0 || !lastDecreaseNanos.compareAndSet(last, clock.getAsLong())) {
+                return;  // 이미 감소를 유발한 시점 이전에 시작된 호출이거나 다른 스레드가 먼저 감소
+            }
+            double limit = updateLimit(current -> Math.max(minLimit, current * backoffRatio));
+            log.debug("동시 호출 한도 감소: {}", (int) limit);
+        }
+    }
+
+    private double updateBaseline(long latency) {
+        while (true) {
+            long bits = baselineBits.get();
+            double baseline = Double.longBitsToDouble(bits);
+            double updated = Double.isNaN(baseline) ? latency : baseline + BASELINE_ALPHA * (latency - baseline);
+            if (baselineBits.compareAndSet(bits, Double.doubleToLongBits(updated))) {
+                return Double.isNaN(baseline) ? updated : baseline;
+            }
+        }
+    }
+
+    private double updateLimit(DoubleUnaryOperator update) {
+        while (true) {
+            long bits = limitBits.get();
+            double updated = update.applyAsDouble(Double.longBitsToDouble(bits));
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(updated))) {
+                return updated;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.gco.stt.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gco.stt.dto.SpeechResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * API 키별 요청 속도 제한 (토큰 버킷)
+ *
+ * 주요 기능:
+ * - 등록된 API 키(stt.rate-limit.api-keys)별로 초당 requests-per-second개, 최대 burst개까지 허용
+ * - 헤더가 없거나 등록되지 않은 키는 stt.rate-limit.anonymous=true일 때만 클라이언트 IP 기준으로 제한
+ *   (요청마다 임의의 키를 보내 새 버킷을 얻는 것을 방지, 기본은 제한 안 함)
+ *   프록시/로드 밸런서 뒤에서는 모든 요청의 원격 주소가 프록시 주소이므로
+ *   server.forward-headers-strategy=native(신뢰하는 프록시의 X-Forwarded-For 사용)와 함께 켜야 함
+ * - 서블릿 필터로 DispatcherServlet의 multipart 파싱보다 먼저 실행 → 한도를 넘은 요청은 업로드 본문을 읽기 전에 429 + Retry-After
+ * - 비동기 재디스패치(DispatcherType.ASYNC)에는 적용하지 않음 (요청 하나에 토큰 하나, 이미 처리된 요청을 429로 바꾸지 않음)
+ * - 버킷 상태를 "다음 토큰이 채워지는 시각" 하나(AtomicLong)로 표현하여 CAS로만 갱신 (GCRA, 락 없음)
+ * - 오래 사용하지 않은 키의 버킷은 자동 제거 (키 수 상한 포함)
+ *
+ * 적용 경로: /api/speech/**, /api/recognizer/**, /api/long-audio/**, /api/jobs/**, /api/batch/**
+ * (재개 가능한 업로드의 조각 전송(PATCH /api/long-audio/uploads/{id})은 제외:
+ *  세션 생성(POST /uploads)에서 이미 토큰을 썼고, 중간에 거절하면 이미 받은 조각만 낭비됨)
+ */
+@Component
+public class ApiKeyRateLimiter extends OncePerRequestFilter {
+
+    private static final List<String> PATH_PREFIXES = List.of(
+            "/api/speech/", "/api/recognizer/", "/api/long-audio/", "/api/jobs/", "/api/batch/");
+    private static final String UPLOAD_CHUNK_PREFIX = "/api/long-audio/uploads/";
+
+    private final boolean enabled;
+    private final String header;             // API 키 헤더 이름
+    private final Set<String> apiKeys;       // 키별 버킷을 받는 등록된 API 키
+    private final boolean limitAnonymous;    // 등록된 키가 없는 요청도 IP 기준으로 제한할지 여부
+    private final long emissionIntervalNanos;  // 토큰 하나가 채워지는 간격
+    private final long burstToleranceNanos;    // 한 번에 몰려도 허용하는 양 (burst - 1개분)
+    private final ObjectMapper objectMapper;
+    private final Cache<String, AtomicLong> buckets;  // 키 → 이론상 다음 도착 시각(ns)
+    private final LongAdder rejected = new LongAdder();
+
+    public ApiKeyRateLimiter(@Value("${stt.rate-limit.enabled:false}") boolean enabled,
+                             @Value("${stt.rate-limit.header:X-API-Key}") String header,
+                             @Value("${stt.rate-limit.api-keys:}") List<String> apiKeys,
+                             @Value("${stt.rate-limit.anonymous:false}") boolean limitAnonymous,
+                             @Value("${stt.rate-limit.requests-per-second:5}") double requestsPerSecond,
+                             @Value("${stt.rate-limit.burst:10}") int burst,
+                             @Value("${stt.rate-limit.max-clients:100000}") long maxClients,
+                             ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.header = header;
+        this.apiKeys = apiKeys.stream().map(String::trim).filter(key -> !key.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.limitAnonymous = limitAnonymous;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.objectMapper = objectMapper;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("PATCH".equals(request.getMethod()) && path.startsWith(UPLOAD_CHUNK_PREFIX)) {
+            return true;
+        }
+        return PATH_PREFIXES.stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = clientKey(request);
+        Duration wait = key == null ? null : tryAcquire(key, System.nanoTime());
+        if (wait == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        rejected.increment();
+        long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), SpeechResponse.failure("요청 한도 초과, 잠시 후 다시 시도"));
+    }
+
+    /**
+     * 토큰 하나 사용 시도
+     *
+     * 처리 플로우:
+     * 1. 키의 "이론상 다음 도착 시각(TAT)"을 읽음 (과거면 현재 시각으로 간주 = 버킷이 가득 참)
+     * 2. TAT가 현재 + burst 허용량보다 뒤면 거절 (그 차이만큼 기다리면 토큰 하나가 생김)
+     * 3. 아니면 TAT를 토큰 하나 간격만큼 미루는 CAS (경합 시 재시도)
+     *
+     * @return 허용이면 null, 거절이면 다음 토큰까지 대기 시간
+     */
+    Duration tryAcquire(String key, long nowNanos) {
+        AtomicLong theoreticalArrival = buckets.get(key, ignored -> new AtomicLong(nowNanos));
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat - nowNanos > 0 ? tat : nowNanos;  // 과거 시각이면 버킷이 가득 찬 상태
+            long waitNanos = base - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return Duration.ofNanos(waitNanos);
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return null;
+            }
+        }
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 버킷 키 (등록된 키가 없고 익명 제한을 끈 경우 null = 제한 안 함)
+     */
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(header);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return limitAnonymous ? "ip:" + request.getRemoteAddr() : null;
+    }
+}
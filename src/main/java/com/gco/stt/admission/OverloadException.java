@@ -0,0 +1,35 @@
+package com.gco.stt.admission;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 과부하로 요청을 받지 않을 때의 예외 (429 + Retry-After로 응답)
+ *
+ * RejectedExecutionException을 상속하므로 기존의 "동시 요청 한도 초과" 처리(지표 REJECTED, 리전 장애 아님)가 그대로 적용됩니다.
+ */
+public class OverloadException extends RejectedExecutionException {
+
+    private final Duration retryAfter;  // 클라이언트가 다시 시도하기까지 권장 대기 시간
+
+    public OverloadException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public OverloadException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Retry-After 헤더 값 (초 단위, 최소 1초)
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
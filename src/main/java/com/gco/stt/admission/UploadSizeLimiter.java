@@ -0,0 +1,82 @@
+package com.gco.stt.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gco.stt.dto.SpeechResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 경로별 multipart 업로드 크기 제한
+ *
+ * spring.servlet.multipart 한도는 서블릿 전체에 하나만 적용되므로 긴 음성(/api/long-audio/upload)에 맞춰 크게 잡혀 있습니다.
+ * 이 필터는 그 밖의 multipart 요청을 DispatcherServlet의 multipart 파싱(임시 파일 저장)보다 먼저 검사하여
+ * 짧은 음성 엔드포인트가 큰 업로드를 끝까지 받은 뒤에야 413을 반환하는 일을 막습니다.
+ *
+ * 주요 기능:
+ * - Content-Length가 stt.upload.max-inline-size + multipart 여유분보다 크면 본문을 읽지 않고 413
+ * - 길이를 알 수 없는 chunked multipart 요청은 411 (크기를 미리 확인할 수 없으므로)
+ * - 긴 음성 업로드 경로와 multipart가 아닌 요청(재개 가능한 업로드의 PATCH 조각 등)은 검사하지 않음
+ */
+@Slf4j
+@Component
+public class UploadSizeLimiter extends OncePerRequestFilter {
+
+    private static final String LONG_AUDIO_UPLOAD = "/api/long-audio/upload";
+    private static final long MULTIPART_OVERHEAD = 64 * 1024;  // 경계 문자열, 파트 헤더, 작은 텍스트 파라미터
+
+    private final long maxRequestBytes;
+    private final ObjectMapper objectMapper;
+
+    public UploadSizeLimiter(@Value("${stt.upload.max-inline-size:10MB}") DataSize maxInlineSize,
+                             ObjectMapper objectMapper) {
+        this.maxRequestBytes = maxInlineSize.toBytes() + MULTIPART_OVERHEAD;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(LONG_AUDIO_UPLOAD);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxRequestBytes) {
+            log.warn("업로드 크기 초과로 거절: {} ({} bytes)", request.getRequestURI(), contentLength);
+            reject(response, 413, "파일이 너무 큼 (긴 음성은 /api/long-audio/upload 사용)");
+            return;
+        }
+        String transferEncoding = request.getHeader(HttpHeaders.TRANSFER_ENCODING);
+        if (contentLength < 0 && transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            reject(response, 411, "Content-Length가 필요함");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.CONNECTION, "close");  // 읽지 않은 본문이 남은 연결은 재사용하지 않음
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), SpeechResponse.failure(message));
+    }
+}
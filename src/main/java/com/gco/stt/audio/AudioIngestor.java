@@ -0,0 +1,194 @@
+package com.gco.stt.audio;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * 업로드된 음성 파일을 요청 protobuf용 ByteString으로 읽어오는 컴포넌트
+ *
+ * 기존 방식(getBytes() → ByteString.copyFrom())은 파일 크기만큼의 힙 복사가 최소 두 번
+ * (getBytes 내부의 버퍼 확장 복사까지 포함하면 그 이상) 발생합니다.
+ * 이 컴포넌트는 multipart 스트림을 파일 크기에 맞춘 배열로 한 번만 읽고
+ * 복사 없이 ByteString으로 감쌉니다 (UnsafeByteOperations.unsafeWrap).
+ *
+ * stt.upload.memory-threshold보다 큰 파일은 힙에 올리지 않습니다 ({@link #ingest}):
+ * - 스풀 디렉터리(stt.upload.spool-dir)의 임시 파일로 옮기고 (Tomcat이 이미 디스크에 쓴 파트는 이동만 함)
+ * - FileChannel.map으로 매핑한 버퍼를 ByteString으로 감싸 해시/정규화/VAD/요청 생성에서 그대로 읽음
+ * - 요청 처리가 끝나면 {@link Upload#close()}로 임시 파일 삭제 (시작 시 이전 실행의 남은 파일도 정리)
+ * → 요청당 힙 사용량이 파일 크기와 무관하게 거의 일정
+ *
+ * Tomcat의 메모리/디스크 기준은 spring.servlet.multipart.file-size-threshold로 조정합니다.
+ */
+@Slf4j
+@Component
+public class AudioIngestor {
+
+    private static final int STREAM_CHUNK_BYTES = 64 * 1024;  // 크기를 모를 때 사용할 읽기 단위
+
+    private final Path spoolDir;          // 큰 업로드를 저장할 임시 디렉터리
+    private final long memoryThreshold;   // 이 크기 이하만 힙으로 읽음
+
+    /**
+     * 스풀 없이 항상 힙으로 읽는 인스턴스 (테스트/벤치마크용)
+     */
+    public AudioIngestor() {
+        this.spoolDir = null;
+        this.memoryThreshold = Long.MAX_VALUE;
+    }
+
+    @Autowired
+    public AudioIngestor(@Value("${stt.upload.spool-dir:}") String spoolDir,
+                         @Value("${stt.upload.memory-threshold:256KB}") DataSize memoryThreshold) {
+        this.spoolDir = spoolDir.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "stt-spool")
+                : Path.of(spoolDir);
+        this.memoryThreshold = memoryThreshold.toBytes();
+        try {
+            Files.createDirectories(this.spoolDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스풀 디렉터리 생성 실패: " + this.spoolDir, e);
+        }
+        deleteLeftovers();
+    }
+
+    /**
+     * 스풀 디렉터리 (재개 가능한 업로드도 이곳에 저장)
+     */
+    public Path spoolDir() {
+        return spoolDir != null ? spoolDir : Path.of(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * 업로드된 음성 (스풀 파일을 매핑한 경우 사용이 끝나면 닫아야 함)
+     * @param content 음성 데이터 (힙 배열 또는 스풀 파일 매핑)
+     * @param spoolFile 매핑된 스풀 파일 (힙으로 읽은 경우 null)
+     */
+    public record Upload(ByteString content, Path spoolFile) implements AutoCloseable {
+
+        /**
+         * 스풀 파일 삭제 (이후 content는 사용하지 않아야 함, 여러 번 호출해도 안전)
+         */
+        @Override
+        public void close() {
+            if (spoolFile == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (IOException e) {
+                log.warn("스풀 파일 삭제 실패: {}", spoolFile, e);
+            }
+        }
+    }
+
+    /**
+     * 음성 파일 수신 (작은 파일은 힙으로, 큰 파일은 스풀 파일에 저장 후 메모리 매핑)
+     *
+     * 처리 플로우:
+     * 1. memory-threshold 이하(또는 스풀 미사용)면 {@link #read}로 힙에 읽음
+     * 2. 스풀 디렉터리의 새 파일로 옮김 (디스크에 있는 파트는 이동, 메모리 파트는 쓰기)
+     * 3. 읽기 전용으로 매핑하여 복사 없이 ByteString으로 감쌈 (채널을 닫아도 매핑은 유지)
+     *
+     * @param audioFile 업로드된 음성 파일
+     * @return 음성 데이터 (요청 처리가 끝나면 close)
+     * @throws IOException 파일 읽기/쓰기 실패 시
+     */
+    public Upload ingest(MultipartFile audioFile) throws IOException {
+        long size = audioFile.getSize();
+        if (spoolDir == null || size <= memoryThreshold || size > Integer.MAX_VALUE) {
+            return new Upload(read(audioFile), null);
+        }
+
+        Path spoolFile = spool(audioFile);
+        try (FileChannel channel = FileChannel.open(spoolFile, StandardOpenOption.READ)) {
+            ByteString content = UnsafeByteOperations.unsafeWrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return new Upload(content, spoolFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 업로드 파일을 스풀 디렉터리의 새 파일로 저장 (삭제는 호출 측 책임)
+     * @param audioFile 업로드된 음성 파일
+     * @return 저장된 파일 경로
+     * @throws IOException 저장 실패 시
+     */
+    public Path spool(MultipartFile audioFile) throws IOException {
+        Path spoolFile = spoolDir().resolve("upload-" + UUID.randomUUID());
+        try {
+            audioFile.transferTo(spoolFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+        return spoolFile;
+    }
+
+    /**
+     * 음성 파일을 ByteString으로 읽기
+     * @param audioFile 업로드된 음성 파일
+     * @return 음성 데이터 (반환 후 내부 배열은 수정되지 않음)
+     * @throws IOException 파일 읽기 실패 시
+     */
+    public ByteString read(MultipartFile audioFile) throws IOException {
+        long size = audioFile.getSize();
+        try (InputStream in = audioFile.getInputStream()) {
+            if (size <= 0 || size > Integer.MAX_VALUE) {
+                // 크기를 알 수 없으면 고정 단위로 나눠 읽음 (단위별 ByteString을 이어붙임)
+                return ByteString.readFrom(in, STREAM_CHUNK_BYTES);
+            }
+            return readExactly(in, (int) size);
+        }
+    }
+
+    /**
+     * 크기가 알려진 스트림을 같은 크기의 배열 하나로 읽어서 복사 없이 감싸기
+     */
+    static ByteString readExactly(InputStream in, int size) throws IOException {
+        byte[] buffer = new byte[size];
+        int read = in.readNBytes(buffer, 0, size);
+        if (read < size) {
+            return UnsafeByteOperations.unsafeWrap(buffer, 0, read);
+        }
+
+        // 크기 정보보다 데이터가 더 있는 경우 나머지를 이어붙임
+        int next = in.read();
+        if (next == -1) {
+            return UnsafeByteOperations.unsafeWrap(buffer);
+        }
+        return UnsafeByteOperations.unsafeWrap(buffer)
+                .concat(ByteString.copyFrom(new byte[]{(byte) next}))
+                .concat(ByteString.readFrom(in, STREAM_CHUNK_BYTES));
+    }
+
+    /**
+     * 이전 실행에서 지우지 못한 스풀 파일 정리 (비정상 종료 대비)
+     */
+    private void deleteLeftovers() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, "upload-*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("남은 스풀 파일 정리 실패: {}", spoolDir, e);
+        }
+    }
+}
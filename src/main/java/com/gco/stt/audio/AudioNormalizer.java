@@ -0,0 +1,349 @@
+package com.gco.stt.audio;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.cloud.speech.v2.AutoDetectDecodingConfig;
+import com.google.cloud.speech.v2.ExplicitDecodingConfig;
+import com.google.cloud.speech.v2.ExplicitDecodingConfig.AudioEncoding;
+import com.google.cloud.speech.v2.RecognitionConfig;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 인식 요청 전 오디오 정규화 단계 (순수 Java, 외부 코덱 불필요)
+ *
+ * 주요 기능:
+ * - WAV(PCM 8/16/24/32-bit, IEEE float, 모든 샘플레이트/채널 수)를 16 kHz 모노 LINEAR16으로 변환
+ * - 앞뒤 무음 제거 (전송량과 과금 시간 감소)
+ * - ExplicitDecodingConfig(LINEAR16)로 전송하여 서버 측 포맷 감지 생략
+ * - WebM/Ogg(Opus) 등 압축 포맷은 이미 작으므로 그대로 전달 (AutoDetectDecodingConfig)
+ * - 헤더의 샘플레이트/채널 수가 정상 범위(8 ~ 192 kHz, 32채널 이하)를 벗어나거나
+ *   변환 비율이 지나치게 복잡하면 그대로 전달 (조작된 헤더로 필터/출력 버퍼가 과도하게 커지지 않도록)
+ *
+ * 처리 플로우:
+ * 1. 컨테이너 판별 (RIFF/WAVE 외에는 그대로 전달)
+ * 2. 샘플 디코딩 + 채널 평균으로 모노 변환 (float)
+ * 3. 목표 샘플레이트로 리샘플링 (polyphase windowed-sinc, 다운샘플링 시 저역 통과)
+ * 4. 20ms 프레임 에너지 기준 앞뒤 무음 제거 (200ms 여유 유지, 앞쪽에서 제거한 길이는 결과 시각 보정용으로 기록)
+ * 5. 16-bit little-endian으로 인코딩
+ */
+@Slf4j
+@Component
+public class AudioNormalizer {
+
+    private static final int TRIM_FRAME_MILLIS = 20;
+    private static final int TRIM_PADDING_MILLIS = 200;            // 말 앞뒤로 남겨둘 여유
+    private static final float SILENCE_ENERGY = 1e-4f;             // 평균 제곱 기준 (약 -40 dBFS)
+    private static final int ZERO_CROSSINGS = 8;                   // sinc 필터 한쪽 영점 수 (필터 길이)
+    private static final double CUTOFF_MARGIN = 0.95;              // 나이퀴스트 직전 대역은 감쇠
+    static final int MIN_SAMPLE_RATE = 8_000;
+    static final int MAX_SAMPLE_RATE = 192_000;
+    private static final int MAX_CHANNELS = 32;
+    private static final int MAX_PHASES = 1_024;                   // 기약분수 L 상한 (44.1k 계열 → 16k는 640)
+    private static final int MAX_OUTPUT_SAMPLES = 1 << 25;         // 변환 결과 상한 (16 kHz 기준 약 35분)
+
+    // (원본 샘플레이트, 목표 샘플레이트)별 필터 계수 (한 번 계산 후 재사용, 자주 쓰는 비율만 유지)
+    private static final Cache<Long, Resampler> RESAMPLERS = Caffeine.newBuilder()
+            .maximumSize(16)
+            .build();
+
+    private final boolean enabled;
+    private final int targetSampleRate;
+    private final boolean trimSilence;
+
+    public AudioNormalizer(@Value("${stt.normalize.enabled:true}") boolean enabled,
+                           @Value("${stt.normalize.target-sample-rate:16000}") int targetSampleRate,
+                           @Value("${stt.normalize.trim-silence:true}") boolean trimSilence) {
+        if (targetSampleRate < MIN_SAMPLE_RATE || targetSampleRate > MAX_SAMPLE_RATE) {
+            throw new IllegalArgumentException("stt.normalize.target-sample-rate 범위 초과: " + targetSampleRate);
+        }
+        this.enabled = enabled;
+        this.targetSampleRate = targetSampleRate;
+        this.trimSilence = trimSilence;
+    }
+
+    /**
+     * 정규화 결과
+     * @param content 인식 요청에 담을 오디오
+     * @param decoding 명시적 디코딩 설정 (null이면 자동 감지)
+     * @param untrimmed 앞뒤 무음을 제거하기 전의 오디오 (VAD 분석용, content와 같은 배열을 공유하므로 복사 없음)
+     * @param offsetMillis 앞쪽에서 제거한 무음 길이 (인식 결과의 시각은 content 기준이므로 이 값을 더해야 원본 시각)
+     */
+    public record Normalized(ByteString content, ExplicitDecodingConfig decoding, ByteString untrimmed,
+                             long offsetMillis) {
+
+        /**
+         * 무음을 제거하지 않은 결과 (그대로 전달한 경우)
+         */
+        public Normalized(ByteString content, ExplicitDecodingConfig decoding) {
+            this(content, decoding, content, 0);
+        }
+
+        /**
+         * 인식 설정에 디코딩 방식 적용
+         */
+        public RecognitionConfig.Builder applyDecoding(RecognitionConfig.Builder config) {
+            if (decoding == null) {
+                return config.setAutoDecodingConfig(AutoDetectDecodingConfig.newBuilder().build());
+            }
+            return config.setExplicitDecodingConfig(decoding);
+        }
+    }
+
+    /**
+     * 오디오 정규화 (지원하지 않는 포맷이거나 비활성화 상태면 그대로 전달)
+     * @param audio 업로드된 오디오
+     * @return 정규화된 오디오와 디코딩 설정
+     */
+    public Normalized normalize(ByteString audio) {
+        if (!enabled || !isWav(audio)) {
+            return new Normalized(audio, null);
+        }
+
+        WavFormat format;
+        try {
+            format = WavFormat.parse(audio.asReadOnlyByteBuffer());
+        } catch (IllegalArgumentException e) {
+            log.warn("WAV 헤더를 읽을 수 없어 그대로 전달: {}", e.getMessage());
+            return new Normalized(audio, null);
+        }
+        if (!isSupported(format)) {
+            log.info("지원하지 않는 WAV 포맷이라 그대로 전달: format={}, bits={}, rate={}, channels={}",
+                    format.audioFormat(), format.bitsPerSample(), format.sampleRate(), format.channels());
+            return new Normalized(audio, null);
+        }
+        long frames = Math.min(format.dataLength(), audio.size() - format.dataOffset()) / format.blockAlign();
+        if (!resamplable(format.sampleRate(), targetSampleRate, frames)) {
+            log.info("샘플레이트 변환 비율이 지원 범위를 벗어나 그대로 전달: {} Hz → {} Hz", format.sampleRate(), targetSampleRate);
+            return new Normalized(audio, null);
+        }
+
+        float[] samples = resample(decodeMono(audio.asReadOnlyByteBuffer(), format), format.sampleRate(), targetSampleRate);
+        int from = 0;
+        int to = samples.length;
+        if (trimSilence) {
+            int[] range = voicedRange(samples, targetSampleRate);
+            from = range[0];
+            to = range[1];
+        }
+        // 전체를 한 번 인코딩하고 전송할 범위만 잘라 감쌈 (VAD는 무음 제거 전 전체를 분석)
+        ByteString untrimmed = encodeLinear16(samples, 0, samples.length);
+        ByteString pcm = untrimmed.substring(from * 2, to * 2);
+        log.debug("오디오 정규화: {} bytes ({} Hz, {}ch, {}-bit) → {} bytes ({} Hz mono LINEAR16)",
+                audio.size(), format.sampleRate(), format.channels(), format.bitsPerSample(), pcm.size(), targetSampleRate);
+
+        return new Normalized(pcm, ExplicitDecodingConfig.newBuilder()
+                .setEncoding(AudioEncoding.LINEAR16)
+                .setSampleRateHertz(targetSampleRate)
+                .setAudioChannelCount(1)
+                .build(), untrimmed, (long) from * 1000 / targetSampleRate);
+    }
+
+    private static boolean isWav(ByteString audio) {
+        return audio.size() >= 12
+                && audio.byteAt(0) == 'R' && audio.byteAt(1) == 'I' && audio.byteAt(2) == 'F' && audio.byteAt(3) == 'F'
+                && audio.byteAt(8) == 'W' && audio.byteAt(9) == 'A' && audio.byteAt(10) == 'V' && audio.byteAt(11) == 'E';
+    }
+
+    private static boolean isSupported(WavFormat format) {
+        if (format.sampleRate() < MIN_SAMPLE_RATE || format.sampleRate() > MAX_SAMPLE_RATE
+                || format.channels() > MAX_CHANNELS) {
+            return false;
+        }
+        if (format.audioFormat() == WavFormat.FORMAT_PCM) {
+            return format.bitsPerSample() >= 8 && format.bitsPerSample() <= 32;
+        }
+        return format.audioFormat() == WavFormat.FORMAT_IEEE_FLOAT
+                && (format.bitsPerSample() == 32 || format.bitsPerSample() == 64);
+    }
+
+    /**
+     * PCM 샘플을 [-1, 1] 범위 float로 디코딩하고 채널을 평균하여 모노로 변환
+     */
+    static float[] decodeMono(ByteBuffer wav, WavFormat format) {
+        ByteBuffer data = wav.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int bytesPerSample = format.bitsPerSample() / 8;
+        int blockAlign = format.blockAlign();
+        long available = Math.min(format.dataLength(), data.limit() - format.dataOffset());
+        int frames = (int) (available / blockAlign);
+        boolean isFloat = format.audioFormat() == WavFormat.FORMAT_IEEE_FLOAT;
+        float scale = 1f / format.channels();
+
+        float[] mono = new float[frames];
+        int position = (int) format.dataOffset();
+        for (int frame = 0; frame < frames; frame++) {
+            float sum = 0;
+            for (int channel = 0; channel < format.channels(); channel++) {
+                sum += sample(data, position, bytesPerSample, isFloat);
+                position += bytesPerSample;
+            }
+            mono[frame] = sum * scale;
+        }
+        return mono;
+    }
+
+    private static float sample(ByteBuffer data, int position, int bytesPerSample, boolean isFloat) {
+        if (isFloat) {
+            return bytesPerSample == 4 ? data.getFloat(position) : (float) data.getDouble(position);
+        }
+        return switch (bytesPerSample) {
+            case 1 -> ((data.get(position) & 0xFF) - 128) / 128f;  // 8-bit는 unsigned
+            case 2 -> data.getShort(position) / 32768f;
+            case 3 -> ((data.get(position) & 0xFF) | (data.get(position + 1) & 0xFF) << 8
+                    | data.get(position + 2) << 16) / 8388608f;
+            default -> data.getInt(position) / 2147483648f;
+        };
+    }
+
+    /**
+     * 위상 수(기약분수 L)와 변환 결과 길이가 상한 이내인지 확인
+     */
+    static boolean resamplable(int fromRate, int toRate, long frames) {
+        if (fromRate == toRate) {
+            return true;
+        }
+        int gcd = Resampler.gcd(fromRate, toRate);
+        return toRate / gcd <= MAX_PHASES && frames * (toRate / gcd) / (fromRate / gcd) <= MAX_OUTPUT_SAMPLES;
+    }
+
+    /**
+     * 샘플레이트 변환 (같으면 그대로 반환)
+     * @throws IllegalArgumentException 위상 수나 결과 길이가 상한을 넘는 경우 (resamplable로 먼저 확인)
+     */
+    static float[] resample(float[] input, int fromRate, int toRate) {
+        if (fromRate == toRate) {
+            return input;
+        }
+        if (!resamplable(fromRate, toRate, input.length)) {
+            throw new IllegalArgumentException("샘플레이트 변환 범위 초과: " + fromRate + " Hz → " + toRate + " Hz");
+        }
+        long key = (long) fromRate << 32 | toRate;
+        return RESAMPLERS.get(key, k -> new Resampler(fromRate, toRate)).apply(input);
+    }
+
+    /**
+     * 앞뒤 무음을 제외한 샘플 범위 [from, to) (전체가 무음이면 전체 범위)
+     */
+    static int[] voicedRange(float[] samples, int sampleRate) {
+        int frameSize = sampleRate * TRIM_FRAME_MILLIS / 1000;
+        int frames = samples.length / frameSize;
+        int first = -1;
+        int last = -1;
+        for (int frame = 0; frame < frames; frame++) {
+            double energy = 0;
+            for (int i = frame * frameSize, end = i + frameSize; i < end; i++) {
+                energy += samples[i] * samples[i];
+            }
+            if (energy / frameSize > SILENCE_ENERGY) {
+                if (first < 0) {
+                    first = frame;
+                }
+                last = frame;
+            }
+        }
+        if (first < 0) {
+            return new int[]{0, samples.length};
+        }
+        int padding = sampleRate * TRIM_PADDING_MILLIS / 1000;
+        int from = Math.max(0, first * frameSize - padding);
+        int to = Math.min(samples.length, (last + 1) * frameSize + padding);
+        return new int[]{from, to};
+    }
+
+    /**
+     * float 샘플을 16-bit little-endian PCM으로 인코딩 (복사 없이 ByteString으로 감쌈)
+     */
+    static ByteString encodeLinear16(float[] samples, int from, int to) {
+        ByteBuffer pcm = ByteBuffer.allocate((to - from) * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = from; i < to; i++) {
+            float clipped = Math.max(-1f, Math.min(1f, samples[i]));
+            pcm.putShort((short) Math.round(clipped * 32767f));
+        }
+        return UnsafeByteOperations.unsafeWrap(pcm.array());
+    }
+
+    /**
+     * polyphase windowed-sinc 리샘플러
+     *
+     * 변환 비율을 기약분수 L/M(목표/원본)으로 나타내면 출력 샘플의 위상은 L가지뿐이므로
+     * 위상별 필터 계수를 미리 계산해두고 출력 샘플마다 곱셈-누적만 수행합니다.
+     */
+    private static final class Resampler {
+
+        private final int up;         // L
+        private final int down;       // M
+        private final int taps;       // 위상별 계수 수
+        private final int halfTaps;
+        private final float[][] coefficients;  // [위상][탭]
+
+        Resampler(int fromRate, int toRate) {
+            int gcd = gcd(fromRate, toRate);
+            this.up = toRate / gcd;
+            this.down = fromRate / gcd;
+            // 다운샘플링 시 목표 나이퀴스트 주파수로 저역 통과 (원본 나이퀴스트 기준 비율)
+            double cutoff = Math.min(1.0, (double) toRate / fromRate) * CUTOFF_MARGIN;
+            double halfWidth = ZERO_CROSSINGS / cutoff;  // 필터 반폭 (원본 샘플 단위)
+            this.halfTaps = (int) Math.ceil(halfWidth);
+            this.taps = halfTaps * 2;
+            this.coefficients = new float[up][taps];
+
+            for (int phase = 0; phase < up; phase++) {
+                double fraction = (double) phase / up;
+                double sum = 0;
+                for (int tap = 0; tap < taps; tap++) {
+                    // 출력 위치(base + fraction)와 입력 샘플(base - halfTaps + 1 + tap) 사이 거리
+                    double x = fraction + halfTaps - 1 - tap;
+                    double weight = Math.abs(x) >= halfWidth ? 0
+                            : cutoff * sinc(cutoff * x) * (0.5 + 0.5 * Math.cos(Math.PI * x / halfWidth));  // Hann 창
+                    coefficients[phase][tap] = (float) weight;
+                    sum += weight;
+                }
+                // 직류 이득 1로 정규화
+                for (int tap = 0; tap < taps; tap++) {
+                    coefficients[phase][tap] /= (float) sum;
+                }
+            }
+        }
+
+        float[] apply(float[] input) {
+            int outputLength = (int) ((long) input.length * up / down);
+            float[] output = new float[outputLength];
+            for (int n = 0; n < outputLength; n++) {
+                long position = (long) n * down;
+                int base = (int) (position / up);
+                float[] kernel = coefficients[(int) (position % up)];
+                int start = base - halfTaps + 1;
+                float acc = 0;
+                if (start >= 0 && start + taps <= input.length) {
+                    for (int tap = 0; tap < taps; tap++) {
+                        acc += kernel[tap] * input[start + tap];
+                    }
+                } else {
+                    // 양 끝: 범위 밖 샘플은 0으로 취급
+                    for (int tap = 0; tap < taps; tap++) {
+                        int index = start + tap;
+                        if (index >= 0 && index < input.length) {
+                            acc += kernel[tap] * input[index];
+                        }
+                    }
+                }
+                output[n] = acc;
+            }
+            return output;
+        }
+
+        private static double sinc(double x) {
+            return x == 0 ? 1 : Math.sin(Math.PI * x) / (Math.PI * x);
+        }
+
+        static int gcd(int a, int b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.gco.stt.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * WebM(Matroska)/Ogg 컨테이너에서 Opus 패킷의 크기와 길이만 읽는 파서 (디코딩 없음)
+ *
+ * 브라우저 MediaRecorder 녹음(Chrome: WebM, Firefox: Ogg)을 디코더 없이 검사하기 위한 용도입니다.
+ * Opus는 무음(특히 DTX)일 때 프레임이 몇 바이트로 줄어들므로 패킷 크기만으로 무음 여부를 추정할 수 있습니다.
+ *
+ * 처리 플로우:
+ * 1. 시그니처로 컨테이너 판별 (EBML 헤더 / "OggS")
+ * 2. WebM: 요소를 순서대로 읽으며 Segment/Cluster/BlockGroup 안으로 들어가고 SimpleBlock/Block의 프레임 추출
+ *    (MediaRecorder가 쓰는 크기 미정(unknown-size) Segment/Cluster 지원, CodecID가 A_OPUS가 아니면 중단)
+ *    Ogg: 페이지의 lacing 값으로 패킷 경계를 복원 (OpusHead/OpusTags 헤더 패킷 제외)
+ * 3. 패킷의 TOC 바이트로 프레임 길이와 개수 계산 후 방문자에게 전달
+ *
+ * 레이싱(lacing)으로 여러 프레임을 묶은 WebM 블록은 지원하지 않습니다 (MediaRecorder는 사용하지 않음).
+ */
+final class OpusPackets {
+
+    // Matroska 요소 ID (길이 표시 비트 포함)
+    private static final int EBML = 0x1A45DFA3;
+    private static final int SEGMENT = 0x18538067;
+    private static final int CLUSTER = 0x1F43B675;
+    private static final int TRACKS = 0x1654AE6B;
+    private static final int TRACK_ENTRY = 0xAE;
+    private static final int CODEC_ID = 0x86;
+    private static final int BLOCK_GROUP = 0xA0;
+    private static final int BLOCK = 0xA1;
+    private static final int SIMPLE_BLOCK = 0xA3;
+
+    private static final int OGG_HEADER_BYTES = 27;
+    private static final long UNKNOWN_SIZE = -1;
+
+    // TOC config별 프레임 길이 (μs): SILK 0~11, Hybrid 12~15, CELT 16~31
+    private static final int[] SILK_MICROS = {10_000, 20_000, 40_000, 60_000};
+    private static final int[] CELT_MICROS = {2_500, 5_000, 10_000, 20_000};
+
+    private OpusPackets() {
+    }
+
+    /**
+     * Opus 패킷 하나
+     */
+    @FunctionalInterface
+    interface Visitor {
+
+        /**
+         * @param bytes 패킷 크기 (TOC 포함)
+         * @param frames 패킷에 담긴 프레임 수
+         * @param durationMicros 패킷 재생 길이 (μs)
+         */
+        void packet(int bytes, int frames, int durationMicros);
+    }
+
+    /**
+     * 컨테이너의 모든 Opus 패킷 방문 (파일 끝이 잘린 녹음은 읽을 수 있는 곳까지)
+     * @param data 업로드된 오디오
+     * @return WebM/Ogg Opus로 읽었는지 여부 (false면 다른 포맷이거나 지원하지 않는 구성, 방문 결과는 무시해야 함)
+     */
+    static boolean scan(ByteBuffer data, Visitor visitor) {
+        ByteBuffer buffer = data.duplicate();
+        int start = buffer.position();
+        if (buffer.remaining() >= 4 && buffer.getInt(start) == EBML) {
+            return scanWebm(buffer, visitor);
+        }
+        if (buffer.remaining() >= 4 && buffer.get(start) == 'O' && buffer.get(start + 1) == 'g'
+                && buffer.get(start + 2) == 'g' && buffer.get(start + 3) == 'S') {
+            return scanOgg(buffer, visitor);
+        }
+        return false;
+    }
+
+    private static boolean scanWebm(ByteBuffer buffer, Visitor visitor) {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        boolean opus = false;
+        while (position < limit) {
+            int idLength = vintLength(buffer, position, 4);
+            if (idLength == 0 || position + idLength >= limit) {
+                break;
+            }
+            int id = 0;
+            for (int i = 0; i < idLength; i++) {
+                id = id << 8 | (buffer.get(position + i) & 0xFF);
+            }
+            int sizeLength = vintLength(buffer, position + idLength, 8);
+            if (sizeLength == 0 || position + idLength + sizeLength > limit) {
+                break;
+            }
+            long size = vintValue(buffer, position + idLength, sizeLength);
+            int dataStart = position + idLength + sizeLength;
+
+            switch (id) {
+                case SEGMENT, CLUSTER, TRACKS, TRACK_ENTRY, BLOCK_GROUP -> {
+                    position = dataStart;  // 하위 요소를 이어서 읽음 (크기 미정이어도 됨)
+                    continue;
+                }
+                case CODEC_ID -> {
+                    if (size == UNKNOWN_SIZE || dataStart + size > limit) {
+                        return false;
+                    }
+                    byte[] codec = new byte[(int) size];
+                    buffer.get(dataStart, codec);
+                    if (!"A_OPUS".equals(new String(codec, StandardCharsets.US_ASCII).trim())) {
+                        return false;  // 다른 코덱 또는 비디오 트랙
+                    }
+                    opus = true;
+                }
+                case SIMPLE_BLOCK, BLOCK -> {
+                    if (!opus || size == UNKNOWN_SIZE) {
+                        return false;
+                    }
+                    int blockEnd = (int) Math.min(limit, dataStart + size);
+                    int trackLength = vintLength(buffer, dataStart, 8);
+                    int frameStart = dataStart + trackLength + 3;  // 트랙 번호, 타임코드(2), 플래그(1)
+                    if (trackLength == 0 || frameStart > blockEnd) {
+                        break;
+                    }
+                    if ((buffer.get(frameStart - 1) & 0x06) != 0) {
+                        return false;  // 레이싱 미지원
+                    }
+                    if (blockEnd == dataStart + size) {
+                        visit(buffer, frameStart, blockEnd - frameStart, visitor);
+                    }
+                }
+                default -> {
+                    if (size == UNKNOWN_SIZE) {
+                        return opus;
+                    }
+                }
+            }
+            if (size == UNKNOWN_SIZE || dataStart + size > limit) {
+                break;  // 파일 끝이 잘림
+            }
+            position = (int) (dataStart + size);
+        }
+        return opus;
+    }
+
+    private static boolean scanOgg(ByteBuffer buffer, Visitor visitor) {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        int packetStart = -1;  // 여러 페이지에 걸친 패킷의 시작 위치
+        int packetBytes = 0;
+        int packets = 0;       // 지금까지 끝난 패킷 수 (0: OpusHead, 1: OpusTags)
+        while (position + OGG_HEADER_BYTES <= limit) {
+            if (buffer.get(position) != 'O' || buffer.get(position + 1) != 'g'
+                    || buffer.get(position + 2) != 'g' || buffer.get(position + 3) != 'S') {
+                break;
+            }
+            int segments = buffer.get(position + 26) & 0xFF;
+            int body = position + OGG_HEADER_BYTES + segments;
+            if (body > limit) {
+                break;
+            }
+            for (int i = 0; i < segments; i++) {
+                int lacing = buffer.get(position + OGG_HEADER_BYTES + i) & 0xFF;
+                if (body + lacing > limit) {
+                    return packets > 0;
+                }
+                if (packetStart < 0) {
+                    packetStart = body;
+                }
+                packetBytes += lacing;
+                body += lacing;
+                if (lacing == 255) {
+                    continue;  // 다음 lacing 값(또는 다음 페이지)으로 이어짐
+                }
+                if (packets == 0 && !isOpusHead(buffer, packetStart, packetBytes)) {
+                    return false;
+                }
+                if (packets >= 2) {
+                    visit(buffer, packetStart, packetBytes, visitor);
+                }
+                packets++;
+                packetStart = -1;
+                packetBytes = 0;
+            }
+            position = body;
+        }
+        return packets > 0;
+    }
+
+    /**
+     * 패킷의 TOC 바이트로 길이 계산 (여러 Ogg 페이지에 걸친 패킷도 시작 위치의 TOC만 필요하므로 이어붙이지 않음)
+     */
+    private static void visit(ByteBuffer buffer, int start, int bytes, Visitor visitor) {
+        if (bytes <= 0) {
+            return;
+        }
+        int toc = buffer.get(start) & 0xFF;
+        int config = toc >> 3;
+        int frameMicros = config < 12 ? SILK_MICROS[config & 3]
+                : config < 16 ? ((config & 1) == 0 ? 10_000 : 20_000)
+                : CELT_MICROS[config & 3];
+        int frames = switch (toc & 3) {
+            case 0 -> 1;
+            case 1, 2 -> 2;
+            default -> bytes >= 2 ? buffer.get(start + 1) & 0x3F : 0;
+        };
+        visitor.packet(bytes, frames, frames * frameMicros);
+    }
+
+    private static boolean isOpusHead(ByteBuffer buffer, int start, int bytes) {
+        byte[] magic = "OpusHead".getBytes(StandardCharsets.US_ASCII);
+        if (bytes < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (buffer.get(start + i) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * EBML 가변 길이 정수의 바이트 수 (첫 바이트의 앞쪽 0 비트 수 + 1, 범위 밖이면 0)
+     */
+    private static int vintLength(ByteBuffer buffer, int position, int maxLength) {
+        if (position >= buffer.limit()) {
+            return 0;
+        }
+        int first = buffer.get(position) & 0xFF;
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        return first == 0 || length > maxLength ? 0 : length;
+    }
+
+    /**
+     * 길이 표시 비트를 뺀 값 (모든 값 비트가 1이면 크기 미정)
+     */
+    private static long vintValue(ByteBuffer buffer, int position, int length) {
+        long value = buffer.get(position) & (0xFF >> length);
+        boolean unknown = value == (0xFF >> length);
+        for (int i = 1; i < length; i++) {
+            int next = buffer.get(position + i) & 0xFF;
+            value = value << 8 | next;
+            unknown &= next == 0xFF;
+        }
+        return unknown ? UNKNOWN_SIZE : value;
+    }
+}
@@ -0,0 +1,201 @@
+package com.gco.stt.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 16-bit PCM 음성을 무음 구간 기준으로 나누는 분할기
+ *
+ * 처리 플로우:
+ * 1. 파일을 순차적으로 읽으며 20ms 단위 프레임의 에너지(평균 제곱)를 계산
+ *    (오디오 전체를 메모리에 올리지 않고 프레임당 float 하나만 유지)
+ * 2. 현재 구간 시작점 기준 [최소 길이, 최대 길이] 범위에서 가장 조용한 지점을 찾아 분할
+ *    (100ms 평균 에너지를 사용해 단어 중간의 순간적인 저점에서 자르지 않음)
+ * 3. 남은 길이가 최대 길이 이하이면 마지막 구간으로 처리
+ *
+ * 업로드 중인 파일은 {@link Progressive}로 도착한 부분부터 분할할 수 있습니다.
+ */
+public class SilenceSplitter {
+
+    static final int ANALYSIS_FRAME_MILLIS = 20;
+    private static final int SMOOTHING_RADIUS = 2;  // 앞뒤 2프레임 → 100ms 평균
+    private static final int FRAMES_PER_READ = 64;
+
+    private final Duration minSegment;
+    private final Duration maxSegment;
+
+    public SilenceSplitter(Duration minSegment, Duration maxSegment) {
+        if (minSegment.compareTo(maxSegment) >= 0) {
+            throw new IllegalArgumentException("최소 구간 길이는 최대 구간 길이보다 짧아야 함");
+        }
+        this.minSegment = minSegment;
+        this.maxSegment = maxSegment;
+    }
+
+    /**
+     * 분할된 구간
+     * @param index 구간 순번 (0부터)
+     * @param byteOffset 파일 기준 시작 위치
+     * @param byteLength 구간 길이 (bytes)
+     * @param startMillis 전체 음성 기준 시작 시각 (ms)
+     * @param endMillis 전체 음성 기준 종료 시각 (ms)
+     */
+    public record Segment(int index, long byteOffset, long byteLength, long startMillis, long endMillis) {
+    }
+
+    /**
+     * WAV 파일의 data 청크를 구간으로 분할
+     * @param channel WAV 파일 채널
+     * @param format 16-bit PCM 포맷 정보
+     * @return 순서대로 정렬된 구간 목록
+     */
+    public List<Segment> split(FileChannel channel, WavFormat format) throws IOException {
+        return progressive(format).finish(channel, format.dataLength());
+    }
+
+    /**
+     * 데이터가 파일 끝에 계속 추가되는 동안 사용할 분할기 생성 (재개 가능한 업로드의 선행 인식용)
+     * @param format 16-bit PCM 포맷 정보 (data 위치만 사용, 길이는 호출 시 전달)
+     */
+    public Progressive progressive(WavFormat format) {
+        if (format.bitsPerSample() != 16) {
+            throw new IllegalArgumentException("16-bit PCM만 분할할 수 있음");
+        }
+        return new Progressive(format);
+    }
+
+    /**
+     * 점진 분할기
+     *
+     * 도착한 프레임의 에너지만 이어서 계산하고, 이후에 올 데이터와 무관하게 위치가 확정된 구간부터 반환합니다.
+     * (구간 시작점 + 최대 길이 + 평균 계산 범위까지 도착하면 분할 지점이 정해짐 → 전체 파일을 split한 결과와 같음)
+     * 한 스레드에서만 사용해야 합니다.
+     */
+    public final class Progressive {
+
+        private final WavFormat format;
+        private final int frameBytes;
+        private final int minFrames;
+        private final int maxFrames;
+        private final ByteBuffer buffer;
+        private float[] energies = new float[FRAMES_PER_READ];
+        private int frames;     // 에너지를 계산한 프레임 수
+        private int start;      // 아직 확정되지 않은 구간의 시작 프레임
+        private int emitted;    // 반환한 구간 수
+
+        private Progressive(WavFormat format) {
+            this.format = format;
+            this.frameBytes = frameBytes(format);
+            this.minFrames = (int) (minSegment.toMillis() / ANALYSIS_FRAME_MILLIS);
+            this.maxFrames = (int) (maxSegment.toMillis() / ANALYSIS_FRAME_MILLIS);
+            this.buffer = ByteBuffer.allocateDirect(frameBytes * FRAMES_PER_READ).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * 새로 도착한 데이터까지 분석하고 확정된 구간 반환
+         * @param channel WAV 파일 채널
+         * @param availableDataBytes 현재까지 도착한 data 청크 길이 (bytes)
+         * @return 이번에 새로 확정된 구간 (없으면 빈 목록)
+         */
+        public List<Segment> advance(FileChannel channel, long availableDataBytes) throws IOException {
+            readFrames(channel, (int) (availableDataBytes / frameBytes));
+            List<Segment> confirmed = new ArrayList<>();
+            // 분할 지점 후보 [start + min, start + max)의 평균 에너지 계산에 필요한 프레임까지 도착해야 확정
+            while (frames - start > maxFrames + SMOOTHING_RADIUS) {
+                int end = quietestFrame(energies, frames, start + minFrames, start + maxFrames);
+                confirmed.add(segment((long) end * frameBytes));
+                start = end;
+            }
+            return confirmed;
+        }
+
+        /**
+         * 데이터가 모두 도착한 뒤 나머지 구간 반환 (마지막 구간은 프레임 단위로 나누어떨어지지 않는 나머지까지 포함)
+         * @param channel WAV 파일 채널
+         * @param dataLength 전체 data 청크 길이 (bytes)
+         * @return 아직 반환하지 않은 구간
+         */
+        public List<Segment> finish(FileChannel channel, long dataLength) throws IOException {
+            readFrames(channel, (int) (dataLength / frameBytes));
+            List<Segment> remaining = new ArrayList<>();
+            do {
+                boolean last = frames - start <= maxFrames;
+                int end = last ? frames : quietestFrame(energies, frames, start + minFrames, start + maxFrames);
+                long byteEnd = last ? dataLength - dataLength % format.blockAlign() : (long) end * frameBytes;
+                remaining.add(segment(byteEnd));
+                start = end;
+            } while (start < frames);
+            return remaining;
+        }
+
+        private Segment segment(long byteEnd) {
+            long byteOffset = (long) start * frameBytes;
+            return new Segment(emitted++, format.dataOffset() + byteOffset, byteEnd - byteOffset,
+                    format.toMillis(byteOffset), format.toMillis(byteEnd));
+        }
+
+        /**
+         * 프레임별 에너지 계산 (고정 크기 버퍼로 파일을 순차 읽기, 오디오 전체를 메모리에 올리지 않음)
+         */
+        private void readFrames(FileChannel channel, int frameCount) throws IOException {
+            if (frameCount > energies.length) {
+                energies = Arrays.copyOf(energies, Math.max(frameCount, energies.length * 2));
+            }
+            int samplesPerFrame = frameBytes / 2;
+            long position = format.dataOffset() + (long) frames * frameBytes;
+            while (frames < frameCount) {
+                int framesToRead = Math.min(FRAMES_PER_READ, frameCount - frames);
+                buffer.clear().limit(framesToRead * frameBytes);
+                WavFormat.readFully(channel, buffer, position);
+                buffer.flip();
+                for (int f = 0; f < framesToRead; f++) {
+                    double sum = 0;
+                    for (int s = 0; s < samplesPerFrame; s++) {
+                        int sample = buffer.getShort();
+                        sum += (double) sample * sample;
+                    }
+                    energies[frames++] = (float) (sum / samplesPerFrame);
+                }
+                position += (long) framesToRead * frameBytes;
+            }
+        }
+    }
+
+    private static int frameBytes(WavFormat format) {
+        int samplesPerFrame = format.sampleRate() * ANALYSIS_FRAME_MILLIS / 1000;
+        return samplesPerFrame * format.blockAlign();
+    }
+
+    /**
+     * [from, to) 범위에서 평균 에너지가 가장 낮은 프레임 (같으면 뒤쪽 프레임 선택)
+     * @param length energies 중 계산된 프레임 수
+     */
+    private static int quietestFrame(float[] energies, int length, int from, int to) {
+        int best = to;
+        double bestEnergy = Double.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            double energy = smoothedEnergy(energies, length, i);
+            if (energy <= bestEnergy) {
+                bestEnergy = energy;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double smoothedEnergy(float[] energies, int length, int frame) {
+        int from = Math.max(0, frame - SMOOTHING_RADIUS);
+        int to = Math.min(length - 1, frame + SMOOTHING_RADIUS);
+        double sum = 0;
+        for (int i = from; i <= to; i++) {
+            sum += energies[i];
+        }
+        return sum / (to - from + 1);
+    }
+}
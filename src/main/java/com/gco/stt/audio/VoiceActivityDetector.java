@@ -0,0 +1,184 @@
+package com.gco.stt.audio;
+
+import com.gco.stt.audio.AudioNormalizer.Normalized;
+import com.google.cloud.speech.v2.ExplicitDecodingConfig.AudioEncoding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 에너지/영점 교차율 기반 음성 구간 검출기 (VAD)
+ *
+ * 인식 요청 전에 무음이나 잡음뿐인 업로드를 걸러 upstream 호출을 생략합니다.
+ *
+ * 주요 기능:
+ * - 20ms 프레임마다 평균 제곱 에너지와 영점 교차율(ZCR)을 계산 (샘플을 한 번 순회, 배열 할당 없음)
+ * - 에너지가 임계값을 넘고 ZCR이 상한 이하인 프레임을 음성으로 판정 (광대역 잡음은 ZCR이 높음)
+ * - 음성 프레임 합계가 최소 길이보다 짧으면 무음으로 판정 (클릭음 등)
+ * - 음성 비율, 전체 길이, 앞뒤 무음을 제외한 길이 보고
+ * - 검사/거절(생략된 upstream 호출) 횟수 집계
+ *
+ * 검사 대상:
+ * - LINEAR16으로 정규화된 WAV: 앞뒤 무음을 제거하기 전의 PCM을 분석 (길이/비율이 원본 기준)
+ * - 브라우저 녹음(WebM/Ogg Opus): 디코딩 없이 컨테이너의 Opus 패킷 크기로 판정 ({@link OpusPackets})
+ *   프레임당 stt.vad.opus-silent-frame-bytes 이하인 패킷(디지털 무음, DTX)만 무음으로 보므로
+ *   음소거된 마이크나 빈 녹음은 걸러내지만, 잡음이 있는 무음은 음성으로 통과시킴 (에너지/ZCR 판정 없음)
+ * - 그 외 포맷(MP3, FLAC 등)은 검사하지 않고 통과
+ */
+@Slf4j
+@Component
+public class VoiceActivityDetector {
+
+    private static final int FRAME_MILLIS = 20;
+
+    private final boolean enabled;
+    private final float energyThreshold;       // 프레임 평균 제곱 에너지 하한 ([-1, 1] 샘플 기준)
+    private final float maxZeroCrossingRate;   // 프레임 영점 교차율 상한 (샘플당)
+    private final long minSpeechMillis;        // 음성으로 판정할 최소 음성 프레임 합계
+    private final int opusSilentFrameBytes;    // 이 크기(프레임당, TOC 제외) 이하의 Opus 패킷은 무음
+
+    private final LongAdder analyzed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public VoiceActivityDetector(@Value("${stt.vad.enabled:true}") boolean enabled,
+                                 @Value("${stt.vad.energy-threshold:0.0001}") float energyThreshold,
+                                 @Value("${stt.vad.max-zero-crossing-rate:0.35}") float maxZeroCrossingRate,
+                                 @Value("${stt.vad.min-speech:200ms}") Duration minSpeech,
+                                 @Value("${stt.vad.opus-silent-frame-bytes:8}") int opusSilentFrameBytes) {
+        this.enabled = enabled;
+        this.energyThreshold = energyThreshold;
+        this.maxZeroCrossingRate = maxZeroCrossingRate;
+        this.minSpeechMillis = minSpeech.toMillis();
+        this.opusSilentFrameBytes = opusSilentFrameBytes;
+    }
+
+    /**
+     * 검출 결과 (검사하지 않은 경우 수치 항목은 null)
+     * @param speech 음성 포함 여부 (false면 인식 요청 생략)
+     * @param speechRatio 음성 프레임 비율 (0.0 ~ 1.0)
+     * @param durationMillis 업로드된 오디오의 전체 길이 (정규화 단계의 무음 제거 전)
+     * @param trimmedMillis 첫 음성 프레임부터 마지막 음성 프레임까지의 길이
+     */
+    public record VoiceActivity(boolean speech, Float speechRatio, Long durationMillis, Long trimmedMillis) {
+
+        static final VoiceActivity NOT_ANALYZED = new VoiceActivity(true, null, null, null);
+    }
+
+    /**
+     * 검사/거절 횟수
+     * @param analyzed 검사한 업로드 수
+     * @param rejected 무음으로 판정되어 생략된 upstream 호출 수
+     */
+    public record Stats(long analyzed, long rejected) {
+    }
+
+    /**
+     * 정규화된 오디오의 음성 포함 여부 검사
+     * @param audio 정규화 결과 (LINEAR16은 무음 제거 전 PCM, 자동 감지 포맷은 WebM/Ogg Opus만 검사하고 나머지는 통과)
+     * @return 검출 결과
+     */
+    public VoiceActivity detect(Normalized audio) {
+        if (!enabled) {
+            return VoiceActivity.NOT_ANALYZED;
+        }
+        VoiceActivity activity;
+        if (audio.decoding() == null) {
+            activity = analyzeOpus(audio.content().asReadOnlyByteBuffer());
+        } else if (audio.decoding().getEncoding() == AudioEncoding.LINEAR16) {
+            activity = analyze(audio.untrimmed().asReadOnlyByteBuffer(), audio.decoding().getSampleRateHertz(),
+                    audio.decoding().getAudioChannelCount());
+        } else {
+            activity = VoiceActivity.NOT_ANALYZED;
+        }
+        if (activity == VoiceActivity.NOT_ANALYZED) {
+            return activity;
+        }
+        analyzed.increment();
+        if (!activity.speech()) {
+            rejected.increment();
+            log.info("음성이 감지되지 않아 인식 요청 생략 (길이 {}ms, 음성 비율 {})", activity.durationMillis(), activity.speechRatio());
+        }
+        return activity;
+    }
+
+    public Stats stats() {
+        return new Stats(analyzed.sum(), rejected.sum());
+    }
+
+    /**
+     * WebM/Ogg Opus 패킷 크기 분석 (Opus가 아니면 NOT_ANALYZED)
+     * - 패킷의 프레임당 크기(TOC 제외)가 opusSilentFrameBytes를 넘으면 음성 패킷으로 판정
+     * - 음성 비율과 길이는 패킷 재생 시간 기준
+     */
+    VoiceActivity analyzeOpus(ByteBuffer container) {
+        long[] totals = new long[4];  // 전체 길이, 음성 길이, 첫 음성 시작, 마지막 음성 끝 (μs)
+        totals[2] = -1;
+        boolean opus = OpusPackets.scan(container, (bytes, frames, durationMicros) -> {
+            if (frames > 0 && (bytes - 1) / frames > opusSilentFrameBytes) {
+                totals[1] += durationMicros;
+                if (totals[2] < 0) {
+                    totals[2] = totals[0];
+                }
+                totals[3] = totals[0] + durationMicros;
+            }
+            totals[0] += durationMicros;
+        });
+        if (!opus) {
+            return VoiceActivity.NOT_ANALYZED;
+        }
+        long durationMillis = totals[0] / 1000;
+        long trimmedMillis = totals[2] < 0 ? 0 : (totals[3] - totals[2]) / 1000;
+        float speechRatio = totals[0] == 0 ? 0f : (float) totals[1] / totals[0];
+        boolean speech = totals[1] / 1000 >= minSpeechMillis;
+        return new VoiceActivity(speech, speechRatio, durationMillis, trimmedMillis);
+    }
+
+    /**
+     * 16-bit little-endian PCM 분석 (여러 채널이면 첫 채널만 사용)
+     */
+    VoiceActivity analyze(ByteBuffer pcm, int sampleRate, int channels) {
+        ByteBuffer samples = pcm.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int stride = 2 * Math.max(1, channels);
+        int frameSize = sampleRate * FRAME_MILLIS / 1000;
+        int totalSamples = samples.remaining() / stride;
+        int frames = totalSamples / frameSize;
+        int base = samples.position();
+
+        int voicedFrames = 0;
+        int firstVoiced = -1;
+        int lastVoiced = -1;
+        for (int frame = 0; frame < frames; frame++) {
+            double energy = 0;
+            int crossings = 0;
+            int offset = base + frame * frameSize * stride;
+            float previous = samples.getShort(offset) / 32768f;
+            for (int i = 0; i < frameSize; i++) {
+                float sample = samples.getShort(offset + i * stride) / 32768f;
+                energy += sample * sample;
+                if ((sample < 0) != (previous < 0)) {
+                    crossings++;
+                }
+                previous = sample;
+            }
+            boolean voiced = energy / frameSize > energyThreshold && (float) crossings / frameSize <= maxZeroCrossingRate;
+            if (voiced) {
+                voicedFrames++;
+                if (firstVoiced < 0) {
+                    firstVoiced = frame;
+                }
+                lastVoiced = frame;
+            }
+        }
+
+        long durationMillis = (long) totalSamples * 1000 / sampleRate;
+        long trimmedMillis = firstVoiced < 0 ? 0 : (long) (lastVoiced - firstVoiced + 1) * FRAME_MILLIS;
+        float speechRatio = frames == 0 ? 0f : (float) voicedFrames / frames;
+        boolean speech = (long) voicedFrames * FRAME_MILLIS >= minSpeechMillis;
+        return new VoiceActivity(speech, speechRatio, durationMillis, trimmedMillis);
+    }
+}
@@ -0,0 +1,132 @@
+package com.gco.stt.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * WAV(RIFF) 파일의 포맷 정보와 PCM 데이터 위치
+ *
+ * @param audioFormat 오디오 포맷 코드 (1: PCM, 3: IEEE float, WAVE_FORMAT_EXTENSIBLE은 하위 포맷으로 변환)
+ * @param channels 채널 수
+ * @param sampleRate 샘플레이트 (Hz)
+ * @param bitsPerSample 샘플당 비트 수
+ * @param dataOffset data 청크 시작 위치 (파일/버퍼 기준 byte offset)
+ * @param dataLength data 청크 길이 (bytes)
+ */
+public record WavFormat(int audioFormat, int channels, int sampleRate, int bitsPerSample,
+                        long dataOffset, long dataLength) {
+
+    public static final int FORMAT_PCM = 1;
+    public static final int FORMAT_IEEE_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    // 청크 ID (little-endian int)
+    private static final int RIFF = 0x46464952;  // "RIFF"
+    private static final int WAVE = 0x45564157;  // "WAVE"
+    private static final int FMT = 0x20746d66;   // "fmt "
+    private static final int DATA = 0x61746164;  // "data"
+
+    private static final int HEADER_PROBE_BYTES = 64 * 1024;  // 헤더를 찾을 최대 범위
+
+    /**
+     * 한 샘플 프레임(모든 채널)의 크기
+     */
+    public int blockAlign() {
+        return channels * (bitsPerSample / 8);
+    }
+
+    /**
+     * 16-bit PCM 여부 (Speech API LINEAR16으로 그대로 전송 가능한지)
+     */
+    public boolean isLinear16() {
+        return audioFormat == FORMAT_PCM && bitsPerSample == 16;
+    }
+
+    /**
+     * 바이트 수를 재생 시간(ms)으로 변환
+     */
+    public long toMillis(long bytes) {
+        return bytes / blockAlign() * 1000L / sampleRate;
+    }
+
+    /**
+     * 파일 앞부분에서 WAV 헤더를 읽기
+     * @param channel WAV 파일 채널
+     * @return 포맷 정보 (data 위치는 파일 기준)
+     * @throws IllegalArgumentException WAV 파일이 아니거나 헤더가 손상된 경우
+     */
+    public static WavFormat read(FileChannel channel) throws IOException {
+        int probeBytes = (int) Math.min(HEADER_PROBE_BYTES, channel.size());
+        ByteBuffer header = ByteBuffer.allocate(probeBytes);
+        readFully(channel, header, 0);
+        header.flip();
+        WavFormat format = parse(header);
+        // 헤더의 data 길이가 실제 파일보다 크면 (녹음 중단 등) 파일 끝까지로 보정
+        long available = channel.size() - format.dataOffset();
+        return format.dataLength() <= available ? format : format.withDataLength(available);
+    }
+
+    /**
+     * 메모리에 있는 WAV 데이터에서 헤더를 읽기
+     * @param buffer WAV 데이터 (position 0 기준, little-endian 여부 무관)
+     * @return 포맷 정보 (data 위치는 버퍼 기준)
+     * @throws IllegalArgumentException WAV 파일이 아니거나 헤더가 손상된 경우
+     */
+    public static WavFormat parse(ByteBuffer buffer) {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (header.remaining() < 12 || header.getInt(0) != RIFF || header.getInt(8) != WAVE) {
+            throw new IllegalArgumentException("WAV 파일이 아님");
+        }
+
+        int audioFormat = -1;
+        int channels = 0;
+        int sampleRate = 0;
+        int bitsPerSample = 0;
+        long position = 12;
+        while (position + 8 <= header.limit()) {
+            int chunkId = header.getInt((int) position);
+            long chunkSize = Integer.toUnsignedLong(header.getInt((int) position + 4));
+            int body = (int) position + 8;
+
+            if (chunkId == FMT && body + 16 <= header.limit()) {
+                audioFormat = header.getShort(body) & 0xFFFF;
+                channels = header.getShort(body + 2) & 0xFFFF;
+                sampleRate = header.getInt(body + 4);
+                bitsPerSample = header.getShort(body + 14) & 0xFFFF;
+                if (audioFormat == FORMAT_EXTENSIBLE && chunkSize >= 26 && body + 26 <= header.limit()) {
+                    // WAVE_FORMAT_EXTENSIBLE: SubFormat GUID의 앞 2바이트가 실제 포맷 코드
+                    audioFormat = header.getShort(body + 24) & 0xFFFF;
+                }
+            } else if (chunkId == DATA) {
+                if (audioFormat < 0 || channels == 0 || sampleRate <= 0 || bitsPerSample % 8 != 0) {
+                    throw new IllegalArgumentException("WAV fmt 청크가 없거나 손상됨");
+                }
+                return new WavFormat(audioFormat, channels, sampleRate, bitsPerSample, body, chunkSize);
+            }
+            // 청크는 2바이트 단위로 정렬됨
+            position = body + chunkSize + (chunkSize & 1);
+        }
+        throw new IllegalArgumentException("WAV data 청크를 찾을 수 없음");
+    }
+
+    private WavFormat withDataLength(long length) {
+        return new WavFormat(audioFormat, channels, sampleRate, bitsPerSample, dataOffset, length);
+    }
+
+    /**
+     * 채널의 지정 위치부터 버퍼가 가득 찰 때까지 읽기
+     */
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("예상보다 파일이 짧음");
+            }
+            offset += read;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gco.stt.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * 배치 인식 작업 (불변 객체, 상태가 바뀔 때마다 새 인스턴스로 저장)
+ *
+ * @param id 작업 ID
+ * @param status 작업 전체 상태 (파일 상태로부터 계산)
+ * @param profile 인식 프로필 이름 (stt.profiles.*, null이면 기본 프로필)
+ * @param files 인식 대상 파일 목록 (요청 순서 유지)
+ * @param callbackUrl 작업 완료 시 결과를 POST할 URL (없으면 null)
+ * @param createdAt 작업 생성 시각
+ * @param updatedAt 마지막 상태 변경 시각
+ */
+public record BatchJob(String id, Status status, String profile, List<BatchFile> files, String callbackUrl,
+                       Instant createdAt, Instant updatedAt) {
+
+    /**
+     * 작업/파일 상태 (PARTIALLY_FAILED는 작업 전체에만 사용)
+     */
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, PARTIALLY_FAILED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == PARTIALLY_FAILED || this == FAILED;
+        }
+    }
+
+    /**
+     * 배치 대상 파일 하나의 처리 상태
+     * @param uri Cloud Storage URI (gs://...)
+     * @param status 처리 상태
+     * @param operationName 처리 중인 BatchRecognize operation 이름 (재시작 시 이어서 대기)
+     * @param transcript 인식 결과 텍스트
+     * @param error 실패 사유
+     */
+    public record BatchFile(String uri, Status status, String operationName, String transcript, String error) {
+
+        static BatchFile queued(String uri) {
+            return new BatchFile(uri, Status.QUEUED, null, null, null);
+        }
+
+        BatchFile running(String operationName) {
+            return new BatchFile(uri, Status.RUNNING, operationName, null, null);
+        }
+
+        BatchFile succeeded(String transcript) {
+            return new BatchFile(uri, Status.SUCCEEDED, operationName, transcript, null);
+        }
+
+        BatchFile failed(String error) {
+            return new BatchFile(uri, Status.FAILED, operationName, null, error);
+        }
+    }
+
+    /**
+     * 새 작업 생성 (모든 파일 QUEUED)
+     */
+    static BatchJob create(List<String> uris, String profile, String callbackUrl) {
+        Instant now = Instant.now();
+        List<BatchFile> files = uris.stream().map(BatchFile::queued).toList();
+        return new BatchJob(UUID.randomUUID().toString(), Status.QUEUED, profile, files, callbackUrl, now, now);
+    }
+
+    /**
+     * [from, to) 범위의 파일 상태를 갱신하고 작업 상태를 다시 계산
+     */
+    BatchJob updateFiles(int from, int to, UnaryOperator<BatchFile> update) {
+        List<BatchFile> updated = new ArrayList<>(files);
+        for (int i = from; i < to; i++) {
+            updated.set(i, update.apply(updated.get(i)));
+        }
+        return new BatchJob(id, statusOf(updated), profile, List.copyOf(updated), callbackUrl, createdAt, Instant.now());
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status.isFinished();
+    }
+
+    private static Status statusOf(List<BatchFile> files) {
+        long succeeded = files.stream().filter(file -> file.status() == Status.SUCCEEDED).count();
+        long failed = files.stream().filter(file -> file.status() == Status.FAILED).count();
+        long queued = files.stream().filter(file -> file.status() == Status.QUEUED).count();
+        if (succeeded + failed == files.size()) {
+            return failed == 0 ? Status.SUCCEEDED : succeeded == 0 ? Status.FAILED : Status.PARTIALLY_FAILED;
+        }
+        return queued == files.size() ? Status.QUEUED : Status.RUNNING;
+    }
+}
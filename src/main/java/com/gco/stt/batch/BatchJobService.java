@@ -0,0 +1,287 @@
+package com.gco.stt.batch;
+
+import com.gco.stt.batch.BatchJob.BatchFile;
+import com.gco.stt.batch.BatchJob.Status;
+import com.gco.stt.service.RecognizerRegistry;
+import com.gco.stt.service.RecognizerRegistry.RecognizerKey;
+import com.gco.stt.service.TranscriptionProfiles;
+import com.gco.stt.service.TranscriptionProfiles.Profile;
+import com.google.api.gax.longrunning.OperationFuture;
+import com.google.cloud.speech.v2.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * BatchRecognize 기반 대량 인식 작업 실행기
+ *
+ * 주요 기능:
+ * - 작업의 파일들을 stt.batch.max-files-per-operation개씩 묶어 BatchRecognize operation 하나로 처리
+ * - 작업에 지정된 인식 프로필(없으면 기본 프로필)의 영구 recognizer와 언어/모델/기능 사용
+ * - 동시에 진행하는 operation 수를 stt.batch.max-concurrent-operations로 제한 (나머지는 대기열에서 대기)
+ * - operation 이름을 작업 저장소에 기록하여 서버 재시작 후에도 같은 operation의 완료를 이어서 대기
+ * - 작업이 끝나면 callbackUrl로 작업 결과를 한 번 POST
+ *   (CallbackUrlPolicy로 등록 시와 전송 직전에 검사, 리다이렉트는 따라가지 않음)
+ *
+ * 처리 플로우:
+ * 1. 작업 생성 및 저장 (모든 파일 QUEUED)
+ * 2. 파일 묶음별로 대기열에 등록
+ * 3. 묶음 처리: recognizer 확인 → BatchRecognize 시작 → operation 이름 기록(RUNNING) → 완료 대기
+ * 4. 파일별 결과(SUCCEEDED/FAILED) 기록, 마지막 묶음이 끝나면 콜백 호출
+ */
+@Slf4j
+@Service
+public class BatchJobService {
+
+    private final ObjectFactory<SpeechClient> speechClient;  // 첫 operation 시점에 생성되는 기본 리전 클라이언트
+    private final RecognizerRegistry recognizerRegistry;
+    private final TranscriptionProfiles profiles;
+    private final BatchJobStore jobStore;
+    private final RestClient restClient;            // 완료 콜백 전송용 (리다이렉트 따라가지 않음)
+    private final CallbackUrlPolicy callbackUrlPolicy;  // 콜백 URL 허용 범위 (SSRF 방지)
+    private final String projectId;
+    private final String location;
+    private final int maxFilesPerOperation;         // operation 하나에 담을 최대 파일 수
+    private final Duration operationTimeout;        // operation 하나의 최대 대기 시간
+    private final ExecutorService operations;       // 동시에 진행하는 operation 수 = 스레드 수
+
+    public BatchJobService(ObjectFactory<SpeechClient> speechClient,
+                           RecognizerRegistry recognizerRegistry,
+                           TranscriptionProfiles profiles,
+                           BatchJobStore jobStore,
+                           RestClient.Builder restClientBuilder,
+                           CallbackUrlPolicy callbackUrlPolicy,
+                           @Value("${gcp.project-id}") String projectId,
+                           @Value("${gcp.location}") String location,
+                           @Value("${stt.batch.max-concurrent-operations:4}") int maxConcurrentOperations,
+                           @Value("${stt.batch.max-files-per-operation:15}") int maxFilesPerOperation,
+                           @Value("${stt.batch.operation-timeout:6h}") Duration operationTimeout) {
+        this.speechClient = speechClient;
+        this.recognizerRegistry = recognizerRegistry;
+        this.profiles = profiles;
+        this.jobStore = jobStore;
+        // 허용된 호스트가 내부 주소로 리다이렉트하는 경우를 막기 위해 리다이렉트를 따라가지 않음
+        this.restClient = restClientBuilder
+                .requestFactory(new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                        .followRedirects(HttpClient.Redirect.NEVER)
+                        .build()))
+                .build();
+        this.callbackUrlPolicy = callbackUrlPolicy;
+        this.projectId = projectId;
+        this.location = location;
+        this.maxFilesPerOperation = maxFilesPerOperation;
+        this.operationTimeout = operationTimeout;
+        this.operations = Executors.newFixedThreadPool(maxConcurrentOperations,
+                Thread.ofPlatform().name("batch-operation-", 0).factory());
+    }
+
+    /**
+     * 배치 작업 등록 (즉시 반환, 처리는 백그라운드에서 진행)
+     *
+     * @param uris 인식할 파일의 Cloud Storage URI 목록
+     * @param profile 인식 프로필 (stt.profiles.*, null이면 기본 프로필)
+     * @param callbackUrl 완료 시 결과를 받을 URL (선택, 허용된 호스트의 https만)
+     * @return 등록된 작업 (QUEUED)
+     * @throws IllegalArgumentException 알 수 없는 프로필이거나 콜백 URL이 허용 범위를 벗어난 경우
+     */
+    public BatchJob submit(List<String> uris, String profile, String callbackUrl) {
+        Profile resolved = profiles.find(profile)
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 프로필: " + profile));
+        if (callbackUrl != null && !callbackUrl.isBlank()) {
+            callbackUrlPolicy.validate(callbackUrl);
+        }
+        BatchJob job = BatchJob.create(uris, resolved.name(), callbackUrl);
+        jobStore.save(job);
+        log.info("배치 작업 등록: {} (파일 {}개, 프로필 {})", job.id(), uris.size(), resolved.name());
+        enqueueQueued(job, 0, uris.size());
+        return job;
+    }
+
+    public Optional<BatchJob> find(String id) {
+        return jobStore.find(id);
+    }
+
+    /**
+     * 재시작 시 끝나지 않은 작업 복구
+     * - RUNNING 파일: 기록된 operation 이름으로 완료를 이어서 대기
+     * - QUEUED 파일: 다시 대기열에 등록
+     */
+    @PostConstruct
+    void resumeUnfinished() {
+        for (BatchJob job : jobStore.findAll()) {
+            if (job.isFinished()) {
+                continue;
+            }
+            log.info("끝나지 않은 배치 작업 복구: {}", job.id());
+            List<BatchFile> files = job.files();
+            int from = 0;
+            while (from < files.size()) {
+                // 같은 상태(및 같은 operation)의 연속 구간 단위로 처리
+                BatchFile first = files.get(from);
+                int to = from + 1;
+                while (to < files.size() && sameGroup(first, files.get(to))) {
+                    to++;
+                }
+                if (first.status() == Status.RUNNING) {
+                    int start = from, end = to;
+                    operations.execute(() -> awaitOperation(job.id(), start, end,
+                            speechClient.getObject().batchRecognizeOperationCallable().resumeFutureCall(first.operationName())));
+                } else if (first.status() == Status.QUEUED) {
+                    enqueueQueued(job, from, to);
+                }
+                from = to;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // 진행 중인 operation은 서버에서 계속 실행되고, 재시작 시 이름으로 이어서 대기
+        operations.shutdownNow();
+    }
+
+    private static boolean sameGroup(BatchFile a, BatchFile b) {
+        return a.status() == b.status() && (a.status() != Status.RUNNING || a.operationName().equals(b.operationName()));
+    }
+
+    private void enqueueQueued(BatchJob job, int from, int to) {
+        for (int start = from; start < to; start += maxFilesPerOperation) {
+            int end = Math.min(start + maxFilesPerOperation, to);
+            List<String> uris = job.files().subList(start, end).stream().map(BatchFile::uri).toList();
+            int groupStart = start;
+            operations.execute(() -> startOperation(job.id(), job.profile(), groupStart, end, uris));
+        }
+    }
+
+    /**
+     * 파일 묶음 하나에 대한 BatchRecognize 시작
+     */
+    private void startOperation(String jobId, String profileName, int from, int to, List<String> uris) {
+        OperationFuture<BatchRecognizeResponse, OperationMetadata> operation;
+        String operationName;
+        try {
+            // 저장 후 설정에서 빠진 프로필은 시작 실패로 기록
+            Profile profile = profiles.find(profileName)
+                    .orElseThrow(() -> new IllegalArgumentException("알 수 없는 프로필: " + profileName));
+            RecognizerKey recognizerKey = new RecognizerKey(
+                    projectId, location, profile.recognizerId(), profile.languageCode(), profile.model());
+            BatchRecognizeRequest request = BatchRecognizeRequest.newBuilder()
+                    .setRecognizer(recognizerRegistry.resolve(recognizerKey).toString())
+                    .setConfig(RecognitionConfig.newBuilder()
+                            .setAutoDecodingConfig(AutoDetectDecodingConfig.getDefaultInstance())
+                            .addLanguageCodes(profile.languageCode())
+                            .setModel(profile.model())
+                            .setFeatures(RecognitionFeatures.newBuilder()
+                                    .setEnableAutomaticPunctuation(profile.punctuation())))
+                    .addAllFiles(uris.stream()
+                            .map(uri -> BatchRecognizeFileMetadata.newBuilder().setUri(uri).build())
+                            .toList())
+                    .setRecognitionOutputConfig(RecognitionOutputConfig.newBuilder()
+                            .setInlineResponseConfig(InlineOutputConfig.newBuilder().build())  // 결과를 응답에 포함
+                            .build())
+                    .build();
+
+            operation = speechClient.getObject().batchRecognizeAsync(request);
+            operationName = operation.getName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;  // 종료 중: QUEUED 상태로 남아 재시작 시 다시 등록됨
+        } catch (ExecutionException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.error("BatchRecognize 시작 실패: {} [{}, {})", jobId, from, to, cause);
+            complete(jobId, from, to, file -> file.failed("BatchRecognize 시작 실패: " + cause.getMessage()));
+            return;
+        }
+
+        log.info("BatchRecognize 시작: {} [{}, {}) → {}", jobId, from, to, operationName);
+        jobStore.update(jobId, job -> job.updateFiles(from, to, file -> file.running(operationName)));
+        awaitOperation(jobId, from, to, operation);
+    }
+
+    /**
+     * operation 완료를 대기하고 파일별 결과 기록
+     */
+    private void awaitOperation(String jobId, int from, int to,
+                                OperationFuture<BatchRecognizeResponse, OperationMetadata> operation) {
+        BatchRecognizeResponse response;
+        try {
+            response = operation.get(operationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;  // 종료 중: RUNNING 상태로 남아 재시작 시 이어서 대기
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.error("BatchRecognize 실패: {} [{}, {})", jobId, from, to, cause);
+            String error = e instanceof TimeoutException ? "BatchRecognize 시간 초과" : "BatchRecognize 실패: " + cause.getMessage();
+            complete(jobId, from, to, file -> file.failed(error));
+            return;
+        }
+
+        complete(jobId, from, to, file -> {
+            BatchRecognizeFileResult result = response.getResultsMap().get(file.uri());
+            if (result == null) {
+                return file.failed("결과 없음");
+            }
+            if (result.hasError() && result.getError().getCode() != 0) {
+                return file.failed(result.getError().getMessage());
+            }
+            // 여러 결과(발화 구간)를 순서대로 이어붙임
+            String transcript = result.getInlineResult().getTranscript().getResultsList().stream()
+                    .filter(r -> r.getAlternativesCount() > 0)
+                    .map(r -> r.getAlternatives(0).getTranscript().trim())
+                    .collect(Collectors.joining(" "));
+            return file.succeeded(transcript);
+        });
+    }
+
+    /**
+     * 묶음 결과 기록, 이 기록으로 작업이 끝났으면 콜백 호출
+     */
+    private void complete(String jobId, int from, int to, UnaryOperator<BatchFile> update) {
+        AtomicBoolean finishedNow = new AtomicBoolean();
+        BatchJob updated = jobStore.update(jobId, job -> {
+            BatchJob next = job.updateFiles(from, to, update);
+            // 저장소 갱신은 작업별로 직렬화되므로 완료 전이는 정확히 한 번만 관측됨
+            finishedNow.set(!job.isFinished() && next.isFinished());
+            return next;
+        });
+        if (finishedNow.get()) {
+            log.info("배치 작업 완료: {} ({})", jobId, updated.status());
+            notifyCallback(updated);
+        }
+    }
+
+    private void notifyCallback(BatchJob job) {
+        if (job.callbackUrl() == null || job.callbackUrl().isBlank()) {
+            return;
+        }
+        try {
+            // 등록 후 DNS가 바뀌었을 수 있으므로 전송 직전에 다시 검사
+            URI callback = callbackUrlPolicy.validate(job.callbackUrl());
+            restClient.post().uri(callback).body(job).retrieve().toBodilessEntity();
+            log.info("배치 작업 콜백 전송: {} → {}", job.id(), job.callbackUrl());
+        } catch (RuntimeException e) {
+            // 콜백 실패는 작업 결과에 영향을 주지 않음 (GET /api/batch/jobs/{id}로 조회 가능)
+            log.warn("배치 작업 콜백 실패: {} → {} ({})", job.id(), job.callbackUrl(), e.getMessage());
+        }
+    }
+}
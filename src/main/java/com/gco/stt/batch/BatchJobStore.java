@@ -0,0 +1,144 @@
+package com.gco.stt.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * 배치 작업 상태를 로컬 디스크에 저장하는 저장소
+ *
+ * 주요 기능:
+ * - 작업 하나당 JSON 파일 하나 ({store-dir}/{jobId}.json)
+ * - 임시 파일에 쓴 뒤 원자적으로 교체하여 중간에 종료되어도 파일이 깨지지 않음
+ * - 시작 시 기존 파일을 모두 읽어 메모리에 올림 (재시작 후 조회/복구 가능)
+ * - 끝난 작업은 마지막 변경 후 stt.batch.retention이 지나면 메모리와 디스크에서 삭제
+ *   (시작 시와 새 작업 저장 시 정리, 정리는 최대 PURGE_INTERVAL마다 한 번)
+ */
+@Slf4j
+@Component
+public class BatchJobStore {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration retention;  // 끝난 작업 보관 기간
+    private final ConcurrentMap<String, BatchJob> jobs = new ConcurrentHashMap<>();
+    private volatile Instant nextPurge = Instant.MIN;
+
+    public BatchJobStore(ObjectMapper objectMapper,
+                         @Value("${stt.batch.store-dir:./data/batch-jobs}") String directory,
+                         @Value("${stt.batch.retention:7d}") Duration retention) throws IOException {
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(Path.of(directory));
+        this.retention = retention;
+        load();
+        purgeExpired(Instant.now());
+    }
+
+    public Optional<BatchJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public Collection<BatchJob> findAll() {
+        return List.copyOf(jobs.values());
+    }
+
+    /**
+     * 작업 저장 (디스크에 쓴 뒤 메모리 반영)
+     */
+    public void save(BatchJob job) {
+        jobs.compute(job.id(), (id, previous) -> write(job));
+        Instant now = Instant.now();
+        if (!now.isBefore(nextPurge)) {
+            purgeExpired(now);
+        }
+    }
+
+    /**
+     * 작업 갱신 (같은 작업에 대한 갱신은 순서대로 적용됨)
+     * @return 갱신된 작업
+     */
+    public BatchJob update(String id, UnaryOperator<BatchJob> update) {
+        return jobs.compute(id, (key, job) -> {
+            if (job == null) {
+                throw new IllegalArgumentException("존재하지 않는 배치 작업: " + id);
+            }
+            return write(update.apply(job));
+        });
+    }
+
+    /**
+     * 보관 기간이 지난 끝난 작업 삭제
+     * @return 삭제한 작업 수
+     */
+    int purgeExpired(Instant now) {
+        nextPurge = now.plus(PURGE_INTERVAL);
+        Instant cutoff = now.minus(retention);
+        int purged = 0;
+        for (String id : jobs.keySet()) {
+            // 작업별 갱신과 직렬화하여 조건을 확인한 뒤 삭제
+            boolean[] removed = new boolean[1];
+            jobs.computeIfPresent(id, (key, job) -> {
+                if (!job.isFinished() || job.updatedAt().isAfter(cutoff)) {
+                    return job;
+                }
+                try {
+                    Files.deleteIfExists(directory.resolve(id + ".json"));
+                } catch (IOException e) {
+                    log.warn("배치 작업 파일 삭제 실패: {} ({})", id, e.getMessage());
+                    return job;  // 다음 정리에서 다시 시도
+                }
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            log.info("보관 기간이 지난 배치 작업 {}개 삭제", purged);
+        }
+        return purged;
+    }
+
+    private BatchJob write(BatchJob job) {
+        Path target = directory.resolve(job.id() + ".json");
+        Path temp = directory.resolve(job.id() + ".json.tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), job);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return job;
+        } catch (IOException e) {
+            throw new UncheckedIOException("배치 작업 저장 실패: " + job.id(), e);
+        }
+    }
+
+    private void load() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".json")).forEach(file -> {
+                try {
+                    BatchJob job = objectMapper.readValue(file.toFile(), BatchJob.class);
+                    jobs.put(job.id(), job);
+                } catch (IOException e) {
+                    log.warn("배치 작업 파일을 읽을 수 없음: {} ({})", file, e.getMessage());
+                }
+            });
+        }
+        log.info("배치 작업 {}개 로드: {}", jobs.size(), directory.toAbsolutePath());
+    }
+}
@@ -0,0 +1,148 @@
+package com.gco.stt.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 배치 작업 완료 콜백 URL 검사 (서버가 임의 주소로 요청을 보내는 SSRF 방지)
+ *
+ * 주요 기능:
+ * - stt.batch.callback.allowed-hosts에 등록된 호스트만 허용 ("*.example.com"은 하위 도메인 전체, 비어 있으면 콜백 사용 불가)
+ * - https만 허용 (stt.batch.callback.require-https=false면 http도 허용, 로컬 개발용)
+ * - 호스트가 가리키는 모든 주소를 확인하여 내부 주소(루프백, 사설망, 링크 로컬(169.254.169.254 메타데이터 서버 포함),
+ *   CGNAT, IPv6 ULA, 멀티캐스트, 0.0.0.0)는 거절 (stt.batch.callback.allow-private-addresses=true면 허용)
+ * - 사용자 정보가 포함된 URL(https://user@host)은 거절
+ *
+ * 등록 시와 전송 직전에 모두 검사합니다 (등록 후 DNS가 내부 주소로 바뀐 경우 차단).
+ */
+@Component
+public class CallbackUrlPolicy {
+
+    private final Set<String> allowedHosts;        // 소문자, 끝의 '.' 제거
+    private final boolean requireHttps;
+    private final boolean allowPrivateAddresses;
+
+    public CallbackUrlPolicy(@Value("${stt.batch.callback.allowed-hosts:}") List<String> allowedHosts,
+                             @Value("${stt.batch.callback.require-https:true}") boolean requireHttps,
+                             @Value("${stt.batch.callback.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.allowedHosts = allowedHosts.stream()
+                .map(String::strip)
+                .filter(host -> !host.isEmpty())
+                .map(CallbackUrlPolicy::normalizeHost)
+                .collect(Collectors.toUnmodifiableSet());
+        this.requireHttps = requireHttps;
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    /**
+     * 콜백 URL 검사
+     * @param callbackUrl 요청에 담긴 URL
+     * @return 검사를 통과한 URI
+     * @throws IllegalArgumentException 형식 오류, 허용되지 않은 스킴/호스트, 내부 주소
+     */
+    public URI validate(String callbackUrl) {
+        URI uri;
+        try {
+            uri = new URI(callbackUrl.strip());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("콜백 URL 형식 오류: " + callbackUrl);
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!scheme.equals("https") && !(scheme.equals("http") && !requireHttps)) {
+            throw new IllegalArgumentException(requireHttps ? "콜백 URL은 https만 허용" : "콜백 URL은 http/https만 허용");
+        }
+        if (uri.getRawUserInfo() != null) {
+            throw new IllegalArgumentException("콜백 URL에 사용자 정보를 포함할 수 없음");
+        }
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException("콜백 URL에 호스트가 없음: " + callbackUrl);
+        }
+        String host = normalizeHost(uri.getHost());
+        if (!isAllowedHost(host)) {
+            throw new IllegalArgumentException("허용되지 않은 콜백 호스트: " + host + " (stt.batch.callback.allowed-hosts)");
+        }
+        checkAddresses(host);
+        return uri;
+    }
+
+    private boolean isAllowedHost(String host) {
+        if (allowedHosts.contains(host)) {
+            return true;
+        }
+        for (int dot = host.indexOf('.'); dot >= 0; dot = host.indexOf('.', dot + 1)) {
+            if (allowedHosts.contains("*" + host.substring(dot))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 호스트가 가리키는 모든 주소 확인 (하나라도 내부 주소면 거절)
+     */
+    private void checkAddresses(String host) {
+        if (allowPrivateAddresses) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("콜백 호스트를 찾을 수 없음: " + host);
+        }
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new IllegalArgumentException("내부 주소로는 콜백을 보낼 수 없음: " + host + " → " + address.getHostAddress());
+            }
+        }
+    }
+
+    static boolean isInternal(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            // 100.64.0.0/10 (CGNAT), 0.0.0.0/8
+            return (bytes[0] & 0xFF) == 100 && (bytes[1] & 0xC0) == 64 || bytes[0] == 0;
+        }
+        if (address instanceof Inet6Address) {
+            // fc00::/7 (ULA), IPv4 호환/매핑 주소는 내장된 IPv4 주소로 판정
+            if ((bytes[0] & 0xFE) == 0xFC) {
+                return true;
+            }
+            boolean embedsIpv4 = true;
+            for (int i = 0; i < 10; i++) {
+                embedsIpv4 &= bytes[i] == 0;
+            }
+            if (embedsIpv4 && (bytes[10] == 0 && bytes[11] == 0 || bytes[10] == (byte) 0xFF && bytes[11] == (byte) 0xFF)) {
+                try {
+                    return isInternal(InetAddress.getByAddress(new byte[]{bytes[12], bytes[13], bytes[14], bytes[15]}));
+                } catch (UnknownHostException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String normalizeHost(String host) {
+        String normalized = host.toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("[") && normalized.endsWith("]")) {
+            normalized = normalized.substring(1, normalized.length() - 1);
+        }
+        return normalized.endsWith(".") ? normalized.substring(0, normalized.length() - 1) : normalized;
+    }
+}
@@ -0,0 +1,411 @@
+package com.gco.stt.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.cloud.speech.v2.RecognizeRequest;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.protobuf.ByteString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 오디오 내용 기반 인식 결과 캐시
+ *
+ * 주요 기능:
+ * - 키: SHA-256(오디오를 제외한 요청(recognizer, RecognitionConfig) + 오디오 바이트)
+ *   → 같은 오디오라도 언어/모델/디코딩 설정이 다르면 다른 항목
+ *   (결과를 만드는 방식이 다른 호출자는 variant로 구분, 예: RecognizeBatcher의 묶음 분리 결과)
+ * - 메모리 계층: Caffeine(W-TinyLFU), 응답 직렬화 크기 합계를 stt.cache.max-size로 제한
+ * - 디스크 계층(선택): stt.cache.disk-dir에 응답을 protobuf 파일로 저장하여 재시작 후에도 재사용
+ *   (stt.cache.disk-max-age보다 오래된 파일은 삭제, 합계가 stt.cache.disk-max-size를 넘으면 오래전에 기록된 파일부터 삭제,
+ *    정리는 시작 시와 파일 기록 시 수행하고 시작 시에는 이전 실행이 남긴 임시 파일(.pb.tmp)도 삭제)
+ * - 같은 키의 동시 요청은 진행 중인 upstream 호출 하나를 공유
+ *   (호출자마다 별도 future를 반환하므로 한 호출자의 취소가 다른 호출자나 캐시 항목에 영향을 주지 않음,
+ *    기다리는 호출자가 모두 취소하면 항목을 버리고 upstream 호출도 취소)
+ * - 실패한 호출은 캐싱하지 않음 (다음 요청에서 다시 호출)
+ * - 메모리 적중/디스크 적중/미스 횟수 집계
+ */
+@Slf4j
+@Component
+public class TranscriptCache {
+
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().start(task);  // 디스크 입출력용
+    private static final String FILE_SUFFIX = ".pb";
+    private static final String TEMP_SUFFIX = ".pb.tmp";
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(10);  // 크기를 넘지 않아도 만료 파일을 정리하는 주기
+
+    private final boolean enabled;
+    private final AsyncCache<String, RecognizeResponse> memory;
+    private final Path diskDirectory;  // null이면 디스크 계층 사용 안 함
+    private final long diskMaxBytes;
+    private final Duration diskMaxAge;
+    private final AtomicLong diskBytes = new AtomicLong();  // 디스크 계층 파일 크기 합계 (정리 시 실제 값으로 보정)
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long nextSweepMillis;
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();  // 진행 중인 호출 (키별)
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public TranscriptCache(@Value("${stt.cache.enabled:true}") boolean enabled,
+                           @Value("${stt.cache.max-size:64MB}") DataSize maxSize,
+                           @Value("${stt.cache.disk-dir:}") String diskDirectory,
+                           @Value("${stt.cache.disk-max-size:1GB}") DataSize diskMaxSize,
+                           @Value("${stt.cache.disk-max-age:7d}") Duration diskMaxAge) throws IOException {
+        if (diskMaxSize.toBytes() <= 0 || diskMaxAge.isNegative() || diskMaxAge.isZero()) {
+            throw new IllegalArgumentException("stt.cache.disk-max-size와 stt.cache.disk-max-age는 0보다 커야 합니다");
+        }
+        this.enabled = enabled;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, RecognizeResponse response) -> key.length() + response.getSerializedSize())
+                .buildAsync();
+        this.diskDirectory = diskDirectory.isBlank() ? null : Files.createDirectories(Path.of(diskDirectory));
+        this.diskMaxBytes = diskMaxSize.toBytes();
+        this.diskMaxAge = diskMaxAge;
+        if (this.diskDirectory != null) {
+            deleteTempFiles();
+            sweepDisk();
+        }
+    }
+
+    TranscriptCache(boolean enabled, DataSize maxSize, String diskDirectory) throws IOException {
+        this(enabled, maxSize, diskDirectory, DataSize.ofGigabytes(1), Duration.ofDays(7));
+    }
+
+    /**
+     * 캐시 집계
+     * @param memoryHits 메모리 계층 적중 (진행 중인 호출 공유 포함)
+     * @param diskHits 디스크 계층 적중
+     * @param misses upstream 호출 횟수
+     * @param estimatedSize 메모리 계층 항목 수
+     */
+    public record Stats(long memoryHits, long diskHits, long misses, long estimatedSize) {
+    }
+
+    /**
+     * 캐시된 응답을 반환하거나, 없으면 loader로 호출하여 저장
+     *
+     * 처리 플로우:
+     * 1. 요청 해시 계산
+     * 2. 메모리 계층 조회 (진행 중인 같은 요청이 있으면 그 결과를 공유)
+     * 3. 디스크 계층 조회
+     * 4. 둘 다 없으면 loader 호출, 성공 시 디스크 계층에도 저장
+     *
+     * @param request recognize 요청
+     * @param loader 캐시 미스 시 실제 호출
+     * @return 응답 future
+     */
+    public CompletableFuture<RecognizeResponse> get(RecognizeRequest request,
+                                                    Function<RecognizeRequest, CompletableFuture<RecognizeResponse>> loader) {
+        return get(request, "", loader);
+    }
+
+    /**
+     * variant별로 구분된 항목 조회 (같은 요청이라도 variant가 다르면 결과를 공유하지 않음)
+     *
+     * @param request recognize 요청
+     * @param variant 결과를 만드는 방식 (빈 문자열이면 기본 항목)
+     * @param loader 캐시 미스 시 실제 호출 (반환한 future를 취소하면 upstream 호출도 취소되어야 함)
+     * @return 이 호출자 전용 응답 future (취소해도 같은 요청을 기다리는 다른 호출자에는 영향 없음)
+     */
+    public CompletableFuture<RecognizeResponse> get(RecognizeRequest request, String variant,
+                                                    Function<RecognizeRequest, CompletableFuture<RecognizeResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(request);
+        }
+
+        String key = keyOf(request, variant);
+        while (true) {
+            boolean[] loaded = new boolean[1];  // 이 호출이 항목을 새로 만들었는지 여부
+            CompletableFuture<RecognizeResponse> shared = memory.get(key, (k, executor) -> {
+                loaded[0] = true;
+                Flight flight = new Flight(k);
+                flights.put(k, flight);
+                CompletableFuture<RecognizeResponse> future = load(k, request, flight, loader);
+                flight.shared = future;
+                future.whenComplete((response, error) -> flights.remove(k, flight));
+                return future;
+            });
+            CompletableFuture<RecognizeResponse> handle = subscribe(key, shared);
+            if (handle != null) {
+                if (!loaded[0]) {
+                    memoryHits.increment();
+                }
+                return handle;
+            }
+            // 모든 호출자가 취소하여 버리는 중인 항목: 다시 조회 (새로 호출)
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(memoryHits.sum(), diskHits.sum(), misses.sum(), memory.synchronous().estimatedSize());
+    }
+
+    /**
+     * 메모리 계층 비우기 (디스크 계층은 유지)
+     */
+    public void invalidateAll() {
+        memory.synchronous().invalidateAll();
+    }
+
+    /**
+     * 호출자 전용 future 생성 (완료된 항목은 복사본, 진행 중인 항목은 대기 호출자로 등록, 버리는 중이면 null)
+     */
+    private CompletableFuture<RecognizeResponse> subscribe(String key, CompletableFuture<RecognizeResponse> shared) {
+        Flight flight = flights.get(key);
+        if (shared.isDone() || flight == null || flight.shared != shared) {
+            return shared.copy();
+        }
+        return flight.subscribe();
+    }
+
+    private CompletableFuture<RecognizeResponse> load(String key, RecognizeRequest request, Flight flight,
+                                                      Function<RecognizeRequest, CompletableFuture<RecognizeResponse>> loader) {
+        if (diskDirectory == null) {
+            misses.increment();
+            return flight.call(loader, request);
+        }
+        return CompletableFuture.supplyAsync(() -> readDisk(key), VIRTUAL_THREADS)
+                .thenCompose(cached -> {
+                    if (cached != null) {
+                        diskHits.increment();
+                        return CompletableFuture.completedFuture(cached);
+                    }
+                    misses.increment();
+                    return flight.call(loader, request).thenApply(response -> {
+                        VIRTUAL_THREADS.execute(() -> writeDisk(key, response));
+                        return response;
+                    });
+                });
+    }
+
+    private RecognizeResponse readDisk(String key) {
+        try {
+            return RecognizeResponse.parseFrom(Files.readAllBytes(diskDirectory.resolve(key + FILE_SUFFIX)));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            // 손상된 파일은 미스로 처리 (성공 시 다시 기록됨)
+            log.warn("캐시 파일을 읽을 수 없음: {} ({})", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, RecognizeResponse response) {
+        Path target = diskDirectory.resolve(key + FILE_SUFFIX);
+        Path temp = diskDirectory.resolve(key + TEMP_SUFFIX);
+        byte[] bytes = response.toByteArray();
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("캐시 파일 저장 실패: {} ({})", key, e.getMessage());
+            return;
+        }
+        if (diskBytes.addAndGet(bytes.length) > diskMaxBytes || System.currentTimeMillis() >= nextSweepMillis) {
+            sweepDisk();
+        }
+    }
+
+    /**
+     * 디스크 계층 정리 (동시에 하나만 실행, 이미 실행 중이면 건너뜀)
+     *
+     * 처리 플로우:
+     * 1. 캐시 파일 목록과 크기/수정 시각 조회
+     * 2. stt.cache.disk-max-age보다 오래된 파일 삭제
+     * 3. 남은 합계가 stt.cache.disk-max-size를 넘으면 오래전에 기록된 파일부터 상한의 90%까지 삭제
+     *    (상한 바로 아래에서 멈추면 다음 기록마다 정리가 반복되므로 여유를 둠)
+     */
+    private void sweepDisk() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            nextSweepMillis = now + SWEEP_INTERVAL.toMillis();
+            List<DiskEntry> entries = new ArrayList<>();
+            long total = 0;
+            int deleted = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(diskDirectory, "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                        long modified = attributes.lastModifiedTime().toMillis();
+                        if (now - modified > diskMaxAge.toMillis()) {
+                            Files.deleteIfExists(file);
+                            deleted++;
+                            continue;
+                        }
+                        entries.add(new DiskEntry(file, attributes.size(), modified));
+                        total += attributes.size();
+                    } catch (IOException e) {
+                        // 조회 중 다른 스레드가 교체한 파일은 다음 정리에서 처리
+                    }
+                }
+            }
+            if (total > diskMaxBytes) {
+                long target = diskMaxBytes / 10 * 9;
+                entries.sort(Comparator.comparingLong(DiskEntry::modifiedMillis));
+                for (DiskEntry entry : entries) {
+                    if (total <= target) {
+                        break;
+                    }
+                    try {
+                        Files.deleteIfExists(entry.file());
+                        total -= entry.size();
+                        deleted++;
+                    } catch (IOException e) {
+                        log.warn("캐시 파일 삭제 실패: {} ({})", entry.file().getFileName(), e.getMessage());
+                    }
+                }
+            }
+            diskBytes.set(total);
+            if (deleted > 0) {
+                log.info("디스크 캐시 정리: {}개 삭제, 남은 크기 {} bytes", deleted, total);
+            }
+        } catch (IOException e) {
+            log.warn("디스크 캐시 정리 실패: {}", e.getMessage());
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * 이전 실행이 기록 도중 종료되어 남긴 임시 파일 삭제 (시작 시 한 번)
+     */
+    private void deleteTempFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(diskDirectory, "*" + TEMP_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private record DiskEntry(Path file, long size, long modifiedMillis) {
+    }
+
+    /**
+     * 키 하나의 진행 중인 호출과 그 결과를 기다리는 호출자 수
+     * 캐시에 저장된 공유 future는 취소하지 않고, 기다리는 호출자가 모두 취소하면
+     * 항목을 먼저 제거(새 호출자는 새로 호출)한 뒤 loader가 반환한 upstream future를 취소
+     */
+    private final class Flight {
+
+        private final String key;
+        private volatile CompletableFuture<RecognizeResponse> shared;    // 캐시에 저장된 future
+        private volatile CompletableFuture<RecognizeResponse> upstream;  // loader가 반환한 future (디스크 미스 후 설정)
+        private int waiters;
+        private boolean abandoned;
+
+        private Flight(String key) {
+            this.key = key;
+        }
+
+        synchronized CompletableFuture<RecognizeResponse> subscribe() {
+            if (abandoned) {
+                return null;
+            }
+            waiters++;
+            CompletableFuture<RecognizeResponse> handle = shared.copy();
+            handle.whenComplete((response, error) -> {
+                if (error instanceof CancellationException) {
+                    unsubscribe();
+                }
+            });
+            return handle;
+        }
+
+        CompletableFuture<RecognizeResponse> call(Function<RecognizeRequest, CompletableFuture<RecognizeResponse>> loader,
+                                                  RecognizeRequest request) {
+            if (isAbandoned()) {
+                return CompletableFuture.failedFuture(new CancellationException("기다리는 호출자 없음"));
+            }
+            CompletableFuture<RecognizeResponse> future = loader.apply(request);
+            upstream = future;
+            if (isAbandoned()) {
+                future.cancel(true);  // 호출 직전에 모든 호출자가 취소함
+            }
+            return future;
+        }
+
+        private synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        private void unsubscribe() {
+            synchronized (this) {
+                if (--waiters > 0 || abandoned || shared.isDone()) {
+                    return;
+                }
+                abandoned = true;
+            }
+            memory.asMap().remove(key, shared);
+            flights.remove(key, this);
+            CompletableFuture<RecognizeResponse> call = upstream;
+            if (call != null) {
+                call.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 요청 해시 (오디오는 복사 없이 버퍼 단위로 해시)
+     */
+    static String keyOf(RecognizeRequest request) {
+        return keyOf(request, "");
+    }
+
+    static String keyOf(RecognizeRequest request, String variant) {
+        MessageDigest digest = sha256();
+        if (!variant.isEmpty()) {
+            // 기본 항목의 키는 그대로 유지 (기존 디스크 캐시 파일 재사용)
+            digest.update((variant + '\0').getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(request.toBuilder().clearContent().build().toByteArray());
+        ByteString content = request.getContent();
+        for (ByteBuffer buffer : content.asReadOnlyByteBufferList()) {
+            digest.update(buffer);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,21 +0,0 @@
-package com.gco.stt.config;
-
-import io.github.cdimascio.dotenv.Dotenv;
-import jakarta.annotation.PostConstruct;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class DotenvConfig {
-    
-    @PostConstruct
-    public void init() {
-        Dotenv dotenv = Dotenv.configure()
-                .ignoreIfMissing()
-                .load();
-        
-        // .env 파일의 환경변수를 시스템 환경변수로 설정
-        dotenv.entries().forEach(entry -> {
-            System.setProperty(entry.getKey(), entry.getValue());
-        });
-    }
-}
\ No newline at end of file
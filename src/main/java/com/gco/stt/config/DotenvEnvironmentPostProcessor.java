@@ -0,0 +1,56 @@
+package com.gco.stt.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvEntry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * .env 파일을 Spring Environment 속성 소스로 등록
+ *
+ * 주요 기능:
+ * - 빈 생성 전(컨텍스트 준비 단계)에 실행되므로 모든 @Value 주입에서 .env 값 사용 가능
+ *   (이전의 @PostConstruct 방식은 시스템 속성 설정이 다른 빈의 @Value 주입보다 늦을 수 있었음)
+ * - 실제 환경 변수가 .env보다 우선 (systemEnvironment 바로 뒤에 추가)
+ * - .env 파일이 없으면 아무것도 하지 않음
+ * - 시스템 속성을 바꾸지 않음 (AOT 처리/CDS 학습 실행에도 부작용 없음)
+ *
+ * META-INF/spring.factories에 등록되어 있습니다.
+ */
+public class DotenvEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY_SOURCE_NAME = "dotenv";
+    static final String DIRECTORY_PROPERTY = "dotenv.directory";  // .env 파일 위치 (기본: 작업 디렉터리)
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Dotenv dotenv = Dotenv.configure()
+                .directory(environment.getProperty(DIRECTORY_PROPERTY, "./"))
+                .ignoreIfMissing()
+                .load();
+
+        // .env 파일에 선언된 항목만 (환경 변수는 이미 systemEnvironment 소스에 있음)
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (DotenvEntry entry : dotenv.entries(Dotenv.Filter.DECLARED_IN_ENV_FILE)) {
+            entries.put(entry.getKey(), entry.getValue());
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        MutablePropertySources sources = environment.getPropertySources();
+        MapPropertySource source = new MapPropertySource(PROPERTY_SOURCE_NAME, entries);
+        if (sources.contains(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME)) {
+            sources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, source);
+        } else {
+            sources.addLast(source);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.gco.stt.config;
+
+import com.gco.stt.metrics.GrpcClientMetricsInterceptor;
+import com.google.api.gax.core.CredentialsProvider;
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.speech.v2.SpeechClient;
+import com.google.cloud.speech.v2.SpeechSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 리전별 SpeechClient 생성기
+ *
+ * 주요 기능:
+ * - Base64로 인코딩된 서비스 계정 키 디코딩 및 자격 증명 생성 (리전 간 공유)
+ * - location별 Speech v2 endpoint 결정 (global / 리전 prefix)
+ * - gRPC 전송 설정(SpeechTransportSettings)과 지표 수집 인터셉터 적용
+ *
+ * 기본 리전 클라이언트는 GoogleCloudConfig가 빈으로 등록하고,
+ * 장애 조치용 리전 클라이언트는 RegionRouter가 이 생성기로 만듭니다.
+ */
+@Slf4j
+@Component
+public class SpeechClientFactory {
+
+    private final String credentialsJson;  // Base64 인코딩된 서비스 계정 JSON
+    private final GrpcClientMetricsInterceptor metricsInterceptor;
+    private final SpeechTransportSettings transportSettings;
+
+    private volatile CredentialsProvider credentialsProvider;  // 최초 클라이언트 생성 시 한 번만 디코딩 (시작 경로에서 제외)
+
+    public SpeechClientFactory(@Value("${google.cloud.credentials.json}") String credentialsJson,
+                               GrpcClientMetricsInterceptor metricsInterceptor,
+                               SpeechTransportSettings transportSettings) {
+        this.credentialsJson = credentialsJson;
+        this.metricsInterceptor = metricsInterceptor;
+        this.transportSettings = transportSettings;
+    }
+
+    /**
+     * 지정한 리전의 SpeechClient 생성
+     *
+     * 처리 플로우:
+     * 1. 자격 증명 준비 (최초 1회 디코딩)
+     * 2. location에 따른 endpoint 결정
+     * 3. SpeechSettings 구성 (채널 풀/keepalive/재시도 설정, 지표 수집 인터셉터 등록)
+     * 4. SpeechClient 생성 및 반환
+     *
+     * @param location Speech API 리전 (global, us-central1 등)
+     * @return 해당 리전 endpoint에 연결된 SpeechClient
+     * @throws IOException 자격 증명 처리 중 오류 발생 시
+     */
+    public SpeechClient create(String location) throws IOException {
+        log.info("v2 SpeechClient 생성. 리전 {}", location);
+
+        // Step 1: 자격 증명 (리전 간 공유)
+        CredentialsProvider credentials = credentialsProvider();
+
+        // Step 2: Speech v2 API endpoint 결정
+        // v2 API는 location에 따라 다른 endpoint를 사용해야 함
+        String endpoint;
+        if ("global".equals(location)) {
+            // global location은 prefix 없이 사용
+            endpoint = "speech.googleapis.com:443";
+        } else {
+            // 특정 리전은 리전명을 prefix로 사용
+            // 예: us-central1-speech.googleapis.com:443
+            endpoint = String.format("%s-speech.googleapis.com:443", location);
+        }
+
+        // Step 3: SpeechClient 설정 구성
+        SpeechSettings.Builder settings = SpeechSettings.newBuilder()
+                .setCredentialsProvider(credentials)  // 자격 증명 설정
+                .setEndpoint(endpoint);               // API endpoint 설정
+        transportSettings.apply(settings, List.of(metricsInterceptor));  // 채널 풀, 재시도, 호출별 지표 수집
+
+        // Step 4: SpeechClient 생성 및 반환
+        return SpeechClient.create(settings.build());
+    }
+
+    private CredentialsProvider credentialsProvider() throws IOException {
+        CredentialsProvider current = credentialsProvider;
+        if (current != null) {
+            return current;
+        }
+        // 여러 리전 클라이언트가 동시에 처음 생성되어도(워밍업 + 첫 요청) 한 번만 디코딩
+        synchronized (this) {
+            if (credentialsProvider == null) {
+                // Base64 인코딩된 자격 증명 디코딩 후 GoogleCredentials 생성
+                byte[] decodedCredentials = Base64.getDecoder().decode(credentialsJson);
+                GoogleCredentials credentials = GoogleCredentials.fromStream(new ByteArrayInputStream(decodedCredentials));
+                credentialsProvider = FixedCredentialsProvider.create(credentials);
+            }
+            return credentialsProvider;
+        }
+    }
+}
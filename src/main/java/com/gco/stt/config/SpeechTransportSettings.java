@@ -0,0 +1,160 @@
+package com.gco.stt.config;
+
+import com.google.api.gax.core.InstantiatingExecutorProvider;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.api.gax.retrying.RetrySettings;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.cloud.speech.v2.SpeechSettings;
+import io.grpc.ClientInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * SpeechClient의 gRPC 전송 설정 (채널 풀, keepalive, 메시지 크기, 재시도/데드라인)
+ *
+ * 주요 기능:
+ * - 채널 풀: 고정 크기 또는 채널당 동시 요청 수에 따라 늘고 줄어드는 동적 크기
+ *   (채널 하나의 HTTP/2 동시 스트림 한도에 요청이 몰려 대기하는 것을 방지)
+ * - keepalive: 유휴 연결이 중간 장비에서 끊기기 전에 ping으로 유지
+ * - 최대 수신 메시지 크기 (긴 인식 결과/단어 타이밍 응답용)
+ * - 백그라운드 실행기 스레드 수 (0이면 gax 기본값)
+ * - recognize / getRecognizer 호출별 재시도 코드와 데드라인
+ */
+@Slf4j
+@Component
+public class SpeechTransportSettings {
+
+    private final int poolSize;                 // 고정 풀 크기 (동적 풀의 초기 크기)
+    private final boolean dynamicPool;          // 채널당 동시 요청 수에 따라 풀 크기 조정
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final int maxRpcsPerChannel;        // 동적 풀: 채널당 동시 요청이 이 값을 넘으면 채널 추가
+    private final Duration keepAliveTime;       // 유휴 연결 ping 간격
+    private final Duration keepAliveTimeout;    // ping 응답 최대 대기 시간
+    private final DataSize maxInboundMessageSize;
+    private final int executorThreads;
+    private final CallSettings recognize;
+    private final CallSettings getRecognizer;
+
+    public SpeechTransportSettings(@Value("${stt.grpc.pool.size:4}") int poolSize,
+                                   @Value("${stt.grpc.pool.dynamic:false}") boolean dynamicPool,
+                                   @Value("${stt.grpc.pool.min-size:1}") int minPoolSize,
+                                   @Value("${stt.grpc.pool.max-size:16}") int maxPoolSize,
+                                   @Value("${stt.grpc.pool.max-rpcs-per-channel:50}") int maxRpcsPerChannel,
+                                   @Value("${stt.grpc.keepalive.time:60s}") Duration keepAliveTime,
+                                   @Value("${stt.grpc.keepalive.timeout:10s}") Duration keepAliveTimeout,
+                                   @Value("${stt.grpc.max-inbound-message-size:32MB}") DataSize maxInboundMessageSize,
+                                   @Value("${stt.grpc.executor-threads:0}") int executorThreads,
+                                   @Value("${stt.grpc.recognize.timeout:30s}") Duration recognizeTimeout,
+                                   @Value("${stt.grpc.recognize.max-attempts:3}") int recognizeMaxAttempts,
+                                   @Value("${stt.grpc.recognize.initial-retry-delay:200ms}") Duration recognizeRetryDelay,
+                                   @Value("${stt.grpc.get-recognizer.timeout:10s}") Duration getRecognizerTimeout,
+                                   @Value("${stt.grpc.get-recognizer.max-attempts:5}") int getRecognizerMaxAttempts,
+                                   @Value("${stt.grpc.get-recognizer.initial-retry-delay:100ms}") Duration getRecognizerRetryDelay) {
+        this.poolSize = poolSize;
+        this.dynamicPool = dynamicPool;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.maxRpcsPerChannel = maxRpcsPerChannel;
+        this.keepAliveTime = keepAliveTime;
+        this.keepAliveTimeout = keepAliveTimeout;
+        this.maxInboundMessageSize = maxInboundMessageSize;
+        this.executorThreads = executorThreads;
+        this.recognize = new CallSettings(recognizeTimeout, recognizeMaxAttempts, recognizeRetryDelay);
+        this.getRecognizer = new CallSettings(getRecognizerTimeout, getRecognizerMaxAttempts, getRecognizerRetryDelay);
+    }
+
+    /**
+     * 호출별 재시도/데드라인 설정
+     * @param timeout 재시도를 포함한 전체 데드라인
+     * @param maxAttempts 최대 시도 횟수 (1이면 재시도 없음)
+     * @param initialRetryDelay 첫 재시도 전 대기 시간 (이후 2배씩, 최대 데드라인의 1/4)
+     */
+    public record CallSettings(Duration timeout, int maxAttempts, Duration initialRetryDelay) {
+
+        RetrySettings toRetrySettings() {
+            return RetrySettings.newBuilder()
+                    .setTotalTimeoutDuration(timeout)
+                    .setInitialRpcTimeoutDuration(timeout)
+                    .setMaxRpcTimeoutDuration(timeout)
+                    .setRpcTimeoutMultiplier(1.0)
+                    .setMaxAttempts(maxAttempts)
+                    .setInitialRetryDelayDuration(initialRetryDelay)
+                    .setRetryDelayMultiplier(2.0)
+                    .setMaxRetryDelayDuration(timeout.dividedBy(4))
+                    .build();
+        }
+    }
+
+    /**
+     * 전송/호출 설정을 SpeechSettings 빌더에 적용
+     *
+     * 처리 플로우:
+     * 1. 기본 gRPC 채널 제공자에 풀/keepalive/메시지 크기/인터셉터 설정
+     * 2. 실행기 스레드 수가 지정되어 있으면 백그라운드 실행기 교체
+     * 3. recognize, getRecognizer에 재시도 코드(UNAVAILABLE)와 RetrySettings 적용
+     *
+     * @param settings SpeechSettings 빌더 (endpoint, 자격 증명은 호출 측에서 설정)
+     * @param interceptors 채널에 등록할 클라이언트 인터셉터
+     * @return 같은 빌더
+     */
+    public SpeechSettings.Builder apply(SpeechSettings.Builder settings, List<ClientInterceptor> interceptors) {
+        return apply(settings, SpeechSettings.defaultGrpcTransportProviderBuilder(), interceptors);
+    }
+
+    /**
+     * 채널 제공자 빌더를 직접 지정하는 버전 (로컬 서버 연결 등 채널 구성을 바꿀 때 사용)
+     */
+    public SpeechSettings.Builder apply(SpeechSettings.Builder settings,
+                                        InstantiatingGrpcChannelProvider.Builder channelProvider,
+                                        List<ClientInterceptor> interceptors) {
+        // Step 1: 채널 풀 / keepalive / 메시지 크기
+        settings.setTransportChannelProvider(channelProvider
+                .setChannelPoolSettings(channelPoolSettings())
+                .setKeepAliveTimeDuration(keepAliveTime)
+                .setKeepAliveTimeoutDuration(keepAliveTimeout)
+                .setKeepAliveWithoutCalls(true)  // 요청이 뜸한 시간대에도 연결 유지
+                .setMaxInboundMessageSize((int) maxInboundMessageSize.toBytes())
+                .setInterceptorProvider(() -> interceptors)
+                .build());
+
+        // Step 2: 백그라운드 실행기 (재시도 스케줄링, 응답 콜백)
+        if (executorThreads > 0) {
+            settings.setBackgroundExecutorProvider(InstantiatingExecutorProvider.newBuilder()
+                    .setExecutorThreadCount(executorThreads)
+                    .build());
+        }
+
+        // Step 3: 호출별 재시도/데드라인 (UNAVAILABLE만 재시도: 요청이 서버에서 처리되지 않은 경우)
+        settings.recognizeSettings()
+                .setRetryableCodes(StatusCode.Code.UNAVAILABLE)
+                .setRetrySettings(recognize.toRetrySettings());
+        settings.getRecognizerSettings()
+                .setRetryableCodes(StatusCode.Code.UNAVAILABLE)
+                .setRetrySettings(getRecognizer.toRetrySettings());
+
+        log.info("gRPC 전송 설정: 채널 풀 {}, keepalive {}, 최대 수신 메시지 {}",
+                dynamicPool ? minPoolSize + "~" + maxPoolSize + " (동적)" : poolSize, keepAliveTime, maxInboundMessageSize);
+        return settings;
+    }
+
+    ChannelPoolSettings channelPoolSettings() {
+        if (!dynamicPool) {
+            return ChannelPoolSettings.staticallySized(poolSize);
+        }
+        return ChannelPoolSettings.builder()
+                .setInitialChannelCount(poolSize)
+                .setMinChannelCount(minPoolSize)
+                .setMaxChannelCount(maxPoolSize)
+                .setMaxRpcsPerChannel(maxRpcsPerChannel)
+                .setMinRpcsPerChannel(Math.max(1, maxRpcsPerChannel / 5))  // 이보다 한가하면 채널 축소
+                .setPreemptiveRefreshEnabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.gco.stt.config;
+
+import com.gco.stt.controller.SpeechStreamingHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * 실시간 음성 인식용 WebSocket 엔드포인트 등록
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final SpeechStreamingHandler speechStreamingHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(speechStreamingHandler, "/ws/speech/stream");
+    }
+}
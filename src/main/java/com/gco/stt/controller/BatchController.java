@@ -0,0 +1,90 @@
+package com.gco.stt.controller;
+
+import com.gco.stt.batch.BatchJob;
+import com.gco.stt.batch.BatchJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 대량 음성 인식(배치) 컨트롤러
+ *
+ * 이 컨트롤러는 BatchRecognize 방식을 사용합니다:
+ * - Cloud Storage에 올려둔 파일 목록(manifest)을 받아 작업으로 등록하고 즉시 202 반환
+ * - 파일들은 영구 recognizer를 사용하는 BatchRecognize operation으로 묶여 백그라운드에서 처리
+ * - 작업 상태는 GET /api/batch/jobs/{id}로 조회하거나 callbackUrl로 완료 통지를 받음
+ */
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchController {
+
+    private final BatchJobService batchJobService;  // 배치 작업 실행기
+
+    /**
+     * 배치 작업 등록 요청
+     * @param uris 인식할 파일의 Cloud Storage URI 목록 (gs://bucket/path)
+     * @param profile 인식 프로필 (stt.profiles.*, 생략하면 default)
+     * @param callbackUrl 작업 완료 시 결과를 POST받을 URL (선택, stt.batch.callback.allowed-hosts에 등록된 호스트의 https만)
+     */
+    public record BatchJobRequest(List<String> uris, String profile, String callbackUrl) {
+    }
+
+    /**
+     * API 응답 형식을 정의하는 Record
+     * @param success 성공 여부
+     * @param message 처리 메시지
+     * @param job 작업 상태 (파일별 결과 포함)
+     */
+    public record BatchJobResponse(boolean success, String message, BatchJob job) {
+    }
+
+    /**
+     * 배치 작업을 등록하는 엔드포인트
+     *
+     * 처리 플로우:
+     * 1. 파일 목록 검증 (비어 있지 않고 모두 gs:// URI)
+     * 2. 작업 등록 (처리는 백그라운드에서 진행, 알 수 없는 프로필이나 허용되지 않은 콜백 URL은 400)
+     * 3. 202 Accepted와 작업 ID 반환
+     *
+     * @param request 파일 목록, 인식 프로필, 콜백 URL
+     * @return BatchJobResponse 등록된 작업
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<BatchJobResponse> submit(@RequestBody BatchJobRequest request) {
+        if (request.uris() == null || request.uris().isEmpty()) {
+            return ResponseEntity.badRequest().body(new BatchJobResponse(false, "파일 목록이 비어있음", null));
+        }
+        if (!request.uris().stream().allMatch(uri -> uri != null && uri.startsWith("gs://"))) {
+            return ResponseEntity.badRequest().body(new BatchJobResponse(false, "gs:// URI만 지원", null));
+        }
+
+        try {
+            BatchJob job = batchJobService.submit(request.uris(), request.profile(), request.callbackUrl());
+            return ResponseEntity.accepted().body(new BatchJobResponse(true, "작업 등록 완료", job));
+        } catch (IllegalArgumentException e) {
+            log.warn("배치 작업 등록 거절: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new BatchJobResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("배치 작업 등록 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(new BatchJobResponse(false, "서버 오류 발생", null));
+        }
+    }
+
+    /**
+     * 배치 작업 상태를 조회하는 엔드포인트
+     *
+     * @param id 작업 ID
+     * @return BatchJobResponse 작업 상태 (없으면 404)
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<BatchJobResponse> find(@PathVariable String id) {
+        return batchJobService.find(id)
+                .map(job -> ResponseEntity.ok(new BatchJobResponse(true, job.status().name(), job)))
+                .orElseGet(() -> ResponseEntity.status(404).body(new BatchJobResponse(false, "작업을 찾을 수 없음", null)));
+    }
+}
@@ -0,0 +1,283 @@
+package com.gco.stt.controller;
+
+import com.gco.stt.admission.OverloadException;
+import com.gco.stt.audio.AudioIngestor;
+import com.gco.stt.service.LongAudioTranscriber;
+import com.gco.stt.service.LongAudioTranscriber.Progressive;
+import com.gco.stt.service.LongAudioTranscriber.SegmentTranscript;
+import com.gco.stt.service.ResumableUploadService;
+import com.gco.stt.service.ResumableUploadService.OffsetMismatchException;
+import com.gco.stt.service.ResumableUploadService.UploadStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 긴 음성(회의, 통화 녹음 등) 인식 컨트롤러
+ *
+ * 이 컨트롤러는 구간 분할 병렬 인식 방식을 사용합니다:
+ * - 업로드 파일을 임시 파일로 저장한 뒤 무음 구간 기준으로 분할
+ * - 구간들을 동시에 인식하여 전체 처리 시간을 줄임 (약 재생 시간 / 동시 처리 수)
+ * - 구간별 시작/종료 시각과 함께 순서대로 이어붙인 결과 반환
+ * - 16-bit PCM WAV만 지원
+ *
+ * 재개 가능한 분할 업로드 (/api/long-audio/uploads):
+ * - POST /uploads?profile=이름 → PATCH /uploads/{id}?offset=N (조각) → POST /uploads/{id}/finalize
+ * - 연결이 끊기면 GET /uploads/{id}로 받은 위치를 확인하고 그 위치부터 이어서 전송
+ * - WAV는 업로드 중에 확정된 구간부터 인식을 시작 (WAV가 아닌 짧은 녹음은 완료 후 한 번에 인식)
+ */
+@RestController
+@RequestMapping("/api/long-audio")
+@RequiredArgsConstructor
+@Slf4j
+public class LongAudioController {
+
+    private final LongAudioTranscriber longAudioTranscriber;  // 구간 분할 병렬 인식 서비스
+    private final AudioIngestor audioIngestor;                // 업로드 파일을 스풀 디렉터리에 저장
+    private final ResumableUploadService resumableUploadService;  // 재개 가능한 분할 업로드
+
+    @Value("${stt.long-audio.request-timeout:30m}")
+    private Duration requestTimeout;  // 긴 음성 요청 전체의 최대 대기 시간
+
+    @Value("${stt.rate-limit.header:X-API-Key}")
+    private String apiKeyHeader;      // 업로드 수 한도의 클라이언트 구분용 (없으면 클라이언트 주소)
+
+    /**
+     * API 응답 형식을 정의하는 Record
+     * @param success 성공 여부
+     * @param message 처리 메시지
+     * @param transcript 전체 인식 결과 텍스트
+     * @param segments 구간별 인식 결과 (시작/종료 시각 포함)
+     */
+    public record LongAudioResponse(boolean success, String message, String transcript,
+                                    List<SegmentTranscript> segments) {
+    }
+
+    /**
+     * 긴 음성 파일을 업로드받아 텍스트로 변환하는 엔드포인트
+     *
+     * 처리 플로우:
+     * 1. 클라이언트로부터 음성 파일 수신 (16-bit PCM WAV)
+     * 2. 임시 파일로 저장 (디스크에 저장된 업로드는 이동만 하므로 힙을 사용하지 않음)
+     * 3. 구간 분할 후 병렬 인식 (시간 초과/연결 끊김 시 남은 구간 인식 취소)
+     * 4. 결과를 이어붙여 반환하고 임시 파일 삭제
+     *
+     * @param audioFile 업로드된 음성 파일
+     * @param profile 인식 프로필 (stt.profiles.*, 기본 default)
+     * @return LongAudioResponse 변환 결과 (비동기, stt.long-audio.request-timeout 초과 시 504)
+     */
+    @PostMapping("/upload")
+    public DeferredResult<ResponseEntity<LongAudioResponse>> uploadAudioFile(@RequestParam("audio") MultipartFile audioFile,
+                                                                             @RequestParam(value = "profile", required = false) String profile) {
+        // 긴 음성은 처리 시간이 길어 전역 비동기 타임아웃 대신 별도 타임아웃 적용
+        DeferredResult<ResponseEntity<LongAudioResponse>> result = new DeferredResult<>(requestTimeout.toMillis(),
+                () -> ResponseEntity.status(504).body(new LongAudioResponse(false, "음성 인식 시간 초과", null, null)));
+
+        Path spoolFile;
+        try {
+            // Step 1: 음성 파일 검증 및 로깅
+            log.info("긴 음성 파일 수신: {}, 크기: {} bytes", audioFile.getOriginalFilename(), audioFile.getSize());
+            if (audioFile.isEmpty()) {
+                result.setResult(ResponseEntity.badRequest().body(new LongAudioResponse(false, "업로드된 파일이 없음", null, null)));
+                return result;
+            }
+            if (!longAudioTranscriber.supports(profile)) {
+                result.setResult(ResponseEntity.badRequest().body(new LongAudioResponse(false, "알 수 없는 프로필: " + profile, null, null)));
+                return result;
+            }
+
+            // Step 2: 임시 파일로 저장 (stt.upload.spool-dir)
+            spoolFile = audioIngestor.spool(audioFile);
+        } catch (Exception e) {
+            log.error("긴 음성 파일 저장 중 오류 발생: {}", e.getMessage(), e);
+            result.setResult(ResponseEntity.status(500).body(new LongAudioResponse(false, "서버 오류 발생", null, null)));
+            return result;
+        }
+
+        // Step 3: 구간 분할 병렬 인식 → Step 4: 결과 반환 후 임시 파일 삭제
+        // 시간 초과나 클라이언트 연결 끊김으로 응답할 곳이 없어지면 남은 구간 인식을 취소 (할당량 낭비 방지)
+        Progressive transcription = longAudioTranscriber.prepare(spoolFile, profile);
+        result.onTimeout(transcription::cancel);
+        result.onError(error -> transcription.cancel());
+        transcription.finish()
+                .thenApply(this::toResponse)
+                .exceptionally(this::toErrorResponse)
+                .whenComplete((response, error) -> {
+                    deleteQuietly(spoolFile);
+                    result.setResult(response);
+                });
+        return result;
+    }
+
+    /**
+     * 재개 가능한 업로드 시작
+     *
+     * - 201: 업로드 ID와 시작 offset(0), Location 헤더에 조각을 보낼 경로
+     * - 400: 알 수 없는 프로필
+     * - 429: 클라이언트별 동시 업로드 수 초과 (Retry-After)
+     * - 503: 전체 동시 업로드 수 초과
+     *
+     * @param profile 인식 프로필 (stt.profiles.*, 기본 default, 업로드 중/완료 후 인식에 사용)
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadStatus> startUpload(@RequestParam(value = "profile", required = false) String profile,
+                                                    HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        String client = apiKey != null && !apiKey.isBlank() ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+        try {
+            UploadStatus status = resumableUploadService.create(client, profile);
+            return ResponseEntity.created(URI.create("/api/long-audio/uploads/" + status.uploadId())).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OverloadException e) {
+            log.warn("업로드 시작 거절: {}", e.getMessage());
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.retryAfterSeconds()))
+                    .build();
+        } catch (RejectedExecutionException e) {
+            log.warn("업로드 시작 거절: {}", e.getMessage());
+            return ResponseEntity.status(503).build();
+        }
+    }
+
+    /**
+     * 업로드 상태 조회 (연결이 끊긴 뒤 이어서 보낼 위치 확인)
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadStatus> uploadStatus(@PathVariable String uploadId) {
+        return ResponseEntity.of(resumableUploadService.status(uploadId));
+    }
+
+    /**
+     * 조각 추가 (요청 본문 = 파일의 offset 위치부터의 바이트)
+     *
+     * - 200: 기록 완료 (응답의 offset이 다음 조각 위치)
+     * - 404: 없는/만료된 업로드
+     * - 409: offset이 받은 위치보다 뒤이거나 이미 완료된 업로드 (응답의 offset부터 다시 전송)
+     * - 413: 조각 또는 전체 크기 한도 초과
+     */
+    @PatchMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadStatus> appendChunk(@PathVariable String uploadId,
+                                                    @RequestParam("offset") long offset,
+                                                    HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(resumableUploadService.append(uploadId, offset, request.getInputStream()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OffsetMismatchException e) {
+            return ResponseEntity.status(409).body(e.getStatus());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(resumableUploadService.status(uploadId).orElse(null));
+        } catch (MaxUploadSizeExceededException e) {
+            return ResponseEntity.status(413).build();
+        } catch (IOException e) {
+            // 전송 중 연결 끊김 등: 디스크에 반영된 위치까지만 유지, 클라이언트는 상태 조회 후 재개
+            log.warn("업로드 조각 수신 실패: {} ({})", uploadId, e.getMessage());
+            return ResponseEntity.status(500).body(resumableUploadService.status(uploadId).orElse(null));
+        }
+    }
+
+    /**
+     * 업로드 완료 후 인식 결과 반환 (업로드 중에 시작한 구간 인식은 이어서 사용, 반복 요청 시 같은 결과)
+     * 받는 중인 조각의 기록이 잠시 안에 끝나지 않으면 409 (조각 응답을 받은 뒤 다시 요청)
+     */
+    @PostMapping("/uploads/{uploadId}/finalize")
+    public DeferredResult<ResponseEntity<LongAudioResponse>> finalizeUpload(@PathVariable String uploadId) {
+        DeferredResult<ResponseEntity<LongAudioResponse>> result = new DeferredResult<>(requestTimeout.toMillis(),
+                () -> ResponseEntity.status(504).body(new LongAudioResponse(false, "음성 인식 시간 초과", null, null)));
+        CompletableFuture<List<SegmentTranscript>> segments;
+        try {
+            segments = resumableUploadService.finish(uploadId);
+        } catch (NoSuchElementException e) {
+            result.setResult(ResponseEntity.status(404).body(new LongAudioResponse(false, "업로드를 찾을 수 없음", null, null)));
+            return result;
+        } catch (IllegalStateException e) {
+            result.setResult(ResponseEntity.status(409).body(new LongAudioResponse(false, "조각을 받는 중 (잠시 후 다시 시도)", null, null)));
+            return result;
+        }
+        segments.thenApply(this::toResponse)
+                .exceptionally(this::toErrorResponse)
+                .thenAccept(result::setResult);
+        return result;
+    }
+
+    /**
+     * 업로드 취소 (진행 중인 인식 취소, 파일 삭제)
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId) {
+        return resumableUploadService.abort(uploadId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private ResponseEntity<LongAudioResponse> toResponse(List<SegmentTranscript> segments) {
+        String transcript = segments.stream()
+                .map(SegmentTranscript::transcript)
+                .filter(text -> !text.isEmpty())
+                .collect(Collectors.joining(" "));
+        if (transcript.isEmpty()) {
+            log.warn("음성 인식 결과가 없음");
+            return ResponseEntity.ok(new LongAudioResponse(false, "음성 인식 불가", null, segments));
+        }
+
+        log.info("긴 음성 변환 완료: {}개 구간, {}자", segments.size(), transcript.length());
+        return ResponseEntity.ok(new LongAudioResponse(true, "음성 변환 성공!", transcript, segments));
+    }
+
+    /**
+     * 비동기 처리 실패를 API 응답으로 변환
+     * - 지원하지 않는 형식: 400
+     * - 과부하(동시 호출 한도, upstream 할당량 초과): 429 + Retry-After
+     * - 동시 요청 한도 초과: 503
+     * - 시간 초과: 504
+     * - 그 외: 500
+     */
+    private ResponseEntity<LongAudioResponse> toErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IllegalArgumentException) {
+            log.warn("지원하지 않는 음성 파일: {}", cause.getMessage());
+            return ResponseEntity.badRequest().body(new LongAudioResponse(false, "지원하지 않는 오디오 형식 (16-bit PCM WAV만 지원)", null, null));
+        }
+        if (cause instanceof OverloadException overload) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(overload.retryAfterSeconds()))
+                    .body(new LongAudioResponse(false, "요청이 많아 잠시 후 다시 시도", null, null));
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(503).body(new LongAudioResponse(false, "요청이 많아 처리할 수 없음", null, null));
+        }
+        if (cause instanceof TimeoutException) {
+            log.warn("긴 음성 인식 시간 초과");
+            return ResponseEntity.status(504).body(new LongAudioResponse(false, "음성 인식 시간 초과", null, null));
+        }
+        log.error("긴 음성 인식 중 오류 발생: {}", cause.getMessage(), cause);
+        return ResponseEntity.status(500).body(new LongAudioResponse(false, "서버 오류 발생", null, null));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file);
+        }
+    }
+}
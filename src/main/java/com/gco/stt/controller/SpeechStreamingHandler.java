@@ -0,0 +1,332 @@
+package com.gco.stt.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gco.stt.service.TranscriptionService;
+import com.gco.stt.service.TranscriptionService.Mode;
+import com.google.api.gax.rpc.ClientStream;
+import com.google.api.gax.rpc.ClientStreamReadyObserver;
+import com.google.api.gax.rpc.ResponseObserver;
+import com.google.api.gax.rpc.StreamController;
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.ByteString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WebSocket 기반 실시간 음성 인식 핸들러
+ *
+ * 브라우저(MediaRecorder)가 보내는 오디오 조각을 도착하는 즉시
+ * Speech v2 streamingRecognize 양방향 스트림으로 전달하고,
+ * 중간(interim)/최종(final) 인식 결과를 JSON 텍스트 메시지로 돌려줍니다.
+ *
+ * 프로토콜:
+ * - 연결: /ws/speech/stream (inline 방식) 또는 /ws/speech/stream?mode=recognizer (영구 recognizer)
+ *   (profile=<이름>으로 인식 프로필 지정, 없으면 기본 프로필 / 알 수 없는 프로필은 연결 거절)
+ * - 클라이언트 → 서버: 바이너리 메시지(오디오 조각), 텍스트 메시지 "end"(입력 종료)
+ * - 서버 → 클라이언트: {"type": "interim|final|error|complete", "transcript": ..., "stability": ...}
+ * - upstream 스트림을 열지 못한 세션(거절/오류)으로 뒤늦게 도착한 메시지는 무시하고 세션 종료
+ *
+ * 백프레셔:
+ * - upstream gRPC 스트림이 전송 가능 상태가 될 때까지 수신 스레드에서 대기
+ *   (폴링 없이 gax ClientStreamReadyObserver의 onReady 알림을 받아 깨어남)
+ *   (대기하는 동안 해당 세션의 소켓을 읽지 않으므로 TCP 흐름 제어로 클라이언트 전송이 늦춰짐)
+ * - 부분 메시지를 그대로 전달하므로 서버에는 세션당 수신 중인 조각 하나만 유지
+ * - 대기 시간이 stt.streaming.send-timeout을 넘으면 세션 종료
+ * - 느린 브라우저 쪽 전송은 ConcurrentWebSocketSessionDecorator의 버퍼 한도로 제한
+ */
+@Slf4j
+@Component
+public class SpeechStreamingHandler extends BinaryWebSocketHandler {
+
+    private static final String STREAM_ATTRIBUTE = "speechStream";
+
+    private final TranscriptionService transcriptionService;  // 프로필별 스트리밍 설정으로 upstream 스트림 생성
+    private final ObjectMapper objectMapper;
+    private final int maxChunkBytes;        // 스트리밍 요청 하나에 담을 최대 오디오 크기
+    private final Duration sendTimeout;     // upstream 전송 가능 상태 최대 대기 시간
+    private final int outboundBufferBytes;  // 브라우저로 보낼 결과 메시지 버퍼 한도
+
+    public SpeechStreamingHandler(TranscriptionService transcriptionService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${stt.streaming.max-chunk-bytes:15360}") int maxChunkBytes,
+                                  @Value("${stt.streaming.send-timeout:5s}") Duration sendTimeout,
+                                  @Value("${stt.streaming.outbound-buffer-bytes:65536}") int outboundBufferBytes) {
+        this.transcriptionService = transcriptionService;
+        this.objectMapper = objectMapper;
+        this.maxChunkBytes = maxChunkBytes;
+        this.sendTimeout = sendTimeout;
+        this.outboundBufferBytes = outboundBufferBytes;
+    }
+
+    /**
+     * 클라이언트로 보내는 실시간 인식 결과 메시지
+     * @param type interim(중간 결과), final(최종 결과), error(오류), complete(스트림 종료)
+     * @param transcript 인식 텍스트
+     * @param stability 중간 결과의 안정도 (0.0 ~ 1.0)
+     */
+    public record StreamingTranscript(String type, String transcript, Float stability) {
+    }
+
+    /**
+     * 세션 연결 시 upstream 스트림을 열고 설정 요청을 먼저 전송 (프로필의 미리 만든 스트리밍 설정 사용)
+     * 스트림을 연 세션에만 스트림 속성을 저장 (거절/오류로 닫는 세션에는 없음)
+     */
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(
+                session, (int) sendTimeout.toMillis(), outboundBufferBytes);
+        StreamingSession stream = new StreamingSession(outbound);
+
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+        Mode mode = "recognizer".equals(params.getFirst("mode")) ? Mode.RECOGNIZER : Mode.INLINE;
+        String profile = params.getFirst("profile");
+        try {
+            stream.start(transcriptionService.openStream(mode, profile, stream, stream));
+        } catch (IllegalArgumentException e) {
+            log.warn("실시간 인식 세션 거절: {} ({})", session.getId(), e.getMessage());
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("unknown profile"));
+            return;
+        } catch (RuntimeException e) {
+            log.error("upstream 스트림 열기 실패: {} ({})", session.getId(), e.getMessage(), e);
+            session.close(CloseStatus.SERVER_ERROR);
+            return;
+        }
+        session.getAttributes().put(STREAM_ATTRIBUTE, stream);
+        log.info("실시간 인식 세션 시작: {} ({}, 프로필 {})", session.getId(), mode, profile == null ? "default" : profile);
+    }
+
+    /**
+     * 오디오 조각을 upstream 스트림으로 전달
+     */
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        StreamingSession stream = streamOf(session);
+        if (stream == null) {
+            return;
+        }
+        ByteBuffer payload = message.getPayload();
+        while (payload.hasRemaining()) {
+            // 요청 하나당 오디오 크기 제한이 있으므로 큰 조각은 나눠서 전송
+            ByteString chunk = ByteString.copyFrom(payload, Math.min(maxChunkBytes, payload.remaining()));
+            if (!stream.send(StreamingRecognizeRequest.newBuilder().setAudio(chunk).build())) {
+                log.warn("upstream 전송 대기 시간 초과, 세션 종료: {}", session.getId());
+                stream.cancel();
+                session.close(CloseStatus.SERVICE_OVERLOAD);
+                return;
+            }
+        }
+    }
+
+    /**
+     * "end" 메시지 수신 시 입력 종료 (남은 최종 결과를 받은 뒤 서버가 세션을 닫음)
+     */
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        if ("end".equals(message.getPayload())) {
+            StreamingSession stream = streamOf(session);
+            if (stream != null) {
+                stream.closeSend();
+            }
+        }
+    }
+
+    /**
+     * 세션의 upstream 스트림 (없으면 세션을 닫고 null)
+     * - 거절/오류로 닫는 중인 세션에 이미 도착해 있던 메시지, 닫힌 뒤 정리된 세션
+     */
+    private StreamingSession streamOf(WebSocketSession session) throws IOException {
+        StreamingSession stream = (StreamingSession) session.getAttributes().get(STREAM_ATTRIBUTE);
+        if (stream == null && session.isOpen()) {
+            log.warn("upstream 스트림이 없는 세션의 메시지, 세션 종료: {}", session.getId());
+            session.close(CloseStatus.SERVER_ERROR.withReason("stream not open"));
+        }
+        return stream;
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        StreamingSession stream = (StreamingSession) session.getAttributes().remove(STREAM_ATTRIBUTE);
+        if (stream != null) {
+            stream.cancel();
+        }
+        log.info("실시간 인식 세션 종료: {} ({})", session.getId(), status);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("실시간 인식 세션 전송 오류: {} - {}", session.getId(), exception.getMessage());
+    }
+
+    /**
+     * 오디오 조각을 도착하는 대로 보내므로 부분 메시지도 그대로 처리
+     */
+    @Override
+    public boolean supportsPartialMessages() {
+        return true;
+    }
+
+    /**
+     * WebSocket 세션 하나에 대응하는 upstream 스트림 상태
+     */
+    private final class StreamingSession implements ResponseObserver<StreamingRecognizeResponse>,
+            ClientStreamReadyObserver<StreamingRecognizeRequest> {
+
+        private final WebSocketSession outbound;
+        private final ReentrantLock readyLock = new ReentrantLock();
+        private final Condition readyChanged = readyLock.newCondition();  // 전송 가능 상태가 되었거나 스트림이 끝남
+        private volatile ClientStream<StreamingRecognizeRequest> requests;
+        private volatile StreamController controller;
+        private volatile boolean finished;
+
+        private StreamingSession(WebSocketSession outbound) {
+            this.outbound = outbound;
+        }
+
+        void start(ClientStream<StreamingRecognizeRequest> requests) {
+            this.requests = requests;  // 설정 요청은 이미 전송된 상태
+        }
+
+        /**
+         * upstream이 전송 가능 상태가 될 때까지 대기한 뒤 전송
+         * @return 대기 시간 초과 시 false
+         */
+        boolean send(StreamingRecognizeRequest request) {
+            if (!requests.isSendReady() && !awaitReady()) {
+                return false;
+            }
+            if (!finished) {
+                requests.send(request);
+            }
+            return true;
+        }
+
+        /**
+         * onReady 알림 또는 스트림 종료까지 대기 (상태 확인과 대기를 같은 잠금 안에서 하므로 알림을 놓치지 않음)
+         * @return 대기 시간 초과(또는 인터럽트) 시 false
+         */
+        private boolean awaitReady() {
+            long remainingNanos = sendTimeout.toNanos();
+            readyLock.lock();
+            try {
+                while (!requests.isSendReady() && !finished) {
+                    if (remainingNanos <= 0) {
+                        return false;
+                    }
+                    remainingNanos = readyChanged.awaitNanos(remainingNanos);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                readyLock.unlock();
+            }
+        }
+
+        /**
+         * 대기 중인 전송 스레드 깨우기
+         */
+        private void signalReady() {
+            readyLock.lock();
+            try {
+                readyChanged.signalAll();
+            } finally {
+                readyLock.unlock();
+            }
+        }
+
+        /**
+         * upstream 스트림이 다시 전송 가능 상태가 됨 (gRPC 흐름 제어 창이 열림)
+         */
+        @Override
+        public void onReady(ClientStream<StreamingRecognizeRequest> stream) {
+            signalReady();
+        }
+
+        void closeSend() {
+            if (!finished) {
+                requests.closeSend();
+            }
+        }
+
+        void cancel() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            signalReady();
+            if (controller != null) {
+                controller.cancel();
+            }
+        }
+
+        @Override
+        public void onStart(StreamController controller) {
+            this.controller = controller;
+        }
+
+        @Override
+        public void onResponse(StreamingRecognizeResponse response) {
+            for (StreamingRecognitionResult result : response.getResultsList()) {
+                if (result.getAlternativesCount() == 0) {
+                    continue;
+                }
+                String type = result.getIsFinal() ? "final" : "interim";
+                emit(new StreamingTranscript(type, result.getAlternatives(0).getTranscript(), result.getStability()));
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (finished) {
+                return;  // 클라이언트 종료로 인한 취소
+            }
+            finished = true;
+            signalReady();
+            log.error("실시간 인식 중 오류 발생: {}", t.getMessage(), t);
+            emit(new StreamingTranscript("error", null, null));
+            close(CloseStatus.SERVER_ERROR);
+        }
+
+        @Override
+        public void onComplete() {
+            finished = true;
+            signalReady();
+            emit(new StreamingTranscript("complete", null, null));
+            close(CloseStatus.NORMAL);
+        }
+
+        private void emit(StreamingTranscript transcript) {
+            try {
+                outbound.sendMessage(new TextMessage(objectMapper.writeValueAsString(transcript)));
+            } catch (IOException | RuntimeException e) {
+                // 버퍼 한도 초과(SessionLimitExceededException) 또는 연결 끊김
+                log.warn("실시간 인식 결과 전송 실패: {}", e.getMessage());
+                cancel();
+            }
+        }
+
+        private void close(CloseStatus status) {
+            try {
+                outbound.close(status);
+            } catch (IOException e) {
+                log.warn("세션 종료 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
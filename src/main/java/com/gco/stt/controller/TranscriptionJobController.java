@@ -0,0 +1,91 @@
+package com.gco.stt.controller;
+
+import com.gco.stt.dto.TranscriptionJobResponse;
+import com.gco.stt.job.TranscriptionJob;
+import com.gco.stt.job.TranscriptionJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * 비동기 음성 인식 작업 조회 컨트롤러
+ *
+ * 작업은 POST /api/speech/jobs, POST /api/recognizer/jobs 로 등록합니다 (즉시 202 + 작업 ID):
+ * - GET /api/jobs/{id}: 현재 상태와 결과 조회 (폴링)
+ * - GET /api/jobs/{id}/events: 상태가 바뀔 때마다 SSE로 전달하고 완료되면 연결 종료
+ *   (이벤트 이름 = 상태: queued, running, succeeded, failed / 데이터 = 작업 JSON)
+ * - 프록시 타임아웃보다 오래 걸리는 인식도 결과를 잃지 않음 (완료된 작업은 stt.jobs.ttl 동안 조회 가능)
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@Slf4j
+public class TranscriptionJobController {
+
+    private final TranscriptionJobService jobService;  // 비동기 작업 실행기/저장소
+    private final Duration sseTimeout;                 // SSE 연결 최대 유지 시간
+
+    public TranscriptionJobController(TranscriptionJobService jobService,
+                                      @Value("${stt.jobs.sse-timeout:5m}") Duration sseTimeout) {
+        this.jobService = jobService;
+        this.sseTimeout = sseTimeout;
+    }
+
+    /**
+     * 작업 상태를 조회하는 엔드포인트
+     *
+     * @param id 작업 ID
+     * @return TranscriptionJobResponse 작업 상태 (없거나 만료되면 404)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TranscriptionJobResponse> get(@PathVariable String id) {
+        return jobService.find(id)
+                .map(job -> ResponseEntity.ok(new TranscriptionJobResponse(true, "작업 조회 성공", job)))
+                .orElseGet(() -> ResponseEntity.status(404).body(TranscriptionJobResponse.failure("작업을 찾을 수 없음")));
+    }
+
+    /**
+     * 작업 상태 변경을 SSE로 전달하는 엔드포인트
+     *
+     * 처리 플로우:
+     * 1. 작업 구독 (현재 상태를 첫 이벤트로 전송)
+     * 2. 상태가 바뀔 때마다 이벤트 전송
+     * 3. 완료 상태를 보내면 연결 종료 (클라이언트가 먼저 끊거나 시간 초과 시 구독 해제)
+     *
+     * @param id 작업 ID
+     * @return SSE 스트림 (작업이 없으면 404)
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable String id) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        Consumer<TranscriptionJob> listener = job -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(job.status().name().toLowerCase(Locale.ROOT))
+                        .data(job, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                // 클라이언트 연결 끊김: 구독 해제 (서비스가 예외를 받으면 구독자 제거)
+                throw new UncheckedIOException(e);
+            }
+            if (job.isFinished()) {
+                emitter.complete();
+            }
+        };
+        if (!jobService.subscribe(id, listener)) {
+            return ResponseEntity.notFound().build();
+        }
+        Runnable unsubscribe = () -> jobService.unsubscribe(id, listener);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return ResponseEntity.ok(emitter);
+    }
+}
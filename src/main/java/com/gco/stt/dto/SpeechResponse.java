@@ -0,0 +1,135 @@
+package com.gco.stt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gco.stt.audio.VoiceActivityDetector.VoiceActivity;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.SpeechRecognitionAlternative;
+import com.google.cloud.speech.v2.SpeechRecognitionResult;
+import com.google.cloud.speech.v2.WordInfo;
+import com.google.protobuf.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 음성 인식 API 응답 형식 (Inline/Recognizer 방식 공통)
+ *
+ * recognize 응답의 모든 결과를 담습니다:
+ * - transcript: 모든 결과의 최상위 대안을 순서대로 이어붙인 전체 텍스트
+ * - segments: 결과(발화 구간)별 텍스트, 종료 시각, 신뢰도, 다른 후보(N-best), 단어별 시각
+ *
+ * 응답은 Jackson이 응답 스트림에 바로 기록하므로 JSON 문자열 전체를 메모리에 만들지 않습니다.
+ *
+ * @param success 성공 여부
+ * @param message 처리 메시지
+ * @param transcript 전체 인식 결과 텍스트
+ * @param segments 결과별 상세 정보 (실패 시 null)
+ * @param voiceActivity 음성 구간 검출 결과 (LINEAR16으로 정규화된 오디오만, 그 외 생략)
+ */
+public record SpeechResponse(boolean success, String message, String transcript, List<Segment> segments,
+                             @JsonInclude(JsonInclude.Include.NON_NULL) VoiceActivity voiceActivity) {
+
+    /**
+     * recognize 결과 하나 (발화 구간)
+     * @param index 결과 순서
+     * @param endOffsetMillis 오디오 시작부터 이 구간 끝까지의 시간
+     * @param languageCode 감지된 언어
+     * @param transcript 최상위 대안 텍스트
+     * @param confidence 최상위 대안 신뢰도 (0.0 ~ 1.0)
+     * @param alternatives 나머지 후보 (최대 대안 수를 2 이상 요청한 경우)
+     * @param words 단어별 시각/신뢰도 (단어 시각을 요청한 경우)
+     */
+    public record Segment(int index, long endOffsetMillis, String languageCode, String transcript, float confidence,
+                          @JsonInclude(JsonInclude.Include.NON_EMPTY) List<Alternative> alternatives,
+                          @JsonInclude(JsonInclude.Include.NON_EMPTY) List<Word> words) {
+    }
+
+    /**
+     * 후보 텍스트
+     * @param transcript 텍스트
+     * @param confidence 신뢰도
+     */
+    public record Alternative(String transcript, float confidence) {
+    }
+
+    /**
+     * 단어 하나의 시각 정보
+     * @param word 단어
+     * @param startMillis 시작 시각
+     * @param endMillis 종료 시각
+     * @param confidence 신뢰도 (단어 신뢰도를 요청하지 않으면 0)
+     */
+    public record Word(String word, long startMillis, long endMillis, float confidence) {
+    }
+
+    public static SpeechResponse failure(String message) {
+        return new SpeechResponse(false, message, null, null, null);
+    }
+
+    /**
+     * 음성 구간 검출 결과 추가 (검사하지 않았으면 생략)
+     */
+    public SpeechResponse withVoiceActivity(VoiceActivity activity) {
+        VoiceActivity analyzed = activity == null || activity.speechRatio() == null ? null : activity;
+        return new SpeechResponse(success, message, transcript, segments, analyzed);
+    }
+
+    /**
+     * recognize 응답을 한 번 순회하며 전체 텍스트와 구간 목록을 함께 생성
+     *
+     * @param response recognize 응답
+     * @return 인식된 텍스트가 없으면 실패 응답 ("음성 인식 불가")
+     */
+    public static SpeechResponse from(RecognizeResponse response) {
+        return from(response, 0);
+    }
+
+    /**
+     * {@link #from(RecognizeResponse)}와 같고, 구간/단어 시각에 offsetMillis를 더함
+     * (앞쪽 무음을 잘라내고 보낸 오디오의 시각을 업로드 원본 기준으로 되돌림)
+     *
+     * @param offsetMillis 보낸 오디오가 원본에서 시작하는 위치
+     */
+    public static SpeechResponse from(RecognizeResponse response, long offsetMillis) {
+        StringBuilder transcript = new StringBuilder();
+        List<Segment> segments = new ArrayList<>(response.getResultsCount());
+        for (SpeechRecognitionResult result : response.getResultsList()) {
+            if (result.getAlternativesCount() == 0) {
+                continue;  // 무음 구간 등 텍스트가 없는 결과
+            }
+            SpeechRecognitionAlternative best = result.getAlternatives(0);
+            String text = best.getTranscript().strip();
+            if (!text.isEmpty()) {
+                if (!transcript.isEmpty()) {
+                    transcript.append(' ');
+                }
+                transcript.append(text);
+            }
+
+            List<Alternative> alternatives = new ArrayList<>(result.getAlternativesCount() - 1);
+            for (int i = 1; i < result.getAlternativesCount(); i++) {
+                SpeechRecognitionAlternative alternative = result.getAlternatives(i);
+                alternatives.add(new Alternative(alternative.getTranscript().strip(), alternative.getConfidence()));
+            }
+
+            List<Word> words = new ArrayList<>(best.getWordsCount());
+            for (WordInfo word : best.getWordsList()) {
+                words.add(new Word(word.getWord(), offsetMillis + toMillis(word.getStartOffset()),
+                        offsetMillis + toMillis(word.getEndOffset()), word.getConfidence()));
+            }
+
+            segments.add(new Segment(segments.size(), offsetMillis + toMillis(result.getResultEndOffset()),
+                    result.getLanguageCode(),
+                    text, best.getConfidence(), alternatives, words));
+        }
+
+        if (transcript.isEmpty()) {
+            return failure("음성 인식 불가");
+        }
+        return new SpeechResponse(true, "음성 변환 성공!", transcript.toString(), segments, null);
+    }
+
+    private static long toMillis(Duration duration) {
+        return duration.getSeconds() * 1000 + duration.getNanos() / 1_000_000;
+    }
+}
@@ -0,0 +1,17 @@
+package com.gco.stt.dto;
+
+import com.gco.stt.job.TranscriptionJob;
+
+/**
+ * 비동기 인식 작업 API 응답 형식 (작업 등록/조회 공통)
+ *
+ * @param success 성공 여부 (작업 등록/조회 성공, 인식 결과는 job.result)
+ * @param message 처리 메시지
+ * @param job 작업 상태
+ */
+public record TranscriptionJobResponse(boolean success, String message, TranscriptionJob job) {
+
+    public static TranscriptionJobResponse failure(String message) {
+        return new TranscriptionJobResponse(false, message, null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.gco.stt.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gco.stt.dto.SpeechResponse;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * 비동기 음성 인식 작업 (불변 객체, 상태가 바뀔 때마다 새 인스턴스로 교체)
+ *
+ * @param id 작업 ID
+ * @param priority 처리 우선순위
+ * @param status 작업 상태
+ * @param httpStatus 동기 엔드포인트였다면 반환했을 상태 코드 (완료 후, 429/504 등 재시도 판단용)
+ * @param result 인식 결과 (완료 후)
+ * @param createdAt 작업 생성 시각
+ * @param updatedAt 마지막 상태 변경 시각
+ */
+public record TranscriptionJob(String id, Priority priority, Status status,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) Integer httpStatus,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) SpeechResponse result,
+                               Instant createdAt, Instant updatedAt) {
+
+    /**
+     * 처리 우선순위
+     * - INTERACTIVE: 사용자가 결과를 기다리는 요청 (대기열에서 항상 먼저 처리)
+     * - BULK: 대량 처리 요청 (일부 슬롯은 INTERACTIVE 전용으로 남겨둠)
+     */
+    public enum Priority {
+        INTERACTIVE, BULK;
+
+        /**
+         * 요청 파라미터 변환 (대소문자 무시, 알 수 없는 값은 IllegalArgumentException)
+         */
+        public static Priority of(String value) {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    /**
+     * 새 작업 생성 (QUEUED)
+     */
+    static TranscriptionJob create(Priority priority) {
+        Instant now = Instant.now();
+        return new TranscriptionJob(UUID.randomUUID().toString(), priority, Status.QUEUED, null, null, now, now);
+    }
+
+    TranscriptionJob running() {
+        return new TranscriptionJob(id, priority, Status.RUNNING, null, null, createdAt, Instant.now());
+    }
+
+    /**
+     * 과부하로 다시 대기 (다음 시도까지 QUEUED)
+     */
+    TranscriptionJob requeued() {
+        return new TranscriptionJob(id, priority, Status.QUEUED, null, null, createdAt, Instant.now());
+    }
+
+    /**
+     * 완료 (2xx면 SUCCEEDED, 그 외 FAILED)
+     */
+    TranscriptionJob finished(int httpStatus, SpeechResponse result) {
+        Status status = httpStatus >= 200 && httpStatus < 300 ? Status.SUCCEEDED : Status.FAILED;
+        return new TranscriptionJob(id, priority, status, httpStatus, result, createdAt, Instant.now());
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status.isFinished();
+    }
+}
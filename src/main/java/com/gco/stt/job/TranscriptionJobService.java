@@ -0,0 +1,357 @@
+package com.gco.stt.job;
+
+import com.gco.stt.admission.OverloadException;
+import com.gco.stt.dto.SpeechResponse;
+import com.gco.stt.job.TranscriptionJob.Priority;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 비동기 음성 인식 작업 실행기
+ *
+ * 주요 기능:
+ * - 업로드를 받으면 작업 ID만 바로 반환하고 인식은 백그라운드에서 진행 (요청 연결을 recognize 동안 유지하지 않음)
+ * - 동시에 실행하는 작업 수를 stt.jobs.max-concurrent로 제한, 나머지는 우선순위별 대기열에서 대기
+ *   (대기열이 stt.jobs.max-queued를 넘으면 RejectedExecutionException → 503)
+ * - INTERACTIVE 작업을 항상 먼저 꺼내고, BULK 작업은 stt.jobs.interactive-reserve개 슬롯을 남겨둔 범위에서만 실행
+ *   → 대량 요청이 몰려도 사용자가 기다리는 요청은 바로 시작
+ * - 실행 중 과부하(OverloadException: 로컬 동시 호출 한도, upstream 할당량 초과)로 거절되면 실패로 끝내지 않고
+ *   Retry-After만큼 기다린 뒤 같은 우선순위 대기열의 맨 앞으로 되돌림 (기다리는 작업도 대기열 길이에 포함)
+ * - 완료된 작업은 개수(stt.jobs.max-retained)와 보관 기간(stt.jobs.ttl)이 제한된 저장소에 보관 (조회/SSE 재접속용)
+ * - 상태가 바뀔 때마다 구독자(SSE 연결)에게 알림 (작업별 전달 순서 유지, 모니터 밖의 별도 스레드에서 전달)
+ *
+ * 처리 플로우:
+ * 1. 작업 생성(QUEUED) 후 우선순위별 대기열에 등록
+ * 2. 빈 슬롯이 있으면 가상 스레드에서 작업 시작(RUNNING) → 정규화/VAD/recognize 호출
+ * 3. 응답을 받으면 결과와 상태 코드를 기록(SUCCEEDED/FAILED)하고 완료 저장소로 이동
+ *    (과부하로 거절되면 슬롯을 반환하고 QUEUED로 되돌린 뒤 Retry-After 후 다시 대기열에 등록)
+ * 4. 슬롯 반환 후 다음 대기 작업 시작
+ */
+@Slf4j
+@Service
+public class TranscriptionJobService {
+
+    // 작업 시작(정규화/VAD 등 CPU 작업 포함)은 gRPC 콜백/요청 스레드가 아닌 가상 스레드에서 수행
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().name("transcription-job").start(task);
+    // 상태 알림(SSE 전송)은 느린 클라이언트가 작업 모니터나 gRPC 콜백 스레드를 붙잡지 않도록 별도 가상 스레드에서 전달
+    private static final Executor NOTIFIER = task -> Thread.ofVirtual().name("transcription-job-events").start(task);
+
+    private final int maxConcurrent;   // 동시에 실행하는 최대 작업 수
+    private final int bulkLimit;       // BULK 작업이 동시에 쓸 수 있는 최대 슬롯 수
+    private final int maxQueued;       // 대기열 최대 길이 (우선순위 합계)
+    private final Map<String, Job> active = new ConcurrentHashMap<>();  // 대기/실행 중인 작업
+    private final Cache<String, Job> finished;                          // 완료된 작업 (TTL/개수 제한)
+    private final Deque<Job> interactiveQueue = new ArrayDeque<>();
+    private final Deque<Job> bulkQueue = new ArrayDeque<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder requeued = new LongAdder();
+    private int running;      // this 모니터로 보호
+    private int runningBulk;
+    private int backingOff;   // 과부하로 다시 대기열에 들어가기를 기다리는 작업 수
+
+    public TranscriptionJobService(@Value("${stt.jobs.max-concurrent:16}") int maxConcurrent,
+                                   @Value("${stt.jobs.interactive-reserve:4}") int interactiveReserve,
+                                   @Value("${stt.jobs.max-queued:1000}") int maxQueued,
+                                   @Value("${stt.jobs.ttl:10m}") Duration ttl,
+                                   @Value("${stt.jobs.max-retained:10000}") long maxRetained) {
+        this.maxConcurrent = maxConcurrent;
+        this.bulkLimit = Math.max(1, maxConcurrent - interactiveReserve);
+        this.maxQueued = maxQueued;
+        this.finished = Caffeine.newBuilder()
+                .maximumSize(maxRetained)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * 작업 통계 (지표용)
+     * @param queuedInteractive 대기 중인 INTERACTIVE 작업 수
+     * @param queuedBulk 대기 중인 BULK 작업 수
+     * @param running 실행 중인 작업 수
+     * @param completed 완료된 작업 누적 수
+     * @param rejected 대기열이 가득 차 거절한 작업 누적 수
+     * @param requeued 과부하로 다시 대기열에 넣은 누적 횟수
+     */
+    public record Stats(int queuedInteractive, int queuedBulk, int running, long completed, long rejected,
+                        long requeued) {
+    }
+
+    /**
+     * 작업 등록 (즉시 반환)
+     *
+     * @param priority 처리 우선순위
+     * @param task 작업 시작 시 호출되는 인식 작업 (실패도 상태 코드가 담긴 응답으로 반환,
+     *             과부하면 OverloadException으로 실패하고 다시 호출될 수 있도록 업로드를 유지)
+     * @return 등록된 작업 (QUEUED)
+     * @throws RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public TranscriptionJob submit(Priority priority, Supplier<CompletableFuture<ResponseEntity<SpeechResponse>>> task) {
+        Job job = new Job(TranscriptionJob.create(priority), task);
+        synchronized (this) {
+            if (interactiveQueue.size() + bulkQueue.size() + backingOff >= maxQueued) {
+                rejected.increment();
+                throw new RejectedExecutionException("작업 대기열이 가득 참 (" + maxQueued + ")");
+            }
+            active.put(job.id, job);
+            (priority == Priority.INTERACTIVE ? interactiveQueue : bulkQueue).add(job);
+        }
+        TranscriptionJob snapshot = job.snapshot();
+        pump();
+        return snapshot;
+    }
+
+    /**
+     * 작업 상태 조회
+     */
+    public Optional<TranscriptionJob> find(String id) {
+        return lookup(id).map(Job::snapshot);
+    }
+
+    /**
+     * 상태 변경 구독: 현재 상태를 바로 전달하고, 완료될 때까지 변경될 때마다 전달 (완료 상태 전달 후 자동 해제)
+     * @return 작업이 있는지 여부
+     */
+    public boolean subscribe(String id, Consumer<TranscriptionJob> listener) {
+        Optional<Job> job = lookup(id);
+        job.ifPresent(found -> found.subscribe(listener));
+        return job.isPresent();
+    }
+
+    /**
+     * 구독 해제 (SSE 연결 종료/시간 초과)
+     */
+    public void unsubscribe(String id, Consumer<TranscriptionJob> listener) {
+        lookup(id).ifPresent(job -> job.unsubscribe(listener));
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(interactiveQueue.size(), bulkQueue.size(), running, completed.sum(), rejected.sum(),
+                requeued.sum());
+    }
+
+    private Optional<Job> lookup(String id) {
+        // 완료 처리 시 완료 저장소에 먼저 넣고 active에서 제거하므로 두 곳 모두 없는 순간은 없음
+        Job job = active.get(id);
+        return Optional.ofNullable(job != null ? job : finished.getIfPresent(id));
+    }
+
+    /**
+     * 빈 슬롯만큼 대기 작업 시작 (INTERACTIVE 우선, BULK는 한도 안에서만)
+     */
+    private void pump() {
+        List<Job> startable = new ArrayList<>();
+        synchronized (this) {
+            while (running < maxConcurrent) {
+                Job next = interactiveQueue.poll();
+                if (next == null && runningBulk < bulkLimit) {
+                    next = bulkQueue.poll();
+                }
+                if (next == null) {
+                    break;
+                }
+                running++;
+                if (next.priority == Priority.BULK) {
+                    runningBulk++;
+                }
+                startable.add(next);
+            }
+        }
+        startable.forEach(job -> VIRTUAL_THREADS.execute(() -> run(job)));
+    }
+
+    private void run(Job job) {
+        job.update(TranscriptionJob::running);
+        CompletableFuture<ResponseEntity<SpeechResponse>> result;
+        try {
+            result = job.start();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> complete(job, response, error));
+    }
+
+    private void complete(Job job, ResponseEntity<SpeechResponse> response, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof OverloadException overload) {
+            requeue(job, overload);
+            return;
+        }
+        job.release();
+        if (error != null || response == null) {
+            log.error("비동기 인식 작업 실패: {}", job.id, error);
+            job.update(snapshot -> snapshot.finished(500, SpeechResponse.failure("서버 오류 발생")));
+        } else {
+            job.update(snapshot -> snapshot.finished(response.getStatusCode().value(), response.getBody()));
+        }
+        finished.put(job.id, job);
+        active.remove(job.id);
+        completed.increment();
+        synchronized (this) {
+            releaseSlot(job);
+        }
+        pump();
+    }
+
+    /**
+     * 과부하로 거절된 작업: 슬롯을 반환하고 Retry-After 후 같은 우선순위 대기열의 맨 앞으로 되돌림
+     * (기다리는 동안 다른 작업이 슬롯을 쓰므로 한도가 풀릴 때까지 실행 수가 자연히 줄어듦)
+     */
+    private void requeue(Job job, OverloadException overload) {
+        log.debug("과부하로 작업 재대기: {} ({}ms 후)", job.id, overload.getRetryAfter().toMillis());
+        job.update(TranscriptionJob::requeued);
+        requeued.increment();
+        synchronized (this) {
+            releaseSlot(job);
+            backingOff++;
+        }
+        Executor delayed = CompletableFuture.delayedExecutor(
+                Math.max(1, overload.getRetryAfter().toMillis()), TimeUnit.MILLISECONDS, VIRTUAL_THREADS);
+        delayed.execute(() -> {
+            synchronized (this) {
+                backingOff--;
+                (job.priority == Priority.INTERACTIVE ? interactiveQueue : bulkQueue).addFirst(job);
+            }
+            pump();
+        });
+        pump();
+    }
+
+    private void releaseSlot(Job job) {
+        running--;
+        if (job.priority == Priority.BULK) {
+            runningBulk--;
+        }
+    }
+
+    /**
+     * 작업 하나
+     * - 상태 변경/구독은 모니터로 직렬화하고, 전달할 (구독자, 상태)는 모니터 안에서 작업별 전달 대기열에 순서대로 추가
+     * - 실제 전달은 모니터 밖에서 작업당 한 번에 하나의 스레드가 대기열 순서대로 수행 → 구독자는 상태를 순서대로 받음
+     */
+    private static final class Job {
+
+        private final String id;
+        private final Priority priority;
+        private final List<Consumer<TranscriptionJob>> listeners = new ArrayList<>();
+        private final Deque<Delivery> deliveries = new ArrayDeque<>();  // 전달 대기 중인 상태 (순서대로)
+        private boolean delivering;  // 전달 스레드 실행 중 여부
+        private Supplier<CompletableFuture<ResponseEntity<SpeechResponse>>> task;  // 완료 후 해제 (업로드 데이터 참조)
+        private TranscriptionJob snapshot;
+
+        private Job(TranscriptionJob snapshot, Supplier<CompletableFuture<ResponseEntity<SpeechResponse>>> task) {
+            this.id = snapshot.id();
+            this.priority = snapshot.priority();
+            this.snapshot = snapshot;
+            this.task = task;
+        }
+
+        synchronized TranscriptionJob snapshot() {
+            return snapshot;
+        }
+
+        CompletableFuture<ResponseEntity<SpeechResponse>> start() {
+            Supplier<CompletableFuture<ResponseEntity<SpeechResponse>>> started;
+            synchronized (this) {
+                started = task;  // 과부하로 다시 시작할 수 있도록 완료 전까지 유지
+            }
+            return started.get();
+        }
+
+        /**
+         * 완료 저장소에 보관되는 동안 업로드 데이터를 잡아두지 않도록 작업 해제
+         */
+        synchronized void release() {
+            task = null;
+        }
+
+        void update(UnaryOperator<TranscriptionJob> change) {
+            synchronized (this) {
+                snapshot = change.apply(snapshot);
+                listeners.forEach(listener -> deliveries.add(new Delivery(listener, snapshot)));
+                if (snapshot.isFinished()) {
+                    listeners.clear();
+                }
+            }
+            dispatch();
+        }
+
+        void subscribe(Consumer<TranscriptionJob> listener) {
+            synchronized (this) {
+                deliveries.add(new Delivery(listener, snapshot));
+                if (!snapshot.isFinished()) {
+                    listeners.add(listener);
+                }
+            }
+            dispatch();
+        }
+
+        synchronized void unsubscribe(Consumer<TranscriptionJob> listener) {
+            listeners.remove(listener);
+            deliveries.removeIf(delivery -> delivery.listener() == listener);
+        }
+
+        /**
+         * 전달할 상태가 있고 전달 중인 스레드가 없으면 전달 시작
+         */
+        private void dispatch() {
+            synchronized (this) {
+                if (delivering || deliveries.isEmpty()) {
+                    return;
+                }
+                delivering = true;
+            }
+            NOTIFIER.execute(this::deliver);
+        }
+
+        /**
+         * 대기 중인 상태를 순서대로 전달 (모니터 밖에서 호출, 실패한 구독자는 해제하고 남은 전달도 취소)
+         */
+        private void deliver() {
+            while (true) {
+                Delivery next;
+                synchronized (this) {
+                    next = deliveries.poll();
+                    if (next == null) {
+                        delivering = false;
+                        return;
+                    }
+                }
+                try {
+                    next.listener().accept(next.snapshot());
+                } catch (RuntimeException e) {
+                    log.debug("작업 상태 전달 실패, 구독 해제: {} ({})", id, e.getMessage());
+                    unsubscribe(next.listener());
+                }
+            }
+        }
+    }
+
+    /**
+     * 구독자 하나에게 전달할 상태
+     */
+    private record Delivery(Consumer<TranscriptionJob> listener, TranscriptionJob snapshot) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.gco.stt.metrics;
+
+import io.grpc.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Speech API gRPC 호출 지표 수집 인터셉터
+ *
+ * SpeechClient 채널에 등록되어 모든 호출(Recognize, GetRecognizer, CreateRecognizer,
+ * long-running operation 조회, StreamingRecognize 등)의 소요 시간을 메서드/상태 코드별로 기록합니다.
+ * 스트리밍 호출은 스트림이 열려 있던 전체 시간이 기록됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GrpcClientMetricsInterceptor implements ClientInterceptor {
+
+    private final SttMetrics metrics;
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                long start = System.nanoTime();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        metrics.recordGrpcCall(method.getBareMethodName(), status.getCode().name(), System.nanoTime() - start);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.gco.stt.metrics;
+
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter;
+import com.gco.stt.admission.ApiKeyRateLimiter;
+import com.gco.stt.audio.VoiceActivityDetector;
+import com.gco.stt.cache.TranscriptCache;
+import com.gco.stt.job.TranscriptionJobService;
+import com.gco.stt.service.AsyncRecognizer;
+import com.gco.stt.service.RecognizeBatcher;
+import com.gco.stt.service.RegionRouter;
+import com.gco.stt.service.RegionRouter.RegionStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 컴포넌트 내부 상태를 지표로 노출 (Actuator가 레지스트리에 자동 등록)
+ *
+ * - stt.recognize.in.flight: 진행 중인 recognize 호출 수 (.max = 현재 적응형 동시 호출 한도)
+ * - stt.admission.rejected: 429로 거절한 요청 (reason=concurrency|rate_limit)
+ * - stt.cache.requests: 결과 캐시 조회 (result=memory_hit|disk_hit|miss)
+ * - stt.vad.uploads: 음성 구간 검사 (result=analyzed|rejected, rejected = 생략된 upstream 호출)
+ * - stt.region.latency / stt.region.error.rate: 리전별 응답 시간 EWMA(ms)와 오류율 EWMA (region 태그)
+ * - stt.routing.retries: 두 번째 리전에 보낸 요청 (reason=hedge|failover)
+ * - stt.micro-batch.calls / stt.micro-batch.clips: 묶음 recognize 호출 수와 묶인 음성 수 (.fallbacks = 개별 재호출)
+ * - stt.jobs.queued / stt.jobs.running: 비동기 작업 대기(priority 태그)/실행 수 (stt.jobs.completed, stt.jobs.rejected, stt.jobs.requeued = 누적)
+ */
+@Component
+@RequiredArgsConstructor
+public class SttMeterBinder implements MeterBinder {
+
+    private final AsyncRecognizer asyncRecognizer;
+    private final TranscriptCache transcriptCache;
+    private final VoiceActivityDetector voiceActivityDetector;
+    private final RegionRouter regionRouter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ApiKeyRateLimiter rateLimiter;
+    private final RecognizeBatcher recognizeBatcher;
+    private final TranscriptionJobService jobService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stt.recognize.in.flight", asyncRecognizer, AsyncRecognizer::inFlight)
+                .description("진행 중인 recognize 호출 수")
+                .register(registry);
+        Gauge.builder("stt.recognize.in.flight.max", asyncRecognizer, AsyncRecognizer::maxInFlight)
+                .description("현재 동시 recognize 호출 한도 (응답 시간/할당량 오류에 따라 조정)")
+                .register(registry);
+        FunctionCounter.builder("stt.admission.rejected", concurrencyLimiter, limiter -> limiter.stats().rejected())
+                .tag("reason", "concurrency")
+                .register(registry);
+        FunctionCounter.builder("stt.admission.rejected", rateLimiter, ApiKeyRateLimiter::rejectedCount)
+                .tag("reason", "rate_limit")
+                .register(registry);
+
+        FunctionCounter.builder("stt.cache.requests", transcriptCache, cache -> cache.stats().memoryHits())
+                .tag("result", "memory_hit")
+                .register(registry);
+        FunctionCounter.builder("stt.cache.requests", transcriptCache, cache -> cache.stats().diskHits())
+                .tag("result", "disk_hit")
+                .register(registry);
+        FunctionCounter.builder("stt.cache.requests", transcriptCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("stt.cache.size", transcriptCache, cache -> cache.stats().estimatedSize())
+                .description("메모리 캐시 항목 수")
+                .register(registry);
+
+        FunctionCounter.builder("stt.vad.uploads", voiceActivityDetector, vad -> vad.stats().analyzed())
+                .tag("result", "analyzed")
+                .register(registry);
+        FunctionCounter.builder("stt.vad.uploads", voiceActivityDetector, vad -> vad.stats().rejected())
+                .tag("result", "rejected")
+                .register(registry);
+
+        for (String location : regionRouter.locations()) {
+            Gauge.builder("stt.region.latency", regionRouter, router -> latencyMillis(router, location))
+                    .tag("region", location)
+                    .baseUnit("milliseconds")
+                    .description("리전별 응답 시간 EWMA")
+                    .register(registry);
+            Gauge.builder("stt.region.error.rate", regionRouter, router -> regionStatus(router, location).errorRate())
+                    .tag("region", location)
+                    .description("리전별 오류율 EWMA")
+                    .register(registry);
+        }
+        FunctionCounter.builder("stt.routing.retries", regionRouter, router -> router.stats().hedges())
+                .tag("reason", "hedge")
+                .register(registry);
+        FunctionCounter.builder("stt.routing.retries", regionRouter, router -> router.stats().failovers())
+                .tag("reason", "failover")
+                .register(registry);
+
+        FunctionCounter.builder("stt.micro-batch.calls", recognizeBatcher, batcher -> batcher.stats().batches())
+                .description("음성 여러 개를 묶어 보낸 recognize 호출")
+                .register(registry);
+        FunctionCounter.builder("stt.micro-batch.clips", recognizeBatcher, batcher -> batcher.stats().batchedClips())
+                .description("묶음 호출로 처리한 음성")
+                .register(registry);
+        FunctionCounter.builder("stt.micro-batch.fallbacks", recognizeBatcher, batcher -> batcher.stats().fallbacks())
+                .description("묶음 호출 실패로 개별 호출한 음성")
+                .register(registry);
+
+        Gauge.builder("stt.jobs.queued", jobService, jobs -> jobs.stats().queuedInteractive())
+                .tag("priority", "interactive")
+                .register(registry);
+        Gauge.builder("stt.jobs.queued", jobService, jobs -> jobs.stats().queuedBulk())
+                .tag("priority", "bulk")
+                .register(registry);
+        Gauge.builder("stt.jobs.running", jobService, jobs -> jobs.stats().running())
+                .description("실행 중인 비동기 작업 수")
+                .register(registry);
+        FunctionCounter.builder("stt.jobs.completed", jobService, jobs -> jobs.stats().completed())
+                .register(registry);
+        FunctionCounter.builder("stt.jobs.rejected", jobService, jobs -> jobs.stats().rejected())
+                .description("대기열이 가득 차 503으로 거절한 작업")
+                .register(registry);
+        FunctionCounter.builder("stt.jobs.requeued", jobService, jobs -> jobs.stats().requeued())
+                .description("과부하로 다시 대기열에 넣은 횟수")
+                .register(registry);
+    }
+
+    private static double latencyMillis(RegionRouter router, String location) {
+        Double latency = regionStatus(router, location).latencyMillis();
+        return latency != null ? latency : Double.NaN;
+    }
+
+    private static RegionStatus regionStatus(RegionRouter router, String location) {
+        return router.status().stream()
+                .filter(status -> status.location().equals(location))
+                .findFirst()
+                .orElseThrow();
+    }
+}
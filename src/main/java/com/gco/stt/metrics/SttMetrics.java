@@ -0,0 +1,132 @@
+package com.gco.stt.metrics;
+
+import com.google.api.gax.rpc.ApiException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * STT 처리 단계별 지표 기록기 (Micrometer)
+ *
+ * 주요 지표:
+ * - stt.stage: 단계별 소요 시간 (endpoint, stage, outcome 태그, p50/p95/p99 + 히스토그램)
+ *   stage: ingest(업로드 읽기), normalize, vad, resolve_recognizer, recognize
+ * - stt.upload.size: 업로드 크기 분포 (bytes)
+ * - stt.grpc.client.calls: gRPC 메서드별 호출 시간과 상태 코드 (GrpcClientMetricsInterceptor)
+ *
+ * outcome 태그: OK, 실패 시 gRPC 상태 코드(NOT_FOUND 등), REJECTED(동시 요청 한도), TIMEOUT, ERROR
+ */
+@Component
+public class SttMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public SttMetrics(ObjectProvider<MeterRegistry> registry) {
+        // 레지스트리가 없는 환경(테스트 슬라이스 등)에서는 메모리 레지스트리 사용
+        this(registry.getIfUnique(SimpleMeterRegistry::new));
+    }
+
+    public SttMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 예외를 던질 수 있는 단계 작업
+     */
+    @FunctionalInterface
+    public interface Stage<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * 동기 단계 실행 시간 기록
+     */
+    public <T, E extends Exception> T record(String endpoint, String stage, Stage<T, E> task) throws E {
+        long start = System.nanoTime();
+        String outcome = "ERROR";
+        try {
+            T result = task.run();
+            outcome = "OK";
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            stageTimer(endpoint, stage, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 비동기 단계 실행 시간 기록 (호출 시작부터 future 완료까지)
+     */
+    public <T> CompletableFuture<T> recordAsync(String endpoint, String stage, Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        return call.get().whenComplete((result, error) ->
+                stageTimer(endpoint, stage, error == null ? "OK" : outcomeOf(error))
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    public void recordUploadSize(String endpoint, long bytes) {
+        DistributionSummary.builder("stt.upload.size")
+                .description("업로드 오디오 크기")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .publishPercentiles(PERCENTILES)
+                .register(registry)
+                .record(bytes);
+    }
+
+    void recordGrpcCall(String method, String status, long nanos) {
+        Timer.builder("stt.grpc.client.calls")
+                .description("Speech API gRPC 호출 시간")
+                .tag("method", method)
+                .tag("status", status)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer stageTimer(String endpoint, String stage, String outcome) {
+        return Timer.builder("stt.stage")
+                .description("STT 처리 단계별 소요 시간")
+                .tag("endpoint", endpoint)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String outcomeOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ApiException apiException) {
+            return apiException.getStatusCode().getCode().name();
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return "REJECTED";
+        }
+        if (cause instanceof TimeoutException) {
+            return "TIMEOUT";
+        }
+        return "ERROR";
+    }
+}
@@ -0,0 +1,254 @@
+package com.gco.stt.service;
+
+import com.gco.stt.adaptation.AdaptationResources;
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter;
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter.Outcome;
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter.Permit;
+import com.gco.stt.admission.OverloadException;
+import com.gco.stt.cache.TranscriptCache;
+import com.gco.stt.service.RecognizerRegistry.RecognizerKey;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.DeadlineExceededException;
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.api.gax.rpc.ResourceExhaustedException;
+import com.google.cloud.speech.v2.RecognizeRequest;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.RecognizerName;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * recognize 호출을 스레드 블로킹 없이 수행하는 비동기 실행기
+ *
+ * 주요 기능:
+ * - recognizeCallable().futureCall()로 요청을 보내고 CompletableFuture로 결과 전달
+ *   (응답을 기다리는 동안 요청 스레드를 점유하지 않음)
+ * - 동시에 진행 중인 요청 수를 AdaptiveConcurrencyLimiter로 제한 (초과 시 OverloadException으로 즉시 실패)
+ *   허가는 논리 요청 하나당 하나 (hedging/장애 조치로 두 리전에 보내도 추가 허가를 쓰지 않고, 최종 결과로 한도 조정)
+ *   upstream이 RESOURCE_EXHAUSTED로 응답한 경우도 OverloadException으로 바꿔 전달 (429 + Retry-After)
+ * - 요청별 타임아웃 (초과 시 TimeoutException으로 실패하고 upstream 호출 취소)
+ * - 반환한 future를 취소하면 진행 중인 리전 시도와 gRPC 호출까지 취소
+ *   (캐시를 거친 요청은 같은 요청을 기다리는 호출자가 모두 취소했을 때만 upstream 호출 취소)
+ * - 같은 오디오/설정의 요청은 TranscriptCache의 결과를 재사용 (캐시 적중은 동시 요청 한도를 사용하지 않음)
+ * - 캐시에 없는 요청은 RegionRouter가 고른 리전으로 전송
+ *   (요청의 recognizer 경로를 해당 리전으로 바꾸고, 영구 recognizer는 리전별로 확인/생성,
+ *    영구 PhraseSet/CustomClass 참조도 해당 리전 리소스로 변경)
+ */
+@Slf4j
+@Component
+public class AsyncRecognizer {
+
+    private static final String INLINE_RECOGNIZER_ID = "_";  // 요청마다 임시 recognizer를 쓰는 특수 경로
+
+    private final RegionRouter regionRouter;              // 리전별 클라이언트와 리전 선택
+    private final RecognizerRegistry recognizerRegistry;  // 리전별 영구 recognizer 확인/생성
+    private final TranscriptCache transcriptCache;  // 오디오 내용 기반 결과 캐시
+    private final AdaptiveConcurrencyLimiter limiter;  // 응답 시간/할당량 오류에 따라 조정되는 동시 호출 한도
+    private final Duration requestTimeout;  // 요청별 최대 대기 시간
+
+    public AsyncRecognizer(RegionRouter regionRouter,
+                           RecognizerRegistry recognizerRegistry,
+                           TranscriptCache transcriptCache,
+                           AdaptiveConcurrencyLimiter limiter,
+                           @Value("${stt.async.request-timeout:30s}") Duration requestTimeout) {
+        this.regionRouter = regionRouter;
+        this.recognizerRegistry = recognizerRegistry;
+        this.transcriptCache = transcriptCache;
+        this.limiter = limiter;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * 비동기 recognize 호출 (캐시 적중 시 upstream 호출 없이 바로 완료)
+     *
+     * @param request recognize 요청
+     * @return 응답 future (동시 요청 한도/할당량 초과 시 OverloadException, 시간 초과 시 TimeoutException)
+     */
+    public CompletableFuture<RecognizeResponse> recognize(RecognizeRequest request) {
+        return transcriptCache.get(request, this::route);
+    }
+
+    /**
+     * 캐시를 거치지 않는 비동기 recognize 호출 (RecognizeBatcher가 이어붙인 요청 전송용, 캐시는 음성별로 배처에서 처리)
+     */
+    public CompletableFuture<RecognizeResponse> recognizeUncached(RecognizeRequest request) {
+        return route(request);
+    }
+
+    /**
+     * 진행 중인 upstream 호출 수 (지표용)
+     */
+    public int inFlight() {
+        return limiter.inFlight();
+    }
+
+    /**
+     * 현재 동시 호출 한도 (지표용, 응답 시간/할당량 오류에 따라 변함)
+     */
+    public int maxInFlight() {
+        return limiter.limit();
+    }
+
+    private CompletableFuture<RecognizeResponse> route(RecognizeRequest request) {
+        Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            log.warn("동시 요청 한도({}) 초과로 요청 거절", limiter.limit());
+            return CompletableFuture.failedFuture(new OverloadException("동시 요청 한도 초과", limiter.retryAfter()));
+        }
+        CompletableFuture<RecognizeResponse> execution = regionRouter.execute(location -> callRegion(request, location));
+        CompletableFuture<RecognizeResponse> routed = execution
+                // 진 hedging 시도의 취소는 한도에 반영하지 않고 최종 결과(먼저 온 응답 또는 마지막 오류)만 반영
+                .whenComplete((response, error) -> permit.release(outcomeOf(unwrap(error))))
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof ResourceExhaustedException) {
+                        // 모든 리전이 할당량 초과: 클라이언트가 잠시 뒤 재시도하도록 과부하로 전달
+                        return CompletableFuture.failedFuture(
+                                new OverloadException("upstream 할당량 초과", limiter.retryAfter(), cause));
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+        // 의존 단계의 취소는 앞 단계로 전달되지 않으므로 직접 전달 (RegionRouter가 남은 리전 시도와 gRPC 호출을 취소)
+        cancelOnCancel(routed, execution);
+        return routed;
+    }
+
+    /**
+     * 요청을 지정한 리전용으로 바꿔 호출
+     * - 같은 리전이거나 recognizer 경로가 아니면 그대로
+     * - inline recognizer(_)는 경로의 리전만 변경
+     * - 영구 recognizer는 해당 리전에 확인/생성된 recognizer 사용 (리전별로 최초 1회)
+     * - 적응 설정의 영구 PhraseSet/CustomClass 참조는 해당 리전 리소스로 변경 (모든 리전에 같은 ID로 동기화됨)
+     */
+    private CompletableFuture<RecognizeResponse> callRegion(RecognizeRequest originalRequest, String location) {
+        if (!RecognizerName.isParsableFrom(originalRequest.getRecognizer())) {
+            return call(location, originalRequest);
+        }
+        RecognizerName recognizerName = RecognizerName.parse(originalRequest.getRecognizer());
+        if (recognizerName.getLocation().equals(location)) {
+            return call(location, originalRequest);
+        }
+        RecognizeRequest request = withAdaptationLocation(originalRequest, recognizerName.getLocation(), location);
+        if (INLINE_RECOGNIZER_ID.equals(recognizerName.getRecognizer())) {
+            return call(location, withRecognizer(request,
+                    RecognizerName.of(recognizerName.getProject(), location, INLINE_RECOGNIZER_ID)));
+        }
+
+        RecognizerKey key = new RecognizerKey(recognizerName.getProject(), location, recognizerName.getRecognizer(),
+                request.getConfig().getLanguageCodesCount() > 0 ? request.getConfig().getLanguageCodes(0) : "ko-KR",
+                request.getConfig().getModel().isEmpty() ? "long" : request.getConfig().getModel());
+        CompletableFuture<RecognizerName> resolved = recognizerRegistry.resolveAsync(key);
+        CompletableFuture<RecognizeResponse> response;
+        if (resolved.isDone() && !resolved.isCompletedExceptionally()) {
+            response = call(location, withRecognizer(request, resolved.join()));
+        } else {
+            // 처음 쓰는 리전: recognizer 확인/생성 후 호출 (확인 중에 취소되면 호출하지 않고, 호출 후 취소되면 호출도 취소)
+            AtomicReference<CompletableFuture<RecognizeResponse>> started = new AtomicReference<>();
+            response = resolved.thenCompose(name -> {
+                CompletableFuture<RecognizeResponse> call = call(location, withRecognizer(request, name));
+                started.set(call);
+                return call;
+            });
+            response.whenComplete((result, error) -> {
+                CompletableFuture<RecognizeResponse> call = started.get();
+                if (error instanceof CancellationException && call != null) {
+                    call.cancel(true);
+                }
+            });
+        }
+        response.whenComplete((result, error) -> {
+            if (unwrap(error) instanceof NotFoundException) {
+                // 리전의 recognizer가 외부에서 삭제된 경우 다음 요청에서 재생성
+                recognizerRegistry.invalidate(key);
+            }
+        });
+        return response;
+    }
+
+    private CompletableFuture<RecognizeResponse> call(String location, RecognizeRequest request) {
+        ApiFuture<RecognizeResponse> call = regionRouter.client(location).recognizeCallable().futureCall(request);
+        CompletableFuture<RecognizeResponse> result = new CompletableFuture<>();
+        ApiFutures.addCallback(call, new ApiFutureCallback<>() {
+            @Override
+            public void onFailure(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onSuccess(RecognizeResponse response) {
+                result.complete(response);
+            }
+        }, MoreExecutors.directExecutor());
+
+        CompletableFuture<RecognizeResponse> completion = result.orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    if (error instanceof TimeoutException || error instanceof CancellationException) {
+                        // 응답을 더 기다리지 않으므로 upstream 호출도 취소
+                        call.cancel(true);
+                    }
+                });
+        // 반환한 future가 취소되면(다른 리전이 먼저 응답한 hedging 요청) upstream 호출까지 취소
+        completion.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(true);
+            }
+        });
+        return completion;
+    }
+
+    /**
+     * dependent가 취소되면 source도 취소
+     */
+    private static void cancelOnCancel(CompletableFuture<?> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                source.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * 호출 결과를 제한기 입력으로 분류 (할당량 초과/시간 초과만 한도 감소 신호)
+     */
+    private static Outcome outcomeOf(Throwable error) {
+        if (error == null) {
+            return Outcome.SUCCESS;
+        }
+        if (error instanceof ResourceExhaustedException
+                || error instanceof DeadlineExceededException
+                || error instanceof TimeoutException) {
+            return Outcome.DROPPED;
+        }
+        return Outcome.IGNORED;
+    }
+
+    private static RecognizeRequest withAdaptationLocation(RecognizeRequest request, String fromLocation, String toLocation) {
+        if (!request.getConfig().hasAdaptation()) {
+            return request;
+        }
+        RecognizeRequest.Builder builder = request.toBuilder();
+        builder.getConfigBuilder().setAdaptation(
+                AdaptationResources.relocate(request.getConfig().getAdaptation(), fromLocation, toLocation));
+        return builder.build();
+    }
+
+    private static RecognizeRequest withRecognizer(RecognizeRequest request, RecognizerName recognizerName) {
+        return request.toBuilder().setRecognizer(recognizerName.toString()).build();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,428 @@
+package com.gco.stt.service;
+
+import com.gco.stt.audio.SilenceSplitter;
+import com.gco.stt.audio.SilenceSplitter.Segment;
+import com.gco.stt.audio.WavFormat;
+import com.gco.stt.service.TranscriptionProfiles.Profile;
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * 긴 음성을 무음 구간 기준으로 나눠 병렬 인식한 뒤 순서대로 이어붙이는 서비스
+ *
+ * 처리 플로우:
+ * 1. WAV 헤더 확인 (16-bit PCM만 지원, LINEAR16으로 그대로 전송)
+ * 2. SilenceSplitter로 최대 구간 길이 이하의 구간으로 분할
+ * 3. 구간을 디스크에서 하나씩 읽어 비동기 recognize 요청 (동시 처리 수 제한)
+ *    → 메모리에는 최대 parallelism 개의 구간만 유지
+ * 4. 구간별 결과를 원래 순서대로 정렬하고 구간 시작 시각(offset)과 함께 반환
+ *
+ * 언어/모델/문장부호는 인식 프로필(stt.profiles.*)을 따르며, 프로필별 설정과 recognizer 이름은 시작 시 한 번만 만듭니다.
+ *
+ * 업로드 중인 파일은 {@link #progressive}로 도착한 부분의 구간부터 미리 인식할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class LongAudioTranscriber {
+
+    // 파일 읽기(헤더, 구간 분할)는 블로킹 작업이므로 가상 스레드에서 실행
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().start(task);
+    private static final int HEADER_PROBE_BYTES = 64 * 1024;  // 이 안에 data 청크가 없으면 WAV로 보지 않음
+
+    private final AsyncRecognizer asyncRecognizer;
+    private final SilenceSplitter splitter;
+    private final Map<String, Template> templates;  // 프로필 이름 → 요청 템플릿
+    private final int parallelism;  // 동시에 인식할 최대 구간 수
+    private final long maxInlineBytes;  // WAV가 아닌 녹음을 한 번에 인식할 최대 크기 (재개 가능한 업로드)
+
+    public LongAudioTranscriber(AsyncRecognizer asyncRecognizer,
+                                TranscriptionProfiles profiles,
+                                @Value("${gcp.project-id}") String projectId,
+                                @Value("${gcp.location}") String location,
+                                @Value("${stt.long-audio.parallelism:8}") int parallelism,
+                                @Value("${stt.long-audio.min-segment:10s}") Duration minSegment,
+                                @Value("${stt.long-audio.max-segment:50s}") Duration maxSegment,
+                                @Value("${stt.upload.max-inline-size:10MB}") DataSize maxInlineSize) {
+        this.asyncRecognizer = asyncRecognizer;
+        this.parallelism = parallelism;
+        this.maxInlineBytes = maxInlineSize.toBytes();
+        this.splitter = new SilenceSplitter(minSegment, maxSegment);
+        String recognizer = RecognizerName.of(projectId, location, "_").toString();
+        Map<String, Template> templates = new LinkedHashMap<>();
+        for (Profile profile : profiles.all()) {
+            templates.put(profile.name(), new Template(recognizer, profile));
+        }
+        this.templates = Map.copyOf(templates);
+    }
+
+    /**
+     * 구간별 인식 결과
+     * @param index 구간 순번
+     * @param startMillis 전체 음성 기준 구간 시작 시각 (ms)
+     * @param endMillis 전체 음성 기준 구간 종료 시각 (ms)
+     * @param transcript 구간 인식 텍스트
+     */
+    public record SegmentTranscript(int index, long startMillis, long endMillis, String transcript) {
+    }
+
+    /**
+     * 긴 음성 파일 인식 (기본 프로필)
+     * @param wavFile 16-bit PCM WAV 파일 (인식이 끝날 때까지 삭제하지 않아야 함)
+     * @return 순서대로 정렬된 구간별 결과 (형식 오류 시 IllegalArgumentException)
+     */
+    public CompletableFuture<List<SegmentTranscript>> transcribe(Path wavFile) {
+        return transcribe(wavFile, null);
+    }
+
+    /**
+     * 긴 음성 파일 인식
+     * @param wavFile 16-bit PCM WAV 파일 (인식이 끝날 때까지 삭제하지 않아야 함)
+     * @param profile 인식 프로필 이름 (null이면 기본 프로필)
+     * @return 순서대로 정렬된 구간별 결과 (형식 오류 시 IllegalArgumentException)
+     * @throws IllegalArgumentException 알 수 없는 프로필
+     */
+    public CompletableFuture<List<SegmentTranscript>> transcribe(Path wavFile, String profile) {
+        return prepare(wavFile, profile).finish();
+    }
+
+    /**
+     * 업로드가 끝난 긴 음성 파일의 인식 준비 (finish()로 시작, 응답을 기다리던 요청이 끝나면 cancel()로 중단)
+     * @param wavFile 16-bit PCM WAV 파일 (인식이 끝날 때까지 삭제하지 않아야 함)
+     * @param profile 인식 프로필 이름 (null이면 기본 프로필)
+     * @throws IllegalArgumentException 알 수 없는 프로필
+     */
+    public Progressive prepare(Path wavFile, String profile) {
+        return new Progressive(wavFile, false, template(profile));
+    }
+
+    /**
+     * 인식 프로필 존재 여부 (null/빈 값이면 기본 프로필)
+     */
+    public boolean supports(String profile) {
+        return templates.containsKey(profileName(profile));
+    }
+
+    /**
+     * 업로드 중인 파일의 점진 인식 시작 (재개 가능한 업로드용)
+     * - WAV(16-bit PCM)이면 데이터가 추가될 때마다 위치가 확정된 구간부터 인식 요청
+     * - WAV가 아니면(브라우저 WebM/Opus 녹음 등) 업로드가 끝난 뒤 파일 전체를 한 번에 인식 (stt.upload.max-inline-size 이하)
+     *
+     * @param file 업로드 중인 파일 (데이터는 끝에만 추가되어야 하고, 인식이 끝날 때까지 삭제하지 않아야 함)
+     * @param profile 인식 프로필 이름 (null이면 기본 프로필)
+     * @throws IllegalArgumentException 알 수 없는 프로필
+     */
+    public Progressive progressive(Path file, String profile) {
+        return new Progressive(file, true, template(profile));
+    }
+
+    /**
+     * 점진 인식 하나 (메서드는 한 번에 한 스레드에서만 호출됨 → 상태는 모니터로 보호)
+     */
+    public final class Progressive {
+
+        private final Path file;
+        private final boolean encodedFallback;  // WAV가 아니면 파일 전체를 한 번에 인식
+        private final Template template;
+        private final List<CompletableFuture<SegmentTranscript>> results = new ArrayList<>();
+        private final Deque<Pending> pending = new ArrayDeque<>();  // 동시 처리 한도로 대기 중인 구간
+        private final List<CompletableFuture<RecognizeResponse>> calls = new ArrayList<>();
+        private WavFormat format;                  // 헤더가 도착하면 설정
+        private SilenceSplitter.Progressive segments;
+        private RecognitionConfig config;
+        private boolean notWav;
+        private int running;
+        private Throwable failure;
+
+        private Progressive(Path file, boolean encodedFallback, Template template) {
+            this.file = file;
+            this.encodedFallback = encodedFallback;
+            this.template = template;
+        }
+
+        /**
+         * 파일에 데이터가 추가된 뒤 호출: 새로 확정된 구간 인식 요청
+         * @param fileSize 현재 파일 크기
+         * @return 지금까지 인식 요청(대기 포함)한 구간 수
+         */
+        public synchronized int advance(long fileSize) throws IOException {
+            if (notWav || failure != null) {
+                return results.size();
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (format == null && !readHeader(channel, fileSize, false)) {
+                    return results.size();
+                }
+                enqueue(segments.advance(channel, availableData(fileSize)));
+            }
+            return results.size();
+        }
+
+        /**
+         * 업로드 완료: 남은 구간을 인식 요청하고 전체 결과 반환
+         * @return 순서대로 정렬된 구간별 결과 (형식 오류 시 IllegalArgumentException)
+         */
+        public CompletableFuture<List<SegmentTranscript>> finish() {
+            return CompletableFuture.supplyAsync(this::submitRemaining, VIRTUAL_THREADS)
+                    .thenCompose(futures -> CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                            .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList()));
+        }
+
+        /**
+         * 진행 중/대기 중인 인식 취소 (업로드 중단, 요청 시간 초과, 클라이언트 연결 끊김)
+         * 구간별 호출은 이 인식 전용 future이므로 취소가 gRPC 호출까지 전달됨
+         * (같은 구간을 기다리는 다른 요청이 있으면 그 요청은 계속 결과를 받음)
+         */
+        public synchronized void cancel() {
+            fail(new CancellationException("업로드 취소"));
+            calls.forEach(call -> call.cancel(true));
+        }
+
+        private synchronized List<CompletableFuture<SegmentTranscript>> submitRemaining() {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long fileSize = channel.size();
+                if (format == null && !notWav) {
+                    readHeader(channel, fileSize, true);
+                }
+                if (notWav) {
+                    if (!encodedFallback || fileSize > maxInlineBytes) {
+                        throw new IllegalArgumentException("16-bit PCM WAV만 지원");
+                    }
+                    return List.of(recognizeWhole(channel));
+                }
+                long dataLength = availableData(fileSize);
+                if (dataLength < format.blockAlign()) {
+                    throw new IllegalArgumentException("음성 데이터가 없음");
+                }
+                enqueue(segments.finish(channel, dataLength));
+                log.info("긴 음성 분할 완료: {}개 구간 ({} ms), 동시 처리 {}개",
+                        results.size(), format.toMillis(dataLength), parallelism);
+                return List.copyOf(results);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * WAV 헤더 읽기 (아직 data 청크까지 도착하지 않았으면 false)
+         * @param complete 업로드가 끝났는지 여부 (끝났는데 헤더가 없으면 WAV가 아님)
+         */
+        private boolean readHeader(FileChannel channel, long fileSize, boolean complete) throws IOException {
+            int probeBytes = (int) Math.min(HEADER_PROBE_BYTES, fileSize);
+            ByteBuffer header = ByteBuffer.allocate(probeBytes);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // 탐색 범위를 모두 읽을 때까지 반복
+            }
+            header.flip();
+            if (probeBytes >= 12 && !isRiffWave(header)) {
+                notWav = true;
+                return false;
+            }
+            try {
+                format = WavFormat.parse(header);
+            } catch (IllegalArgumentException e) {
+                // data 청크가 아직 도착하지 않음 (헤더 탐색 범위를 넘었거나 업로드가 끝났으면 WAV가 아님)
+                notWav = complete || probeBytes >= HEADER_PROBE_BYTES;
+                return false;
+            }
+            if (!format.isLinear16()) {
+                notWav = true;
+                return false;
+            }
+            segments = splitter.progressive(format);
+            config = template.baseConfig().toBuilder()
+                    .setExplicitDecodingConfig(ExplicitDecodingConfig.newBuilder()
+                            .setEncoding(ExplicitDecodingConfig.AudioEncoding.LINEAR16)
+                            .setSampleRateHertz(format.sampleRate())
+                            .setAudioChannelCount(format.channels())
+                            .build())
+                    .build();
+            return true;
+        }
+
+        /**
+         * 현재까지 도착한 data 청크 길이
+         * (녹음 중 작성된 WAV는 헤더의 data 길이가 0이거나 실제보다 클 수 있으므로 파일 크기로 보정)
+         */
+        private long availableData(long fileSize) {
+            long available = Math.max(0, fileSize - format.dataOffset());
+            return format.dataLength() > 0 ? Math.min(format.dataLength(), available) : available;
+        }
+
+        private void enqueue(List<Segment> confirmed) {
+            for (Segment segment : confirmed) {
+                CompletableFuture<SegmentTranscript> result = new CompletableFuture<>();
+                results.add(result);
+                if (failure != null) {
+                    // 이미 실패한 구간이 있으면 나머지는 요청하지 않음
+                    result.completeExceptionally(failure);
+                } else {
+                    pending.add(new Pending(segment, result));
+                }
+            }
+            pump();
+        }
+
+        /**
+         * 동시 처리 한도 안에서 대기 중인 구간 요청 (구간은 요청 직전에 디스크에서 읽음)
+         */
+        private void pump() {
+            while (running < parallelism && !pending.isEmpty()) {
+                Pending next = pending.poll();
+                ByteString content;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    content = readSegment(channel, next.segment());
+                } catch (IOException e) {
+                    next.result().completeExceptionally(e);
+                    fail(e);
+                    return;
+                }
+                running++;
+                CompletableFuture<RecognizeResponse> call = asyncRecognizer.recognize(RecognizeRequest.newBuilder()
+                        .setRecognizer(template.recognizer())
+                        .setConfig(config)
+                        .setContent(content)
+                        .build());
+                calls.add(call);
+                call.whenComplete((response, error) -> onComplete(next, response, error));
+            }
+        }
+
+        private synchronized void onComplete(Pending completed, RecognizeResponse response, Throwable error) {
+            running--;
+            if (error != null) {
+                completed.result().completeExceptionally(error);
+                fail(error);
+                return;
+            }
+            completed.result().complete(toTranscript(completed.segment(), response));
+            pump();
+        }
+
+        private void fail(Throwable error) {
+            if (failure == null) {
+                failure = error;
+            }
+            Pending next;
+            while ((next = pending.poll()) != null) {
+                next.result().completeExceptionally(failure);
+            }
+        }
+
+        /**
+         * WAV가 아닌 녹음을 한 번에 인식 (디코딩은 자동 감지, 파일은 메모리 매핑)
+         */
+        private CompletableFuture<SegmentTranscript> recognizeWhole(FileChannel channel) throws IOException {
+            ByteString content = UnsafeByteOperations.unsafeWrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            RecognizeRequest request = RecognizeRequest.newBuilder()
+                    .setRecognizer(template.recognizer())
+                    .setConfig(template.autoConfig())
+                    .setContent(content)
+                    .build();
+            CompletableFuture<RecognizeResponse> call = asyncRecognizer.recognize(request);
+            calls.add(call);
+            return call.thenApply(response -> {
+                long endMillis = response.getResultsList().stream()
+                        .mapToLong(result -> result.getResultEndOffset().getSeconds() * 1000
+                                + result.getResultEndOffset().getNanos() / 1_000_000)
+                        .max()
+                        .orElse(0);
+                return toTranscript(new Segment(0, 0, content.size(), 0, endMillis), response);
+            });
+        }
+    }
+
+    /**
+     * 인식 대기 중인 구간과 결과 future
+     */
+    private record Pending(Segment segment, CompletableFuture<SegmentTranscript> result) {
+    }
+
+    /**
+     * 프로필 하나의 불변 요청 템플릿
+     * @param recognizer projects/{id}/locations/{location}/recognizers/_
+     * @param baseConfig 언어/모델/문장부호 (디코딩은 파일 형식에 맞춰 추가)
+     * @param autoConfig WAV가 아닌 녹음용 설정 (디코딩 자동 감지)
+     */
+    private record Template(String recognizer, RecognitionConfig baseConfig, RecognitionConfig autoConfig) {
+
+        private Template(String recognizer, Profile profile) {
+            this(recognizer, baseConfig(profile), baseConfig(profile).toBuilder()
+                    .setAutoDecodingConfig(AutoDetectDecodingConfig.getDefaultInstance())
+                    .build());
+        }
+
+        private static RecognitionConfig baseConfig(Profile profile) {
+            return RecognitionConfig.newBuilder()
+                    .addLanguageCodes(profile.languageCode())
+                    .setModel(profile.model())
+                    .setFeatures(RecognitionFeatures.newBuilder()
+                            .setEnableAutomaticPunctuation(profile.punctuation()))
+                    .build();
+        }
+    }
+
+    private Template template(String profile) {
+        Template template = templates.get(profileName(profile));
+        if (template == null) {
+            throw new IllegalArgumentException("알 수 없는 프로필: " + profile);
+        }
+        return template;
+    }
+
+    private static String profileName(String profile) {
+        return profile == null || profile.isBlank()
+                ? TranscriptionProfiles.DEFAULT_PROFILE
+                : profile.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isRiffWave(ByteBuffer header) {
+        return header.get(0) == 'R' && header.get(1) == 'I' && header.get(2) == 'F' && header.get(3) == 'F'
+                && header.get(8) == 'W' && header.get(9) == 'A' && header.get(10) == 'V' && header.get(11) == 'E';
+    }
+
+    private static ByteString readSegment(FileChannel channel, Segment segment) throws IOException {
+        byte[] bytes = new byte[(int) segment.byteLength()];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long position = segment.byteOffset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+        return UnsafeByteOperations.unsafeWrap(bytes, 0, buffer.position());
+    }
+
+    private static SegmentTranscript toTranscript(Segment segment, RecognizeResponse response) {
+        String transcript = response.getResultsList().stream()
+                .filter(result -> result.getAlternativesCount() > 0)
+                .map(result -> result.getAlternatives(0).getTranscript().strip())
+                .filter(text -> !text.isEmpty())
+                .collect(Collectors.joining(" "));
+        return new SegmentTranscript(segment.index(), segment.startMillis(), segment.endMillis(), transcript);
+    }
+}
@@ -0,0 +1,392 @@
+package com.gco.stt.service;
+
+import com.gco.stt.cache.TranscriptCache;
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 짧은 음성 요청을 모아 recognize 호출 하나로 처리하는 마이크로 배처 (/api/speech/upload, 선택 사항)
+ *
+ * 주요 기능:
+ * - 같은 인식 설정의 짧은 LINEAR16 음성을 max-delay 동안(또는 max-batch-size개까지) 모음
+ * - 음성 사이에 무음 구간(gap)을 넣어 하나의 오디오로 이어붙이고 단어별 시각을 켠 recognize 한 번으로 인식
+ * - 응답의 단어 시각으로 각 단어가 어느 음성에 속하는지 판단하여 요청별 응답으로 분리
+ *   (단어 시각은 각 음성 기준으로 다시 계산, 요청하지 않았으면 제거)
+ *   (텍스트는 원본 transcript를 음성 경계에서 잘라 구두점/표기 유지,
+ *    여러 음성에 걸친 결과의 신뢰도는 단어별 신뢰도 평균 또는 미제공(0))
+ * - 묶음으로 만든 결과는 단독 호출 결과와 다를 수 있으므로 캐시에서 별도 항목(variant)으로 저장
+ * - 묶음 호출이 실패하거나 단어 시각이 없어 분리할 수 없으면 요청별로 다시 호출
+ *
+ * BatchRecognize는 Cloud Storage 파일만 받으므로 업로드된 음성에는 쓰지 않습니다.
+ * 대상: 정규화된 LINEAR16, 후보 1개(N-best 미사용), max-clip-duration 이하의 음성
+ */
+@Slf4j
+@Component
+public class RecognizeBatcher {
+
+    private static final String CACHE_VARIANT = "micro-batch";  // 단독 호출 결과와 캐시 항목을 공유하지 않음
+
+    private final AsyncRecognizer asyncRecognizer;
+    private final TranscriptCache transcriptCache;  // 음성별 결과 캐시 (이어붙인 묶음 요청 자체는 캐싱하지 않음)
+    private final boolean enabled;
+    private final int maxBatchSize;           // 묶음 하나에 담을 최대 음성 수
+    private final long maxDelayNanos;         // 첫 음성이 묶음을 기다리는 최대 시간
+    private final long maxClipMillis;         // 묶음 대상 음성 최대 길이
+    private final long gapMillis;             // 음성 사이 무음 길이
+
+    // 인식 설정(오디오 제외한 요청)별로 모으는 중인 묶음
+    private final ConcurrentMap<ByteString, Batch> openBatches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedClips = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public RecognizeBatcher(AsyncRecognizer asyncRecognizer,
+                            TranscriptCache transcriptCache,
+                            @Value("${stt.micro-batch.enabled:false}") boolean enabled,
+                            @Value("${stt.micro-batch.max-batch-size:8}") int maxBatchSize,
+                            @Value("${stt.micro-batch.max-delay:10ms}") java.time.Duration maxDelay,
+                            @Value("${stt.micro-batch.max-clip-duration:3s}") java.time.Duration maxClipDuration,
+                            @Value("${stt.micro-batch.gap:1s}") java.time.Duration gap) {
+        this.asyncRecognizer = asyncRecognizer;
+        this.transcriptCache = transcriptCache;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.maxClipMillis = maxClipDuration.toMillis();
+        this.gapMillis = gap.toMillis();
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("stt-micro-batch")
+                .daemon(true)
+                .factory());
+    }
+
+    /**
+     * 묶음 통계
+     * @param batches 보낸 묶음 호출 수
+     * @param batchedClips 묶음으로 처리한 음성 수
+     * @param fallbacks 묶음 실패로 개별 호출한 음성 수
+     */
+    public record Stats(long batches, long batchedClips, long fallbacks) {
+    }
+
+    /**
+     * recognize 호출 (대상이면 묶음으로, 아니면 AsyncRecognizer로 바로)
+     *
+     * @param request recognize 요청
+     * @return 이 요청의 응답 future
+     */
+    public CompletableFuture<RecognizeResponse> recognize(RecognizeRequest request) {
+        if (!batchable(request)) {
+            return asyncRecognizer.recognize(request);
+        }
+        return transcriptCache.get(request, CACHE_VARIANT, this::enqueue);
+    }
+
+    public Stats stats() {
+        return new Stats(batches.sum(), batchedClips.sum(), fallbacks.sum());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushScheduler.shutdownNow();
+    }
+
+    private boolean batchable(RecognizeRequest request) {
+        if (!enabled || !request.getConfig().hasExplicitDecodingConfig()) {
+            return false;
+        }
+        ExplicitDecodingConfig decoding = request.getConfig().getExplicitDecodingConfig();
+        if (decoding.getEncoding() != ExplicitDecodingConfig.AudioEncoding.LINEAR16
+                || decoding.getSampleRateHertz() <= 0
+                || request.getConfig().getFeatures().getMaxAlternatives() > 1) {
+            return false;
+        }
+        long bytesPerSecond = 2L * decoding.getSampleRateHertz() * Math.max(1, decoding.getAudioChannelCount());
+        long clipMillis = request.getContent().size() * 1000L / bytesPerSecond;
+        return clipMillis <= maxClipMillis;
+    }
+
+    private CompletableFuture<RecognizeResponse> enqueue(RecognizeRequest request) {
+        Clip clip = new Clip(request);
+        ByteString key = request.toBuilder().clearContent().build().toByteString();
+        Batch[] full = new Batch[1];
+        boolean[] opened = new boolean[1];
+        Batch batch = openBatches.compute(key, (ignored, current) -> {
+            Batch target = current != null ? current : new Batch();
+            opened[0] = current == null;
+            target.clips.add(clip);
+            if (target.clips.size() >= maxBatchSize) {
+                full[0] = target;  // 가득 찬 묶음은 바로 전송
+                return null;
+            }
+            return target;
+        });
+        if (full[0] != null) {
+            flush(full[0]);
+        } else if (opened[0]) {
+            // 새 묶음: max-delay 뒤 아직 열려 있으면 전송
+            flushScheduler.schedule(() -> {
+                if (openBatches.remove(key, batch)) {
+                    flush(batch);
+                }
+            }, maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+        return clip.response;
+    }
+
+    /**
+     * 묶음 전송
+     *
+     * 처리 플로우:
+     * 1. 음성이 하나뿐이면 그대로 호출
+     * 2. 음성 사이에 무음을 넣어 이어붙인 요청 생성 (단어별 시각 사용)
+     * 3. 응답을 단어 시각으로 음성별로 분리하여 각 요청 완료
+     * 4. 묶음 호출 실패(과부하 제외) 또는 분리 불가 시 음성별로 다시 호출
+     */
+    private void flush(Batch batch) {
+        List<Clip> clips = batch.clips;
+        if (clips.size() == 1) {
+            forward(clips.get(0));
+            return;
+        }
+
+        // Step 2: 음성 + 무음 + 음성 + ... 로 이어붙이기 (각 음성의 시작 시각 기록)
+        RecognizeRequest template = clips.get(0).request;
+        ExplicitDecodingConfig decoding = template.getConfig().getExplicitDecodingConfig();
+        int frameBytes = 2 * Math.max(1, decoding.getAudioChannelCount());
+        long bytesPerSecond = (long) frameBytes * decoding.getSampleRateHertz();
+        ByteString silence = ByteString.copyFrom(new byte[(int) (decoding.getSampleRateHertz() * gapMillis / 1000) * frameBytes]);
+        ByteString content = ByteString.EMPTY;
+        long[] startMillis = new long[clips.size()];
+        long offset = 0;
+        for (int i = 0; i < clips.size(); i++) {
+            if (i > 0) {
+                content = content.concat(silence);
+                offset += gapMillis;
+            }
+            startMillis[i] = offset;
+            content = content.concat(clips.get(i).request.getContent());
+            offset += clips.get(i).request.getContent().size() * 1000L / bytesPerSecond;
+        }
+        RecognitionConfig.Builder config = template.getConfig().toBuilder();
+        config.getFeaturesBuilder().setEnableWordTimeOffsets(true);
+        RecognizeRequest batchRequest = template.toBuilder().setConfig(config).setContent(content).build();
+
+        batches.increment();
+        batchedClips.add(clips.size());
+        log.debug("음성 {}개를 recognize 호출 하나로 전송 ({} ms)", clips.size(), offset);
+
+        // Step 3, 4: 응답 분리 또는 개별 호출
+        asyncRecognizer.recognizeUncached(batchRequest).whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof RejectedExecutionException) {
+                    // 과부하는 개별 호출로도 해결되지 않으므로 그대로 전달 (429)
+                    clips.forEach(clip -> clip.response.completeExceptionally(cause));
+                    return;
+                }
+                log.warn("묶음 recognize 실패, 개별 호출로 재시도: {}", cause.getMessage());
+                clips.forEach(this::forwardAfterFailure);
+                return;
+            }
+            List<RecognizeResponse> split = split(response, startMillis, clips);
+            if (split == null) {
+                log.warn("묶음 응답에 단어 시각이 없어 개별 호출로 재시도");
+                clips.forEach(this::forwardAfterFailure);
+                return;
+            }
+            for (int i = 0; i < clips.size(); i++) {
+                clips.get(i).response.complete(split.get(i));
+            }
+        });
+    }
+
+    private void forward(Clip clip) {
+        asyncRecognizer.recognizeUncached(clip.request).whenComplete((response, error) -> {
+            if (error != null) {
+                clip.response.completeExceptionally(error);
+            } else {
+                clip.response.complete(response);
+            }
+        });
+    }
+
+    private void forwardAfterFailure(Clip clip) {
+        fallbacks.increment();
+        forward(clip);
+    }
+
+    /**
+     * 묶음 응답을 음성별 응답으로 분리 (단어 시각이 없으면 null)
+     * 단어의 시작 시각이 음성 i의 시작 - gap/2 이후이고 음성 i+1의 시작 - gap/2 이전이면 음성 i에 속함
+     */
+    private List<RecognizeResponse> split(RecognizeResponse response, long[] startMillis, List<Clip> clips) {
+        List<RecognizeResponse.Builder> builders = new ArrayList<>();
+        for (int i = 0; i < clips.size(); i++) {
+            builders.add(RecognizeResponse.newBuilder().setMetadata(response.getMetadata()));
+        }
+        for (SpeechRecognitionResult result : response.getResultsList()) {
+            if (result.getAlternativesCount() == 0) {
+                continue;
+            }
+            SpeechRecognitionAlternative alternative = result.getAlternatives(0);
+            if (alternative.getWordsCount() == 0) {
+                if (alternative.getTranscript().isBlank()) {
+                    continue;
+                }
+                return null;  // 텍스트는 있는데 단어 시각이 없음
+            }
+
+            // 결과 하나가 여러 음성에 걸칠 수 있으므로 음성별로 단어를 나눔
+            List<Integer> runClips = new ArrayList<>();
+            List<List<WordInfo>> runs = new ArrayList<>();
+            for (WordInfo word : alternative.getWordsList()) {
+                int index = clipIndex(toMillis(word.getStartOffset()), startMillis);
+                if (runs.isEmpty() || runClips.get(runClips.size() - 1) != index) {
+                    runClips.add(index);
+                    runs.add(new ArrayList<>());
+                }
+                runs.get(runs.size() - 1).add(word);
+            }
+
+            // 음성 하나에 속한 결과는 원본 텍스트/신뢰도 그대로, 나뉜 결과는 원본 텍스트를 경계에서 자름
+            boolean whole = runs.size() == 1;
+            List<String> transcripts = whole ? List.of(alternative.getTranscript()) : slice(alternative.getTranscript(), runs);
+            for (int r = 0; r < runs.size(); r++) {
+                int index = runClips.get(r);
+                float confidence = whole ? alternative.getConfidence() : wordConfidence(runs.get(r));
+                builders.get(index).addResults(clipResult(result, runs.get(r), transcripts.get(r), confidence,
+                        startMillis[index], clips.get(index)));
+            }
+        }
+        return builders.stream().map(RecognizeResponse.Builder::build).toList();
+    }
+
+    private int clipIndex(long wordStartMillis, long[] startMillis) {
+        int index = 0;
+        for (int i = 1; i < startMillis.length; i++) {
+            if (wordStartMillis >= startMillis[i] - gapMillis / 2) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 음성 하나에 속한 단어들로 결과 생성 (시각은 음성 시작 기준)
+     */
+    private static SpeechRecognitionResult clipResult(SpeechRecognitionResult result, List<WordInfo> words,
+                                                      String transcript, float confidence,
+                                                      long clipStartMillis, Clip clip) {
+        boolean wordTimings = clip.request.getConfig().getFeatures().getEnableWordTimeOffsets();
+        SpeechRecognitionAlternative.Builder clipAlternative = SpeechRecognitionAlternative.newBuilder()
+                .setTranscript(transcript)
+                .setConfidence(confidence);
+        if (wordTimings) {
+            for (WordInfo word : words) {
+                clipAlternative.addWords(word.toBuilder()
+                        .setStartOffset(shift(word.getStartOffset(), clipStartMillis))
+                        .setEndOffset(shift(word.getEndOffset(), clipStartMillis)));
+            }
+        }
+        return SpeechRecognitionResult.newBuilder()
+                .setLanguageCode(result.getLanguageCode())
+                .setResultEndOffset(shift(words.get(words.size() - 1).getEndOffset(), clipStartMillis))
+                .addAlternatives(clipAlternative)
+                .build();
+    }
+
+    /**
+     * 원본 transcript를 음성별 단어 묶음의 첫 단어 위치에서 자름 (구두점/대소문자 등 원본 표기 유지)
+     * 단어를 transcript에서 순서대로 찾을 수 없으면 단어를 공백으로 이어붙여 사용
+     */
+    private static List<String> slice(String transcript, List<List<WordInfo>> runs) {
+        int[] runStarts = new int[runs.size()];
+        int cursor = 0;
+        for (int r = 0; r < runs.size(); r++) {
+            List<WordInfo> words = runs.get(r);
+            for (int w = 0; w < words.size(); w++) {
+                String word = words.get(w).getWord();
+                int found = word.isEmpty() ? -1 : transcript.indexOf(word, cursor);
+                if (found < 0) {
+                    return runs.stream().map(RecognizeBatcher::joinWords).toList();
+                }
+                if (w == 0) {
+                    runStarts[r] = found;
+                }
+                cursor = found + word.length();
+            }
+        }
+        List<String> slices = new ArrayList<>();
+        for (int r = 0; r < runs.size(); r++) {
+            int from = r == 0 ? 0 : runStarts[r];
+            int to = r + 1 < runs.size() ? runStarts[r + 1] : transcript.length();
+            slices.add(transcript.substring(from, to).strip());
+        }
+        return slices;
+    }
+
+    private static String joinWords(List<WordInfo> words) {
+        return String.join(" ", words.stream().map(WordInfo::getWord).toList());
+    }
+
+    /**
+     * 나뉜 결과의 신뢰도: 모든 단어에 신뢰도가 있으면 평균, 아니면 0(미제공)
+     * (결과 전체의 신뢰도는 다른 음성의 단어까지 반영된 값이므로 복사하지 않음)
+     */
+    private static float wordConfidence(List<WordInfo> words) {
+        double sum = 0;
+        for (WordInfo word : words) {
+            if (word.getConfidence() <= 0) {
+                return 0f;
+            }
+            sum += word.getConfidence();
+        }
+        return (float) (sum / words.size());
+    }
+
+    private static long toMillis(Duration duration) {
+        return duration.getSeconds() * 1000 + duration.getNanos() / 1_000_000;
+    }
+
+    private static Duration shift(Duration duration, long clipStartMillis) {
+        long millis = Math.max(0, toMillis(duration) - clipStartMillis);
+        return Duration.newBuilder()
+                .setSeconds(millis / 1000)
+                .setNanos((int) (millis % 1000) * 1_000_000)
+                .build();
+    }
+
+    /**
+     * 묶음을 기다리는 음성 요청 하나
+     */
+    private static final class Clip {
+
+        private final RecognizeRequest request;
+        private final CompletableFuture<RecognizeResponse> response = new CompletableFuture<>();
+
+        private Clip(RecognizeRequest request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * 같은 인식 설정의 음성 묶음 (openBatches.compute 안에서만 추가, 맵에서 제거된 뒤에만 전송)
+     */
+    private static final class Batch {
+
+        private final List<Clip> clips = new ArrayList<>();
+    }
+}
@@ -0,0 +1,193 @@
+package com.gco.stt.service;
+
+import com.google.api.gax.rpc.AlreadyExistsException;
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.cloud.speech.v2.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Recognizer 리소스 조회/생성 결과를 메모이제이션하는 레지스트리
+ *
+ * 주요 기능:
+ * - (project, location, recognizerId, language, model) 키별로 recognizer를 한 번만 확인/생성
+ * - 동시에 들어온 첫 요청들은 진행 중인 하나의 확인/생성 작업을 공유 (중복 생성 방지)
+ * - 확인/생성에 실패하면 항목을 제거하여 다음 요청에서 다시 시도
+ * - recognize 호출이 NOT_FOUND를 반환하면 {@link #invalidate}로 항목을 제거하여 재생성
+ * - 키의 location에 해당하는 리전 클라이언트로 확인/생성 (RegionRouter)
+ */
+@Slf4j
+@Component
+public class RecognizerRegistry {
+
+    public static final String DEFAULT_RECOGNIZER_ID = "permanent-recognizer";  // 한 번 생성되면 계속 재사용되는 ID
+
+    // 확인/생성 중 블로킹 대기를 요청 스레드 밖에서 수행 (resolveAsync)
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().start(task);
+
+    private final Function<String, SpeechClient> speechClients;  // location → 해당 리전 클라이언트
+    private final Duration createTimeout;  // recognizer 생성 최대 대기 시간
+
+    // 키별 확인/생성 결과 (진행 중인 작업도 같은 future로 공유)
+    private final ConcurrentMap<RecognizerKey, CompletableFuture<RecognizerName>> recognizers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecognizerRegistry(RegionRouter regionRouter,
+                              @Value("${stt.recognizer.create-timeout:5m}") Duration createTimeout) {
+        this(regionRouter::client, createTimeout);
+    }
+
+    /**
+     * 단일 클라이언트로 모든 location을 처리하는 레지스트리
+     */
+    public RecognizerRegistry(SpeechClient speechClient, Duration createTimeout) {
+        this(location -> speechClient, createTimeout);
+    }
+
+    private RecognizerRegistry(Function<String, SpeechClient> speechClients, Duration createTimeout) {
+        this.speechClients = speechClients;
+        this.createTimeout = createTimeout;
+    }
+
+    /**
+     * Recognizer를 식별하는 캐시 키
+     * @param projectId Google Cloud 프로젝트 ID
+     * @param location 리전
+     * @param recognizerId recognizer 리소스 ID
+     * @param languageCode 기본 인식 언어 (예: ko-KR)
+     * @param model 기본 인식 모델 (예: long)
+     */
+    public record RecognizerKey(String projectId, String location, String recognizerId,
+                                String languageCode, String model) {
+
+        public RecognizerName recognizerName() {
+            return RecognizerName.of(projectId, location, recognizerId);
+        }
+    }
+
+    /**
+     * 키에 해당하는 recognizer가 존재함을 보장하고 리소스 이름을 반환
+     *
+     * 처리 플로우:
+     * 1. 캐시에 완료된 항목이 있으면 RPC 없이 바로 반환
+     * 2. 다른 요청이 확인/생성 중이면 그 작업의 완료를 대기
+     * 3. 첫 요청이면 getRecognizer로 확인하고, 없으면 생성 후 캐시에 저장
+     *
+     * @param key recognizer 키
+     * @return 사용 가능한 recognizer 이름
+     */
+    public RecognizerName resolve(RecognizerKey key) {
+        CompletableFuture<RecognizerName> created = new CompletableFuture<>();
+        CompletableFuture<RecognizerName> existing = recognizers.putIfAbsent(key, created);
+        if (existing == null) {
+            // 이 요청이 확인/생성을 담당
+            existing = created;
+            load(key, created);
+        }
+        return await(existing);
+    }
+
+    /**
+     * {@link #resolve}의 비동기 버전 (이미 확인된 키는 바로 완료된 future, 처음 보는 키는 가상 스레드에서 확인/생성)
+     * @param key recognizer 키
+     * @return recognizer 이름 future
+     */
+    public CompletableFuture<RecognizerName> resolveAsync(RecognizerKey key) {
+        CompletableFuture<RecognizerName> existing = recognizers.get(key);
+        if (existing != null && existing.isDone() && !existing.isCompletedExceptionally()) {
+            // 캐시된 future를 그대로 넘기면 호출 측의 취소가 캐시에 남으므로 새 future로 반환
+            return CompletableFuture.completedFuture(existing.join());
+        }
+        return CompletableFuture.supplyAsync(() -> resolve(key), VIRTUAL_THREADS);
+    }
+
+    /**
+     * 캐시 항목 제거 (recognizer가 외부에서 삭제되어 NOT_FOUND가 발생한 경우 등)
+     * @param key recognizer 키
+     */
+    public void invalidate(RecognizerKey key) {
+        if (recognizers.remove(key) != null) {
+            log.info("recognizer 캐시 제거: {}", key.recognizerName());
+        }
+    }
+
+    private void load(RecognizerKey key, CompletableFuture<RecognizerName> future) {
+        try {
+            future.complete(findOrCreate(key));
+        } catch (RuntimeException e) {
+            // 실패한 결과는 캐싱하지 않음 (다음 요청에서 다시 시도)
+            recognizers.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private RecognizerName findOrCreate(RecognizerKey key) {
+        RecognizerName recognizerName = key.recognizerName();
+        SpeechClient speechClient = speechClients.apply(key.location());
+        try {
+            speechClient.getRecognizer(recognizerName);
+            log.info("기존 recognizer 사용: {}", recognizerName);
+            return recognizerName;
+        } catch (NotFoundException e) {
+            log.info("새 recognizer 생성 중: {}", recognizerName);
+        }
+
+        Recognizer recognizer = Recognizer.newBuilder()
+                .setDisplayName("Permanent Recognizer for " + key.languageCode() + " STT")
+                .setDefaultRecognitionConfig(
+                    RecognitionConfig.newBuilder()
+                        .addLanguageCodes(key.languageCode())
+                        .setModel(key.model())
+                        .setAutoDecodingConfig(AutoDetectDecodingConfig.newBuilder().build())
+                        .build()
+                )
+                .build();
+
+        CreateRecognizerRequest createRequest = CreateRecognizerRequest.newBuilder()
+                .setParent(LocationName.of(key.projectId(), key.location()).toString())
+                .setRecognizerId(key.recognizerId())
+                .setRecognizer(recognizer)
+                .build();
+
+        try {
+            speechClient.createRecognizerAsync(createRequest).get(createTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Recognizer 생성 완료: {}", recognizerName);
+        } catch (ExecutionException e) {
+            // 다른 인스턴스가 먼저 생성한 경우는 정상으로 처리
+            if (!(e.getCause() instanceof AlreadyExistsException)) {
+                log.error("Recognizer 생성 실패: {}", e.getMessage());
+                throw new RuntimeException("Recognizer 생성 실패", e.getCause());
+            }
+            log.info("Recognizer가 이미 존재함: {}", recognizerName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Recognizer 생성 대기 중 인터럽트", e);
+        } catch (TimeoutException e) {
+            log.error("Recognizer 생성 시간 초과: {}", recognizerName);
+            throw new RuntimeException("Recognizer 생성 시간 초과", e);
+        }
+        return recognizerName;
+    }
+
+    private RecognizerName await(CompletableFuture<RecognizerName> future) {
+        try {
+            return future.get(createTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Recognizer 확인 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Recognizer 확인 대기 중 인터럽트", e);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Recognizer 확인 시간 초과", e);
+        }
+    }
+}
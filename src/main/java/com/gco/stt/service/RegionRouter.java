@@ -0,0 +1,434 @@
+package com.gco.stt.service;
+
+import com.gco.stt.config.SpeechClientFactory;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.cloud.speech.v2.SpeechClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 리전별 SpeechClient를 관리하고 요청을 가장 건강한 리전으로 보내는 라우터
+ *
+ * 주요 기능:
+ * - 기본 리전(gcp.location) + 장애 조치 리전(gcp.failover-locations)마다 SpeechClient 하나씩 유지
+ * - 리전별 응답 시간 EWMA와 오류율 EWMA로 점수를 매겨 가장 좋은 리전에 먼저 요청
+ * - 첫 리전의 응답이 최근 p95보다 늦어지면 두 번째 리전에 같은 요청을 보내고(hedging) 먼저 온 응답 사용
+ * - 첫 리전이 UNAVAILABLE 등 리전 장애로 실패하면 바로 두 번째 리전으로 재요청
+ * - 한동안 요청을 받지 않은 리전은 다음 요청 하나를 먼저 보내 상태를 갱신 (hedging이 지연을 보완)
+ * - 리전 클라이언트는 처음 사용할 때 생성 (자격 증명 해석/채널 생성을 시작 경로에서 제외, 미리 만들려면 SpeechClientWarmup)
+ *
+ * 리전이 하나뿐이면 라우팅 없이 그 리전으로만 요청합니다.
+ */
+@Slf4j
+@Component
+public class RegionRouter implements AutoCloseable {
+
+    private static final int LATENCY_WINDOW = 128;     // p95 계산에 사용하는 최근 응답 수
+    private static final int MIN_HEDGE_SAMPLES = 20;   // 이보다 적으면 hedging 초기 지연 사용
+    private static final double ERROR_PENALTY = 10.0;  // 오류율 100%인 리전은 응답 시간 11배로 취급
+
+    private final List<Region> regions;  // 설정 순서 (첫 번째가 기본 리전)
+    private final Map<String, Region> regionsByLocation;
+    private final double ewmaAlpha;            // EWMA 반영 비율 (클수록 최근 응답에 민감)
+    private final boolean hedging;
+    private final Duration initialHedgeDelay;  // 응답 수가 적을 때의 hedging 지연
+    private final Duration minHedgeDelay;      // hedging 지연 하한 (p95가 매우 작을 때 중복 요청 폭증 방지)
+    private final Duration probeInterval;      // 이 시간 동안 응답이 없던 리전은 다음 요청으로 상태 갱신
+
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    @Autowired
+    public RegionRouter(ObjectFactory<SpeechClient> speechClient,
+                        ObjectProvider<SpeechClientFactory> speechClientFactory,
+                        @Value("${gcp.location}") String location,
+                        @Value("${gcp.failover-locations:}") List<String> failoverLocations,
+                        @Value("${stt.routing.ewma-alpha:0.2}") double ewmaAlpha,
+                        @Value("${stt.routing.hedging.enabled:true}") boolean hedging,
+                        @Value("${stt.routing.hedging.initial-delay:2s}") Duration initialHedgeDelay,
+                        @Value("${stt.routing.hedging.min-delay:100ms}") Duration minHedgeDelay,
+                        @Value("${stt.routing.probe-interval:30s}") Duration probeInterval) {
+        this(regions(speechClient, speechClientFactory, location, failoverLocations),
+                ewmaAlpha, hedging, initialHedgeDelay, minHedgeDelay, probeInterval);
+    }
+
+    /**
+     * @param clients 리전별 클라이언트 (순서 유지, 첫 번째가 기본 리전)
+     */
+    public RegionRouter(LinkedHashMap<String, SpeechClient> clients, double ewmaAlpha, boolean hedging,
+                        Duration initialHedgeDelay, Duration minHedgeDelay, Duration probeInterval) {
+        this(clients.entrySet().stream()
+                        .map(entry -> new Region(entry.getKey(), entry::getValue, System.nanoTime()))
+                        .toList(),
+                ewmaAlpha, hedging, initialHedgeDelay, minHedgeDelay, probeInterval);
+    }
+
+    private RegionRouter(List<Region> regions, double ewmaAlpha, boolean hedging,
+                         Duration initialHedgeDelay, Duration minHedgeDelay, Duration probeInterval) {
+        this.regions = regions;
+        this.regionsByLocation = new HashMap<>();
+        regions.forEach(region -> regionsByLocation.put(region.location, region));
+        this.ewmaAlpha = ewmaAlpha;
+        this.hedging = hedging;
+        this.initialHedgeDelay = initialHedgeDelay;
+        this.minHedgeDelay = minHedgeDelay;
+        this.probeInterval = probeInterval;
+        log.info("Speech 리전: {} (hedging {})", locations(), hedging ? "사용" : "미사용");
+    }
+
+    /**
+     * 리전별 상태 (지표용)
+     * @param location 리전
+     * @param latencyMillis 응답 시간 EWMA (응답이 없었으면 null)
+     * @param errorRate 오류율 EWMA (0.0 ~ 1.0)
+     * @param p95Millis 최근 응답 시간 p95 (응답이 적으면 null)
+     */
+    public record RegionStatus(String location, Double latencyMillis, double errorRate, Long p95Millis) {
+    }
+
+    /**
+     * 라우팅 통계
+     * @param hedges 느린 응답 때문에 두 번째 리전에 보낸 요청 수
+     * @param failovers 리전 장애로 두 번째 리전에 다시 보낸 요청 수
+     */
+    public record Stats(long hedges, long failovers) {
+    }
+
+    /**
+     * 리전의 SpeechClient (설정에 없는 리전은 기본 리전 클라이언트, 처음 호출 시 생성)
+     * @throws UncheckedIOException 클라이언트 생성(자격 증명 처리) 중 오류 발생 시
+     */
+    public SpeechClient client(String location) {
+        Region region = regionsByLocation.get(location);
+        return region != null ? region.client() : regions.get(0).client();
+    }
+
+    public List<String> locations() {
+        return regions.stream().map(region -> region.location).toList();
+    }
+
+    public List<RegionStatus> status() {
+        return regions.stream().map(Region::status).toList();
+    }
+
+    public Stats stats() {
+        return new Stats(hedges.sum(), failovers.sum());
+    }
+
+    /**
+     * 가장 건강한 리전부터 요청 실행
+     *
+     * 처리 플로우:
+     * 1. 리전을 점수순으로 정렬 (오래 요청이 없던 리전이 있으면 그 리전을 먼저)
+     * 2. 첫 리전에 요청하고, hedging 지연(첫 리전의 p95) 뒤에도 응답이 없으면 두 번째 리전에도 요청
+     * 3. 첫 리전이 리전 장애로 실패하면 지연 없이 두 번째 리전에 요청
+     * 4. 먼저 성공한 응답으로 완료하고 남은 요청은 취소 (모두 실패하면 첫 리전의 오류로 실패)
+     *
+     * @param call 리전(location)을 받아 그 리전에 요청을 보내는 함수
+     * @return 응답 future
+     */
+    public <T> CompletableFuture<T> execute(Function<String, CompletableFuture<T>> call) {
+        List<Region> ranked = ranked();
+        Execution<T> execution = new Execution<>(call, ranked.get(0), ranked.size() > 1 ? ranked.get(1) : null);
+        execution.start();
+        return execution.result;
+    }
+
+    /**
+     * 라우터가 만든 장애 조치 리전 클라이언트 종료 (기본 리전 클라이언트는 Spring 빈으로 종료, 생성되지 않은 리전은 건너뜀)
+     */
+    @Override
+    public void close() {
+        for (Region region : regions.subList(1, regions.size())) {
+            SpeechClient client = region.client;
+            if (client != null) {
+                client.close();
+            }
+        }
+    }
+
+    List<String> rankedLocations() {
+        return ranked().stream().map(region -> region.location).toList();
+    }
+
+    private List<Region> ranked() {
+        if (regions.size() == 1) {
+            return regions;
+        }
+        List<Region> ranked = new ArrayList<>(regions);
+        ranked.sort(Comparator.comparingDouble(Region::score));  // 점수가 같으면 설정 순서 유지
+        long now = System.nanoTime();
+        for (int i = 1; i < ranked.size(); i++) {
+            if (ranked.get(i).claimProbe(now, probeInterval.toNanos())) {
+                ranked.add(0, ranked.remove(i));
+                break;
+            }
+        }
+        return ranked;
+    }
+
+    private long hedgeDelayNanos(Region region) {
+        long p95 = region.p95Nanos();
+        if (p95 < 0) {
+            return initialHedgeDelay.toNanos();
+        }
+        return Math.max(minHedgeDelay.toNanos(), p95);
+    }
+
+    /**
+     * 리전 장애로 볼 오류 (다른 리전에서는 성공할 수 있는 경우)
+     * INVALID_ARGUMENT, NOT_FOUND 등 요청 자체의 오류와 로컬 동시 요청 한도 초과는 제외
+     */
+    private static boolean isRegionFailure(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return true;
+        }
+        if (error instanceof ApiException apiException) {
+            StatusCode.Code code = apiException.getStatusCode().getCode();
+            return code == StatusCode.Code.UNAVAILABLE
+                    || code == StatusCode.Code.RESOURCE_EXHAUSTED
+                    || code == StatusCode.Code.DEADLINE_EXCEEDED
+                    || code == StatusCode.Code.INTERNAL;
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static List<Region> regions(ObjectFactory<SpeechClient> speechClient,
+                                        ObjectProvider<SpeechClientFactory> speechClientFactory,
+                                        String location,
+                                        List<String> failoverLocations) {
+        long now = System.nanoTime();
+        Map<String, Region> regions = new LinkedHashMap<>();
+        // 기본 리전은 @Lazy 빈, 장애 조치 리전은 생성기로 첫 사용 시 생성
+        regions.put(location, new Region(location, speechClient::getObject, now));
+        for (String failoverLocation : failoverLocations) {
+            String trimmed = failoverLocation.trim();
+            if (!trimmed.isEmpty() && !regions.containsKey(trimmed)) {
+                regions.put(trimmed, new Region(trimmed, () -> {
+                    try {
+                        return speechClientFactory.getObject().create(trimmed);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("리전 클라이언트 생성 실패: " + trimmed, e);
+                    }
+                }, now));
+            }
+        }
+        return List.copyOf(regions.values());
+    }
+
+    /**
+     * 요청 하나의 실행 상태 (첫 리전 시도 + 선택적인 두 번째 리전 시도)
+     */
+    private final class Execution<T> {
+
+        private final Function<String, CompletableFuture<T>> call;
+        private final Region first;
+        private final Region second;  // 리전이 하나면 null
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean secondStarted = new AtomicBoolean();
+        private volatile Throwable firstError;
+        private volatile Throwable secondError;
+
+        private Execution(Function<String, CompletableFuture<T>> call, Region first, Region second) {
+            this.call = call;
+            this.first = first;
+            this.second = second;
+        }
+
+        void start() {
+            // 응답이 정해지면 남은 시도 취소 (upstream 호출도 취소됨)
+            result.whenComplete((value, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+            attempt(first);
+            if (hedging && second != null && !result.isDone()) {
+                CompletableFuture.delayedExecutor(hedgeDelayNanos(first), TimeUnit.NANOSECONDS).execute(() -> {
+                    if (!result.isDone() && startSecond()) {
+                        hedges.increment();
+                        log.debug("{} 응답 지연, {}에 hedging 요청", first.location, second.location);
+                    }
+                });
+            }
+        }
+
+        private boolean startSecond() {
+            if (second == null || result.isDone() || !secondStarted.compareAndSet(false, true)) {
+                return false;
+            }
+            attempt(second);
+            return true;
+        }
+
+        private void attempt(Region region) {
+            pending.incrementAndGet();
+            long startNanos = System.nanoTime();
+            CompletableFuture<T> attempt;
+            try {
+                attempt = call.apply(region.location);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempts.add(attempt);
+            if (result.isDone()) {
+                attempt.cancel(true);
+            }
+            attempt.whenComplete((value, error) -> {
+                long elapsed = System.nanoTime() - startNanos;
+                if (error == null) {
+                    region.record(elapsed, false, ewmaAlpha);
+                    result.complete(value);
+                    return;
+                }
+                Throwable cause = unwrap(error);
+                if (cause instanceof CancellationException) {
+                    // 다른 리전이 먼저 응답해 취소됨: 성공 표본(p95, 오류율)에는 넣지 않고 응답 시간 하한으로만 반영
+                    region.recordCancelled(elapsed, ewmaAlpha);
+                } else if (isRegionFailure(cause)) {
+                    region.record(elapsed, true, ewmaAlpha);
+                    if (region == first && startSecond()) {
+                        failovers.increment();
+                        log.warn("{} 리전 오류로 {}에 재요청: {}", region.location, second.location, cause.getMessage());
+                    }
+                }
+                if (region == first) {
+                    firstError = cause;
+                } else {
+                    secondError = cause;
+                }
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(firstError != null ? firstError : secondError);
+                }
+            });
+        }
+    }
+
+    /**
+     * 리전 하나의 클라이언트와 응답 시간/오류율 통계
+     */
+    private static final class Region {
+
+        private final String location;
+        private final Supplier<SpeechClient> factory;     // 첫 사용 시 클라이언트 생성
+        private final Object clientLock = new Object();  // 생성 중에도 통계 모니터(this)는 막지 않음
+        private volatile SpeechClient client;            // 생성 전이면 null
+        private final long[] window = new long[LATENCY_WINDOW];  // 최근 응답 시간 (원형 버퍼)
+        private int samples;
+        private double latencyNanos = Double.NaN;  // 응답 시간 EWMA (응답이 없었으면 NaN)
+        private double errorRate;                  // 오류율 EWMA
+        private long lastSampleNanos;              // 마지막 응답(또는 상태 확인 요청) 시각
+
+        private Region(String location, Supplier<SpeechClient> factory, long createdNanos) {
+            this.location = location;
+            this.factory = factory;
+            this.lastSampleNanos = createdNanos;
+        }
+
+        /**
+         * 리전 클라이언트 (처음 호출한 스레드 하나만 생성, 나머지는 생성이 끝날 때까지 대기)
+         */
+        SpeechClient client() {
+            SpeechClient current = client;
+            if (current != null) {
+                return current;
+            }
+            synchronized (clientLock) {
+                if (client == null) {
+                    long startNanos = System.nanoTime();
+                    client = factory.get();
+                    log.info("Speech 리전 클라이언트 생성: {} ({}ms)", location,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                }
+                return client;
+            }
+        }
+
+        synchronized void record(long elapsedNanos, boolean failed, double alpha) {
+            lastSampleNanos = System.nanoTime();
+            errorRate += alpha * ((failed ? 1.0 : 0.0) - errorRate);
+            if (failed) {
+                return;
+            }
+            latencyNanos = Double.isNaN(latencyNanos) ? elapsedNanos : latencyNanos + alpha * (elapsedNanos - latencyNanos);
+            window[samples % LATENCY_WINDOW] = elapsedNanos;
+            samples++;
+        }
+
+        /**
+         * 응답 전에 취소된 시도 (실제 응답 시간은 경과 시간 이상)
+         * - 경과 시간이 EWMA보다 길면 EWMA만 그쪽으로 올림 (계속 지는 느린 리전의 점수가 좋게 남지 않도록)
+         * - 응답 시간 창(p95)과 오류율, 상태 확인 시각은 바꾸지 않음
+         */
+        synchronized void recordCancelled(long elapsedNanos, double alpha) {
+            if (!Double.isNaN(latencyNanos) && elapsedNanos > latencyNanos) {
+                latencyNanos += alpha * (elapsedNanos - latencyNanos);
+            }
+        }
+
+        /**
+         * 낮을수록 좋은 점수 (응답이 한 번도 없었던 리전은 가장 나쁨)
+         */
+        synchronized double score() {
+            if (Double.isNaN(latencyNanos)) {
+                return Double.MAX_VALUE;
+            }
+            return latencyNanos * (1 + ERROR_PENALTY * errorRate);
+        }
+
+        /**
+         * 최근 응답 시간의 p95 (응답 수가 적으면 -1)
+         */
+        synchronized long p95Nanos() {
+            int count = Math.min(samples, LATENCY_WINDOW);
+            if (count < MIN_HEDGE_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(window, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(count * 0.95) - 1];
+        }
+
+        /**
+         * 상태 확인 요청 차례인지 확인하고, 맞으면 다른 요청이 중복으로 보내지 않도록 시각 갱신
+         */
+        synchronized boolean claimProbe(long nowNanos, long intervalNanos) {
+            if (nowNanos - lastSampleNanos < intervalNanos) {
+                return false;
+            }
+            lastSampleNanos = nowNanos;
+            return true;
+        }
+
+        synchronized RegionStatus status() {
+            long p95 = p95Nanos();
+            return new RegionStatus(location,
+                    Double.isNaN(latencyNanos) ? null : latencyNanos / 1_000_000.0,
+                    errorRate,
+                    p95 < 0 ? null : TimeUnit.NANOSECONDS.toMillis(p95));
+        }
+    }
+}
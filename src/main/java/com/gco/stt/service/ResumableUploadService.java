@@ -0,0 +1,459 @@
+package com.gco.stt.service;
+
+import com.gco.stt.admission.OverloadException;
+import com.gco.stt.audio.AudioIngestor;
+import com.gco.stt.service.LongAudioTranscriber.SegmentTranscript;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재개 가능한 분할 업로드 (시작 → offset 지정 조각 추가 → 완료)
+ *
+ * 주요 기능:
+ * - 조각이 도착할 때마다 스풀 디렉터리의 파일 끝에 기록하고 디스크에 반영한 뒤 응답 (응답한 offset까지는 유실되지 않음)
+ * - 이미 받은 위치부터 다시 보낸 조각은 겹치는 부분을 건너뛰고 이어서 기록 (응답을 받지 못한 재전송)
+ * - 받은 위치보다 뒤의 offset은 거절하고 현재 offset 반환 → 클라이언트는 그 위치부터 재전송
+ * - 조각 본문은 모니터 밖에서 받아 기록 (상태 조회는 느린 전송을 기다리지 않음), 업로드당 한 번에 한 조각만 수신
+ * - 전송 중 연결이 끊겨도 그때까지 디스크에 기록한 바이트는 유지 → 클라이언트는 그 위치부터 이어서 전송
+ * - WAV(16-bit PCM)는 업로드 중에 위치가 확정된 구간부터 인식을 시작 (LongAudioTranscriber.Progressive)
+ *   → 완료 시점에는 마지막 구간들만 남음
+ * - 업로드를 시작할 때 지정한 인식 프로필로 업로드 중/완료 후 인식 (재시작 후 복구를 위해 스풀 파일 옆에 기록)
+ * - 동시에 열린 업로드 수를 전체(stt.upload.resumable.max-sessions)와 클라이언트별(max-sessions-per-client)로 제한
+ *   (완료 요청 후 인식이 끝날 때까지 포함, 재시작 후 복구한 업로드는 클라이언트를 알 수 없어 전체 한도에만 포함)
+ * - 완료 요청은 받는 중인 조각의 기록을 stt.upload.resumable.finish-wait까지만 기다림 (넘으면 거절, 클라이언트가 다시 요청)
+ * - 완료 요청은 반복해도 같은 결과 반환, 재시작 후에도 스풀 파일이 남아 있으면 그 크기부터 이어서 업로드 가능
+ * - 일정 시간(stt.upload.resumable.ttl) 사용하지 않은 업로드는 진행 중인 인식을 취소하고 파일 삭제
+ */
+@Slf4j
+@Component
+public class ResumableUploadService {
+
+    private static final String FILE_PREFIX = "resumable-";
+    private static final String PROFILE_SUFFIX = ".profile";  // 업로드의 인식 프로필 이름 (기본 프로필이면 없음)
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final Duration SESSION_RETRY_AFTER = Duration.ofSeconds(30);  // 클라이언트별 한도 초과 시 권장 대기
+
+    private final LongAudioTranscriber transcriber;
+    private final Path spoolDir;
+    private final long maxSize;        // 업로드 하나의 최대 크기
+    private final long maxChunkSize;   // 조각 요청 하나의 최대 크기
+    private final Duration ttl;
+    private final int maxSessions;           // 동시에 열린 업로드 수 상한 (전체)
+    private final int maxSessionsPerClient;  // 동시에 열린 업로드 수 상한 (클라이언트별)
+    private final Duration finishWait;       // 완료 요청이 받는 중인 조각의 기록을 기다리는 최대 시간
+    private final Cache<String, Upload> uploads;
+
+    public ResumableUploadService(LongAudioTranscriber transcriber,
+                                  AudioIngestor audioIngestor,
+                                  @Value("${stt.upload.resumable.max-size:500MB}") DataSize maxSize,
+                                  @Value("${stt.upload.resumable.max-chunk-size:8MB}") DataSize maxChunkSize,
+                                  @Value("${stt.upload.resumable.ttl:1h}") Duration ttl,
+                                  @Value("${stt.upload.resumable.max-sessions:200}") int maxSessions,
+                                  @Value("${stt.upload.resumable.max-sessions-per-client:8}") int maxSessionsPerClient,
+                                  @Value("${stt.upload.resumable.finish-wait:5s}") Duration finishWait) {
+        this.transcriber = transcriber;
+        this.spoolDir = audioIngestor.spoolDir();
+        this.maxSize = maxSize.toBytes();
+        this.maxChunkSize = maxChunkSize.toBytes();
+        this.ttl = ttl;
+        this.maxSessions = maxSessions;
+        this.maxSessionsPerClient = maxSessionsPerClient;
+        this.finishWait = finishWait;
+        this.uploads = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .removalListener((String id, Upload upload, RemovalCause cause) -> {
+                    if (upload != null && cause != RemovalCause.REPLACED) {
+                        upload.discard();
+                    }
+                })
+                .build();
+        deleteExpired();
+    }
+
+    /**
+     * 업로드 상태
+     * @param uploadId 업로드 ID
+     * @param offset 지금까지 받은 크기 (다음 조각의 offset)
+     * @param finalized 완료 요청을 받았는지 여부
+     * @param segmentsSubmitted 업로드 중에 인식을 시작한 구간 수
+     */
+    public record UploadStatus(String uploadId, long offset, boolean finalized, int segmentsSubmitted) {
+    }
+
+    /**
+     * 조각의 offset이 지금까지 받은 크기보다 뒤인 경우 (중간이 빠짐)
+     */
+    public static class OffsetMismatchException extends IllegalStateException {
+
+        private final UploadStatus status;
+
+        public OffsetMismatchException(UploadStatus status) {
+            super("offset 불일치: 현재 " + status.offset());
+            this.status = status;
+        }
+
+        public UploadStatus getStatus() {
+            return status;
+        }
+    }
+
+    /**
+     * 새 업로드 시작
+     *
+     * @param client 클라이언트 식별자 (API 키 또는 주소, 클라이언트별 한도에 사용)
+     * @param profile 인식 프로필 이름 (null이면 기본 프로필)
+     * @throws IllegalArgumentException 알 수 없는 프로필
+     * @throws OverloadException 클라이언트별 업로드 수 초과
+     * @throws RejectedExecutionException 전체 업로드 수 초과
+     */
+    public synchronized UploadStatus create(String client, String profile) {
+        if (!transcriber.supports(profile)) {
+            throw new IllegalArgumentException("알 수 없는 프로필: " + profile);
+        }
+        // 한도 확인과 등록을 함께 직렬화 (열린 업로드 수는 최대 max-sessions개라 순회 비용이 작음)
+        int open = 0;
+        int openByClient = 0;
+        for (Upload upload : uploads.asMap().values()) {
+            if (upload.isOpen()) {
+                open++;
+                if (client != null && client.equals(upload.client)) {
+                    openByClient++;
+                }
+            }
+        }
+        if (openByClient >= maxSessionsPerClient) {
+            throw new OverloadException("클라이언트별 업로드 수 초과: " + client, SESSION_RETRY_AFTER);
+        }
+        if (open >= maxSessions) {
+            throw new RejectedExecutionException("동시 업로드 수 초과");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path file = spoolDir.resolve(FILE_PREFIX + id);
+        try {
+            if (profile != null && !profile.isBlank()) {
+                Files.writeString(profileFile(file), profile, StandardCharsets.UTF_8);
+            }
+            Files.createFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Upload upload = new Upload(id, file, 0, client, profile);
+        uploads.put(id, upload);
+        log.info("재개 가능한 업로드 시작: {} (프로필 {})", id, profile == null ? "default" : profile);
+        return upload.status();
+    }
+
+    /**
+     * 업로드 상태 조회 (재개할 위치 확인용)
+     */
+    public Optional<UploadStatus> status(String uploadId) {
+        return find(uploadId).map(Upload::status);
+    }
+
+    /**
+     * 조각 추가
+     *
+     * @param uploadId 업로드 ID
+     * @param offset 조각의 시작 위치 (전체 파일 기준)
+     * @param body 조각 데이터
+     * @return 추가 후 상태
+     * @throws NoSuchElementException 업로드가 없거나 만료된 경우
+     * @throws OffsetMismatchException offset이 받은 크기보다 뒤인 경우
+     * @throws MaxUploadSizeExceededException 조각 또는 전체 크기 한도 초과
+     * @throws IllegalStateException 이미 완료 요청을 받았거나 다른 조각을 받는 중인 경우
+     * @throws IOException 본문 수신/기록 실패 (그때까지 기록한 부분은 유지)
+     */
+    public UploadStatus append(String uploadId, long offset, InputStream body) throws IOException {
+        return find(uploadId).orElseThrow(() -> new NoSuchElementException("업로드 없음: " + uploadId))
+                .append(offset, body);
+    }
+
+    /**
+     * 업로드 완료: 남은 구간을 인식하고 전체 결과 반환 (반복 호출 시 같은 결과)
+     * @throws NoSuchElementException 업로드가 없거나 만료된 경우
+     * @throws IllegalStateException 받는 중인 조각의 기록이 finish-wait 안에 끝나지 않은 경우
+     */
+    public CompletableFuture<List<SegmentTranscript>> finish(String uploadId) {
+        return find(uploadId).orElseThrow(() -> new NoSuchElementException("업로드 없음: " + uploadId))
+                .finish();
+    }
+
+    /**
+     * 업로드 취소 (진행 중인 인식 취소, 파일 삭제)
+     * @return 업로드가 있었는지 여부
+     */
+    public boolean abort(String uploadId) {
+        Optional<Upload> upload = find(uploadId);
+        upload.ifPresent(found -> uploads.invalidate(found.id));
+        return upload.isPresent();
+    }
+
+    /**
+     * 업로드 조회 (메모리에 없으면 재시작 전의 스풀 파일에서 복구)
+     */
+    private Optional<Upload> find(String uploadId) {
+        String id;
+        try {
+            id = UUID.fromString(uploadId).toString();  // 파일 경로에 쓰이므로 형식 검증
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(uploads.get(id, this::restore));
+    }
+
+    private Upload restore(String id) {
+        Path file = spoolDir.resolve(FILE_PREFIX + id);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            Path profileFile = profileFile(file);
+            String profile = Files.exists(profileFile) ? Files.readString(profileFile, StandardCharsets.UTF_8) : null;
+            Upload upload = new Upload(id, file, Files.size(file), null, profile);
+            upload.advance();
+            log.info("재개 가능한 업로드 복구: {} ({} bytes)", id, upload.offset);
+            return upload;
+        } catch (IOException | IllegalArgumentException e) {
+            // 설정에서 빠진 프로필 포함: 만료 시까지 파일은 남고 업로드는 없는 것으로 응답
+            log.warn("업로드 복구 실패: {}", id, e);
+            return null;
+        }
+    }
+
+    private static Path profileFile(Path file) {
+        return file.resolveSibling(file.getFileName() + PROFILE_SUFFIX);
+    }
+
+    /**
+     * 스트림 앞부분 건너뛰기 (그 전에 스트림이 끝나면 false)
+     */
+    private static boolean skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    return false;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+        return true;
+    }
+
+    /**
+     * 시작 시 만료 기간이 지난 스풀 파일 삭제 (재시작 전 업로드는 만료 전까지 이어서 받을 수 있음)
+     */
+    private void deleteExpired() {
+        Instant expiry = Instant.now().minus(ttl);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(PROFILE_SUFFIX)) {
+                    // 프로필 파일은 업로드 파일과 함께 정리 (업로드 파일이 없으면 남은 것만 삭제)
+                    Path upload = file.resolveSibling(file.getFileName().toString().replace(PROFILE_SUFFIX, ""));
+                    if (!Files.exists(upload)) {
+                        Files.deleteIfExists(file);
+                    }
+                } else if (Files.getLastModifiedTime(file).toInstant().isBefore(expiry)) {
+                    Files.deleteIfExists(file);
+                    Files.deleteIfExists(profileFile(file));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("만료된 업로드 파일 정리 실패: {}", spoolDir, e);
+        }
+    }
+
+    /**
+     * 업로드 하나
+     * - 모니터는 offset 확인/확정과 상태 조회에만 사용 (본문 수신과 기록은 모니터 밖)
+     * - 조각 수신 중에는 writing 표시로 다른 조각/완료 요청과 겹치지 않도록 함
+     */
+    private final class Upload {
+
+        private final String id;
+        private final Path file;
+        private final String client;      // 시작한 클라이언트 (복구한 업로드는 null)
+        private final LongAudioTranscriber.Progressive transcription;
+        private long offset;              // 디스크에 반영된 크기 (모니터로 보호)
+        private boolean writing;          // 조각 수신 중 여부
+        private volatile int segmentsSubmitted;
+        private CompletableFuture<List<SegmentTranscript>> result;  // 완료 요청 후 설정
+
+        private Upload(String id, Path file, long offset, String client, String profile) {
+            this.id = id;
+            this.file = file;
+            this.offset = offset;
+            this.client = client;
+            this.transcription = transcriber.progressive(file, profile);
+        }
+
+        synchronized UploadStatus status() {
+            return new UploadStatus(id, offset, result != null, segmentsSubmitted);
+        }
+
+        /**
+         * 업로드 수 한도에 포함되는지 여부 (완료 요청 전이거나 인식이 끝나지 않음)
+         */
+        synchronized boolean isOpen() {
+            return result == null || !result.isDone();
+        }
+
+        /**
+         * 처리 플로우:
+         * 1. offset 확인 후 수신 시작 표시 (모니터 안, 뒤면 거절)
+         * 2. 이미 받은 부분을 건너뛰고 파일 끝에 기록 (모니터 밖, 조각/전체 크기 한도 확인) 후 디스크에 반영
+         * 3. 기록한 만큼 offset 확정 (연결이 끊겨도 그때까지 기록한 부분은 확정)
+         * 4. 새로 확정된 구간 인식 시작 (실패해도 업로드는 계속, 완료 시 다시 시도)
+         */
+        UploadStatus append(long chunkOffset, InputStream body) throws IOException {
+            // Step 1: offset 확인
+            long start;
+            synchronized (this) {
+                if (result != null) {
+                    throw new IllegalStateException("이미 완료된 업로드");
+                }
+                if (writing) {
+                    throw new IllegalStateException("다른 조각을 받는 중");
+                }
+                if (chunkOffset > offset) {
+                    throw new OffsetMismatchException(status());
+                }
+                start = offset;
+                writing = true;
+            }
+
+            // Step 2: 기록
+            long written = 0;
+            try {
+                long skip = start - chunkOffset;
+                if (!skipFully(body, skip)) {
+                    return status();  // 조각 전체가 이미 받은 부분
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    try {
+                        ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_BYTES);
+                        int read;
+                        while ((read = body.read(buffer.array())) > 0) {
+                            if (written + skip + read > maxChunkSize || start + written + read > maxSize) {
+                                written = 0;
+                                channel.truncate(start);  // 이번 조각은 버림
+                                throw new MaxUploadSizeExceededException(Math.min(maxChunkSize, maxSize));
+                            }
+                            buffer.clear().limit(read);
+                            while (buffer.hasRemaining()) {
+                                channel.write(buffer, start + written + buffer.position());
+                            }
+                            written += read;
+                        }
+                    } catch (IOException e) {
+                        // 연결 끊김 등: 끝까지 기록한 부분은 유지하고 기록 도중의 버퍼만 잘라냄
+                        channel.truncate(start + written);
+                        channel.force(false);
+                        throw e;
+                    }
+                    channel.force(false);
+                }
+            } finally {
+                // Step 3: offset 확정
+                synchronized (this) {
+                    offset = start + written;
+                    writing = false;
+                    notifyAll();
+                }
+                // Step 4: 확정된 구간 인식 시작
+                if (written > 0) {
+                    advance();
+                }
+            }
+            return status();
+        }
+
+        synchronized CompletableFuture<List<SegmentTranscript>> finish() {
+            // 받는 중인 조각이 있으면 기록이 끝날 때까지 finish-wait까지만 대기 (모니터는 대기 중 해제됨)
+            long deadline = System.nanoTime() + finishWait.toNanos();
+            while (writing) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("다른 조각을 받는 중");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("업로드 완료 대기 중 중단", e);
+                }
+            }
+            if (result == null) {
+                log.info("재개 가능한 업로드 완료: {} ({} bytes, 업로드 중 인식 시작 {}개 구간)", id, offset, segmentsSubmitted);
+                result = transcription.finish();
+                // 결과는 만료 전까지 유지 (완료 응답을 받지 못한 클라이언트의 재요청용), 파일은 바로 삭제
+                result.whenComplete((segments, error) -> deleteQuietly());
+            }
+            return result;
+        }
+
+        /**
+         * 확정된 크기까지의 구간 인식 시작 (모니터 밖에서 호출, 구간 분할 상태는 Progressive가 보호)
+         */
+        void advance() {
+            try {
+                segmentsSubmitted = transcription.advance(committedOffset());
+            } catch (IOException | RuntimeException e) {
+                log.warn("업로드 중 구간 인식 시작 실패 (완료 시 다시 시도): {}", id, e);
+            }
+        }
+
+        /**
+         * 만료/취소 시 정리 (완료 요청 후에는 인식이 끝날 때 파일이 삭제됨)
+         */
+        synchronized void discard() {
+            if (result != null) {
+                return;
+            }
+            transcription.cancel();
+            deleteQuietly();
+        }
+
+        private synchronized long committedOffset() {
+            return offset;
+        }
+
+        private void deleteQuietly() {
+            try {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(profileFile(file));
+            } catch (IOException e) {
+                log.warn("업로드 파일 삭제 실패: {}", file, e);
+            }
+        }
+    }
+}
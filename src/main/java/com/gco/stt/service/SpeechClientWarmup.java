@@ -0,0 +1,93 @@
+package com.gco.stt.service;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.cloud.location.GetLocationRequest;
+import com.google.cloud.speech.v2.LocationName;
+import com.google.cloud.speech.v2.SpeechClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 후 Speech 클라이언트 워밍업
+ *
+ * 주요 기능:
+ * - 컨텍스트 시작이 끝난 뒤(ApplicationReadyEvent) 가상 스레드에서 실행 → 트래픽 수신을 늦추지 않음
+ * - 리전별 SpeechClient 생성(자격 증명 디코딩, 채널 풀 생성) 후 가벼운 RPC(getLocation)로 TLS 연결과 OAuth 토큰 발급까지 완료
+ * - stt.warmup.recognizers=true면 모든 프로필의 영구 recognizer를 미리 확인/생성
+ * - 실패해도 시작을 막지 않음 (로그만 남기고 첫 요청 때 다시 시도)
+ *
+ * 처리 플로우:
+ * 1. RegionRouter의 리전 순서대로 클라이언트 생성 및 연결
+ * 2. 프로필별 recognizer 확인 (RecognizerRegistry 캐시 채움)
+ * 3. 소요 시간 기록
+ */
+@Slf4j
+@Component
+public class SpeechClientWarmup {
+
+    private final RegionRouter regionRouter;
+    private final TranscriptionService transcriptionService;
+    private final String projectId;
+    private final boolean enabled;
+    private final boolean recognizers;  // 프로필별 recognizer까지 미리 확인할지 여부
+
+    public SpeechClientWarmup(RegionRouter regionRouter,
+                              TranscriptionService transcriptionService,
+                              @Value("${gcp.project-id}") String projectId,
+                              @Value("${stt.warmup.enabled:true}") boolean enabled,
+                              @Value("${stt.warmup.recognizers:true}") boolean recognizers) {
+        this.regionRouter = regionRouter;
+        this.transcriptionService = transcriptionService;
+        this.projectId = projectId;
+        this.enabled = enabled;
+        this.recognizers = recognizers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            Thread.ofVirtual().name("stt-warmup").start(this::warmUp);
+        }
+    }
+
+    /**
+     * 워밍업 실행 (호출한 스레드에서 끝까지 수행)
+     */
+    void warmUp() {
+        long startNanos = System.nanoTime();
+        for (String location : regionRouter.locations()) {
+            connect(location);
+        }
+        if (recognizers) {
+            transcriptionService.resolveRecognizers().forEach((profile, error) ->
+                    log.warn("워밍업 중 recognizer 확인 실패: 프로필 {} ({}), 첫 요청 때 다시 시도", profile, error.getMessage()));
+        }
+        log.info("Speech 클라이언트 워밍업 완료: 리전 {} ({}ms)", regionRouter.locations(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private void connect(String location) {
+        SpeechClient client;
+        try {
+            client = regionRouter.client(location);
+        } catch (RuntimeException e) {
+            log.warn("워밍업 중 {} 리전 클라이언트 생성 실패 ({}), 첫 요청 때 다시 시도", location, e.getMessage());
+            return;
+        }
+        try {
+            client.getLocation(GetLocationRequest.newBuilder()
+                    .setName(LocationName.of(projectId, location).toString())
+                    .build());
+        } catch (ApiException e) {
+            // 권한 부족 등으로 응답이 오류여도 채널 연결과 토큰 발급은 끝난 상태
+            log.debug("워밍업 getLocation 응답 오류: {} ({})", location, e.getStatusCode().getCode());
+        } catch (RuntimeException e) {
+            log.warn("워밍업 중 {} 리전 연결 실패 ({})", location, e.getMessage());
+        }
+    }
+}
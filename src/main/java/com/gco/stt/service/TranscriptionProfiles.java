@@ -0,0 +1,87 @@
+package com.gco.stt.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 인식 프로필 레지스트리 (언어/모델/기능 묶음)
+ *
+ * 주요 기능:
+ * - stt.profiles.<이름>.* 설정을 시작 시 한 번 읽어 불변 프로필로 보관
+ *   (language, model, punctuation, recognizer-id)
+ * - 요청은 profile 파라미터로 이름만 지정 (없으면 default: ko-KR / long)
+ * - 프로필마다 별도 영구 recognizer ID 사용 (기본값: default는 permanent-recognizer, 그 외 permanent-recognizer-<이름>)
+ *   → recognizer의 기본 언어/모델이 프로필끼리 섞이지 않음
+ */
+@Slf4j
+@Component
+public class TranscriptionProfiles {
+
+    public static final String DEFAULT_PROFILE = "default";
+
+    private final Map<String, Profile> profiles;
+
+    public TranscriptionProfiles(Environment environment) {
+        Map<String, ProfileProperties> configured = Binder.get(environment)
+                .bind("stt.profiles", Bindable.mapOf(String.class, ProfileProperties.class))
+                .orElse(Map.of());
+        Map<String, Profile> profiles = new LinkedHashMap<>();
+        profiles.put(DEFAULT_PROFILE, profile(DEFAULT_PROFILE, configured.get(DEFAULT_PROFILE)));
+        configured.forEach((name, properties) ->
+                profiles.putIfAbsent(name.toLowerCase(Locale.ROOT), profile(name.toLowerCase(Locale.ROOT), properties)));
+        this.profiles = Map.copyOf(profiles);
+        log.info("인식 프로필: {}", this.profiles.values());
+    }
+
+    /**
+     * 인식 프로필
+     * @param name 프로필 이름 (요청의 profile 파라미터)
+     * @param languageCode 인식 언어 (예: ko-KR)
+     * @param model 인식 모델 (예: long)
+     * @param punctuation 자동 문장부호 사용 여부
+     * @param recognizerId 영구 recognizer 방식에서 사용할 리소스 ID
+     */
+    public record Profile(String name, String languageCode, String model, boolean punctuation, String recognizerId) {
+    }
+
+    /**
+     * stt.profiles.<이름>.* 바인딩 대상 (생략한 항목은 기본 프로필 값 사용)
+     */
+    record ProfileProperties(String language, String model, Boolean punctuation, String recognizerId) {
+    }
+
+    /**
+     * 이름으로 프로필 조회 (null/빈 값이면 기본 프로필)
+     */
+    public Optional<Profile> find(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.of(profiles.get(DEFAULT_PROFILE));
+        }
+        return Optional.ofNullable(profiles.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    public Collection<Profile> all() {
+        return profiles.values();
+    }
+
+    private static Profile profile(String name, ProfileProperties properties) {
+        String language = properties != null && properties.language() != null ? properties.language() : "ko-KR";
+        String model = properties != null && properties.model() != null ? properties.model() : "long";
+        boolean punctuation = properties != null && Boolean.TRUE.equals(properties.punctuation());
+        String recognizerId = properties != null && properties.recognizerId() != null
+                ? properties.recognizerId()
+                : DEFAULT_PROFILE.equals(name)
+                        ? RecognizerRegistry.DEFAULT_RECOGNIZER_ID
+                        : RecognizerRegistry.DEFAULT_RECOGNIZER_ID + "-" + name;
+        return new Profile(name, language, model, punctuation, recognizerId);
+    }
+}
@@ -0,0 +1,532 @@
+package com.gco.stt.service;
+
+import com.gco.stt.adaptation.AdaptationRegistry;
+import com.gco.stt.admission.OverloadException;
+import com.gco.stt.audio.AudioIngestor;
+import com.gco.stt.audio.AudioIngestor.Upload;
+import com.gco.stt.audio.AudioNormalizer;
+import com.gco.stt.audio.AudioNormalizer.Normalized;
+import com.gco.stt.audio.VoiceActivityDetector;
+import com.gco.stt.audio.VoiceActivityDetector.VoiceActivity;
+import com.gco.stt.dto.SpeechResponse;
+import com.gco.stt.dto.TranscriptionJobResponse;
+import com.gco.stt.job.TranscriptionJob;
+import com.gco.stt.job.TranscriptionJob.Priority;
+import com.gco.stt.job.TranscriptionJobService;
+import com.gco.stt.metrics.SttMetrics;
+import com.gco.stt.service.RecognizerRegistry.RecognizerKey;
+import com.gco.stt.service.TranscriptionProfiles.Profile;
+import com.google.api.gax.rpc.ClientStream;
+import com.google.api.gax.rpc.ClientStreamReadyObserver;
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.api.gax.rpc.ResponseObserver;
+import com.google.cloud.speech.v2.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 음성 인식 엔진 (업로드 컨트롤러와 실시간 스트리밍 핸들러가 공통으로 사용)
+ *
+ * 주요 기능:
+ * - 프로필별 불변 요청 템플릿을 시작 시 한 번 생성 (언어/모델/프로필 기능이 담긴 RecognitionConfig,
+ *   inline recognizer 경로, 영구 recognizer 키, 스트리밍 설정 요청) → 요청마다 String.format/빌더 재구성 없음
+ * - 요청별로 달라지는 디코딩(자동 감지/정규화된 LINEAR16)과 기능(N-best, 단어 시각)은 조합별로 완성된 설정을 캐시
+ * - 영구 recognizer 방식에는 프로필의 도메인 어휘 적응(PhraseSet/CustomClass, AdaptationRegistry) 적용
+ *   (적응 정의가 다시 반영되면 해당 프로필의 적응 설정 캐시만 교체)
+ * - 동기(transcribeSync), 비동기(transcribe), 스트리밍(openStream) 진입점 제공
+ * - 업로드 검증, 실패 → HTTP 응답 변환(429/503/504/500)을 한 곳에서 처리
+ *
+ * 처리 플로우 (비동기):
+ * 1. WAV 정규화 (16 kHz 모노 LINEAR16, 앞뒤 무음 제거) 후 VAD로 음성이 없는 업로드 차단
+ * 2. 프로필 템플릿에서 설정을 꺼내 요청 생성 (영구 recognizer 방식은 레지스트리에서 이름 확인)
+ * 3. 비동기 recognize 호출 (inline 방식은 마이크로 배치, 영구 recognizer가 삭제된 경우 재생성 후 1회 재시도)
+ * 4. 응답/실패를 API 응답으로 변환하고 업로드 정리
+ */
+@Slf4j
+@Service
+public class TranscriptionService {
+
+    // recognizer 재생성처럼 드물게 발생하는 블로킹 작업용 (요청마다 가상 스레드 생성)
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().start(task);
+
+    private static final int MAX_CACHED_CONFIGS = 256;  // 프로필별 (디코딩, 기능) 조합 캐시 상한
+
+    private final RecognizeBatcher recognizeBatcher;  // inline 방식 recognize (짧은 음성은 묶어서 호출, 설정 시)
+    private final AsyncRecognizer asyncRecognizer;    // 영구 recognizer 방식 recognize
+    private final RecognizerRegistry recognizerRegistry;  // recognizer 확인/생성 결과 캐시
+    private final AudioIngestor audioIngestor;        // 업로드 파일 → ByteString 변환
+    private final AudioNormalizer audioNormalizer;    // WAV → 16 kHz 모노 LINEAR16 정규화
+    private final VoiceActivityDetector voiceActivityDetector;  // 무음 업로드 차단 (upstream 호출 생략)
+    private final SttMetrics metrics;                 // 단계별 소요 시간 기록
+    private final ObjectFactory<SpeechClient> speechClient;  // 스트리밍 인식용 Speech v2 클라이언트 (첫 스트림에서 생성)
+    private final AdaptationRegistry adaptationRegistry;  // 프로필별 도메인 어휘 적응 (영구 recognizer 방식)
+    private final TranscriptionJobService jobService;     // 비동기 작업 대기열 (submitJob)
+    private final long maxInlineSize;                 // 동기 인식으로 처리할 최대 파일 크기 (bytes)
+    private final Map<String, Template> templates;    // 프로필 이름 → 요청 템플릿
+
+    public TranscriptionService(RecognizeBatcher recognizeBatcher,
+                                AsyncRecognizer asyncRecognizer,
+                                RecognizerRegistry recognizerRegistry,
+                                AudioIngestor audioIngestor,
+                                AudioNormalizer audioNormalizer,
+                                VoiceActivityDetector voiceActivityDetector,
+                                SttMetrics metrics,
+                                ObjectFactory<SpeechClient> speechClient,
+                                AdaptationRegistry adaptationRegistry,
+                                TranscriptionJobService jobService,
+                                TranscriptionProfiles profiles,
+                                @Value("${gcp.project-id}") String projectId,
+                                @Value("${gcp.location}") String location,
+                                @Value("${stt.upload.max-inline-size:10MB}") DataSize maxInlineSize) {
+        this.recognizeBatcher = recognizeBatcher;
+        this.asyncRecognizer = asyncRecognizer;
+        this.recognizerRegistry = recognizerRegistry;
+        this.audioIngestor = audioIngestor;
+        this.audioNormalizer = audioNormalizer;
+        this.voiceActivityDetector = voiceActivityDetector;
+        this.metrics = metrics;
+        this.speechClient = speechClient;
+        this.adaptationRegistry = adaptationRegistry;
+        this.jobService = jobService;
+        this.maxInlineSize = maxInlineSize.toBytes();
+        Map<String, Template> templates = new LinkedHashMap<>();
+        for (Profile profile : profiles.all()) {
+            templates.put(profile.name(), new Template(profile, projectId, location));
+        }
+        this.templates = Map.copyOf(templates);
+    }
+
+    /**
+     * 인식 방식
+     * - INLINE: recognizers/_ 임시 recognizer (추가 권한 불필요)
+     * - RECOGNIZER: 프로필별 영구 recognizer 생성/재사용
+     */
+    public enum Mode {
+        INLINE("speech"),
+        RECOGNIZER("recognizer");
+
+        private final String metricsEndpoint;  // 지표 endpoint 태그
+
+        Mode(String metricsEndpoint) {
+            this.metricsEndpoint = metricsEndpoint;
+        }
+
+        public String metricsEndpoint() {
+            return metricsEndpoint;
+        }
+    }
+
+    /**
+     * 요청별 인식 옵션
+     * @param profile 프로필 이름 (null이면 기본 프로필)
+     * @param maxAlternatives 결과별 후보 수 (N-best, 1 ~ 30으로 보정)
+     * @param wordTimings 단어별 시각/신뢰도 포함 여부
+     */
+    public record Options(String profile, int maxAlternatives, boolean wordTimings) {
+    }
+
+    /**
+     * 업로드 검증 (문제가 없으면 null, 있으면 거절 응답)
+     */
+    public ResponseEntity<SpeechResponse> validate(Mode mode, MultipartFile audioFile, Options options) {
+        if (audioFile.isEmpty()) {
+            return ResponseEntity.badRequest().body(SpeechResponse.failure("업로드된 파일이 없음"));
+        }
+        if (template(options.profile()) == null) {
+            return ResponseEntity.badRequest().body(SpeechResponse.failure("알 수 없는 프로필: " + options.profile()));
+        }
+        metrics.recordUploadSize(mode.metricsEndpoint(), audioFile.getSize());
+        if (audioFile.getSize() > maxInlineSize) {
+            // 동기 인식은 짧은 음성만 처리 가능
+            return ResponseEntity.status(413).body(SpeechResponse.failure("파일이 너무 큼 (긴 음성은 /api/long-audio/upload 사용)"));
+        }
+        return null;
+    }
+
+    /**
+     * 음성 파일을 ByteString으로 변환 (작은 파일은 multipart 스트림을 한 번만 읽고 복사 없이 감쌈, 큰 파일은 스풀 파일 매핑)
+     */
+    public Upload ingest(Mode mode, MultipartFile audioFile) throws IOException {
+        return metrics.record(mode.metricsEndpoint(), "ingest", () -> audioIngestor.ingest(audioFile));
+    }
+
+    /**
+     * 업로드 파일 인식 (검증 → 변환 → 비동기 인식, 실패는 상태 코드가 담긴 응답으로 변환)
+     */
+    public CompletableFuture<ResponseEntity<SpeechResponse>> transcribe(Mode mode, MultipartFile audioFile, Options options) {
+        ResponseEntity<SpeechResponse> rejected = validate(mode, audioFile, options);
+        if (rejected != null) {
+            return CompletableFuture.completedFuture(rejected);
+        }
+        Upload upload;
+        try {
+            upload = ingest(mode, audioFile);
+        } catch (Exception e) {
+            log.error("음성 파일 수신 중 오류 발생: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(500).body(SpeechResponse.failure("서버 오류 발생")));
+        }
+        return transcribe(mode, upload, options);
+    }
+
+    /**
+     * 변환된 음성 인식 (응답 후 업로드 정리, future는 예외로 끝나지 않음)
+     *
+     * - WAV는 16 kHz 모노 LINEAR16으로 정규화하고 앞뒤 무음 제거 (그 외 포맷은 그대로)
+     * - 음성이 없으면 upstream 호출 없이 "음성이 감지되지 않음"
+     */
+    public CompletableFuture<ResponseEntity<SpeechResponse>> transcribe(Mode mode, Upload upload, Options options) {
+        return transcribe(mode, upload, options, false);
+    }
+
+    /**
+     * 변환된 음성 인식 (공통 구현)
+     * @param retryOverload true면 과부하(OverloadException)를 429 응답 대신 예외로 전달하고 업로드를 유지
+     *                      (비동기 작업 실행기가 다시 대기열에 넣고 같은 업로드로 재시도)
+     */
+    private CompletableFuture<ResponseEntity<SpeechResponse>> transcribe(Mode mode, Upload upload, Options options,
+                                                                        boolean retryOverload) {
+        String endpoint = mode.metricsEndpoint();
+        Template template = template(options.profile());
+        RecognizeRequest request;
+        VoiceActivity voiceActivity;
+        long offsetMillis;
+        try {
+            if (template == null) {
+                upload.close();
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.badRequest().body(SpeechResponse.failure("알 수 없는 프로필: " + options.profile())));
+            }
+            Normalized audio = metrics.record(endpoint, "normalize", () -> audioNormalizer.normalize(upload.content()));
+            offsetMillis = audio.offsetMillis();
+
+            // 음성이 없는 업로드(무음, 클릭음)는 인식 요청 없이 바로 응답
+            voiceActivity = metrics.record(endpoint, "vad", () -> voiceActivityDetector.detect(audio));
+            if (!voiceActivity.speech()) {
+                upload.close();
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.ok(SpeechResponse.failure("음성이 감지되지 않음").withVoiceActivity(voiceActivity)));
+            }
+
+            // 영구 recognizer는 최초 1회만 조회/생성하고 이후에는 레지스트리에 캐싱된 이름 사용 (RPC 생략)
+            String recognizer = mode == Mode.RECOGNIZER
+                    ? metrics.record(endpoint, "resolve_recognizer",
+                            () -> recognizerRegistry.resolve(template.recognizerKey)).toString()
+                    : template.inlineRecognizer;
+            request = RecognizeRequest.newBuilder()
+                    .setRecognizer(recognizer)
+                    .setConfig(template.config(audio.decoding(), options.maxAlternatives(), options.wordTimings(),
+                            adaptation(mode, template)))
+                    .setContent(audio.content())
+                    .build();
+        } catch (Exception e) {
+            upload.close();
+            log.error("음성 인식 요청 준비 중 오류 발생: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(500).body(SpeechResponse.failure("서버 오류 발생")));
+        }
+
+        log.info("Google Speech-to-Text v2 API 호출 중 ({}, 프로필 {})...", mode, template.profile.name());
+        CompletableFuture<RecognizeResponse> response = mode == Mode.RECOGNIZER
+                ? recognizeWithRecognizer(request, template.recognizerKey)
+                : metrics.recordAsync(endpoint, "recognize", () -> recognizeBatcher.recognize(request));
+        return response.handle((result, error) -> {
+            if (retryOverload && error != null && unwrap(error) instanceof OverloadException overload) {
+                throw overload;  // 재시도할 수 있도록 업로드 유지
+            }
+            upload.close();  // 응답 후 스풀 파일 삭제
+            return error == null ? toResponse(result, offsetMillis, voiceActivity) : toErrorResponse(error);
+        });
+    }
+
+    /**
+     * 업로드 파일을 비동기 작업으로 등록 (검증 → 변환 → 작업 등록, 인식은 작업 차례에 수행)
+     *
+     * 처리 플로우:
+     * 1. 우선순위/업로드 검증 (알 수 없는 우선순위 400, 그 외 {@link #validate}와 같은 응답)
+     * 2. 음성 파일을 ByteString으로 변환 (multipart 임시 파일은 요청이 끝나면 삭제되므로 여기서 읽음)
+     * 3. 작업 등록 후 202 + Location(/api/jobs/{id}) 반환 (대기열이 가득 차면 503)
+     * 4. 작업 차례가 오면 인식 (과부하면 429로 끝내지 않고 작업 실행기가 Retry-After 후 다시 시도)
+     *
+     * @param priority 처리 우선순위 요청 값 (interactive, bulk)
+     */
+    public ResponseEntity<TranscriptionJobResponse> submitJob(Mode mode, MultipartFile audioFile, Options options,
+                                                              String priority) {
+        Priority jobPriority;
+        try {
+            jobPriority = Priority.of(priority);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(TranscriptionJobResponse.failure("알 수 없는 우선순위: " + priority));
+        }
+        ResponseEntity<SpeechResponse> rejected = validate(mode, audioFile, options);
+        if (rejected != null) {
+            return ResponseEntity.status(rejected.getStatusCode())
+                    .body(TranscriptionJobResponse.failure(rejected.getBody().message()));
+        }
+
+        Upload upload;
+        try {
+            upload = ingest(mode, audioFile);
+        } catch (Exception e) {
+            log.error("음성 파일 수신 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(TranscriptionJobResponse.failure("서버 오류 발생"));
+        }
+        try {
+            TranscriptionJob job = jobService.submit(jobPriority, () -> transcribe(mode, upload, options, true));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/jobs/" + job.id()))
+                    .body(new TranscriptionJobResponse(true, "작업 등록 완료", job));
+        } catch (RejectedExecutionException e) {
+            upload.close();
+            log.warn("비동기 작업 거절: {}", e.getMessage());
+            return ResponseEntity.status(503).body(TranscriptionJobResponse.failure("요청이 많아 처리할 수 없음"));
+        }
+    }
+
+    /**
+     * {@link #transcribe(Mode, Upload, Options)}의 동기 버전 (호출 스레드에서 응답까지 대기)
+     */
+    public ResponseEntity<SpeechResponse> transcribeSync(Mode mode, Upload upload, Options options) {
+        return transcribe(mode, upload, options).join();
+    }
+
+    /**
+     * 실시간 인식 스트림 열기: 프로필의 스트리밍 설정 요청(중간 결과 포함)을 먼저 전송한 요청 스트림 반환
+     *
+     * @param mode 인식 방식 (RECOGNIZER면 레지스트리에서 recognizer 확인, 최초 1회 블로킹)
+     * @param profile 프로필 이름 (null이면 기본 프로필)
+     * @param observer upstream 응답 수신자
+     * @param readyObserver 요청 스트림이 다시 전송 가능 상태가 될 때마다 호출 (백프레셔 대기 해제용)
+     * @return 오디오 조각을 보낼 요청 스트림
+     * @throws IllegalArgumentException 알 수 없는 프로필
+     */
+    public ClientStream<StreamingRecognizeRequest> openStream(Mode mode, String profile,
+                                                              ResponseObserver<StreamingRecognizeResponse> observer,
+                                                              ClientStreamReadyObserver<StreamingRecognizeRequest> readyObserver) {
+        Template template = template(profile);
+        if (template == null) {
+            throw new IllegalArgumentException("알 수 없는 프로필: " + profile);
+        }
+        StreamingRecognizeRequest configRequest = template.inlineStreamingRequest;
+        if (mode == Mode.RECOGNIZER) {
+            StreamingRecognizeRequest.Builder builder = configRequest.toBuilder()
+                    .setRecognizer(recognizerRegistry.resolve(template.recognizerKey).toString());
+            SpeechAdaptation adaptation = adaptation(mode, template);
+            if (adaptation != null) {
+                builder.getStreamingConfigBuilder().getConfigBuilder().setAdaptation(adaptation);
+            }
+            configRequest = builder.build();
+        }
+        ClientStream<StreamingRecognizeRequest> requests = speechClient.getObject()
+                .streamingRecognizeCallable()
+                .splitCall(observer, readyObserver);
+        requests.send(configRequest);
+        return requests;
+    }
+
+    /**
+     * 모든 프로필의 영구 recognizer를 미리 확인/생성 (시작 후 워밍업용)
+     * 첫 RECOGNIZER 요청이 getRecognizer/createRecognizer를 기다리지 않도록 레지스트리 캐시를 채움
+     *
+     * @return 확인에 실패한 프로필 이름 → 오류 (모두 성공하면 빈 맵, 실패한 프로필은 첫 요청 때 다시 시도)
+     */
+    public Map<String, RuntimeException> resolveRecognizers() {
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        templates.forEach((name, template) -> {
+            try {
+                recognizerRegistry.resolve(template.recognizerKey);
+            } catch (RuntimeException e) {
+                failures.put(name, e);
+            }
+        });
+        return failures;
+    }
+
+    /**
+     * 요청에 적용할 적응 설정 (inline 방식이거나 프로필에 정의가 없으면 null)
+     */
+    private SpeechAdaptation adaptation(Mode mode, Template template) {
+        return mode == Mode.RECOGNIZER ? adaptationRegistry.adaptation(template.profile.name()) : null;
+    }
+
+    private Template template(String profile) {
+        return templates.get(profile == null || profile.isBlank()
+                ? TranscriptionProfiles.DEFAULT_PROFILE
+                : profile.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 영구 recognizer로 인식
+     * recognizer가 외부에서 삭제된 경우(NOT_FOUND): 캐시를 비우고 다시 확인/생성한 뒤 한 번만 재시도
+     * (재생성은 블로킹 작업이므로 gRPC 콜백 스레드가 아닌 가상 스레드에서 수행)
+     */
+    private CompletableFuture<RecognizeResponse> recognizeWithRecognizer(RecognizeRequest request, RecognizerKey recognizerKey) {
+        String endpoint = Mode.RECOGNIZER.metricsEndpoint();
+        return metrics.recordAsync(endpoint, "recognize", () -> asyncRecognizer.recognize(request))
+                .exceptionallyComposeAsync(error -> {
+                    if (!(unwrap(error) instanceof NotFoundException)) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+                    log.warn("recognizer를 찾을 수 없음, 재생성 후 재시도: {}", request.getRecognizer());
+                    recognizerRegistry.invalidate(recognizerKey);
+                    recognizerRegistry.resolve(recognizerKey);
+                    return metrics.recordAsync(endpoint, "recognize", () -> asyncRecognizer.recognize(request));
+                }, VIRTUAL_THREADS);
+    }
+
+    /**
+     * recognize 응답을 API 응답으로 변환 (모든 결과를 이어붙이고 결과별 상세 정보 포함)
+     * @param offsetMillis 정규화 시 앞쪽에서 제거한 무음 길이 (구간/단어 시각을 업로드 원본 기준으로 보정)
+     */
+    private static ResponseEntity<SpeechResponse> toResponse(RecognizeResponse response, long offsetMillis,
+                                                             VoiceActivity voiceActivity) {
+        SpeechResponse speechResponse = SpeechResponse.from(response, offsetMillis).withVoiceActivity(voiceActivity);
+        if (!speechResponse.success()) {
+            log.warn("음성 인식 결과가 없음");
+        } else {
+            log.info("최종 변환 결과: {} (결과 {}개)", speechResponse.transcript(), speechResponse.segments().size());
+        }
+        return ResponseEntity.ok(speechResponse);
+    }
+
+    /**
+     * 비동기 호출 실패를 API 응답으로 변환
+     * - 과부하(OverloadException: 로컬 동시 호출 한도 초과, 모든 리전의 upstream 할당량 초과): 429 + Retry-After
+     * - 그 밖의 실행 거절(종료 중인 실행기 등, recognize 경로의 한도 초과는 위의 429): 503
+     * - 시간 초과: 504
+     * - 그 외: 500
+     */
+    private static ResponseEntity<SpeechResponse> toErrorResponse(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof OverloadException overload) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(overload.retryAfterSeconds()))
+                    .body(SpeechResponse.failure("요청이 많아 잠시 후 다시 시도"));
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(503).body(SpeechResponse.failure("요청이 많아 처리할 수 없음"));
+        }
+        if (cause instanceof TimeoutException) {
+            log.warn("음성 인식 시간 초과");
+            return ResponseEntity.status(504).body(SpeechResponse.failure("음성 인식 시간 초과"));
+        }
+        log.error("음성 인식 중 오류 발생: {}", cause.getMessage(), cause);
+        return ResponseEntity.status(500).body(SpeechResponse.failure("서버 오류 발생"));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 설정 캐시 키 (decoding이 null이면 자동 감지)
+     */
+    private record ConfigKey(ExplicitDecodingConfig decoding, int maxAlternatives, boolean wordTimings) {
+    }
+
+    /**
+     * 적응 설정 하나(객체 동일성 기준)로 만든 설정 캐시
+     */
+    private static final class AdaptedConfigs {
+
+        private final SpeechAdaptation adaptation;
+        private final Map<ConfigKey, RecognitionConfig> configs = new ConcurrentHashMap<>();
+
+        private AdaptedConfigs(SpeechAdaptation adaptation) {
+            this.adaptation = adaptation;
+        }
+    }
+
+    /**
+     * 프로필 하나의 불변 요청 템플릿
+     */
+    private static final class Template {
+
+        private final Profile profile;
+        private final RecognitionConfig baseConfig;       // 언어/모델/프로필 기능 (디코딩과 요청별 기능 제외)
+        private final String inlineRecognizer;            // projects/{id}/locations/{location}/recognizers/_
+        private final RecognizerKey recognizerKey;        // 프로필 전용 영구 recognizer
+        private final StreamingRecognizeRequest inlineStreamingRequest;  // 스트림의 첫 요청 (자동 감지, 중간 결과)
+        private final Map<ConfigKey, RecognitionConfig> configs = new ConcurrentHashMap<>();  // 적응 없는 설정
+        private volatile AdaptedConfigs adapted = new AdaptedConfigs(null);  // 현재 적응 설정을 포함한 설정
+
+        private Template(Profile profile, String projectId, String location) {
+            this.profile = profile;
+            this.baseConfig = RecognitionConfig.newBuilder()
+                    .addLanguageCodes(profile.languageCode())
+                    .setModel(profile.model())
+                    .setFeatures(RecognitionFeatures.newBuilder()
+                            .setEnableAutomaticPunctuation(profile.punctuation()))
+                    .build();
+            this.inlineRecognizer = RecognizerName.of(projectId, location, "_").toString();
+            this.recognizerKey = new RecognizerKey(projectId, location, profile.recognizerId(),
+                    profile.languageCode(), profile.model());
+            this.inlineStreamingRequest = StreamingRecognizeRequest.newBuilder()
+                    .setRecognizer(inlineRecognizer)
+                    .setStreamingConfig(StreamingRecognitionConfig.newBuilder()
+                            .setConfig(baseConfig.toBuilder()
+                                    .setAutoDecodingConfig(AutoDetectDecodingConfig.getDefaultInstance()))
+                            .setStreamingFeatures(StreamingRecognitionFeatures.newBuilder()
+                                    .setInterimResults(true)))  // 말하는 도중의 중간 결과도 수신
+                    .build();
+        }
+
+        /**
+         * 디코딩/요청별 기능/적응을 반영한 설정 (조합별로 한 번만 생성)
+         * 적응 설정은 다시 반영될 때마다 새 객체이므로, 객체가 바뀌면 이전 적응으로 만든 캐시를 통째로 교체
+         */
+        RecognitionConfig config(ExplicitDecodingConfig decoding, int maxAlternatives, boolean wordTimings,
+                                 SpeechAdaptation adaptation) {
+            Map<ConfigKey, RecognitionConfig> configs = this.configs;
+            if (adaptation != null) {
+                AdaptedConfigs current = adapted;
+                if (current.adaptation != adaptation) {
+                    current = new AdaptedConfigs(adaptation);
+                    adapted = current;
+                }
+                configs = current.configs;
+            }
+            ConfigKey key = new ConfigKey(decoding, Math.max(1, Math.min(maxAlternatives, 30)), wordTimings);
+            RecognitionConfig cached = configs.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            RecognitionConfig.Builder builder = baseConfig.toBuilder();
+            if (decoding == null) {
+                builder.setAutoDecodingConfig(AutoDetectDecodingConfig.getDefaultInstance());  // WebM/Ogg 등 자동 감지
+            } else {
+                builder.setExplicitDecodingConfig(decoding);  // 정규화된 LINEAR16
+            }
+            builder.getFeaturesBuilder()
+                    .setMaxAlternatives(key.maxAlternatives())  // 후보 수(N-best)
+                    .setEnableWordTimeOffsets(wordTimings)      // 단어별 시각
+                    .setEnableWordConfidence(wordTimings);      // 단어별 신뢰도
+            if (adaptation != null) {
+                builder.setAdaptation(adaptation);              // 도메인 어휘 (PhraseSet/CustomClass)
+            }
+            RecognitionConfig config = builder.build();
+            if (configs.size() < MAX_CACHED_CONFIGS) {
+                configs.putIfAbsent(key, config);
+            }
+            return config;
+        }
+    }
+}
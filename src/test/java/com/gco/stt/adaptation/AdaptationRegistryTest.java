@@ -0,0 +1,138 @@
+package com.gco.stt.adaptation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.longrunning.OperationFuture;
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.cloud.speech.v2.*;
+import io.grpc.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class AdaptationRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private SpeechClient speechClient;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("adaptation.json");
+        speechClient = mock(SpeechClient.class);
+    }
+
+    @Test
+    void reload_WhenVersionIncreases_ShouldCompileInlineAdaptationPerProfileOnce() throws Exception {
+        write(1, "갤럭시 버즈", false);
+        AdaptationRegistry registry = registry();
+
+        assertThat(registry.reload()).isTrue();
+        SpeechAdaptation first = registry.adaptation("DEFAULT");
+        // 인라인 구문 집합 + 구문이 참조하는 인라인 클래스
+        assertThat(first.getPhraseSets(0).getInlinePhraseSet().getPhrases(1).getValue()).isEqualTo("모델 ${codes}");
+        assertThat(first.getCustomClassesList()).extracting(CustomClass::getName).containsExactly("codes");
+        assertThat(registry.adaptation("en")).isNull();
+
+        // 다시 읽어도 내용이 같으면 같은 객체 (요청마다 다시 만들지 않음)
+        assertThat(registry.reload()).isFalse();
+        assertThat(registry.adaptation("default")).isSameAs(first);
+
+        // 버전을 올리지 않은 변경은 무시, 올리면 반영
+        write(1, "갤럭시 워치", false);
+        assertThat(registry.reload()).isFalse();
+        assertThat(registry.adaptation("default")).isSameAs(first);
+        write(2, "갤럭시 워치", false);
+        assertThat(registry.reload()).isTrue();
+        assertThat(registry.snapshot().version()).isEqualTo(2);
+        assertThat(registry.adaptation("default").getPhraseSets(0).getInlinePhraseSet().getPhrases(0).getValue())
+                .isEqualTo("갤럭시 워치");
+        verifyNoInteractions(speechClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reload_WhenPersisted_ShouldUpdateRemoteOnlyWhenContentHashChanges() throws Exception {
+        OperationFuture<PhraseSet, OperationMetadata> phraseSetOperation = mock(OperationFuture.class);
+        when(phraseSetOperation.get(anyLong(), any(TimeUnit.class))).thenReturn(PhraseSet.getDefaultInstance());
+        OperationFuture<CustomClass, OperationMetadata> customClassOperation = mock(OperationFuture.class);
+        when(customClassOperation.get(anyLong(), any(TimeUnit.class))).thenReturn(CustomClass.getDefaultInstance());
+        when(speechClient.getPhraseSet(any(String.class))).thenThrow(notFound());
+        when(speechClient.getCustomClass(any(String.class))).thenThrow(notFound());
+        when(speechClient.createPhraseSetAsync(any(CreatePhraseSetRequest.class))).thenReturn(phraseSetOperation);
+        when(speechClient.createCustomClassAsync(any(CreateCustomClassRequest.class))).thenReturn(customClassOperation);
+
+        write(1, "갤럭시 버즈", true);
+        AdaptationRegistry registry = registry();
+        assertThat(registry.reload()).isTrue();
+
+        // 영구 리소스는 이름으로 참조, 구문의 클래스 참조도 리소스 이름으로 치환
+        String phraseSetName = "projects/test-project/locations/global/phraseSets/products";
+        assertThat(registry.adaptation("default").getPhraseSets(0).getPhraseSet()).isEqualTo(phraseSetName);
+        assertThat(registry.adaptation("default").getCustomClassesList()).isEmpty();
+        ArgumentCaptor<CreatePhraseSetRequest> created = ArgumentCaptor.forClass(CreatePhraseSetRequest.class);
+        verify(speechClient).createPhraseSetAsync(created.capture());
+        assertThat(created.getValue().getPhraseSet().getPhrases(1).getValue())
+                .isEqualTo("모델 ${projects/test-project/locations/global/customClasses/codes}");
+        String hash = created.getValue().getPhraseSet().getAnnotationsOrThrow(AdaptationResources.HASH_ANNOTATION);
+
+        // 버전만 올린 경우: 내용 해시가 같으므로 원격 호출 없음
+        write(2, "갤럭시 버즈", true);
+        assertThat(registry.reload()).isTrue();
+        verify(speechClient, times(1)).getPhraseSet(any(String.class));
+
+        // 재시작 후: 원격 annotation의 해시가 같으면 갱신하지 않음
+        reset(speechClient);
+        when(speechClient.getPhraseSet(any(String.class))).thenReturn(PhraseSet.newBuilder()
+                .putAnnotations(AdaptationResources.HASH_ANNOTATION, hash).build());
+        when(speechClient.getCustomClass(any(String.class))).thenReturn(CustomClass.newBuilder()
+                .putAnnotations(AdaptationResources.HASH_ANNOTATION, "stale").build());
+        when(speechClient.updateCustomClassAsync(any(UpdateCustomClassRequest.class))).thenReturn(customClassOperation);
+        AdaptationRegistry restarted = registry();
+        assertThat(restarted.reload()).isTrue();
+        verify(speechClient, never()).updatePhraseSetAsync(any(UpdatePhraseSetRequest.class));
+        verify(speechClient).updateCustomClassAsync(any(UpdateCustomClassRequest.class));
+
+        // 구문이 바뀌면 PhraseSet만 갱신
+        when(speechClient.updatePhraseSetAsync(any(UpdatePhraseSetRequest.class))).thenReturn(phraseSetOperation);
+        write(3, "갤럭시 워치", true);
+        assertThat(restarted.reload()).isTrue();
+        verify(speechClient).updatePhraseSetAsync(any(UpdatePhraseSetRequest.class));
+        verify(speechClient, times(1)).updateCustomClassAsync(any(UpdateCustomClassRequest.class));
+    }
+
+    private AdaptationRegistry registry() {
+        AdaptationResources resources = new AdaptationResources(speechClient, "test-project", "global", Duration.ofSeconds(5));
+        // 확인 주기 0: 백그라운드 확인 없이 reload()로 직접 반영
+        return new AdaptationRegistry(new ObjectMapper(), resources, file.toString(), Duration.ZERO);
+    }
+
+    private void write(long version, String phrase, boolean persisted) throws Exception {
+        Files.writeString(file, """
+                {
+                  "version": %d,
+                  "customClasses": [{"id": "codes", "items": ["AX-100", "BZ-220"], "persisted": %s}],
+                  "phraseSets": [{"id": "products", "boost": 10, "persisted": %s,
+                                  "phrases": [{"value": "%s"}, {"value": "모델 ${codes}", "boost": 15}]}],
+                  "profiles": {"default": ["products"]}
+                }
+                """.formatted(version, persisted, persisted, phrase));
+    }
+
+    private static NotFoundException notFound() {
+        return new NotFoundException(new RuntimeException("not found"), GrpcStatusCode.of(Status.Code.NOT_FOUND), false);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gco.stt.admission;
+
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter.Outcome;
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();  // 테스트가 직접 움직이는 시계 (ns)
+
+    @Test
+    void tryAcquire_WhenLimitReached_ShouldRejectWithoutWaiting() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        Permit first = limiter.tryAcquire();
+        assertThat(limiter.tryAcquire()).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+
+        first.release(Outcome.IGNORED);
+        assertThat(limiter.tryAcquire()).isNotNull();
+        assertThat(limiter.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void release_WhenDroppedTogether_ShouldDecreaseLimitOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        List<Permit> permits = acquire(limiter, 5);
+        advance(100);
+
+        // 같은 시기에 시작한 호출들이 한꺼번에 할당량 오류를 받아도 한 번만 감소
+        permits.forEach(permit -> permit.release(Outcome.DROPPED));
+
+        assertThat(limiter.limit()).isEqualTo(5);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void release_WhenSuccessUnderLoad_ShouldIncreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        List<Permit> permits = acquire(limiter, 4);
+        advance(100);
+
+        permits.forEach(permit -> permit.release(Outcome.SUCCESS));
+
+        assertThat(limiter.limit()).isGreaterThan(4);
+    }
+
+    @Test
+    void release_WhenLatencyFarAboveBaseline_ShouldDecreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        for (int i = 0; i < 5; i++) {
+            Permit permit = limiter.tryAcquire();
+            advance(100);
+            permit.release(Outcome.SUCCESS);  // 한가할 때는 한도 유지
+        }
+        assertThat(limiter.limit()).isEqualTo(10);
+
+        Permit slow = limiter.tryAcquire();
+        advance(1000);  // 기준(100ms)의 3배 초과
+        slow.release(Outcome.SUCCESS);
+
+        assertThat(limiter.limit()).isEqualTo(5);
+        assertThat(limiter.retryAfter().toMillis()).isGreaterThanOrEqualTo(1000);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, 100, 0.5, 3.0, now::get);
+    }
+
+    private static List<Permit> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.tryAcquire());
+        }
+        return permits;
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,139 @@
+package com.gco.stt.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiKeyRateLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenRefillAtRate() {
+        ApiKeyRateLimiter limiter = limiter(2, 3);  // 초당 2개, 최대 3개
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("key:a", 0)).isNull();
+        }
+        assertThat(limiter.tryAcquire("key:a", 0)).isEqualTo(Duration.ofMillis(500));
+
+        // 500ms 뒤 토큰 하나 충전
+        assertThat(limiter.tryAcquire("key:a", TimeUnit.MILLISECONDS.toNanos(500))).isNull();
+        assertThat(limiter.tryAcquire("key:a", TimeUnit.MILLISECONDS.toNanos(500))).isNotNull();
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketPerKey() {
+        ApiKeyRateLimiter limiter = limiter(1, 1);
+
+        assertThat(limiter.tryAcquire("key:a", 0)).isNull();
+        assertThat(limiter.tryAcquire("key:a", 0)).isNotNull();
+        assertThat(limiter.tryAcquire("key:b", 0)).isNull();
+    }
+
+    @Test
+    void doFilter_WhenLimited_ShouldRespond429WithRetryAfterWithoutCallingChain() throws Exception {
+        ApiKeyRateLimiter limiter = limiter(0.1, 1);  // 10초에 1개
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/speech/upload");
+        request.addHeader("X-API-Key", "client-1");
+
+        MockFilterChain allowed = new MockFilterChain();
+        limiter.doFilter(request, new MockHttpServletResponse(), allowed);
+        assertThat(allowed.getRequest()).isNotNull();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain limited = new MockFilterChain();
+        limiter.doFilter(request, response, limited);
+        assertThat(limited.getRequest()).isNull();  // 컨트롤러(multipart 파싱)까지 가지 않음
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(response.getContentAsString()).contains("\"success\":false");
+        assertThat(limiter.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_WhenAsyncRedispatch_ShouldNotUseAnotherToken() throws Exception {
+        ApiKeyRateLimiter limiter = limiter(0.1, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/speech/upload");
+        limiter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // CompletableFuture 응답의 비동기 재디스패치는 제한 대상이 아님
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        limiter.doFilter(request, response, chain);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_WhenApiKeyIsNotRegistered_ShouldShareClientIpBucket() throws Exception {
+        ApiKeyRateLimiter limiter = limiter(0.1, 1);
+
+        // 등록된 키는 자기 버킷 사용
+        assertThat(filter(limiter, "registered")).isEqualTo(200);
+        assertThat(filter(limiter, "registered")).isEqualTo(429);
+        // 등록되지 않은 임의의 키는 매번 바꿔 보내도 같은 IP 버킷
+        assertThat(filter(limiter, "random-1")).isEqualTo(200);
+        assertThat(filter(limiter, "random-2")).isEqualTo(429);
+        assertThat(filter(limiter, null)).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_WhenAnonymousLimitIsOff_ShouldLimitOnlyRegisteredKeys() throws Exception {
+        ApiKeyRateLimiter limiter = new ApiKeyRateLimiter(true, "X-API-Key", List.of("registered"), false, 0.1, 1,
+                1000, new ObjectMapper());
+
+        assertThat(filter(limiter, "registered")).isEqualTo(200);
+        assertThat(filter(limiter, "registered")).isEqualTo(429);
+        // 프록시 뒤에서 모든 익명 클라이언트가 같은 IP로 보여도 서로 막지 않음
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter(limiter, null)).isEqualTo(200);
+            assertThat(filter(limiter, "random-" + i)).isEqualTo(200);
+        }
+        assertThat(limiter.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_ShouldCoverLongAudioJobsAndBatchButNotUploadChunks() throws Exception {
+        ApiKeyRateLimiter limiter = limiter(0.1, 1);
+
+        for (String path : List.of("/api/long-audio/upload", "/api/long-audio/uploads", "/api/jobs/abc",
+                "/api/batch/jobs")) {
+            assertThat(filter(limiter, "POST", path, "client-1")).as(path).isIn(200, 429);
+        }
+        // 첫 요청 이후 모두 같은 버킷에서 거절
+        assertThat(limiter.rejectedCount()).isEqualTo(3);
+        // 이미 만든 업로드 세션의 조각 전송은 제한하지 않음
+        assertThat(filter(limiter, "PATCH", "/api/long-audio/uploads/u-1", "client-1")).isEqualTo(200);
+        // 화면/정적 경로는 대상 아님
+        assertThat(filter(limiter, "GET", "/", "client-1")).isEqualTo(200);
+    }
+
+    private static int filter(ApiKeyRateLimiter limiter, String apiKey) throws Exception {
+        return filter(limiter, "POST", "/api/recognizer/upload", apiKey);
+    }
+
+    private static int filter(ApiKeyRateLimiter limiter, String method, String path, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        limiter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static ApiKeyRateLimiter limiter(double requestsPerSecond, int burst) {
+        // 익명(IP 기준) 제한까지 켠 구성
+        return new ApiKeyRateLimiter(true, "X-API-Key", List.of("client-1", "registered"), true, requestsPerSecond, burst,
+                1000, new ObjectMapper());
+    }
+}
@@ -0,0 +1,74 @@
+package com.gco.stt.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadSizeLimiterTest {
+
+    private final UploadSizeLimiter limiter = new UploadSizeLimiter(DataSize.ofMegabytes(10), new ObjectMapper());
+
+    @Test
+    void doFilter_WhenInlineUploadIsTooLarge_ShouldRespond413BeforeParsing() throws Exception {
+        MockHttpServletRequest request = multipart("/api/speech/upload", DataSize.ofMegabytes(50).toBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        limiter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isNull();  // multipart 파싱(임시 파일 저장)까지 가지 않음
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(response.getContentAsString()).contains("\"success\":false");
+    }
+
+    @Test
+    void doFilter_WhenChunkedInlineUpload_ShouldRequireContentLength() throws Exception {
+        MockHttpServletRequest request = multipart("/api/recognizer/upload", -1);
+        request.addHeader("Transfer-Encoding", "chunked");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        limiter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(411);
+    }
+
+    @Test
+    void doFilter_WhenLongAudioOrSmallUpload_ShouldPassThrough() throws Exception {
+        // 긴 음성 업로드는 spring.servlet.multipart 한도만 적용
+        MockFilterChain longAudio = new MockFilterChain();
+        limiter.doFilter(multipart("/api/long-audio/upload", DataSize.ofMegabytes(300).toBytes()),
+                new MockHttpServletResponse(), longAudio);
+        assertThat(longAudio.getRequest()).isNotNull();
+
+        MockFilterChain small = new MockFilterChain();
+        limiter.doFilter(multipart("/api/speech/upload", DataSize.ofMegabytes(1).toBytes()),
+                new MockHttpServletResponse(), small);
+        assertThat(small.getRequest()).isNotNull();
+
+        // 재개 가능한 업로드의 조각은 multipart가 아님 (조각 크기는 stt.upload.resumable.max-chunk-size로 제한)
+        MockHttpServletRequest chunk = new MockHttpServletRequest("PATCH", "/api/long-audio/uploads/abc");
+        chunk.setContentType("application/octet-stream");
+        chunk.setContent(new byte[1024]);
+        MockFilterChain patch = new MockFilterChain();
+        limiter.doFilter(chunk, new MockHttpServletResponse(), patch);
+        assertThat(patch.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest multipart(String path, long contentLength) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path) {
+            @Override
+            public long getContentLengthLong() {
+                return contentLength;
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=test");
+        return request;
+    }
+}
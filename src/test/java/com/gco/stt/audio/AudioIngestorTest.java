@@ -0,0 +1,82 @@
+package com.gco.stt.audio;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AudioIngestorTest {
+
+    private final AudioIngestor ingestor = new AudioIngestor();
+
+    @Test
+    void read_ShouldReturnSameBytes() throws Exception {
+        byte[] content = "test audio content".getBytes(StandardCharsets.UTF_8);
+        MockMultipartFile audioFile = new MockMultipartFile("audio", "test.webm", "audio/webm", content);
+
+        ByteString audio = ingestor.read(audioFile);
+
+        assertThat(audio.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void ingest_WhenLargerThanThreshold_ShouldMapSpoolFileAndDeleteOnClose(@TempDir Path spoolDir) throws Exception {
+        AudioIngestor spooling = new AudioIngestor(spoolDir.toString(), DataSize.ofBytes(4));
+        byte[] content = "spooled audio content".getBytes(StandardCharsets.UTF_8);
+
+        AudioIngestor.Upload upload = spooling.ingest(new MockMultipartFile("audio", "test.webm", "audio/webm", content));
+
+        // 힙 배열이 아닌 스풀 파일 매핑으로 읽음
+        assertThat(upload.spoolFile()).isNotNull().exists().hasParent(spoolDir);
+        assertThat(upload.content().toByteArray()).isEqualTo(content);
+        upload.close();
+        assertThat(upload.spoolFile()).doesNotExist();
+    }
+
+    @Test
+    void ingest_WhenWithinThreshold_ShouldReadIntoHeap(@TempDir Path spoolDir) throws Exception {
+        AudioIngestor spooling = new AudioIngestor(spoolDir.toString(), DataSize.ofKilobytes(1));
+
+        AudioIngestor.Upload upload = spooling.ingest(new MockMultipartFile("audio", "test.webm", "audio/webm", new byte[]{1, 2, 3}));
+
+        assertThat(upload.spoolFile()).isNull();
+        try (var files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void constructor_ShouldDeleteLeftoverSpoolFiles(@TempDir Path spoolDir) throws Exception {
+        Path leftover = Files.createFile(spoolDir.resolve("upload-previous-run"));
+
+        new AudioIngestor(spoolDir.toString(), DataSize.ofKilobytes(1));
+
+        assertThat(leftover).doesNotExist();
+    }
+
+    @Test
+    void readExactly_WhenStreamIsShorterThanSize_ShouldReturnReadBytesOnly() throws Exception {
+        byte[] content = {1, 2, 3};
+
+        ByteString audio = AudioIngestor.readExactly(new ByteArrayInputStream(content), 10);
+
+        assertThat(audio.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void readExactly_WhenStreamIsLongerThanSize_ShouldReadRemainingBytes() throws Exception {
+        byte[] content = {1, 2, 3, 4, 5, 6};
+
+        ByteString audio = AudioIngestor.readExactly(new ByteArrayInputStream(content), 2);
+
+        assertThat(audio.toByteArray()).isEqualTo(content);
+    }
+}
@@ -0,0 +1,176 @@
+package com.gco.stt.audio;
+
+import com.gco.stt.audio.AudioNormalizer.Normalized;
+import com.google.cloud.speech.v2.ExplicitDecodingConfig.AudioEncoding;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AudioNormalizerTest {
+
+    private final AudioNormalizer normalizer = new AudioNormalizer(true, 16000, true);
+
+    @Test
+    void normalize_WithStereo48kWav_ShouldProduceMono16kLinear16() {
+        // 48 kHz 스테레오, 무음 1초 + 1 kHz 톤 2초 + 무음 1초
+        int rate = 48000;
+        short[] mono = concat(silence(rate, 1000), tone(rate, 2000, 1000), silence(rate, 1000));
+        ByteString wav = wav(rate, 2, interleave(mono, mono));
+
+        Normalized normalized = normalizer.normalize(wav);
+
+        assertThat(normalized.decoding()).isNotNull();
+        assertThat(normalized.decoding().getEncoding()).isEqualTo(AudioEncoding.LINEAR16);
+        assertThat(normalized.decoding().getSampleRateHertz()).isEqualTo(16000);
+        assertThat(normalized.decoding().getAudioChannelCount()).isEqualTo(1);
+
+        // 앞뒤 무음 제거: 톤 2초 + 여유 200ms × 2 (16-bit 모노 = 32000 bytes/s)
+        int samples = normalized.content().size() / 2;
+        assertThat(samples).isBetween(16000 * 2, 16000 * 2 + 16000 * 400 / 1000 + 2 * 320);  // 필터 여파로 프레임 하나씩 더 포함될 수 있음
+        // 앞쪽 무음 1초 중 여유 200ms를 남기고 제거 (결과 시각 보정용)
+        assertThat(normalized.offsetMillis()).isBetween(780L, 800L);
+        assertThat(normalized.untrimmed().size()).isEqualTo(16000 * 4 * 2);
+        // 톤 주파수 유지: 1 kHz → 초당 영점 교차 약 2000회
+        short[] output = toShorts(normalized.content());
+        assertThat(zeroCrossings(output, 16000 / 2, 16000 / 2 + 16000)).isBetween(1990, 2010);
+    }
+
+    @Test
+    void normalize_With24BitWav_ShouldDecodeSamples() {
+        // 16 kHz 24-bit 모노 (리샘플링 없이 비트 수만 변환)
+        ByteBuffer data = ByteBuffer.allocate(16000 * 3).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 16000; i++) {
+            int sample = (int) (Math.sin(2 * Math.PI * 500 * i / 16000.0) * 0.5 * 8388607);
+            data.put((byte) sample).put((byte) (sample >> 8)).put((byte) (sample >> 16));
+        }
+        ByteString wav = wavBytes(16000, 1, 24, data.array());
+
+        short[] output = toShorts(new AudioNormalizer(true, 16000, false).normalize(wav).content());
+
+        assertThat(output).hasSize(16000);
+        int peak = 0;
+        for (short sample : output) {
+            peak = Math.max(peak, Math.abs(sample));
+        }
+        assertThat(peak).isBetween(16000, 16500);  // 0.5 × 32767
+    }
+
+    @Test
+    void normalize_WithWebm_ShouldPassThrough() {
+        ByteString webm = ByteString.copyFrom(new byte[]{0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, 0, 0, 0, 0, 0, 0, 0, 0});
+
+        Normalized normalized = normalizer.normalize(webm);
+
+        assertThat(normalized.content()).isSameAs(webm);
+        assertThat(normalized.decoding()).isNull();
+        assertThat(normalized.offsetMillis()).isZero();
+    }
+
+    @Test
+    void normalize_WhenDisabled_ShouldPassThroughWav() {
+        ByteString wav = wav(16000, 1, tone(16000, 500, 1000));
+
+        Normalized normalized = new AudioNormalizer(false, 16000, true).normalize(wav);
+
+        assertThat(normalized.content()).isSameAs(wav);
+        assertThat(normalized.decoding()).isNull();
+    }
+
+    @Test
+    void normalize_WithOutOfRangeOrCoprimeSampleRate_ShouldPassThroughWithoutResampling() {
+        // 조작된 헤더: 샘플레이트 2^31-1 (필터/출력 버퍼가 수 GB가 되는 비율)
+        ByteString huge = wav(Integer.MAX_VALUE, 1, tone(16000, 100, 1000));
+        // 범위 안이지만 16 kHz와 서로소 → 위상 수 16000 (상한 초과)
+        ByteString coprime = wav(44_101, 1, tone(44_101, 100, 1000));
+        // 채널 수가 비정상적으로 많음
+        ByteString channels = wavBytes(16000, 1_000, 16, new byte[2_000 * 10]);
+
+        for (ByteString wav : new ByteString[]{huge, coprime, channels}) {
+            Normalized normalized = normalizer.normalize(wav);
+            assertThat(normalized.content()).isSameAs(wav);
+            assertThat(normalized.decoding()).isNull();
+        }
+    }
+
+    @Test
+    void resamplable_ShouldAllowCommonRatesAndCapPhasesAndOutputLength() {
+        assertThat(AudioNormalizer.resamplable(44_100, 16000, 44_100)).isTrue();   // L = 160
+        assertThat(AudioNormalizer.resamplable(11_025, 16000, 11_025)).isTrue();   // L = 640
+        assertThat(AudioNormalizer.resamplable(44_101, 16000, 44_101)).isFalse();  // L = 16000
+        // 결과 길이 상한 (16 kHz 기준 약 35분)
+        assertThat(AudioNormalizer.resamplable(8000, 16000, 8000L * 60 * 60)).isFalse();
+    }
+
+    private static short[] tone(int rate, int millis, int frequency) {
+        short[] samples = new short[rate * millis / 1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) (Math.sin(2 * Math.PI * frequency * i / rate) * 10000);
+        }
+        return samples;
+    }
+
+    private static short[] silence(int rate, int millis) {
+        return new short[rate * millis / 1000];
+    }
+
+    private static short[] concat(short[]... parts) {
+        int length = 0;
+        for (short[] part : parts) {
+            length += part.length;
+        }
+        short[] result = new short[length];
+        int offset = 0;
+        for (short[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    private static short[] interleave(short[] left, short[] right) {
+        short[] result = new short[left.length * 2];
+        for (int i = 0; i < left.length; i++) {
+            result[i * 2] = left[i];
+            result[i * 2 + 1] = right[i];
+        }
+        return result;
+    }
+
+    private static ByteString wav(int rate, int channels, short[] samples) {
+        ByteBuffer data = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (short sample : samples) {
+            data.putShort(sample);
+        }
+        return wavBytes(rate, channels, 16, data.array());
+    }
+
+    private static ByteString wavBytes(int rate, int channels, int bits, byte[] data) {
+        ByteBuffer buffer = ByteBuffer.allocate(44 + data.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes()).putInt(36 + data.length).put("WAVE".getBytes());
+        buffer.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) channels)
+                .putInt(rate).putInt(rate * channels * bits / 8).putShort((short) (channels * bits / 8)).putShort((short) bits);
+        buffer.put("data".getBytes()).putInt(data.length).put(data);
+        return ByteString.copyFrom(buffer.array());
+    }
+
+    private static short[] toShorts(ByteString pcm) {
+        ByteBuffer buffer = pcm.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        short[] samples = new short[buffer.remaining() / 2];
+        buffer.asShortBuffer().get(samples);
+        return samples;
+    }
+
+    private static int zeroCrossings(short[] samples, int from, int to) {
+        int count = 0;
+        for (int i = from + 1; i < to; i++) {
+            if ((samples[i - 1] < 0) != (samples[i] < 0)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
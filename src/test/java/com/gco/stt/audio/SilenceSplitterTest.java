@@ -0,0 +1,131 @@
+package com.gco.stt.audio;
+
+import com.gco.stt.audio.SilenceSplitter.Segment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SilenceSplitterTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void split_ShouldCutAtSilenceWithinSegmentRange() throws Exception {
+        // 음성 12초 + 무음 1초 + 음성 12초 + 무음 1초 + 음성 12초 = 38초
+        short[] samples = concat(tone(12_000), silence(1_000), tone(12_000), silence(1_000), tone(12_000));
+        Path wavFile = writeWav(samples);
+
+        SilenceSplitter splitter = new SilenceSplitter(Duration.ofSeconds(5), Duration.ofSeconds(20));
+        List<Segment> segments;
+        WavFormat format;
+        try (FileChannel channel = FileChannel.open(wavFile)) {
+            format = WavFormat.read(channel);
+            segments = splitter.split(channel, format);
+        }
+
+        assertThat(segments).hasSize(3);
+        // 분할 지점은 무음 구간 안에 있어야 함
+        assertThat(segments.get(0).endMillis()).isBetween(12_000L, 13_000L);
+        assertThat(segments.get(1).endMillis()).isBetween(25_000L, 26_000L);
+        // 구간은 빈틈없이 이어지고 전체 길이를 덮어야 함
+        assertThat(segments.get(1).byteOffset())
+                .isEqualTo(segments.get(0).byteOffset() + segments.get(0).byteLength());
+        assertThat(segments.stream().mapToLong(Segment::byteLength).sum()).isEqualTo(format.dataLength());
+        assertThat(segments.get(2).endMillis()).isEqualTo(38_000L);
+    }
+
+    @Test
+    void split_WhenShorterThanMaxSegment_ShouldReturnSingleSegment() throws Exception {
+        Path wavFile = writeWav(tone(3_000));
+
+        SilenceSplitter splitter = new SilenceSplitter(Duration.ofSeconds(5), Duration.ofSeconds(20));
+        try (FileChannel channel = FileChannel.open(wavFile)) {
+            List<Segment> segments = splitter.split(channel, WavFormat.read(channel));
+
+            assertThat(segments).hasSize(1);
+            assertThat(segments.get(0).startMillis()).isZero();
+            assertThat(segments.get(0).endMillis()).isEqualTo(3_000L);
+        }
+    }
+
+    @Test
+    void progressive_WhenDataArrivesInChunks_ShouldMatchBatchSplit() throws Exception {
+        short[] samples = concat(tone(12_000), silence(1_000), tone(12_000), silence(1_000), tone(12_000));
+        Path wavFile = writeWav(samples);
+
+        SilenceSplitter splitter = new SilenceSplitter(Duration.ofSeconds(5), Duration.ofSeconds(20));
+        try (FileChannel channel = FileChannel.open(wavFile)) {
+            WavFormat format = WavFormat.read(channel);
+            List<Segment> expected = splitter.split(channel, format);
+
+            // 1초 분량씩 도착한다고 가정하고 확정된 구간을 먼저 받음
+            SilenceSplitter.Progressive progressive = splitter.progressive(format);
+            List<Segment> segments = new ArrayList<>();
+            long chunk = SAMPLE_RATE * 2L;
+            for (long available = chunk; available < format.dataLength(); available += chunk) {
+                segments.addAll(progressive.advance(channel, available));
+            }
+            // 마지막 구간 전까지는 데이터가 다 도착하기 전에 확정되어야 함
+            assertThat(segments).isNotEmpty();
+            segments.addAll(progressive.finish(channel, format.dataLength()));
+
+            assertThat(segments).isEqualTo(expected);
+        }
+    }
+
+    private static short[] tone(int millis) {
+        short[] samples = new short[SAMPLE_RATE * millis / 1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) (10_000 * Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE));
+        }
+        return samples;
+    }
+
+    private static short[] silence(int millis) {
+        return new short[SAMPLE_RATE * millis / 1000];
+    }
+
+    private static short[] concat(short[]... parts) {
+        int length = 0;
+        for (short[] part : parts) {
+            length += part.length;
+        }
+        short[] result = new short[length];
+        int offset = 0;
+        for (short[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    private Path writeWav(short[] samples) throws Exception {
+        int dataLength = samples.length * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes()).putInt(36 + dataLength).put("WAVE".getBytes());
+        buffer.put("fmt ".getBytes()).putInt(16)
+                .putShort((short) 1).putShort((short) 1)
+                .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16);
+        buffer.put("data".getBytes()).putInt(dataLength);
+        for (short sample : samples) {
+            buffer.putShort(sample);
+        }
+        Path file = tempDir.resolve("test.wav");
+        Files.write(file, buffer.array());
+        return file;
+    }
+}
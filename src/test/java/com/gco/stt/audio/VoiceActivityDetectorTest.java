@@ -0,0 +1,212 @@
+package com.gco.stt.audio;
+
+import com.gco.stt.audio.AudioNormalizer.Normalized;
+import com.gco.stt.audio.VoiceActivityDetector.VoiceActivity;
+import com.google.cloud.speech.v2.ExplicitDecodingConfig;
+import com.google.cloud.speech.v2.ExplicitDecodingConfig.AudioEncoding;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoiceActivityDetectorTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    private final VoiceActivityDetector detector =
+            new VoiceActivityDetector(true, 0.0001f, 0.35f, Duration.ofMillis(200), 8);
+
+    @Test
+    void detect_WithSpeechBetweenSilence_ShouldReportRatioAndTrimmedDuration() {
+        // 무음 1초 + 톤 2초 + 무음 1초
+        short[] samples = new short[SAMPLE_RATE * 4];
+        fillTone(samples, SAMPLE_RATE, SAMPLE_RATE * 3);
+
+        VoiceActivity activity = detector.detect(linear16(samples));
+
+        assertThat(activity.speech()).isTrue();
+        assertThat(activity.durationMillis()).isEqualTo(4000);
+        assertThat(activity.trimmedMillis()).isEqualTo(2000);
+        assertThat(activity.speechRatio()).isEqualTo(0.5f);
+    }
+
+    @Test
+    void detect_WithSilence_ShouldRejectAndCount() {
+        VoiceActivity activity = detector.detect(linear16(new short[SAMPLE_RATE * 2]));
+
+        assertThat(activity.speech()).isFalse();
+        assertThat(activity.speechRatio()).isZero();
+        assertThat(detector.stats().analyzed()).isEqualTo(1);
+        assertThat(detector.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void detect_WithShortClick_ShouldReject() {
+        // 100ms 클릭음은 최소 음성 길이(200ms)보다 짧음
+        short[] samples = new short[SAMPLE_RATE];
+        fillTone(samples, 0, SAMPLE_RATE / 10);
+
+        assertThat(detector.detect(linear16(samples)).speech()).isFalse();
+    }
+
+    @Test
+    void detect_WithWhiteNoise_ShouldRejectByZeroCrossingRate() {
+        // 광대역 잡음은 에너지가 커도 영점 교차율이 높아 음성으로 보지 않음
+        Random random = new Random(1);
+        short[] samples = new short[SAMPLE_RATE];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) (random.nextGaussian() * 5000);
+        }
+
+        assertThat(detector.detect(linear16(samples)).speech()).isFalse();
+    }
+
+    @Test
+    void detect_WithTrimmedWav_ShouldAnalyzeAudioBeforeTrimming() {
+        // 무음 1초 + 톤 2초 + 무음 1초 WAV → 정규화 단계에서 앞뒤 무음 제거
+        short[] samples = new short[SAMPLE_RATE * 4];
+        fillTone(samples, SAMPLE_RATE, SAMPLE_RATE * 3);
+        Normalized normalized = new AudioNormalizer(true, SAMPLE_RATE, true).normalize(wav(samples));
+        assertThat(normalized.content().size()).isLessThan(normalized.untrimmed().size());
+
+        VoiceActivity activity = detector.detect(normalized);
+
+        // 전체 길이와 비율은 업로드 원본 기준
+        assertThat(activity.durationMillis()).isEqualTo(4000);
+        assertThat(activity.trimmedMillis()).isEqualTo(2000);
+        assertThat(activity.speechRatio()).isEqualTo(0.5f);
+    }
+
+    @Test
+    void detect_WithSilentWebmOpus_ShouldRejectFromPacketSizes() {
+        // 20ms CELT 패킷 100개(2초), 모두 3바이트(디지털 무음)
+        byte[][] packets = new byte[100][];
+        Arrays.fill(packets, opusPacket(3));
+
+        VoiceActivity activity = detector.detect(new Normalized(webm(packets), null));
+
+        assertThat(activity.speech()).isFalse();
+        assertThat(activity.durationMillis()).isEqualTo(2000);
+        assertThat(detector.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void detect_WithSpeechInOggOpus_ShouldReportRatioAndTrimmedDuration() {
+        // 무음 0.5초 + 음성 1초 + 무음 0.5초 (20ms 패킷)
+        byte[][] packets = new byte[100][];
+        for (int i = 0; i < packets.length; i++) {
+            packets[i] = opusPacket(i >= 25 && i < 75 ? 120 : 3);
+        }
+
+        VoiceActivity activity = detector.detect(new Normalized(ogg(packets), null));
+
+        assertThat(activity.speech()).isTrue();
+        assertThat(activity.durationMillis()).isEqualTo(2000);
+        assertThat(activity.trimmedMillis()).isEqualTo(1000);
+        assertThat(activity.speechRatio()).isEqualTo(0.5f);
+    }
+
+    @Test
+    void detect_WithCompressedAudio_ShouldPassWithoutAnalysis() {
+        VoiceActivity activity = detector.detect(new Normalized(ByteString.copyFromUtf8("webm"), null));
+
+        assertThat(activity.speech()).isTrue();
+        assertThat(activity.speechRatio()).isNull();
+        assertThat(detector.stats().analyzed()).isZero();
+    }
+
+    private static void fillTone(short[] samples, int from, int to) {
+        for (int i = from; i < to; i++) {
+            samples[i] = (short) (Math.sin(2 * Math.PI * 300 * i / SAMPLE_RATE) * 8000);
+        }
+    }
+
+    /**
+     * CELT 전대역 20ms 프레임 하나짜리 Opus 패킷 (TOC 0xF8 + 임의 데이터)
+     */
+    private static byte[] opusPacket(int bytes) {
+        byte[] packet = new byte[bytes];
+        Arrays.fill(packet, (byte) 0x55);
+        packet[0] = (byte) 0xF8;
+        return packet;
+    }
+
+    /**
+     * MediaRecorder와 같은 구조의 WebM (크기 미정 Segment/Cluster, SimpleBlock)
+     */
+    private static ByteString webm(byte[][] packets) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, (byte) 0x84, 0x42, (byte) 0x82, (byte) 0x81, 0x77});
+        out.writeBytes(new byte[]{0x18, 0x53, (byte) 0x80, 0x67, 0x01, -1, -1, -1, -1, -1, -1, -1});  // Segment (크기 미정)
+        byte[] codec = "A_OPUS".getBytes(StandardCharsets.US_ASCII);
+        out.writeBytes(new byte[]{0x16, 0x54, (byte) 0xAE, 0x6B, (byte) (0x80 | codec.length + 7)});  // Tracks
+        out.writeBytes(new byte[]{(byte) 0xAE, (byte) (0x80 | codec.length + 5)});                    // TrackEntry
+        out.writeBytes(new byte[]{(byte) 0xD7, (byte) 0x81, 0x01});                                   // TrackNumber
+        out.writeBytes(new byte[]{(byte) 0x86, (byte) (0x80 | codec.length)});                        // CodecID
+        out.writeBytes(codec);
+        out.writeBytes(new byte[]{0x1F, 0x43, (byte) 0xB6, 0x75, 0x01, -1, -1, -1, -1, -1, -1, -1});  // Cluster (크기 미정)
+        for (byte[] packet : packets) {
+            out.writeBytes(new byte[]{(byte) 0xA3, (byte) (0x80 | packet.length + 4), (byte) 0x81, 0, 0, (byte) 0x80});
+            out.writeBytes(packet);
+        }
+        return ByteString.copyFrom(out.toByteArray());
+    }
+
+    /**
+     * Ogg Opus (OpusHead, OpusTags 페이지 뒤에 패킷 페이지 하나)
+     */
+    private static ByteString ogg(byte[][] packets) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] head = Arrays.copyOf("OpusHead".getBytes(StandardCharsets.US_ASCII), 19);
+        oggPage(out, new byte[][]{head});
+        oggPage(out, new byte[][]{"OpusTags".getBytes(StandardCharsets.US_ASCII)});
+        oggPage(out, packets);
+        return ByteString.copyFrom(out.toByteArray());
+    }
+
+    private static void oggPage(ByteArrayOutputStream out, byte[][] packets) {
+        out.writeBytes("OggS".getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(new byte[22]);  // 버전, 헤더 종류, granule, serial, 순번, CRC (검사하지 않음)
+        out.write(packets.length);     // 패킷마다 255 미만이므로 lacing 값 하나
+        for (byte[] packet : packets) {
+            out.write(packet.length);
+        }
+        for (byte[] packet : packets) {
+            out.writeBytes(packet);
+        }
+    }
+
+    private static ByteString wav(short[] samples) {
+        ByteBuffer wav = ByteBuffer.allocate(44 + samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples.length * 2)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) 1).putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples.length * 2);
+        for (short sample : samples) {
+            wav.putShort(sample);
+        }
+        return ByteString.copyFrom(wav.array());
+    }
+
+    private static Normalized linear16(short[] samples) {
+        ByteBuffer pcm = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (short sample : samples) {
+            pcm.putShort(sample);
+        }
+        return new Normalized(ByteString.copyFrom(pcm.array()), ExplicitDecodingConfig.newBuilder()
+                .setEncoding(AudioEncoding.LINEAR16)
+                .setSampleRateHertz(SAMPLE_RATE)
+                .setAudioChannelCount(1)
+                .build());
+    }
+}
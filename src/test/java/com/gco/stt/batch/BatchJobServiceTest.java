@@ -0,0 +1,247 @@
+package com.gco.stt.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.gco.stt.batch.BatchJob.BatchFile;
+import com.gco.stt.batch.BatchJob.Status;
+import com.gco.stt.service.RecognizerRegistry;
+import com.gco.stt.service.TranscriptionProfiles;
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.cloud.speech.v2.SpeechClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchJobServiceTest {
+
+    @TempDir
+    Path storeDir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final List<BatchJobService> services = new ArrayList<>();
+
+    private FakeSpeechServer speechServer;
+    private SpeechClient speechClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        speechServer = FakeSpeechServer.start();
+        speechClient = speechServer.newClient();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        services.forEach(BatchJobService::shutdown);
+        speechClient.close();
+        speechServer.close();
+    }
+
+    @Test
+    void submit_WithMoreFilesThanPerOperation_ShouldSplitIntoOperations() throws Exception {
+        BatchJobService service = newService(newStore(), 4, 2);
+
+        BatchJob job = service.submit(uris(5), null, null);
+        BatchJob finished = awaitFinished(service, job.id());
+
+        // 5개 파일 → 2 + 2 + 1
+        assertThat(speechServer.batchRequests()).hasSize(3);
+        assertThat(speechServer.batchRequests())
+                .allSatisfy(request -> assertThat(request.getRecognizer()).endsWith("/recognizers/permanent-recognizer"));
+        assertThat(finished.status()).isEqualTo(Status.SUCCEEDED);
+        assertThat(finished.files()).extracting(BatchFile::transcript)
+                .containsExactly("전사 결과 gs://bucket/0.wav", "전사 결과 gs://bucket/1.wav",
+                        "전사 결과 gs://bucket/2.wav", "전사 결과 gs://bucket/3.wav", "전사 결과 gs://bucket/4.wav");
+        assertThat(finished.files()).allSatisfy(file -> assertThat(file.operationName()).isNotBlank());
+    }
+
+    @Test
+    void submit_WhenSomeFilesFail_ShouldMarkJobPartiallyFailed() throws Exception {
+        speechServer.failUri("gs://bucket/1.wav");
+        BatchJobService service = newService(newStore(), 4, 15);
+
+        BatchJob finished = awaitFinished(service, service.submit(uris(3), null, null).id());
+
+        assertThat(finished.status()).isEqualTo(Status.PARTIALLY_FAILED);
+        assertThat(finished.files()).extracting(BatchFile::status)
+                .containsExactly(Status.SUCCEEDED, Status.FAILED, Status.SUCCEEDED);
+        assertThat(finished.files().get(1).error()).contains("gs://bucket/1.wav");
+    }
+
+    @Test
+    void submit_ShouldNotRunMoreOperationsThanLimit() throws Exception {
+        speechServer.setBatchDelay(Duration.ofMillis(100));
+        BatchJobService service = newService(newStore(), 2, 1);
+
+        BatchJob finished = awaitFinished(service, service.submit(uris(6), null, null).id());
+
+        assertThat(finished.status()).isEqualTo(Status.SUCCEEDED);
+        assertThat(speechServer.batchRequests()).hasSize(6);
+        assertThat(speechServer.maxRunningBatches()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void submit_WithCallbackUrl_ShouldPostFinishedJobOnce() throws Exception {
+        BlockingQueue<String> callbacks = new LinkedBlockingQueue<>();
+        HttpServer callbackServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        callbackServer.createContext("/callback", exchange -> {
+            callbacks.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        callbackServer.start();
+        try {
+            BatchJobService service = newService(newStore(), 4, 1);
+            String callbackUrl = "http://localhost:" + callbackServer.getAddress().getPort() + "/callback";
+
+            BatchJob job = service.submit(uris(3), null, callbackUrl);
+
+            String body = callbacks.poll(10, TimeUnit.SECONDS);
+            assertThat(body).isNotNull();
+            BatchJob notified = objectMapper.readValue(body, BatchJob.class);
+            assertThat(notified.id()).isEqualTo(job.id());
+            assertThat(notified.status()).isEqualTo(Status.SUCCEEDED);
+            // 파일 묶음이 여러 개여도 콜백은 한 번만 전송
+            assertThat(callbacks.poll(300, TimeUnit.MILLISECONDS)).isNull();
+        } finally {
+            callbackServer.stop(0);
+        }
+    }
+
+    @Test
+    void submit_WithCallbackUrlOutsideAllowlist_ShouldRejectBeforeSaving() throws Exception {
+        BatchJobService service = newService(newStore(), 4, 15);
+
+        assertThatThrownBy(() -> service.submit(uris(1), null, "http://metadata.google.internal/computeMetadata/v1/"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(newStore().findAll()).isEmpty();
+        assertThat(speechServer.batchRequests()).isEmpty();
+    }
+
+    @Test
+    void resumeUnfinished_WithRunningOperation_ShouldAwaitRecordedOperation() throws Exception {
+        // 이전 실행에서 operation을 시작한 뒤 종료된 상황을 저장소에 재현
+        List<String> uris = uris(2);
+        String operationName = speechServer.completedOperation(uris);
+        BatchJob running = BatchJob.create(uris, null, null).updateFiles(0, 2, file -> file.running(operationName));
+        newStore().save(running);
+
+        // 재시작: 새 저장소가 디스크에서 작업을 읽고, 서비스가 기록된 operation을 이어서 대기
+        BatchJobService service = newService(newStore(), 4, 15);
+        service.resumeUnfinished();
+        BatchJob finished = awaitFinished(service, running.id());
+
+        assertThat(finished.status()).isEqualTo(Status.SUCCEEDED);
+        assertThat(finished.files()).extracting(BatchFile::transcript)
+                .containsExactly("전사 결과 gs://bucket/0.wav", "전사 결과 gs://bucket/1.wav");
+        // 새 operation을 시작하지 않음
+        assertThat(speechServer.batchRequests()).isEmpty();
+    }
+
+    @Test
+    void submit_WithProfile_ShouldUseProfileRecognizerAndConfig() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("stt.profiles.en.language", "en-US")
+                .withProperty("stt.profiles.en.model", "short")
+                .withProperty("stt.profiles.en.punctuation", "true");
+        BatchJobService service = newService(newStore(), new TranscriptionProfiles(environment), 4, 15);
+
+        BatchJob finished = awaitFinished(service, service.submit(uris(1), "en", null).id());
+
+        assertThat(finished.status()).isEqualTo(Status.SUCCEEDED);
+        assertThat(finished.profile()).isEqualTo("en");
+        assertThat(speechServer.batchRequests()).singleElement().satisfies(request -> {
+            assertThat(request.getRecognizer()).endsWith("/recognizers/permanent-recognizer-en");
+            assertThat(request.getConfig().getLanguageCodesList()).containsExactly("en-US");
+            assertThat(request.getConfig().getModel()).isEqualTo("short");
+            assertThat(request.getConfig().getFeatures().getEnableAutomaticPunctuation()).isTrue();
+        });
+    }
+
+    @Test
+    void submit_WithUnknownProfile_ShouldRejectBeforeSaving() throws Exception {
+        BatchJobService service = newService(newStore(), 4, 15);
+
+        assertThatThrownBy(() -> service.submit(uris(1), "unknown", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown");
+        assertThat(newStore().findAll()).isEmpty();
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteOnlyFinishedJobsPastRetention() throws Exception {
+        BatchJobStore store = newStore();
+        BatchJob finished = BatchJob.create(uris(1), null, null).updateFiles(0, 1, file -> file.succeeded("결과"));
+        BatchJob queued = BatchJob.create(uris(1), null, null);
+        store.save(finished);
+        store.save(queued);
+
+        // 보관 기간 안: 유지
+        assertThat(store.purgeExpired(Instant.now())).isZero();
+        // 보관 기간이 지나면 끝난 작업만 메모리와 디스크에서 삭제 (진행 중인 작업은 유지)
+        assertThat(store.purgeExpired(Instant.now().plus(Duration.ofDays(8)))).isEqualTo(1);
+        assertThat(store.find(finished.id())).isEmpty();
+        assertThat(store.find(queued.id())).isPresent();
+        assertThat(storeDir.resolve(finished.id() + ".json")).doesNotExist();
+        assertThat(Files.exists(storeDir.resolve(queued.id() + ".json"))).isTrue();
+        // 재시작 후에도 다시 나타나지 않음
+        assertThat(newStore().find(finished.id())).isEmpty();
+    }
+
+    private BatchJobStore newStore() throws Exception {
+        return new BatchJobStore(objectMapper, storeDir.toString(), Duration.ofDays(7));
+    }
+
+    private BatchJobService newService(BatchJobStore store, int maxConcurrentOperations, int maxFilesPerOperation) {
+        return newService(store, new TranscriptionProfiles(new MockEnvironment()), maxConcurrentOperations, maxFilesPerOperation);
+    }
+
+    private BatchJobService newService(BatchJobStore store, TranscriptionProfiles profiles,
+                                       int maxConcurrentOperations, int maxFilesPerOperation) {
+        RecognizerRegistry registry = new RecognizerRegistry(speechClient, Duration.ofSeconds(10));
+        // 로컬 콜백 서버(http://localhost)를 쓰기 위해 http와 내부 주소 허용
+        CallbackUrlPolicy callbackUrlPolicy = new CallbackUrlPolicy(List.of("localhost"), false, true);
+        BatchJobService service = new BatchJobService(() -> speechClient, registry, profiles, store, RestClient.builder(),
+                callbackUrlPolicy, "test-project", "global", maxConcurrentOperations, maxFilesPerOperation, Duration.ofSeconds(10));
+        services.add(service);
+        return service;
+    }
+
+    private static List<String> uris(int count) {
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            uris.add("gs://bucket/" + i + ".wav");
+        }
+        return uris;
+    }
+
+    private static BatchJob awaitFinished(BatchJobService service, String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            BatchJob job = service.find(id).orElseThrow();
+            if (job.isFinished()) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("배치 작업이 제한 시간 내에 끝나지 않음: " + id);
+    }
+}
@@ -0,0 +1,60 @@
+package com.gco.stt.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CallbackUrlPolicyTest {
+
+    private final CallbackUrlPolicy policy = new CallbackUrlPolicy(
+            List.of("93.184.216.34", "*.hooks.example", "127.0.0.1", "169.254.169.254", "10.0.0.5"), true, false);
+
+    @Test
+    void validate_WithAllowedPublicHttpsUrl_ShouldPass() {
+        assertThat(policy.validate("https://93.184.216.34/callback?job=1").getPath()).isEqualTo("/callback");
+    }
+
+    @Test
+    void validate_WithHttpOrUserInfo_ShouldReject() {
+        assertThatThrownBy(() -> policy.validate("http://93.184.216.34/callback"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("https");
+        assertThatThrownBy(() -> policy.validate("https://user@93.184.216.34/callback"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy.validate("file:///etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void validate_WithHostOutsideAllowlist_ShouldReject() {
+        assertThatThrownBy(() -> policy.validate("https://93.184.216.35/callback"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("허용되지 않은");
+        // 와일드카드는 하위 도메인만, 비슷한 이름은 거절
+        assertThatThrownBy(() -> policy.validate("https://evilhooks.example/callback"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("허용되지 않은");
+    }
+
+    @Test
+    void validate_WithAllowedHostResolvingToInternalAddress_ShouldReject() {
+        // 허용 목록에 있어도 루프백, 링크 로컬(메타데이터 서버), 사설망 주소는 거절
+        assertThatThrownBy(() -> policy.validate("https://127.0.0.1/callback"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("내부 주소");
+        assertThatThrownBy(() -> policy.validate("https://169.254.169.254/computeMetadata/v1/"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("내부 주소");
+        assertThatThrownBy(() -> policy.validate("https://10.0.0.5/callback"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("내부 주소");
+    }
+
+    @Test
+    void isInternal_ShouldCoverPrivateRangesAndEmbeddedIpv4() throws Exception {
+        assertThat(CallbackUrlPolicy.isInternal(InetAddress.getByName("100.64.1.1"))).isTrue();   // CGNAT
+        assertThat(CallbackUrlPolicy.isInternal(InetAddress.getByName("fd00::1"))).isTrue();      // ULA
+        assertThat(CallbackUrlPolicy.isInternal(InetAddress.getByName("::ffff:127.0.0.1"))).isTrue();
+        assertThat(CallbackUrlPolicy.isInternal(InetAddress.getByName("0.0.0.0"))).isTrue();
+        assertThat(CallbackUrlPolicy.isInternal(InetAddress.getByName("93.184.216.34"))).isFalse();
+        assertThat(CallbackUrlPolicy.isInternal(InetAddress.getByName("2606:4700::1111"))).isFalse();
+    }
+}
@@ -0,0 +1,231 @@
+package com.gco.stt.cache;
+
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TranscriptCacheTest {
+
+    @TempDir
+    Path diskDir;
+
+    @Test
+    void get_WithConcurrentIdenticalRequests_ShouldShareOneUpstreamCall() throws Exception {
+        TranscriptCache cache = new TranscriptCache(true, DataSize.ofMegabytes(1), "");
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<RecognizeResponse> upstream = new CompletableFuture<>();
+
+        // 첫 호출이 끝나기 전에 같은 요청이 다시 들어옴
+        CompletableFuture<RecognizeResponse> first = cache.get(request("ko-KR", "audio"), r -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<RecognizeResponse> second = cache.get(request("ko-KR", "audio"), r -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        upstream.complete(response("안녕하세요"));
+
+        assertThat(first.get()).isEqualTo(second.get());
+        assertThat(calls).hasValue(1);
+        assertThat(cache.stats().memoryHits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WithDifferentConfig_ShouldNotShareEntry() throws Exception {
+        TranscriptCache cache = new TranscriptCache(true, DataSize.ofMegabytes(1), "");
+
+        cache.get(request("ko-KR", "audio"), r -> CompletableFuture.completedFuture(response("한국어"))).get();
+        RecognizeResponse english = cache.get(request("en-US", "audio"),
+                r -> CompletableFuture.completedFuture(response("english"))).get();
+
+        // 같은 오디오라도 언어가 다르면 다른 항목
+        assertThat(english.getResults(0).getAlternatives(0).getTranscript()).isEqualTo("english");
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void get_WithDifferentVariant_ShouldNotShareEntry() throws Exception {
+        TranscriptCache cache = new TranscriptCache(true, DataSize.ofMegabytes(1), "");
+
+        cache.get(request("ko-KR", "audio"), r -> CompletableFuture.completedFuture(response("단독"))).get();
+        RecognizeResponse batched = cache.get(request("ko-KR", "audio"), "micro-batch",
+                r -> CompletableFuture.completedFuture(response("묶음"))).get();
+
+        // 같은 요청이라도 결과를 만드는 방식(variant)이 다르면 다른 항목
+        assertThat(batched.getResults(0).getAlternatives(0).getTranscript()).isEqualTo("묶음");
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void get_WhenOneCallerCancels_ShouldNotAffectOtherCallersOrUpstream() throws Exception {
+        TranscriptCache cache = new TranscriptCache(true, DataSize.ofMegabytes(1), "");
+        CompletableFuture<RecognizeResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<RecognizeResponse> first = cache.get(request("ko-KR", "audio"), r -> upstream);
+        CompletableFuture<RecognizeResponse> second = cache.get(request("ko-KR", "audio"), r -> upstream);
+        first.cancel(true);
+        upstream.complete(response("안녕하세요"));
+
+        // 호출자마다 별도 future: 취소는 그 호출자에만 적용
+        assertThat(upstream.isCancelled()).isFalse();
+        assertThat(second.get().getResults(0).getAlternatives(0).getTranscript()).isEqualTo("안녕하세요");
+        assertThat(cache.stats().estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WhenAllCallersCancel_ShouldCancelUpstreamAndDropEntry() throws Exception {
+        TranscriptCache cache = new TranscriptCache(true, DataSize.ofMegabytes(1), "");
+        CompletableFuture<RecognizeResponse> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<RecognizeResponse> first = cache.get(request("ko-KR", "audio"), r -> upstream);
+        CompletableFuture<RecognizeResponse> second = cache.get(request("ko-KR", "audio"), r -> upstream);
+        first.cancel(true);
+        second.cancel(true);
+
+        assertThat(upstream.isCancelled()).isTrue();
+        // 취소된 항목은 남지 않음: 다음 요청은 새로 호출
+        RecognizeResponse retried = cache.get(request("ko-KR", "audio"), r -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(response("재시도"));
+        }).get();
+        assertThat(retried.getResults(0).getAlternatives(0).getTranscript()).isEqualTo("재시도");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void get_WhenUpstreamFails_ShouldNotCacheFailure() throws Exception {
+        TranscriptCache cache = new TranscriptCache(true, DataSize.ofMegabytes(1), "");
+
+        CompletableFuture<RecognizeResponse> failed = cache.get(request("ko-KR", "audio"),
+                r -> CompletableFuture.failedFuture(new IllegalStateException("upstream error")));
+        assertThatThrownBy(failed::get).hasCauseInstanceOf(IllegalStateException.class);
+
+        RecognizeResponse retried = cache.get(request("ko-KR", "audio"),
+                r -> CompletableFuture.completedFuture(response("재시도 성공"))).get();
+
+        assertThat(retried.getResults(0).getAlternatives(0).getTranscript()).isEqualTo("재시도 성공");
+    }
+
+    @Test
+    void get_WithDiskTier_ShouldReuseResultAfterRestart() throws Exception {
+        TranscriptCache before = new TranscriptCache(true, DataSize.ofMegabytes(1), diskDir.toString());
+        before.get(request("ko-KR", "audio"), r -> CompletableFuture.completedFuture(response("디스크 저장"))).get();
+
+        // 디스크 기록은 비동기이므로 파일이 생길 때까지 대기
+        Path cacheFile = diskDir.resolve(TranscriptCache.keyOf(request("ko-KR", "audio")) + ".pb");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && !Files.exists(cacheFile)) {
+            Thread.sleep(10);
+        }
+
+        // 재시작: 메모리 계층은 비어 있지만 디스크 계층에서 적중
+        TranscriptCache after = new TranscriptCache(true, DataSize.ofMegabytes(1), diskDir.toString());
+        RecognizeResponse cached = after.get(request("ko-KR", "audio"),
+                r -> CompletableFuture.failedFuture(new AssertionError("upstream을 호출하면 안 됨"))).get();
+
+        assertThat(cached.getResults(0).getAlternatives(0).getTranscript()).isEqualTo("디스크 저장");
+        assertThat(after.stats().diskHits()).isEqualTo(1);
+        assertThat(after.stats().misses()).isZero();
+    }
+
+    @Test
+    void constructor_WithDiskTier_ShouldDeleteTempExpiredAndOldestFilesOverLimit() throws Exception {
+        Path temp = Files.write(diskDir.resolve("interrupted.pb.tmp"), new byte[10]);
+        Path expired = write("expired.pb", 10, Duration.ofDays(30));
+        Path oldest = write("oldest.pb", 100, Duration.ofHours(2));
+        Path newest = write("newest.pb", 100, Duration.ofHours(1));
+
+        // 7일 보관, 최대 150 bytes: 만료 파일 삭제 후에도 200 bytes라 가장 오래된 파일 삭제
+        new TranscriptCache(true, DataSize.ofMegabytes(1), diskDir.toString(), DataSize.ofBytes(150), Duration.ofDays(7));
+
+        assertThat(temp).doesNotExist();
+        assertThat(expired).doesNotExist();
+        assertThat(oldest).doesNotExist();
+        assertThat(newest).exists();
+    }
+
+    @Test
+    void get_WhenDiskTierExceedsMaxSize_ShouldEvictOldestFileOnWrite() throws Exception {
+        int size = response("결과 A").getSerializedSize();
+        TranscriptCache cache = new TranscriptCache(true, DataSize.ofMegabytes(1), diskDir.toString(),
+                DataSize.ofBytes(size + size / 2), Duration.ofDays(7));
+
+        cache.get(request("ko-KR", "a"), r -> CompletableFuture.completedFuture(response("결과 A"))).get();
+        Path first = diskDir.resolve(TranscriptCache.keyOf(request("ko-KR", "a")) + ".pb");
+        awaitFile(first, true);
+        // 기록 순서를 명확히 하기 위해 첫 파일의 수정 시각을 과거로
+        Files.setLastModifiedTime(first, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+
+        // 두 번째 기록으로 상한을 넘으면 먼저 기록된 파일 삭제
+        cache.get(request("ko-KR", "b"), r -> CompletableFuture.completedFuture(response("결과 B"))).get();
+        Path second = diskDir.resolve(TranscriptCache.keyOf(request("ko-KR", "b")) + ".pb");
+        awaitFile(second, true);
+        awaitFile(first, false);
+
+        assertThat(second).exists();
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldAlwaysCallUpstream() throws Exception {
+        TranscriptCache cache = new TranscriptCache(false, DataSize.ofMegabytes(1), "");
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            cache.get(request("ko-KR", "audio"), r -> {
+                calls.incrementAndGet();
+                return CompletableFuture.completedFuture(response("결과"));
+            }).get();
+        }
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private Path write(String name, int size, Duration age) throws Exception {
+        Path file = Files.write(diskDir.resolve(name), new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+        return file;
+    }
+
+    private static void awaitFile(Path file, boolean exists) throws InterruptedException {
+        // 디스크 기록/정리는 비동기이므로 상태가 바뀔 때까지 대기
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && Files.exists(file) != exists) {
+            Thread.sleep(10);
+        }
+        assertThat(Files.exists(file)).as(file.getFileName().toString()).isEqualTo(exists);
+    }
+
+    private static RecognizeRequest request(String languageCode, String audio) {
+        return RecognizeRequest.newBuilder()
+                .setRecognizer("projects/test/locations/global/recognizers/_")
+                .setConfig(RecognitionConfig.newBuilder()
+                        .addLanguageCodes(languageCode)
+                        .setModel("long")
+                        .setAutoDecodingConfig(AutoDetectDecodingConfig.newBuilder().build()))
+                .setContent(ByteString.copyFromUtf8(audio))
+                .build();
+    }
+
+    private static RecognizeResponse response(String transcript) {
+        return RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript(transcript)))
+                .build();
+    }
+}
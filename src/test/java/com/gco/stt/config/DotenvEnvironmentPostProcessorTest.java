@@ -0,0 +1,51 @@
+package com.gco.stt.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DotenvEnvironmentPostProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void postProcessEnvironment_WhenEnvFileExists_ShouldResolvePlaceholdersBeforeBeansAreCreated() throws Exception {
+        Files.writeString(tempDir.resolve(".env"), """
+                DOTENV_TEST_CREDENTIALS=from-dotenv
+                DOTENV_TEST_REGION=from-dotenv
+                """);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(DotenvEnvironmentPostProcessor.DIRECTORY_PROPERTY, tempDir.toString())
+                .withProperty("google.cloud.credentials.json", "${DOTENV_TEST_CREDENTIALS}");
+        environment.getPropertySources().addLast(new SystemEnvironmentPropertySource(
+                StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, Map.of("DOTENV_TEST_REGION", "from-env")));
+
+        new DotenvEnvironmentPostProcessor().postProcessEnvironment(environment, null);
+
+        // application.properties의 ${...} 참조가 .env 값으로 해석됨
+        assertThat(environment.getProperty("google.cloud.credentials.json")).isEqualTo("from-dotenv");
+        // 실제 환경 변수가 .env보다 우선
+        assertThat(environment.getProperty("DOTENV_TEST_REGION")).isEqualTo("from-env");
+        // 시스템 속성은 바꾸지 않음
+        assertThat(System.getProperty("DOTENV_TEST_CREDENTIALS")).isNull();
+    }
+
+    @Test
+    void postProcessEnvironment_WhenEnvFileIsMissing_ShouldAddNothing() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(DotenvEnvironmentPostProcessor.DIRECTORY_PROPERTY, tempDir.toString());
+
+        new DotenvEnvironmentPostProcessor().postProcessEnvironment(environment, null);
+
+        assertThat(environment.getPropertySources().contains(DotenvEnvironmentPostProcessor.PROPERTY_SOURCE_NAME)).isFalse();
+    }
+}
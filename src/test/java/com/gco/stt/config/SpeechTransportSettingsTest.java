@@ -0,0 +1,83 @@
+package com.gco.stt.config;
+
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.cloud.speech.v2.RecognizeRequest;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.SpeechClient;
+import com.google.cloud.speech.v2.SpeechSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpeechTransportSettingsTest {
+
+    private static final int STREAMS_PER_CONNECTION = 2;  // 로컬 서버의 연결당 동시 스트림 한도
+    private static final int CONCURRENT_CALLS = 16;
+
+    @Test
+    void channelPoolSettings_WhenStatic_ShouldUseFixedSize() {
+        ChannelPoolSettings pool = settings(4, false).channelPoolSettings();
+
+        assertThat(pool.getInitialChannelCount()).isEqualTo(4);
+        assertThat(pool.getMinChannelCount()).isEqualTo(4);
+        assertThat(pool.getMaxChannelCount()).isEqualTo(4);
+    }
+
+    @Test
+    void channelPoolSettings_WhenDynamic_ShouldScaleBetweenMinAndMax() {
+        ChannelPoolSettings pool = settings(2, true).channelPoolSettings();
+
+        assertThat(pool.getInitialChannelCount()).isEqualTo(2);
+        assertThat(pool.getMinChannelCount()).isEqualTo(1);
+        assertThat(pool.getMaxChannelCount()).isEqualTo(8);
+        assertThat(pool.getMaxRpcsPerChannel()).isEqualTo(10);
+    }
+
+    @Test
+    void apply_ShouldSetPerMethodRetryAndDeadline() {
+        SpeechSettings.Builder builder = settings(1, false).apply(SpeechSettings.newBuilder(), List.of());
+
+        assertThat(builder.recognizeSettings().getRetryableCodes()).containsExactly(StatusCode.Code.UNAVAILABLE);
+        assertThat(builder.recognizeSettings().getRetrySettings().getMaxAttempts()).isEqualTo(3);
+        assertThat(builder.recognizeSettings().getRetrySettings().getTotalTimeoutDuration()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(builder.getRecognizerSettings().getRetrySettings().getMaxAttempts()).isEqualTo(5);
+    }
+
+    @Test
+    void recognize_WhenPoolIsLarger_ShouldRunMoreCallsConcurrently() throws Exception {
+        // 채널 하나는 연결당 스트림 한도에 막히고, 채널 4개는 한도의 4배까지 동시에 처리
+        assertThat(maxConcurrentRecognizes(1)).isEqualTo(STREAMS_PER_CONNECTION);
+        assertThat(maxConcurrentRecognizes(4)).isGreaterThan(STREAMS_PER_CONNECTION * 2);
+    }
+
+    private int maxConcurrentRecognizes(int poolSize) throws Exception {
+        try (FakeSpeechServer server = FakeSpeechServer.start(STREAMS_PER_CONNECTION)) {
+            server.setRecognizeDelay(Duration.ofMillis(100));
+            try (SpeechClient client = server.newClient(settings(poolSize, false))) {
+                List<ApiFuture<RecognizeResponse>> calls = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_CALLS; i++) {
+                    calls.add(client.recognizeCallable().futureCall(RecognizeRequest.getDefaultInstance()));
+                }
+                ApiFutures.allAsList(calls).get(30, TimeUnit.SECONDS);
+            }
+            return server.maxRunningRecognizes();
+        }
+    }
+
+    private static SpeechTransportSettings settings(int poolSize, boolean dynamic) {
+        return new SpeechTransportSettings(poolSize, dynamic, 1, 8, 10,
+                Duration.ofSeconds(60), Duration.ofSeconds(10), DataSize.ofMegabytes(32), 0,
+                Duration.ofSeconds(30), 3, Duration.ofMillis(200),
+                Duration.ofSeconds(10), 5, Duration.ofMillis(100));
+    }
+}
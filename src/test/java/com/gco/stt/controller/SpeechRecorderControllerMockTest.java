@@ -1,31 +1,90 @@
 package com.gco.stt.controller;
 
+import com.gco.stt.adaptation.AdaptationRegistry;
+import com.gco.stt.adaptation.AdaptationResources;
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter;
+import com.gco.stt.audio.AudioIngestor;
+import com.gco.stt.audio.AudioNormalizer;
+import com.gco.stt.audio.VoiceActivityDetector;
+import com.gco.stt.cache.TranscriptCache;
+import com.gco.stt.job.TranscriptionJob;
+import com.gco.stt.job.TranscriptionJobService;
+import com.gco.stt.metrics.SttMetrics;
+import com.gco.stt.service.AsyncRecognizer;
+import com.gco.stt.service.RecognizeBatcher;
+import com.gco.stt.service.RecognizerRegistry;
+import com.gco.stt.service.RegionRouter;
+import com.gco.stt.service.TranscriptionProfiles;
+import com.gco.stt.service.TranscriptionService;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.speech.v2.RecognizeRequest;
 import com.google.cloud.speech.v2.RecognizeResponse;
 import com.google.cloud.speech.v2.SpeechClient;
 import com.google.cloud.speech.v2.SpeechRecognitionAlternative;
 import com.google.cloud.speech.v2.SpeechRecognitionResult;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(SpeechRecorderController.class)
+@Import({AsyncRecognizer.class, AudioIngestor.class, AudioNormalizer.class, VoiceActivityDetector.class,
+        TranscriptCache.class, SttMetrics.class, RegionRouter.class, RecognizerRegistry.class,
+        AdaptiveConcurrencyLimiter.class, RecognizeBatcher.class, TranscriptionJobService.class,
+        TranscriptionProfiles.class, TranscriptionService.class, AdaptationRegistry.class, AdaptationResources.class})
+@TestPropertySource(properties = {"stt.profiles.en.language=en-US", "stt.profiles.en.model=short",
+        "stt.rate-limit.enabled=false"})
 class SpeechRecorderControllerMockTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private TranscriptCache transcriptCache;
+
+    @Autowired
+    private TranscriptionJobService jobService;
+
     @MockBean
     private SpeechClient speechClient;
 
+    private UnaryCallable<RecognizeRequest, RecognizeResponse> recognizeCallable;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // 컨트롤러는 recognizeCallable().futureCall()로 비동기 호출
+        recognizeCallable = mock(UnaryCallable.class);
+        when(speechClient.recognizeCallable()).thenReturn(recognizeCallable);
+        // 테스트마다 같은 오디오를 사용하므로 이전 테스트의 캐시 결과 제거
+        transcriptCache.invalidateAll();
+    }
+
     @Test
     void uploadAudioFile_WithValidFile_ShouldReturnTranscript() throws Exception {
         // Mock 응답 생성
@@ -41,7 +100,7 @@ class SpeechRecorderControllerMockTest {
                 .addResults(result)
                 .build();
 
-        when(speechClient.recognize(any())).thenReturn(mockResponse);
+        when(recognizeCallable.futureCall(any())).thenReturn(ApiFutures.immediateFuture(mockResponse));
 
         MockMultipartFile audioFile = new MockMultipartFile(
                 "audio",
@@ -50,8 +109,12 @@ class SpeechRecorderControllerMockTest {
                 "test audio content".getBytes()
         );
 
-        mockMvc.perform(multipart("/api/speech/upload")
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
                         .file(audioFile))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("음성 변환 성공!"))
@@ -67,8 +130,12 @@ class SpeechRecorderControllerMockTest {
                 new byte[0]
         );
 
-        mockMvc.perform(multipart("/api/speech/upload")
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
                         .file(emptyFile))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("업로드된 파일이 없음"));
@@ -78,7 +145,7 @@ class SpeechRecorderControllerMockTest {
     void uploadAudioFile_WithNoResults_ShouldReturnNoSpeechRecognized() throws Exception {
         // 결과가 없는 응답
         RecognizeResponse emptyResponse = RecognizeResponse.newBuilder().build();
-        when(speechClient.recognize(any())).thenReturn(emptyResponse);
+        when(recognizeCallable.futureCall(any())).thenReturn(ApiFutures.immediateFuture(emptyResponse));
 
         MockMultipartFile audioFile = new MockMultipartFile(
                 "audio",
@@ -87,10 +154,242 @@ class SpeechRecorderControllerMockTest {
                 "test audio content".getBytes()
         );
 
-        mockMvc.perform(multipart("/api/speech/upload")
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
                         .file(audioFile))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("음성 인식 불가"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void uploadAudioFile_WhenUpstreamFails_ShouldReturnServerError() throws Exception {
+        when(recognizeCallable.futureCall(any()))
+                .thenReturn(ApiFutures.immediateFailedFuture(new IllegalStateException("upstream error")));
+
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "test-audio.wav",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                "test audio content".getBytes()
+        );
+
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
+                        .file(audioFile))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("서버 오류 발생"));
+    }
+
+    @Test
+    void uploadAudioFile_WithSameAudioTwice_ShouldCallUpstreamOnce() throws Exception {
+        RecognizeResponse mockResponse = RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript("캐시된 결과")))
+                .build();
+        when(recognizeCallable.futureCall(any())).thenReturn(ApiFutures.immediateFuture(mockResponse));
+
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "test-audio.wav",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                "repeated audio content".getBytes()
+        );
+
+        for (int i = 0; i < 2; i++) {
+            MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
+                            .file(audioFile))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transcript").value("캐시된 결과"));
+        }
+
+        // 두 번째 요청은 캐시에서 응답
+        verify(recognizeCallable, times(1)).futureCall(any());
+    }
+
+    @Test
+    void uploadAudioFile_WithMultipleResults_ShouldReturnAllSegments() throws Exception {
+        // 긴 발화는 여러 결과로 나뉘어 응답됨
+        RecognizeResponse mockResponse = RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript("첫 번째 문장")))
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript(" 두 번째 문장")))
+                .build();
+        when(recognizeCallable.futureCall(any())).thenReturn(ApiFutures.immediateFuture(mockResponse));
+
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "test-audio.wav",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                "multi result audio".getBytes()
+        );
+
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
+                        .file(audioFile))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transcript").value("첫 번째 문장 두 번째 문장"))
+                .andExpect(jsonPath("$.segments.length()").value(2))
+                .andExpect(jsonPath("$.segments[1].transcript").value("두 번째 문장"));
+    }
+
+    @Test
+    void uploadAudioFile_WithSilentWav_ShouldSkipUpstreamCall() throws Exception {
+        // 16 kHz 모노 16-bit 무음 1초
+        int dataBytes = 16000 * 2;
+        ByteBuffer wav = ByteBuffer.allocate(44 + dataBytes).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes()).putInt(36 + dataBytes).put("WAVE".getBytes());
+        wav.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(16000).putInt(16000 * 2).putShort((short) 2).putShort((short) 16);
+        wav.put("data".getBytes()).putInt(dataBytes);
+
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "silence.wav",
+                "audio/wav",
+                wav.array()
+        );
+
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
+                        .file(audioFile))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("음성이 감지되지 않음"))
+                .andExpect(jsonPath("$.voiceActivity.speechRatio").value(0.0));
+
+        verify(recognizeCallable, never()).futureCall(any());
+    }
+
+    @Test
+    void submitJob_WithValidFile_ShouldReturnJobIdAndCompleteInBackground() throws Exception {
+        RecognizeResponse mockResponse = RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript("비동기 작업 결과")))
+                .build();
+        when(recognizeCallable.futureCall(any())).thenReturn(ApiFutures.immediateFuture(mockResponse));
+
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "test-audio.wav",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                "job audio content".getBytes()
+        );
+
+        // 인식을 기다리지 않고 바로 202 + 작업 ID 반환
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/jobs")
+                        .file(audioFile)
+                        .param("priority", "bulk"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.job.priority").value("BULK"))
+                .andReturn();
+        String jobId = JsonPath.read(mvcResult.getResponse().getContentAsString(), "$.job.id");
+        assertThat(mvcResult.getResponse().getHeader("Location")).isEqualTo("/api/jobs/" + jobId);
+
+        // 백그라운드에서 완료된 결과가 작업에 기록됨
+        TranscriptionJob job = awaitFinished(jobId);
+        assertThat(job.status()).isEqualTo(TranscriptionJob.Status.SUCCEEDED);
+        assertThat(job.httpStatus()).isEqualTo(200);
+        assertThat(job.result().transcript()).isEqualTo("비동기 작업 결과");
+    }
+
+    @Test
+    void submitJob_WithUnknownPriority_ShouldReturnBadRequest() throws Exception {
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "test-audio.wav",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                "test audio content".getBytes()
+        );
+
+        mockMvc.perform(multipart("/api/speech/jobs")
+                        .file(audioFile)
+                        .param("priority", "urgent"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void uploadAudioFile_WithProfile_ShouldUseProfileLanguageAndModel() throws Exception {
+        when(recognizeCallable.futureCall(any())).thenReturn(ApiFutures.immediateFuture(RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript("hello")))
+                .build()));
+
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "test-audio.webm",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                "english audio content".getBytes()
+        );
+
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
+                        .file(audioFile)
+                        .param("profile", "en")
+                        .param("alternatives", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transcript").value("hello"));
+
+        // 프로필 설정(언어/모델)에 요청별 기능(N-best)만 반영
+        ArgumentCaptor<RecognizeRequest> captor = ArgumentCaptor.forClass(RecognizeRequest.class);
+        verify(recognizeCallable).futureCall(captor.capture());
+        RecognizeRequest sent = captor.getValue();
+        assertThat(sent.getConfig().getLanguageCodesList()).containsExactly("en-US");
+        assertThat(sent.getConfig().getModel()).isEqualTo("short");
+        assertThat(sent.getConfig().getFeatures().getMaxAlternatives()).isEqualTo(3);
+        assertThat(sent.getRecognizer()).endsWith("/recognizers/_");
+    }
+
+    @Test
+    void uploadAudioFile_WithUnknownProfile_ShouldReturnBadRequest() throws Exception {
+        MockMultipartFile audioFile = new MockMultipartFile(
+                "audio",
+                "test-audio.wav",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                "test audio content".getBytes()
+        );
+
+        MvcResult mvcResult = mockMvc.perform(multipart("/api/speech/upload")
+                        .file(audioFile)
+                        .param("profile", "unknown"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("알 수 없는 프로필: unknown"));
+        verify(recognizeCallable, never()).futureCall(any());
+    }
+
+    private TranscriptionJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        TranscriptionJob job = jobService.find(jobId).orElseThrow();
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = jobService.find(jobId).orElseThrow();
+        }
+        return job;
+    }
+}
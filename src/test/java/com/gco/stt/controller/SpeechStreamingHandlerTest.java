@@ -0,0 +1,193 @@
+package com.gco.stt.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gco.stt.controller.SpeechStreamingHandler.StreamingTranscript;
+import com.gco.stt.service.TranscriptionService;
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.api.gax.rpc.ClientStream;
+import com.google.api.gax.rpc.ClientStreamReadyObserver;
+import com.google.api.gax.rpc.ResponseObserver;
+import com.google.cloud.speech.v2.SpeechClient;
+import com.google.cloud.speech.v2.StreamingRecognitionConfig;
+import com.google.cloud.speech.v2.StreamingRecognizeRequest;
+import com.google.cloud.speech.v2.StreamingRecognizeResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpeechStreamingHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private final List<String> sent = new CopyOnWriteArrayList<>();           // 브라우저로 보낸 텍스트 메시지
+    private final CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Collections.reverse(resources);
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void handleMessage_WithAudioThenEnd_ShouldRelayInterimAndFinalResultsAndCloseNormally() throws Exception {
+        FakeSpeechServer server = server();
+        SpeechStreamingHandler handler = handler(server, 8_000, Duration.ofSeconds(5));
+        WebSocketSession session = session();
+
+        handler.afterConnectionEstablished(session);
+        // 20,000 bytes 조각 하나 → 요청 하나당 최대 8,000 bytes로 나눠 3개 전송
+        handler.handleMessage(session, new BinaryMessage(new byte[20_000]));
+        handler.handleMessage(session, new TextMessage("end"));
+
+        assertThat(closed.get(5, TimeUnit.SECONDS)).isEqualTo(CloseStatus.NORMAL);
+        assertThat(received()).containsExactly(
+                new StreamingTranscript("interim", "조각 1", 0.5f),
+                new StreamingTranscript("interim", "조각 2", 0.5f),
+                new StreamingTranscript("interim", "조각 3", 0.5f),
+                new StreamingTranscript("final", "20000 bytes", 0f),
+                new StreamingTranscript("complete", null, null));
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+    }
+
+    @Test
+    void handleMessage_WhenUpstreamStopsReading_ShouldCloseSessionAfterSendTimeout() throws Exception {
+        FakeSpeechServer server = server();
+        server.setStreamingPaused(true);  // 서버가 요청을 읽지 않아 흐름 제어 창이 차면 전송 불가 상태
+        Duration sendTimeout = Duration.ofMillis(200);
+        SpeechStreamingHandler handler = handler(server, 15_360, sendTimeout);
+        WebSocketSession session = session();
+        handler.afterConnectionEstablished(session);
+
+        // 흐름 제어 창(자동 조정 포함)이 찰 때까지 1 MB씩 전송, 창이 차면 전송 대기 후 세션 종료
+        long blockedNanos = 0;
+        for (int i = 0; i < 32 && !closed.isDone(); i++) {
+            long start = System.nanoTime();
+            handler.handleMessage(session, new BinaryMessage(new byte[1024 * 1024]));
+            blockedNanos = System.nanoTime() - start;
+        }
+
+        assertThat(closed.getNow(null)).isEqualTo(CloseStatus.SERVICE_OVERLOAD);
+        // 전송 가능 상태를 기다린 뒤 시간 초과로 끝남 (결과 메시지 없음)
+        assertThat(Duration.ofNanos(blockedNanos)).isGreaterThanOrEqualTo(sendTimeout);
+        assertThat(sent).isEmpty();
+        handler.afterConnectionClosed(session, CloseStatus.SERVICE_OVERLOAD);
+    }
+
+    @Test
+    void handleMessage_WhenSessionWasRejected_ShouldIgnoreMessagesWithoutFailing() throws Exception {
+        // 알 수 없는 프로필: 스트림을 열지 않고 세션을 닫음
+        SpeechStreamingHandler handler = rejectingHandler(new IllegalArgumentException("알 수 없는 프로필: x"));
+        WebSocketSession session = session();
+        handler.afterConnectionEstablished(session);
+        assertThat(closed.getNow(null)).isEqualTo(CloseStatus.POLICY_VIOLATION.withReason("unknown profile"));
+
+        // 닫히기 전에 이미 도착한 메시지도 예외 없이 처리 (스트림 없음)
+        handler.handleMessage(session, new BinaryMessage(new byte[1_000]));
+        handler.handleMessage(session, new TextMessage("end"));
+        handler.afterConnectionClosed(session, CloseStatus.POLICY_VIOLATION);
+
+        assertThat(session.getAttributes()).isEmpty();
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    void afterConnectionEstablished_WhenOpeningStreamFails_ShouldCloseWithServerError() throws Exception {
+        SpeechStreamingHandler handler = rejectingHandler(new IllegalStateException("upstream 연결 실패"));
+        WebSocketSession session = session();
+
+        handler.afterConnectionEstablished(session);
+        handler.handleMessage(session, new TextMessage("end"));
+
+        assertThat(closed.getNow(null)).isEqualTo(CloseStatus.SERVER_ERROR);
+        verify(session).close(CloseStatus.SERVER_ERROR.withReason("stream not open"));
+        assertThat(session.getAttributes()).isEmpty();
+    }
+
+    private FakeSpeechServer server() throws Exception {
+        FakeSpeechServer server = FakeSpeechServer.start();
+        resources.add(server);
+        return server;
+    }
+
+    /**
+     * FakeSpeechServer로 upstream 스트림을 여는 핸들러 (TranscriptionService는 스트림 열기만 대신함)
+     */
+    private SpeechStreamingHandler handler(FakeSpeechServer server, int maxChunkBytes, Duration sendTimeout)
+            throws Exception {
+        SpeechClient client = server.newClient();
+        resources.add(client);
+        TranscriptionService transcriptionService = mock(TranscriptionService.class);
+        when(transcriptionService.openStream(any(), any(), any(), any())).thenAnswer(invocation -> {
+            ResponseObserver<StreamingRecognizeResponse> observer = invocation.getArgument(2);
+            ClientStreamReadyObserver<StreamingRecognizeRequest> readyObserver = invocation.getArgument(3);
+            ClientStream<StreamingRecognizeRequest> requests =
+                    client.streamingRecognizeCallable().splitCall(observer, readyObserver);
+            requests.send(StreamingRecognizeRequest.newBuilder()
+                    .setRecognizer("projects/test/locations/global/recognizers/_")
+                    .setStreamingConfig(StreamingRecognitionConfig.getDefaultInstance())
+                    .build());
+            return requests;
+        });
+        return new SpeechStreamingHandler(transcriptionService, objectMapper, maxChunkBytes, sendTimeout, 65_536);
+    }
+
+    /**
+     * 스트림 열기가 항상 실패하는 핸들러
+     */
+    private SpeechStreamingHandler rejectingHandler(RuntimeException failure) {
+        TranscriptionService transcriptionService = mock(TranscriptionService.class);
+        when(transcriptionService.openStream(any(), any(), any(), any())).thenThrow(failure);
+        return new SpeechStreamingHandler(transcriptionService, objectMapper, 15_360, Duration.ofSeconds(5), 65_536);
+    }
+
+    private WebSocketSession session() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        when(session.getId()).thenReturn("test-session");
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/speech/stream"));
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            sent.add((String) message.getPayload());
+            return null;
+        }).when(session).sendMessage(any());
+        doAnswer(invocation -> {
+            closed.complete(invocation.getArgument(0));
+            return null;
+        }).when(session).close(any(CloseStatus.class));
+        return session;
+    }
+
+    private List<StreamingTranscript> received() throws Exception {
+        List<StreamingTranscript> transcripts = new ArrayList<>();
+        for (String message : sent) {
+            transcripts.add(objectMapper.readValue(message, StreamingTranscript.class));
+        }
+        return transcripts;
+    }
+}
@@ -0,0 +1,90 @@
+package com.gco.stt.dto;
+
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.SpeechRecognitionAlternative;
+import com.google.cloud.speech.v2.SpeechRecognitionResult;
+import com.google.cloud.speech.v2.WordInfo;
+import com.google.protobuf.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpeechResponseTest {
+
+    @Test
+    void from_WithMultipleResults_ShouldConcatenateInOrder() {
+        RecognizeResponse response = RecognizeResponse.newBuilder()
+                .addResults(result("안녕하세요", 0.9f, 1_500))
+                .addResults(SpeechRecognitionResult.getDefaultInstance())  // 텍스트 없는 결과
+                .addResults(result("반갑습니다", 0.8f, 3_250))
+                .build();
+
+        SpeechResponse speechResponse = SpeechResponse.from(response);
+
+        assertThat(speechResponse.success()).isTrue();
+        assertThat(speechResponse.transcript()).isEqualTo("안녕하세요 반갑습니다");
+        assertThat(speechResponse.segments()).extracting(SpeechResponse.Segment::index).containsExactly(0, 1);
+        assertThat(speechResponse.segments()).extracting(SpeechResponse.Segment::endOffsetMillis)
+                .containsExactly(1_500L, 3_250L);
+        assertThat(speechResponse.segments().get(0).confidence()).isEqualTo(0.9f);
+    }
+
+    @Test
+    void from_WithAlternativesAndWords_ShouldIncludeDetails() {
+        SpeechRecognitionResult result = SpeechRecognitionResult.newBuilder()
+                .addAlternatives(SpeechRecognitionAlternative.newBuilder()
+                        .setTranscript("음성 인식")
+                        .addWords(WordInfo.newBuilder().setWord("음성")
+                                .setStartOffset(duration(0)).setEndOffset(duration(400)).setConfidence(0.95f))
+                        .addWords(WordInfo.newBuilder().setWord("인식")
+                                .setStartOffset(duration(450)).setEndOffset(duration(900)).setConfidence(0.9f)))
+                .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript("음성 인신").setConfidence(0.2f))
+                .build();
+
+        SpeechResponse.Segment segment = SpeechResponse.from(RecognizeResponse.newBuilder().addResults(result).build())
+                .segments().get(0);
+
+        assertThat(segment.alternatives()).containsExactly(new SpeechResponse.Alternative("음성 인신", 0.2f));
+        assertThat(segment.words()).containsExactly(
+                new SpeechResponse.Word("음성", 0, 400, 0.95f),
+                new SpeechResponse.Word("인식", 450, 900, 0.9f));
+    }
+
+    @Test
+    void from_WithTrimOffset_ShouldShiftSegmentAndWordTimesToOriginalAudio() {
+        SpeechRecognitionResult result = SpeechRecognitionResult.newBuilder()
+                .addAlternatives(SpeechRecognitionAlternative.newBuilder()
+                        .setTranscript("음성")
+                        .addWords(WordInfo.newBuilder().setWord("음성")
+                                .setStartOffset(duration(100)).setEndOffset(duration(500))))
+                .setResultEndOffset(duration(600))
+                .build();
+
+        // 앞쪽 무음 800ms를 잘라내고 보낸 오디오의 결과
+        SpeechResponse.Segment segment = SpeechResponse.from(RecognizeResponse.newBuilder().addResults(result).build(), 800)
+                .segments().get(0);
+
+        assertThat(segment.endOffsetMillis()).isEqualTo(1_400L);
+        assertThat(segment.words()).containsExactly(new SpeechResponse.Word("음성", 900, 1_300, 0f));
+    }
+
+    @Test
+    void from_WithNoTranscript_ShouldReturnFailure() {
+        SpeechResponse speechResponse = SpeechResponse.from(RecognizeResponse.getDefaultInstance());
+
+        assertThat(speechResponse.success()).isFalse();
+        assertThat(speechResponse.message()).isEqualTo("음성 인식 불가");
+        assertThat(speechResponse.segments()).isNull();
+    }
+
+    private static SpeechRecognitionResult result(String transcript, float confidence, long endMillis) {
+        return SpeechRecognitionResult.newBuilder()
+                .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript(transcript).setConfidence(confidence))
+                .setResultEndOffset(duration(endMillis))
+                .build();
+    }
+
+    private static Duration duration(long millis) {
+        return Duration.newBuilder().setSeconds(millis / 1000).setNanos((int) (millis % 1000) * 1_000_000).build();
+    }
+}
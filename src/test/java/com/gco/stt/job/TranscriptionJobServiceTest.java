@@ -0,0 +1,174 @@
+package com.gco.stt.job;
+
+import com.gco.stt.admission.OverloadException;
+import com.gco.stt.dto.SpeechResponse;
+import com.gco.stt.job.TranscriptionJob.Priority;
+import com.gco.stt.job.TranscriptionJob.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TranscriptionJobServiceTest {
+
+    @Test
+    void submit_WhenSlotsBusy_ShouldStartInteractiveBeforeBulk() throws Exception {
+        // 슬롯 2개 중 1개는 INTERACTIVE 전용 → BULK는 동시에 1개만 실행
+        TranscriptionJobService service = new TranscriptionJobService(2, 1, 10, Duration.ofMinutes(1), 100);
+        List<String> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<ResponseEntity<SpeechResponse>> firstBulk = new CompletableFuture<>();
+
+        service.submit(Priority.BULK, task(started, "bulk-1", firstBulk));
+        service.submit(Priority.BULK, task(started, "bulk-2", CompletableFuture.completedFuture(ok("둘"))));
+        awaitStarted(started, 1);
+        // BULK 한도로 bulk-2는 대기, 남은 슬롯은 INTERACTIVE가 바로 사용
+        TranscriptionJob interactive = service.submit(Priority.INTERACTIVE,
+                task(started, "interactive", CompletableFuture.completedFuture(ok("대화"))));
+        awaitFinished(service, interactive.id());
+        assertThat(started).containsExactly("bulk-1", "interactive");
+
+        // 앞선 BULK 작업이 끝나야 다음 BULK 시작
+        firstBulk.complete(ok("하나"));
+        awaitStarted(started, 3);
+        assertThat(started.get(2)).isEqualTo("bulk-2");
+    }
+
+    @Test
+    void submit_WhenQueueFull_ShouldReject() {
+        TranscriptionJobService service = new TranscriptionJobService(1, 0, 1, Duration.ofMinutes(1), 100);
+        CompletableFuture<ResponseEntity<SpeechResponse>> never = new CompletableFuture<>();
+
+        service.submit(Priority.INTERACTIVE, () -> never);  // 실행 중
+        awaitRunning(service);
+        service.submit(Priority.INTERACTIVE, () -> never);  // 대기
+
+        assertThatThrownBy(() -> service.submit(Priority.INTERACTIVE, () -> never))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(service.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_ShouldReceiveEveryStatusInOrderAndKeepFailureStatusCode() throws Exception {
+        TranscriptionJobService service = new TranscriptionJobService(1, 0, 10, Duration.ofMinutes(1), 100);
+        CompletableFuture<ResponseEntity<SpeechResponse>> result = new CompletableFuture<>();
+        TranscriptionJob job = service.submit(Priority.INTERACTIVE, () -> result);
+        List<Status> received = new CopyOnWriteArrayList<>();
+        service.subscribe(job.id(), snapshot -> received.add(snapshot.status()));
+
+        awaitRunning(service);
+        result.complete(ResponseEntity.status(429).body(SpeechResponse.failure("요청이 많아 잠시 후 다시 시도")));
+        TranscriptionJob finished = awaitFinished(service, job.id());
+        awaitReceived(received, Status.FAILED);
+
+        // 구독 시점 상태(QUEUED 또는 RUNNING)부터 완료까지 순서대로 전달
+        assertThat(received.get(received.size() - 1)).isEqualTo(Status.FAILED);
+        assertThat(received).isSubsetOf(Status.QUEUED, Status.RUNNING, Status.FAILED).doesNotHaveDuplicates();
+        assertThat(finished.httpStatus()).isEqualTo(429);
+        assertThat(finished.result().message()).isEqualTo("요청이 많아 잠시 후 다시 시도");
+        assertThat(service.stats().running()).isZero();
+    }
+
+    @Test
+    void submit_WhenTaskIsOverloaded_ShouldRequeueAndRetryInsteadOfFailing() throws Exception {
+        TranscriptionJobService service = new TranscriptionJobService(1, 0, 10, Duration.ofMinutes(1), 100);
+        AtomicInteger attempts = new AtomicInteger();
+        TranscriptionJob job = service.submit(Priority.INTERACTIVE, () -> attempts.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(new OverloadException("동시 호출 한도 초과", Duration.ofMillis(20)))
+                : CompletableFuture.completedFuture(ok("재시도")));
+
+        TranscriptionJob finished = awaitFinished(service, job.id());
+
+        // 첫 시도는 로컬 한도로 거절 → 429로 끝내지 않고 다시 대기했다가 성공
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(finished.status()).isEqualTo(Status.SUCCEEDED);
+        assertThat(finished.result().transcript()).isEqualTo("재시도");
+        assertThat(service.stats().requeued()).isEqualTo(1);
+        assertThat(service.stats().running()).isZero();
+    }
+
+    @Test
+    void subscribe_WhenListenerBlocks_ShouldNotHoldUpJobAndStillDeliverInOrder() throws Exception {
+        TranscriptionJobService service = new TranscriptionJobService(1, 0, 10, Duration.ofMinutes(1), 100);
+        CompletableFuture<ResponseEntity<SpeechResponse>> result = new CompletableFuture<>();
+        TranscriptionJob job = service.submit(Priority.INTERACTIVE, () -> result);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Status> received = new CopyOnWriteArrayList<>();
+        service.subscribe(job.id(), snapshot -> {
+            // 느린 SSE 클라이언트: 첫 전달에서 멈춤
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(snapshot.status());
+        });
+
+        awaitRunning(service);
+        result.complete(ok("완료"));
+
+        // 구독자가 멈춰 있어도 작업 완료와 상태 조회는 막히지 않음
+        assertThat(awaitFinished(service, job.id()).status()).isEqualTo(Status.SUCCEEDED);
+        assertThat(received).isEmpty();
+
+        release.countDown();
+        awaitReceived(received, Status.SUCCEEDED);
+        assertThat(received).isSubsetOf(Status.QUEUED, Status.RUNNING, Status.SUCCEEDED).doesNotHaveDuplicates();
+    }
+
+    private static Supplier<CompletableFuture<ResponseEntity<SpeechResponse>>> task(
+            List<String> started, String name, CompletableFuture<ResponseEntity<SpeechResponse>> result) {
+        return () -> {
+            started.add(name);
+            return result;
+        };
+    }
+
+    private static ResponseEntity<SpeechResponse> ok(String transcript) {
+        return ResponseEntity.ok(new SpeechResponse(true, "음성 변환 성공!", transcript, List.of(), null));
+    }
+
+    private static void awaitStarted(List<String> started, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (started.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(started).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private static void awaitReceived(List<Status> received, Status last) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((received.isEmpty() || received.get(received.size() - 1) != last) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(received).endsWith(last);
+    }
+
+    private static void awaitRunning(TranscriptionJobService service) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.stats().running() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static TranscriptionJob awaitFinished(TranscriptionJobService service, String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        TranscriptionJob job = service.find(id).orElseThrow();
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = service.find(id).orElseThrow();
+        }
+        assertThat(job.isFinished()).isTrue();
+        return job;
+    }
+}
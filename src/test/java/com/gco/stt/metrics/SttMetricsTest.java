@@ -0,0 +1,71 @@
+package com.gco.stt.metrics;
+
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.cloud.speech.v2.RecognizerName;
+import com.google.cloud.speech.v2.SpeechClient;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SttMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SttMetrics metrics = new SttMetrics(registry);
+
+    @Test
+    void record_ShouldTagOutcomeByResult() {
+        metrics.record("speech", "ingest", () -> "ok");
+        NotFoundException notFound = new NotFoundException(
+                new RuntimeException("missing"), GrpcStatusCode.of(Status.Code.NOT_FOUND), false);
+        assertThatThrownBy(() -> metrics.record("speech", "resolve_recognizer", () -> {
+            throw notFound;
+        })).isSameAs(notFound);
+
+        assertThat(registry.get("stt.stage").tags("stage", "ingest", "outcome", "OK").timer().count()).isEqualTo(1);
+        assertThat(registry.get("stt.stage").tags("stage", "resolve_recognizer", "outcome", "NOT_FOUND").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void recordAsync_ShouldRecordWhenFutureCompletes() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        metrics.recordAsync("recognizer", "recognize", () -> pending);
+        metrics.recordAsync("recognizer", "recognize",
+                () -> CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        // 완료 전에는 기록되지 않음
+        assertThat(registry.find("stt.stage").tags("outcome", "OK").timer()).isNull();
+        pending.complete("done");
+
+        assertThat(registry.get("stt.stage").tags("endpoint", "recognizer", "outcome", "OK").timer().count()).isEqualTo(1);
+        assertThat(registry.get("stt.stage").tags("endpoint", "recognizer", "outcome", "REJECTED").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void recordUploadSize_ShouldRecordDistribution() {
+        metrics.recordUploadSize("speech", 1000);
+        metrics.recordUploadSize("speech", 3000);
+
+        assertThat(registry.get("stt.upload.size").summary().totalAmount()).isEqualTo(4000);
+    }
+
+    @Test
+    void grpcInterceptor_ShouldRecordCallsByMethodAndStatus() throws Exception {
+        try (FakeSpeechServer server = FakeSpeechServer.start();
+             SpeechClient client = server.newClient(new GrpcClientMetricsInterceptor(metrics))) {
+            client.getRecognizer(RecognizerName.of("test", "global", "permanent-recognizer"));
+        }
+
+        assertThat(registry.get("stt.grpc.client.calls").tags("method", "GetRecognizer", "status", "OK").timer().count())
+                .isEqualTo(1);
+    }
+}
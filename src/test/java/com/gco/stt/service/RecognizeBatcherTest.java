@@ -0,0 +1,182 @@
+package com.gco.stt.service;
+
+import com.gco.stt.cache.TranscriptCache;
+import com.google.cloud.speech.v2.*;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecognizeBatcherTest {
+
+    private static final int BYTES_PER_SECOND = 16000 * 2;  // 16 kHz 모노 LINEAR16
+
+    private final AsyncRecognizer asyncRecognizer = mock(AsyncRecognizer.class);
+
+    @Test
+    void recognize_WhenClipsArriveTogether_ShouldSendOneCallAndSplitByWordOffsets() throws Exception {
+        // 0.5초 음성 두 개 → [음성1 0~0.5s][무음 1s][음성2 1.5~2.0s]
+        RecognizeResponse batchResponse = RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .setLanguageCode("ko-kr")
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder()
+                                .setTranscript("안녕 하세요")
+                                .setConfidence(0.9f)
+                                .addWords(word("안녕", 100, 400))
+                                .addWords(word("하세요", 1600, 1900))))
+                .build();
+        when(asyncRecognizer.recognizeUncached(any())).thenReturn(CompletableFuture.completedFuture(batchResponse));
+        RecognizeBatcher batcher = batcher(true, Duration.ofSeconds(1));
+
+        CompletableFuture<RecognizeResponse> first = batcher.recognize(request(0.5));
+        CompletableFuture<RecognizeResponse> second = batcher.recognize(request(0.5));
+
+        // 두 번째 음성으로 묶음이 가득 차서 바로 전송 (max-delay를 기다리지 않음)
+        assertThat(transcript(first.get(1, TimeUnit.SECONDS))).isEqualTo("안녕");
+        assertThat(transcript(second.get(1, TimeUnit.SECONDS))).isEqualTo("하세요");
+        // 단어 시각은 각 음성 기준, 요청하지 않았으므로 단어 목록은 제거
+        SpeechRecognitionResult secondResult = second.get().getResults(0);
+        assertThat(secondResult.getResultEndOffset().getNanos()).isEqualTo(400_000_000);
+        assertThat(secondResult.getAlternatives(0).getWordsCount()).isZero();
+        assertThat(secondResult.getLanguageCode()).isEqualTo("ko-kr");
+        // 결과 전체의 신뢰도는 다른 음성의 단어까지 반영된 값이므로 복사하지 않음 (단어 신뢰도 없음 → 미제공)
+        assertThat(secondResult.getAlternatives(0).getConfidence()).isZero();
+
+        ArgumentCaptor<RecognizeRequest> sent = ArgumentCaptor.forClass(RecognizeRequest.class);
+        verify(asyncRecognizer, times(1)).recognizeUncached(sent.capture());
+        assertThat(sent.getValue().getContent().size()).isEqualTo(2 * BYTES_PER_SECOND);
+        assertThat(sent.getValue().getConfig().getFeatures().getEnableWordTimeOffsets()).isTrue();
+        assertThat(batcher.stats().batchedClips()).isEqualTo(2);
+    }
+
+    @Test
+    void recognize_WhenSplittingResult_ShouldKeepOriginalTranscriptTextAndUseWordConfidence() throws Exception {
+        // 결과 하나가 두 음성에 걸침 (구두점은 transcript에만 있음) + 두 번째 음성만 포함하는 결과
+        RecognizeResponse batchResponse = RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder()
+                                .setTranscript("Hello, world. Good")
+                                .setConfidence(0.9f)
+                                .addWords(word("Hello", 100, 200).toBuilder().setConfidence(0.8f))
+                                .addWords(word("world", 250, 400).toBuilder().setConfidence(0.6f))
+                                .addWords(word("Good", 1600, 1700).toBuilder().setConfidence(0.5f))))
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder()
+                                .setTranscript("morning!")
+                                .setConfidence(0.7f)
+                                .addWords(word("morning", 1750, 1900))))
+                .build();
+        when(asyncRecognizer.recognizeUncached(any())).thenReturn(CompletableFuture.completedFuture(batchResponse));
+        RecognizeBatcher batcher = batcher(true, Duration.ofSeconds(1));
+
+        CompletableFuture<RecognizeResponse> first = batcher.recognize(request(0.5));
+        CompletableFuture<RecognizeResponse> second = batcher.recognize(request(0.5));
+
+        // 원본 transcript를 음성 경계에서 잘라 구두점/대소문자 유지
+        SpeechRecognitionAlternative firstAlternative = first.get(1, TimeUnit.SECONDS).getResults(0).getAlternatives(0);
+        assertThat(firstAlternative.getTranscript()).isEqualTo("Hello, world.");
+        assertThat(firstAlternative.getConfidence()).isCloseTo(0.7f, within(0.001f));
+        RecognizeResponse secondResponse = second.get(1, TimeUnit.SECONDS);
+        assertThat(secondResponse.getResults(0).getAlternatives(0).getTranscript()).isEqualTo("Good");
+        assertThat(secondResponse.getResults(0).getAlternatives(0).getConfidence()).isCloseTo(0.5f, within(0.001f));
+        // 음성 하나에만 속한 결과는 원본 텍스트/신뢰도 그대로
+        assertThat(secondResponse.getResults(1).getAlternatives(0).getTranscript()).isEqualTo("morning!");
+        assertThat(secondResponse.getResults(1).getAlternatives(0).getConfidence()).isEqualTo(0.7f);
+    }
+
+    @Test
+    void recognize_WhenOnlyOneClipWithinDelay_ShouldSendItUnchanged() throws Exception {
+        RecognizeResponse response = response("혼자");
+        when(asyncRecognizer.recognizeUncached(any())).thenReturn(CompletableFuture.completedFuture(response));
+        RecognizeBatcher batcher = batcher(true, Duration.ofMillis(10));
+        RecognizeRequest request = request(0.5);
+
+        assertThat(batcher.recognize(request).get(1, TimeUnit.SECONDS)).isEqualTo(response);
+        verify(asyncRecognizer).recognizeUncached(request);
+        assertThat(batcher.stats().batches()).isZero();
+    }
+
+    @Test
+    void recognize_WhenBatchCallFails_ShouldRetryEachClip() throws Exception {
+        // 이어붙인 요청(0.5s보다 긴 오디오)만 실패
+        when(asyncRecognizer.recognizeUncached(any())).thenAnswer(invocation -> {
+            RecognizeRequest request = invocation.getArgument(0);
+            return request.getContent().size() > BYTES_PER_SECOND
+                    ? CompletableFuture.failedFuture(new IllegalStateException("upstream 오류"))
+                    : CompletableFuture.completedFuture(response("개별"));
+        });
+        RecognizeBatcher batcher = batcher(true, Duration.ofSeconds(1));
+
+        CompletableFuture<RecognizeResponse> first = batcher.recognize(request(0.5));
+        CompletableFuture<RecognizeResponse> second = batcher.recognize(request(0.5));
+
+        assertThat(transcript(first.get(1, TimeUnit.SECONDS))).isEqualTo("개별");
+        assertThat(transcript(second.get(1, TimeUnit.SECONDS))).isEqualTo("개별");
+        verify(asyncRecognizer, times(3)).recognizeUncached(any());
+        assertThat(batcher.stats().fallbacks()).isEqualTo(2);
+    }
+
+    @Test
+    void recognize_WhenDisabledOrClipTooLong_ShouldDelegateToAsyncRecognizer() {
+        when(asyncRecognizer.recognize(any())).thenReturn(CompletableFuture.completedFuture(response("바로")));
+
+        batcher(false, Duration.ofMillis(10)).recognize(request(0.5));
+        batcher(true, Duration.ofMillis(10)).recognize(request(5));
+
+        verify(asyncRecognizer, times(2)).recognize(any());
+        verify(asyncRecognizer, never()).recognizeUncached(any());
+    }
+
+    private RecognizeBatcher batcher(boolean enabled, Duration maxDelay) {
+        return new RecognizeBatcher(asyncRecognizer, new TranscriptCache(false, DataSize.ofMegabytes(1), ""),
+                enabled, 2, maxDelay, Duration.ofSeconds(3), Duration.ofSeconds(1));
+    }
+
+    private static RecognizeRequest request(double seconds) {
+        return RecognizeRequest.newBuilder()
+                .setRecognizer("projects/test/locations/global/recognizers/_")
+                .setConfig(RecognitionConfig.newBuilder()
+                        .setExplicitDecodingConfig(ExplicitDecodingConfig.newBuilder()
+                                .setEncoding(ExplicitDecodingConfig.AudioEncoding.LINEAR16)
+                                .setSampleRateHertz(16000)
+                                .setAudioChannelCount(1))
+                        .addLanguageCodes("ko-KR"))
+                .setContent(ByteString.copyFrom(new byte[(int) (seconds * BYTES_PER_SECOND)]))
+                .build();
+    }
+
+    private static WordInfo word(String word, long startMillis, long endMillis) {
+        return WordInfo.newBuilder()
+                .setWord(word)
+                .setStartOffset(offset(startMillis))
+                .setEndOffset(offset(endMillis))
+                .build();
+    }
+
+    private static com.google.protobuf.Duration offset(long millis) {
+        return com.google.protobuf.Duration.newBuilder()
+                .setSeconds(millis / 1000)
+                .setNanos((int) (millis % 1000) * 1_000_000)
+                .build();
+    }
+
+    private static RecognizeResponse response(String transcript) {
+        return RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript(transcript)))
+                .build();
+    }
+
+    private static String transcript(RecognizeResponse response) {
+        return response.getResults(0).getAlternatives(0).getTranscript();
+    }
+}
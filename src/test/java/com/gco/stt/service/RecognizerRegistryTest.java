@@ -0,0 +1,114 @@
+package com.gco.stt.service;
+
+import com.gco.stt.service.RecognizerRegistry.RecognizerKey;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.longrunning.OperationFuture;
+import com.google.api.gax.rpc.NotFoundException;
+import com.google.cloud.speech.v2.*;
+import io.grpc.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class RecognizerRegistryTest {
+
+    private static final RecognizerKey KEY =
+            new RecognizerKey("test-project", "global", "permanent-recognizer", "ko-KR", "long");
+
+    private SpeechClient speechClient;
+    private RecognizerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        speechClient = mock(SpeechClient.class);
+        registry = new RecognizerRegistry(speechClient, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void resolve_WhenRecognizerExists_ShouldCallGetRecognizerOnlyOnce() {
+        when(speechClient.getRecognizer(any(RecognizerName.class))).thenReturn(Recognizer.getDefaultInstance());
+
+        RecognizerName first = registry.resolve(KEY);
+        RecognizerName second = registry.resolve(KEY);
+
+        assertThat(first).isEqualTo(KEY.recognizerName());
+        assertThat(second).isEqualTo(first);
+        verify(speechClient, times(1)).getRecognizer(any(RecognizerName.class));
+        verify(speechClient, never()).createRecognizerAsync(any(CreateRecognizerRequest.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resolve_WithConcurrentFirstRequests_ShouldCreateRecognizerOnce() throws Exception {
+        when(speechClient.getRecognizer(any(RecognizerName.class))).thenThrow(notFound());
+
+        // 생성이 끝나기 전에 다른 요청들이 모두 도착하도록 생성 완료를 지연
+        CountDownLatch release = new CountDownLatch(1);
+        OperationFuture<Recognizer, OperationMetadata> operation = mock(OperationFuture.class);
+        when(operation.get(anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Recognizer.getDefaultInstance();
+        });
+        when(speechClient.createRecognizerAsync(any(CreateRecognizerRequest.class))).thenReturn(operation);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<RecognizerName>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> registry.resolve(KEY)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<RecognizerName> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(KEY.recognizerName());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(speechClient, times(1)).getRecognizer(any(RecognizerName.class));
+        verify(speechClient, times(1)).createRecognizerAsync(any(CreateRecognizerRequest.class));
+    }
+
+    @Test
+    void resolve_AfterInvalidate_ShouldResolveAgain() {
+        when(speechClient.getRecognizer(any(RecognizerName.class))).thenReturn(Recognizer.getDefaultInstance());
+
+        registry.resolve(KEY);
+        registry.invalidate(KEY);
+        registry.resolve(KEY);
+
+        verify(speechClient, times(2)).getRecognizer(any(RecognizerName.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resolve_WhenCreationFails_ShouldNotCacheFailure() throws Exception {
+        when(speechClient.getRecognizer(any(RecognizerName.class))).thenThrow(notFound());
+        OperationFuture<Recognizer, OperationMetadata> operation = mock(OperationFuture.class);
+        when(operation.get(anyLong(), any(TimeUnit.class)))
+                .thenThrow(new ExecutionException(new IllegalStateException("quota")))
+                .thenReturn(Recognizer.getDefaultInstance());
+        when(speechClient.createRecognizerAsync(any(CreateRecognizerRequest.class))).thenReturn(operation);
+
+        assertThatThrownBy(() -> registry.resolve(KEY)).hasMessage("Recognizer 생성 실패");
+        assertThat(registry.resolve(KEY)).isEqualTo(KEY.recognizerName());
+
+        verify(speechClient, times(2)).createRecognizerAsync(any(CreateRecognizerRequest.class));
+    }
+
+    private static NotFoundException notFound() {
+        return new NotFoundException(new RuntimeException("not found"), GrpcStatusCode.of(Status.Code.NOT_FOUND), false);
+    }
+}
@@ -0,0 +1,311 @@
+package com.gco.stt.service;
+
+import com.gco.stt.admission.AdaptiveConcurrencyLimiter;
+import com.gco.stt.cache.TranscriptCache;
+import com.gco.stt.config.SpeechClientFactory;
+import com.gco.stt.support.FakeSpeechServer;
+import com.google.cloud.speech.v2.AdaptationPhraseSet;
+import com.google.cloud.speech.v2.PhraseSet;
+import com.google.cloud.speech.v2.RecognitionConfig;
+import com.google.cloud.speech.v2.RecognizeRequest;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.RecognizerName;
+import com.google.cloud.speech.v2.SpeechAdaptation;
+import com.google.cloud.speech.v2.SpeechClient;
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RegionRouterTest {
+
+    private static final String PRIMARY = "asia-northeast3";
+    private static final String SECONDARY = "us-central1";
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Collections.reverse(resources);
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void recognize_WhenPrimaryIsSlow_ShouldHedgeToSecondRegion() throws Exception {
+        FakeSpeechServer primary = server(Duration.ofSeconds(2));
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        RegionRouter router = router(true, primary, secondary);
+
+        // hedging 지연(100ms) 뒤 두 번째 리전 응답을 사용하므로 첫 리전의 2초를 기다리지 않음
+        recognizer(router).recognize(request(PRIMARY, "_", 1)).get(1, TimeUnit.SECONDS);
+
+        assertThat(router.stats().hedges()).isEqualTo(1);
+        assertThat(secondary.recognizeCount()).isEqualTo(1);
+        assertThat(secondary.lastRecognizer()).isEqualTo(RecognizerName.of("test", SECONDARY, "_").toString());
+    }
+
+    @Test
+    void recognize_AfterHedge_ShouldRouteToFasterRegion() throws Exception {
+        FakeSpeechServer primary = server(Duration.ofMillis(300));
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        RegionRouter router = router(true, primary, secondary);
+        AsyncRecognizer recognizer = recognizer(router);
+
+        recognizer.recognize(request(PRIMARY, "_", 0)).get(5, TimeUnit.SECONDS);
+        assertThat(router.rankedLocations().get(0)).isEqualTo(SECONDARY);
+
+        // 응답 시간 EWMA가 낮은 리전으로 바로 요청
+        for (int i = 1; i <= 5; i++) {
+            recognizer.recognize(request(PRIMARY, "_", i)).get(5, TimeUnit.SECONDS);
+        }
+        assertThat(primary.recognizeCount()).isEqualTo(1);
+        assertThat(secondary.recognizeCount()).isEqualTo(6);
+    }
+
+    @Test
+    void recognize_WhenHedging_ShouldShareOnePermitAcrossRegions() throws Exception {
+        FakeSpeechServer primary = server(Duration.ofSeconds(2));
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        RegionRouter router = router(true, primary, secondary);
+        // 동시 요청 한도 1: hedging 요청이 허가를 따로 받으면 거절되어 첫 리전의 2초를 기다리게 됨
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.9, 3.0);
+
+        recognizer(router, limiter).recognize(request(PRIMARY, "_", 1)).get(1, TimeUnit.SECONDS);
+
+        assertThat(router.stats().hedges()).isEqualTo(1);
+        assertThat(secondary.recognizeCount()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.stats().rejected()).isZero();
+    }
+
+    @Test
+    void recognize_WhenHedgedAttemptIsCancelled_ShouldNotRecordItAsResponseSample() throws Exception {
+        FakeSpeechServer primary = server(Duration.ofSeconds(2));
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        RegionRouter router = router(true, primary, secondary);
+
+        recognizer(router).recognize(request(PRIMARY, "_", 1)).get(1, TimeUnit.SECONDS);
+
+        // 취소된 첫 리전 시도는 오류율/응답 시간 표본에 들어가지 않음 (응답이 없었던 리전 그대로)
+        RegionRouter.RegionStatus primaryStatus = router.status().get(0);
+        assertThat(primaryStatus.location()).isEqualTo(PRIMARY);
+        assertThat(primaryStatus.latencyMillis()).isNull();
+        assertThat(primaryStatus.errorRate()).isZero();
+        assertThat(router.rankedLocations().get(0)).isEqualTo(SECONDARY);
+    }
+
+    @Test
+    void recognize_WhenOnlyCallerCancels_ShouldCancelUpstreamRpc() throws Exception {
+        FakeSpeechServer primary = server(Duration.ofSeconds(2));
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        RegionRouter router = router(false, primary, secondary);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 1000, 0.9, 3.0);
+        AsyncRecognizer recognizer = recognizer(router, limiter, new TranscriptCache(true, DataSize.ofMegabytes(1), ""));
+
+        CompletableFuture<RecognizeResponse> response = recognizer.recognize(request(PRIMARY, "_", 1));
+        awaitCondition(() -> primary.recognizeCount() == 1);
+        response.cancel(true);
+
+        // 호출자 전용 future의 취소가 리전 시도와 gRPC 호출까지 전달됨
+        awaitCondition(() -> primary.cancelledRecognizes() == 1);
+        awaitCondition(() -> limiter.inFlight() == 0);
+        assertThat(secondary.recognizeCount()).isZero();
+    }
+
+    @Test
+    void recognize_WhenOneOfSharedCallersCancels_ShouldKeepUpstreamRpcForOthers() throws Exception {
+        FakeSpeechServer primary = server(Duration.ofMillis(500));
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        RegionRouter router = router(false, primary, secondary);
+        AsyncRecognizer recognizer = recognizer(router, new AdaptiveConcurrencyLimiter(100, 10, 1000, 0.9, 3.0),
+                new TranscriptCache(true, DataSize.ofMegabytes(1), ""));
+
+        // 같은 요청 두 개 → upstream 호출 하나 공유, 첫 호출자만 취소 (예: 시간 초과 후 클라이언트 재시도)
+        CompletableFuture<RecognizeResponse> first = recognizer.recognize(request(PRIMARY, "_", 1));
+        CompletableFuture<RecognizeResponse> retry = recognizer.recognize(request(PRIMARY, "_", 1));
+        first.cancel(true);
+
+        assertThat(retry.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(primary.recognizeCount()).isEqualTo(1);
+        assertThat(primary.cancelledRecognizes()).isZero();
+        // 완료된 결과는 캐시에 남아 다음 요청에서 재사용
+        recognizer.recognize(request(PRIMARY, "_", 1)).get(1, TimeUnit.SECONDS);
+        assertThat(primary.recognizeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void recognize_WhenPrimaryIsThrottled_ShouldFailOverWithRegionalRecognizer() throws Exception {
+        FakeSpeechServer primary = server(Duration.ZERO);
+        primary.setRecognizeError(Status.RESOURCE_EXHAUSTED);
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        RegionRouter router = router(false, primary, secondary);
+
+        recognizer(router).recognize(request(PRIMARY, RecognizerRegistry.DEFAULT_RECOGNIZER_ID, 0))
+                .get(5, TimeUnit.SECONDS);
+
+        // 영구 recognizer는 두 번째 리전에서 확인한 같은 ID의 recognizer 사용
+        assertThat(router.stats().failovers()).isEqualTo(1);
+        assertThat(secondary.lastRecognizer())
+                .isEqualTo(RecognizerName.of("test", SECONDARY, RecognizerRegistry.DEFAULT_RECOGNIZER_ID).toString());
+        assertThat(router.rankedLocations().get(0)).isEqualTo(SECONDARY);
+    }
+
+    @Test
+    void recognize_WhenFailingOverWithAdaptation_ShouldReferenceSecondRegionResources() throws Exception {
+        FakeSpeechServer primary = server(Duration.ZERO);
+        primary.setRecognizeError(Status.UNAVAILABLE);
+        FakeSpeechServer secondary = server(Duration.ZERO);
+        AtomicReference<RecognizeRequest> received = new AtomicReference<>();
+        secondary.setRecognizeHandler(request -> {
+            received.set(request);
+            return RecognizeResponse.getDefaultInstance();
+        });
+        RegionRouter router = router(false, primary, secondary);
+
+        // 기본 리전의 영구 PhraseSet + 영구 CustomClass를 참조하는 인라인 구문
+        String primaryPrefix = "projects/test/locations/" + PRIMARY + "/";
+        SpeechAdaptation adaptation = SpeechAdaptation.newBuilder()
+                .addPhraseSets(AdaptationPhraseSet.newBuilder().setPhraseSet(primaryPrefix + "phraseSets/products"))
+                .addPhraseSets(AdaptationPhraseSet.newBuilder().setInlinePhraseSet(PhraseSet.newBuilder()
+                        .addPhrases(PhraseSet.Phrase.newBuilder().setValue("모델 ${" + primaryPrefix + "customClasses/codes}"))))
+                .build();
+        RecognizeRequest request = request(PRIMARY, RecognizerRegistry.DEFAULT_RECOGNIZER_ID, 0).toBuilder()
+                .setConfig(RecognitionConfig.newBuilder().setAdaptation(adaptation))
+                .build();
+
+        recognizer(router).recognize(request).get(5, TimeUnit.SECONDS);
+
+        // 장애 조치 리전에는 그 리전에 동기화된 리소스를 참조하는 요청이 전달됨
+        String secondaryPrefix = "projects/test/locations/" + SECONDARY + "/";
+        SpeechAdaptation sent = received.get().getConfig().getAdaptation();
+        assertThat(sent.getPhraseSets(0).getPhraseSet()).isEqualTo(secondaryPrefix + "phraseSets/products");
+        assertThat(sent.getPhraseSets(1).getInlinePhraseSet().getPhrases(0).getValue())
+                .isEqualTo("모델 ${" + secondaryPrefix + "customClasses/codes}");
+        assertThat(router.stats().failovers()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void client_ShouldCreateEachRegionClientOnceOnFirstUse() throws Exception {
+        SpeechClient primaryClient = mock(SpeechClient.class);
+        SpeechClient secondaryClient = mock(SpeechClient.class);
+        AtomicInteger primaryCreations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ObjectFactory<SpeechClient> primary = () -> {
+            primaryCreations.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);  // 생성이 느린 동안 다른 스레드도 같은 리전을 요청
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return primaryClient;
+        };
+        SpeechClientFactory factory = mock(SpeechClientFactory.class);
+        when(factory.create(SECONDARY)).thenReturn(secondaryClient);
+        ObjectProvider<SpeechClientFactory> factoryProvider = mock(ObjectProvider.class);
+        when(factoryProvider.getObject()).thenReturn(factory);
+
+        RegionRouter router = new RegionRouter(primary, factoryProvider, PRIMARY, List.of(SECONDARY), 0.2, false,
+                Duration.ofMillis(100), Duration.ofMillis(10), Duration.ofHours(1));
+
+        // 생성 시점에는 어떤 클라이언트도 만들지 않음
+        assertThat(router.locations()).containsExactly(PRIMARY, SECONDARY);
+        assertThat(primaryCreations).hasValue(0);
+        verifyNoInteractions(factoryProvider);
+
+        // 동시에 처음 요청해도 한 번만 생성하고 모두 같은 클라이언트 사용
+        List<CompletableFuture<SpeechClient>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> router.client(PRIMARY)));
+        }
+        release.countDown();
+        for (CompletableFuture<SpeechClient> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(primaryClient);
+        }
+        assertThat(primaryCreations).hasValue(1);
+
+        // 사용하지 않은 장애 조치 리전은 종료할 것도 없음
+        router.close();
+        verify(factory, never()).create(anyString());
+
+        assertThat(router.client(SECONDARY)).isSameAs(secondaryClient);
+        assertThat(router.client(SECONDARY)).isSameAs(secondaryClient);
+        verify(factory, times(1)).create(SECONDARY);
+        router.close();
+        verify(secondaryClient).close();
+        verify(primaryClient, never()).close();  // 기본 리전 클라이언트는 Spring 빈으로 종료
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("조건 대기 시간 초과").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private FakeSpeechServer server(Duration recognizeDelay) throws IOException {
+        FakeSpeechServer server = FakeSpeechServer.start();
+        server.setRecognizeDelay(recognizeDelay);
+        resources.add(server);
+        return server;
+    }
+
+    private RegionRouter router(boolean hedging, FakeSpeechServer primary, FakeSpeechServer secondary) throws IOException {
+        LinkedHashMap<String, SpeechClient> clients = new LinkedHashMap<>();
+        clients.put(PRIMARY, client(primary));
+        clients.put(SECONDARY, client(secondary));
+        return new RegionRouter(clients, 0.2, hedging,
+                Duration.ofMillis(100), Duration.ofMillis(10), Duration.ofHours(1));
+    }
+
+    private SpeechClient client(FakeSpeechServer server) throws IOException {
+        SpeechClient client = server.newClient();
+        resources.add(client);
+        // 연결 수립 시간이 첫 요청의 응답 시간에 섞이지 않도록 미리 연결
+        client.getRecognizer(RecognizerName.of("test", "global", "warmup"));
+        return client;
+    }
+
+    private AsyncRecognizer recognizer(RegionRouter router) throws IOException {
+        return recognizer(router, new AdaptiveConcurrencyLimiter(100, 10, 1000, 0.9, 3.0));
+    }
+
+    private AsyncRecognizer recognizer(RegionRouter router, AdaptiveConcurrencyLimiter limiter) throws IOException {
+        return recognizer(router, limiter, new TranscriptCache(false, DataSize.ofMegabytes(1), ""));
+    }
+
+    private AsyncRecognizer recognizer(RegionRouter router, AdaptiveConcurrencyLimiter limiter, TranscriptCache cache) {
+        return new AsyncRecognizer(router, new RecognizerRegistry(router, Duration.ofSeconds(10)), cache,
+                limiter, Duration.ofSeconds(10));
+    }
+
+    private static RecognizeRequest request(String location, String recognizerId, int seed) {
+        return RecognizeRequest.newBuilder()
+                .setRecognizer(RecognizerName.of("test", location, recognizerId).toString())
+                .setContent(ByteString.copyFromUtf8("audio-" + seed))
+                .build();
+    }
+}
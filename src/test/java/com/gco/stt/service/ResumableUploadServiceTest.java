@@ -0,0 +1,307 @@
+package com.gco.stt.service;
+
+import com.gco.stt.admission.OverloadException;
+import com.gco.stt.audio.AudioIngestor;
+import com.gco.stt.service.LongAudioTranscriber.SegmentTranscript;
+import com.gco.stt.service.ResumableUploadService.OffsetMismatchException;
+import com.gco.stt.service.ResumableUploadService.UploadStatus;
+import com.google.cloud.speech.v2.RecognizeRequest;
+import com.google.cloud.speech.v2.RecognizeResponse;
+import com.google.cloud.speech.v2.SpeechRecognitionAlternative;
+import com.google.cloud.speech.v2.SpeechRecognitionResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ResumableUploadServiceTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int CHUNK_BYTES = SAMPLE_RATE * 2;  // 1초 분량
+
+    @TempDir
+    Path tempDir;
+
+    private final AsyncRecognizer asyncRecognizer = mock(AsyncRecognizer.class);
+
+    @Test
+    void append_WhenOffsetOverlapsOrSkipsAhead_ShouldResumeFromReceivedOffset() throws Exception {
+        ResumableUploadService service = service();
+        String id = service.create("client-1", null).uploadId();
+
+        service.append(id, 0, body(new byte[]{1, 2, 3, 4}));
+        // 응답을 받지 못해 같은 조각을 포함해 다시 보낸 경우: 겹치는 앞부분은 건너뜀
+        UploadStatus status = service.append(id, 2, body(new byte[]{3, 4, 5, 6}));
+        assertThat(status.offset()).isEqualTo(6);
+
+        // 중간이 빠진 offset은 거절하고 현재 위치 반환
+        assertThatThrownBy(() -> service.append(id, 10, body(new byte[]{7})))
+                .isInstanceOfSatisfying(OffsetMismatchException.class,
+                        e -> assertThat(e.getStatus().offset()).isEqualTo(6));
+        assertThat(service.status(id)).get().extracting(UploadStatus::offset).isEqualTo(6L);
+    }
+
+    @Test
+    void append_WhenConnectionDropsMidChunk_ShouldKeepBytesAlreadyWritten() throws Exception {
+        ResumableUploadService service = service();
+        String id = service.create("client-1", null).uploadId();
+
+        // 5바이트를 보낸 뒤 연결이 끊김
+        InputStream dropped = new SequenceInputStream(body(new byte[]{1, 2, 3, 4, 5}), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("연결 끊김");
+            }
+        });
+        assertThatThrownBy(() -> service.append(id, 0, dropped)).isInstanceOf(IOException.class);
+
+        // 받은 부분은 유지 → 그 위치부터 이어서 전송
+        assertThat(service.status(id)).get().extracting(UploadStatus::offset).isEqualTo(5L);
+        assertThat(service.append(id, 5, body(new byte[]{6, 7})).offset()).isEqualTo(7L);
+    }
+
+    @Test
+    void append_WhileChunkIsStreaming_ShouldNotBlockStatusAndRejectSecondWriter() throws Exception {
+        ResumableUploadService service = service();
+        String id = service.create("client-1", null).uploadId();
+        service.append(id, 0, body(new byte[]{1, 2}));
+
+        // 본문이 천천히 도착하는 조각
+        CountDownLatch arrived = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slow = new SequenceInputStream(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                arrived.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return -1;
+            }
+        }, body(new byte[]{3, 4}));
+        CompletableFuture<UploadStatus> streaming = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.append(id, 2, slow);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 수신 중에도 상태 조회는 바로 응답 (확정된 offset), 같은 업로드의 다른 조각은 거절
+        assertThat(service.status(id)).get().extracting(UploadStatus::offset).isEqualTo(2L);
+        assertThatThrownBy(() -> service.append(id, 2, body(new byte[]{3})))
+                .isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        assertThat(streaming.get(5, TimeUnit.SECONDS).offset()).isEqualTo(4L);
+    }
+
+    @Test
+    void append_WhenWavSegmentsConfirmed_ShouldRecognizeBeforeFinish() throws Exception {
+        when(asyncRecognizer.recognize(any())).thenReturn(CompletableFuture.completedFuture(response("구간")));
+        ResumableUploadService service = service();
+        String id = service.create("client-1", null).uploadId();
+
+        // 음성 12초 + 무음 1초 + 음성 12초 + 무음 1초 + 음성 12초 = 38초를 1초씩 업로드
+        byte[] wav = wav(concat(tone(12_000), silence(1_000), tone(12_000), silence(1_000), tone(12_000)));
+        UploadStatus status = null;
+        for (int offset = 0; offset < wav.length; offset += CHUNK_BYTES) {
+            byte[] chunk = Arrays.copyOfRange(wav, offset, Math.min(wav.length, offset + CHUNK_BYTES));
+            status = service.append(id, offset, body(chunk));
+        }
+
+        // 완료 요청 전에 앞 구간의 인식이 시작되어야 함
+        assertThat(status.segmentsSubmitted()).isGreaterThanOrEqualTo(1);
+        verify(asyncRecognizer, atLeastOnce()).recognize(any());
+
+        List<SegmentTranscript> segments = service.finish(id).get(5, TimeUnit.SECONDS);
+        assertThat(segments).hasSize(3);
+        assertThat(segments.get(2).endMillis()).isEqualTo(38_000L);
+        verify(asyncRecognizer, times(3)).recognize(any());
+        // 완료 요청은 반복해도 같은 결과, 이후 조각 추가는 거절
+        assertThat(service.finish(id).get(5, TimeUnit.SECONDS)).isEqualTo(segments);
+        assertThatThrownBy(() -> service.append(id, wav.length, body(new byte[]{0})))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void status_WhenServiceRestarted_ShouldResumeFromSpooledFile() throws Exception {
+        String id = service().create("client-1", null).uploadId();
+        ResumableUploadService before = service();
+        before.append(id, 0, body(new byte[100]));
+
+        // 재시작: 새 인스턴스가 스풀 파일 크기부터 이어서 받음
+        ResumableUploadService after = service();
+        assertThat(after.status(id)).get().extracting(UploadStatus::offset).isEqualTo(100L);
+        assertThat(after.append(id, 100, body(new byte[50])).offset()).isEqualTo(150L);
+        assertThat(after.status("../../etc/passwd")).isEmpty();
+    }
+
+    @Test
+    void create_WhenOpenUploadLimitsReached_ShouldRejectPerClientThenGlobally() {
+        ResumableUploadService service = service(new MockEnvironment(), 3, 2, Duration.ofSeconds(5));
+
+        service.create("a", null);
+        String first = service.create("a", null).uploadId();
+        // 클라이언트별 한도 초과: 429용 예외
+        assertThatThrownBy(() -> service.create("a", null)).isInstanceOf(OverloadException.class);
+
+        // 다른 클라이언트는 전체 한도까지 허용, 넘으면 503용 예외 (과부하 예외 아님)
+        service.create("b", null);
+        assertThatThrownBy(() -> service.create("c", null))
+                .isInstanceOf(RejectedExecutionException.class)
+                .isNotInstanceOf(OverloadException.class);
+
+        // 업로드를 끝내거나 취소하면 다시 시작 가능
+        service.abort(first);
+        assertThat(service.create("c", null).uploadId()).isNotBlank();
+    }
+
+    @Test
+    void create_WithProfile_ShouldRecognizeWithItEvenAfterRestart() throws Exception {
+        when(asyncRecognizer.recognize(any())).thenReturn(CompletableFuture.completedFuture(response("hello")));
+        MockEnvironment environment = new MockEnvironment().withProperty("stt.profiles.en.language", "en-US");
+        assertThatThrownBy(() -> service(environment, 10, 10, Duration.ofSeconds(5)).create("client-1", "unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        String id = service(environment, 10, 10, Duration.ofSeconds(5)).create("client-1", "en").uploadId();
+        // 재시작: 복구한 업로드도 시작할 때 지정한 프로필 사용
+        ResumableUploadService restarted = service(environment, 10, 10, Duration.ofSeconds(5));
+        restarted.append(id, 0, body(wav(tone(1_000))));
+        restarted.finish(id).get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<RecognizeRequest> request = ArgumentCaptor.forClass(RecognizeRequest.class);
+        verify(asyncRecognizer, atLeastOnce()).recognize(request.capture());
+        assertThat(request.getValue().getConfig().getLanguageCodesList()).containsExactly("en-US");
+    }
+
+    @Test
+    void finish_WhileChunkIsStreaming_ShouldStopWaitingAfterFinishWait() throws Exception {
+        ResumableUploadService service = service(new MockEnvironment(), 10, 10, Duration.ofMillis(200));
+        String id = service.create("client-1", null).uploadId();
+
+        // 끝나지 않는 조각
+        CountDownLatch arrived = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream stalled = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                arrived.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return -1;
+            }
+        };
+        CompletableFuture<UploadStatus> streaming = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.append(id, 0, stalled);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 완료 요청은 무한정 기다리지 않고 거절 (요청 스레드를 붙잡지 않음)
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> service.finish(id)).isInstanceOf(IllegalStateException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(3));
+
+        release.countDown();
+        streaming.get(5, TimeUnit.SECONDS);
+        assertThat(service.status(id)).get().extracting(UploadStatus::finalized).isEqualTo(false);
+    }
+
+    private ResumableUploadService service() {
+        return service(new MockEnvironment(), 100, 100, Duration.ofSeconds(5));
+    }
+
+    private ResumableUploadService service(MockEnvironment environment, int maxSessions, int maxSessionsPerClient,
+                                           Duration finishWait) {
+        LongAudioTranscriber transcriber = new LongAudioTranscriber(asyncRecognizer,
+                new TranscriptionProfiles(environment), "test", "global", 2,
+                Duration.ofSeconds(5), Duration.ofSeconds(20), DataSize.ofMegabytes(10));
+        return new ResumableUploadService(transcriber, new AudioIngestor(tempDir.toString(), DataSize.ofKilobytes(256)),
+                DataSize.ofMegabytes(10), DataSize.ofMegabytes(1), Duration.ofHours(1), maxSessions, maxSessionsPerClient,
+                finishWait);
+    }
+
+    private static ByteArrayInputStream body(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static RecognizeResponse response(String transcript) {
+        return RecognizeResponse.newBuilder()
+                .addResults(SpeechRecognitionResult.newBuilder()
+                        .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript(transcript)))
+                .build();
+    }
+
+    private static short[] tone(int millis) {
+        short[] samples = new short[SAMPLE_RATE * millis / 1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) (10_000 * Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE));
+        }
+        return samples;
+    }
+
+    private static short[] silence(int millis) {
+        return new short[SAMPLE_RATE * millis / 1000];
+    }
+
+    private static short[] concat(short[]... parts) {
+        int length = 0;
+        for (short[] part : parts) {
+            length += part.length;
+        }
+        short[] result = new short[length];
+        int offset = 0;
+        for (short[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    private static byte[] wav(short[] samples) {
+        int dataLength = samples.length * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes()).putInt(36 + dataLength).put("WAVE".getBytes());
+        buffer.put("fmt ".getBytes()).putInt(16)
+                .putShort((short) 1).putShort((short) 1)
+                .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16);
+        buffer.put("data".getBytes()).putInt(dataLength);
+        for (short sample : samples) {
+            buffer.putShort(sample);
+        }
+        return buffer.array();
+    }
+}
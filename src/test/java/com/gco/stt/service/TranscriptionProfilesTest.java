@@ -0,0 +1,37 @@
+package com.gco.stt.service;
+
+import com.gco.stt.service.TranscriptionProfiles.Profile;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptionProfilesTest {
+
+    @Test
+    void find_WhenNothingConfigured_ShouldReturnKoreanLongDefault() {
+        TranscriptionProfiles profiles = new TranscriptionProfiles(new MockEnvironment());
+
+        // 이름이 없으면 기본 프로필 (기존 ko-KR / long / permanent-recognizer)
+        assertThat(profiles.find(null)).contains(new Profile("default", "ko-KR", "long", false,
+                RecognizerRegistry.DEFAULT_RECOGNIZER_ID));
+        assertThat(profiles.find("en")).isEmpty();
+    }
+
+    @Test
+    void find_WhenProfilesConfigured_ShouldBindAndGiveEachItsOwnRecognizer() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("stt.profiles.default.punctuation", "true")
+                .withProperty("stt.profiles.en.language", "en-US")
+                .withProperty("stt.profiles.en.model", "short")
+                .withProperty("stt.profiles.meeting.recognizer-id", "meeting-recognizer");
+        TranscriptionProfiles profiles = new TranscriptionProfiles(environment);
+
+        assertThat(profiles.find("default")).get().extracting(Profile::punctuation).isEqualTo(true);
+        // 생략한 항목은 기본값, recognizer ID는 프로필마다 분리
+        assertThat(profiles.find("EN")).contains(new Profile("en", "en-US", "short", false,
+                RecognizerRegistry.DEFAULT_RECOGNIZER_ID + "-en"));
+        assertThat(profiles.find("meeting")).get().extracting(Profile::recognizerId).isEqualTo("meeting-recognizer");
+        assertThat(profiles.all()).hasSize(3);
+    }
+}
@@ -0,0 +1,343 @@
+package com.gco.stt.support;
+
+import com.gco.stt.config.SpeechTransportSettings;
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.grpc.GrpcTransportChannel;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
+import com.google.cloud.speech.v2.*;
+import com.google.longrunning.GetOperationRequest;
+import com.google.longrunning.Operation;
+import com.google.longrunning.OperationsGrpc;
+import com.google.protobuf.Any;
+import io.grpc.*;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 테스트용 로컬 Speech v2 gRPC 서버
+ *
+ * 실제 Google Cloud 대신 localhost의 임의 포트에서 동작하며,
+ * 실제 SpeechClient(gRPC 전송, long-running operation 처리 포함)를 그대로 연결해 사용할 수 있습니다.
+ *
+ * 지원하는 호출:
+ * - getRecognizer: 항상 존재하는 recognizer 반환
+ * - recognize: 설정된 고정 응답 또는 요청별 응답 함수의 결과 반환 (지연/오류 설정 가능, 호출 수와 최대 동시 처리 수 기록)
+ *   (클라이언트가 취소한 호출 수도 기록)
+ * - streamingRecognize: 오디오 요청마다 중간 결과("조각 N"), 요청 스트림이 닫히면 받은 크기를 담은 최종 결과 후 종료
+ *   (요청을 읽지 않도록 설정하면 gRPC 흐름 제어로 클라이언트 쪽 전송 가능 상태가 false가 됨)
+ * - batchRecognize: 파일별로 "전사 결과 {uri}"를 담은 완료된 operation 반환 (실패 URI 지정 가능)
+ * - Operations.getOperation: 이전에 반환한 operation 조회 (resumeFutureCall 용)
+ */
+public class FakeSpeechServer implements AutoCloseable {
+
+    private final Server server;
+    private final List<ManagedChannel> channels = new CopyOnWriteArrayList<>();
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final List<BatchRecognizeRequest> batchRequests = new CopyOnWriteArrayList<>();
+    private final Set<String> failingUris = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger runningBatches = new AtomicInteger();
+    private final AtomicInteger maxRunningBatches = new AtomicInteger();
+    private final AtomicInteger runningRecognizes = new AtomicInteger();
+    private final AtomicInteger maxRunningRecognizes = new AtomicInteger();
+    private final AtomicInteger recognizeCount = new AtomicInteger();
+    private final AtomicInteger cancelledRecognizes = new AtomicInteger();
+
+    private volatile Duration batchDelay = Duration.ZERO;
+    private volatile Duration recognizeDelay = Duration.ZERO;
+    private volatile RecognizeResponse recognizeResponse = RecognizeResponse.getDefaultInstance();
+    private volatile Function<RecognizeRequest, RecognizeResponse> recognizeHandler;  // null이면 고정 응답
+    private volatile Status recognizeError;  // null이면 정상 응답
+    private volatile String lastRecognizer;
+    private volatile boolean streamingPaused;  // true면 새 스트림의 요청을 읽지 않음
+
+    private FakeSpeechServer(int maxConcurrentCallsPerConnection) throws IOException {
+        this.server = NettyServerBuilder.forPort(0)
+                .maxConcurrentCallsPerConnection(maxConcurrentCallsPerConnection)
+                .addService(new SpeechService())
+                .addService(new OperationsService())
+                .build()
+                .start();
+    }
+
+    public static FakeSpeechServer start() throws IOException {
+        return new FakeSpeechServer(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 연결(채널) 하나당 동시 처리 스트림 수를 제한한 서버 시작
+     * (실제 서버의 HTTP/2 MAX_CONCURRENT_STREAMS 한도 재현, 채널 풀 크기별 처리량 비교용)
+     */
+    public static FakeSpeechServer start(int maxConcurrentCallsPerConnection) throws IOException {
+        return new FakeSpeechServer(maxConcurrentCallsPerConnection);
+    }
+
+    /**
+     * 이 서버에 연결된 SpeechClient 생성 (인증 없음, 채널은 서버가 소유)
+     * @param interceptors 채널에 등록할 클라이언트 인터셉터
+     */
+    public SpeechClient newClient(ClientInterceptor... interceptors) throws IOException {
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .intercept(interceptors)
+                .build();
+        channels.add(channel);
+        SpeechSettings settings = SpeechSettings.newBuilder()
+                .setTransportChannelProvider(FixedTransportChannelProvider.create(GrpcTransportChannel.create(channel)))
+                .setCredentialsProvider(NoCredentialsProvider.create())
+                .build();
+        return SpeechClient.create(settings);
+    }
+
+    /**
+     * 전송 설정(채널 풀, 재시도 등)을 적용한 SpeechClient 생성 (채널은 클라이언트가 소유)
+     */
+    public SpeechClient newClient(SpeechTransportSettings transportSettings) throws IOException {
+        SpeechSettings.Builder settings = SpeechSettings.newBuilder()
+                .setEndpoint("localhost:" + server.getPort())
+                .setCredentialsProvider(NoCredentialsProvider.create());
+        transportSettings.apply(settings,
+                SpeechSettings.defaultGrpcTransportProviderBuilder().setChannelConfigurator(ManagedChannelBuilder::usePlaintext),
+                List.of());
+        return SpeechClient.create(settings.build());
+    }
+
+    public int port() {
+        return server.getPort();
+    }
+
+    /** recognize 응답 전 지연 (동시 처리 수 확인용) */
+    public void setRecognizeDelay(Duration recognizeDelay) {
+        this.recognizeDelay = recognizeDelay;
+    }
+
+    /** recognize를 이 상태 코드로 실패시킴 (null이면 정상 응답) */
+    public void setRecognizeError(Status recognizeError) {
+        this.recognizeError = recognizeError;
+    }
+
+    public int maxRunningRecognizes() {
+        return maxRunningRecognizes.get();
+    }
+
+    public int recognizeCount() {
+        return recognizeCount.get();
+    }
+
+    /** 클라이언트가 응답 전에 취소한 recognize 호출 수 */
+    public int cancelledRecognizes() {
+        return cancelledRecognizes.get();
+    }
+
+    /** 마지막 recognize 요청의 recognizer 경로 */
+    public String lastRecognizer() {
+        return lastRecognizer;
+    }
+
+    /** batchRecognize 응답 전 지연 (동시 operation 수 확인용) */
+    public void setBatchDelay(Duration batchDelay) {
+        this.batchDelay = batchDelay;
+    }
+
+    /** 해당 URI는 파일별 오류로 응답 */
+    public void failUri(String uri) {
+        failingUris.add(uri);
+    }
+
+    public void setRecognizeResponse(RecognizeResponse recognizeResponse) {
+        this.recognizeResponse = recognizeResponse;
+    }
+
+    /** 요청 내용에 따라 응답 생성 (오디오 내용을 반영한 결과가 필요할 때, 고정 응답보다 우선) */
+    public void setRecognizeHandler(Function<RecognizeRequest, RecognizeResponse> recognizeHandler) {
+        this.recognizeHandler = recognizeHandler;
+    }
+
+    /** 이후 열리는 streamingRecognize 스트림의 요청을 읽지 않음 (업스트림 백프레셔 재현) */
+    public void setStreamingPaused(boolean streamingPaused) {
+        this.streamingPaused = streamingPaused;
+    }
+
+    public List<BatchRecognizeRequest> batchRequests() {
+        return List.copyOf(batchRequests);
+    }
+
+    public int maxRunningBatches() {
+        return maxRunningBatches.get();
+    }
+
+    /**
+     * 주어진 파일들에 대한 완료된 operation을 미리 등록 (재시작 복구 테스트용)
+     * @return operation 이름
+     */
+    public String completedOperation(List<String> uris) {
+        BatchRecognizeResponse.Builder response = BatchRecognizeResponse.newBuilder();
+        for (String uri : uris) {
+            response.putResults(uri, fileResult(uri));
+        }
+        String name = "projects/test/locations/global/operations/" + UUID.randomUUID();
+        operations.put(name, Operation.newBuilder()
+                .setName(name)
+                .setDone(true)
+                .setMetadata(Any.pack(OperationMetadata.getDefaultInstance()))
+                .setResponse(Any.pack(response.build()))
+                .build());
+        return name;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (ManagedChannel channel : channels) {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private BatchRecognizeFileResult fileResult(String uri) {
+        if (failingUris.contains(uri)) {
+            return BatchRecognizeFileResult.newBuilder()
+                    .setError(com.google.rpc.Status.newBuilder().setCode(Status.Code.NOT_FOUND.value()).setMessage("파일 없음: " + uri))
+                    .build();
+        }
+        SpeechRecognitionResult result = SpeechRecognitionResult.newBuilder()
+                .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript("전사 결과 " + uri))
+                .build();
+        return BatchRecognizeFileResult.newBuilder()
+                .setInlineResult(InlineResult.newBuilder()
+                        .setTranscript(BatchRecognizeResults.newBuilder().addResults(result)))
+                .build();
+    }
+
+    private final class SpeechService extends SpeechGrpc.SpeechImplBase {
+
+        @Override
+        public void getRecognizer(GetRecognizerRequest request, StreamObserver<Recognizer> responseObserver) {
+            responseObserver.onNext(Recognizer.newBuilder().setName(request.getName()).build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void recognize(RecognizeRequest request, StreamObserver<RecognizeResponse> responseObserver) {
+            recognizeCount.incrementAndGet();
+            lastRecognizer = request.getRecognizer();
+            int running = runningRecognizes.incrementAndGet();
+            maxRunningRecognizes.accumulateAndGet(running, Math::max);
+            // 클라이언트 취소는 호출 컨텍스트 취소로 바로 알 수 있음 (정상 종료 시에는 원인이 null)
+            Context.current().addListener(context -> {
+                if (context.cancellationCause() != null) {
+                    cancelledRecognizes.incrementAndGet();
+                }
+            }, Runnable::run);
+            try {
+                if (!recognizeDelay.isZero()) {
+                    Thread.sleep(recognizeDelay.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                runningRecognizes.decrementAndGet();
+            }
+            if (((ServerCallStreamObserver<RecognizeResponse>) responseObserver).isCancelled()) {
+                return;
+            }
+            Status error = recognizeError;
+            if (error != null) {
+                responseObserver.onError(error.asRuntimeException());
+                return;
+            }
+            Function<RecognizeRequest, RecognizeResponse> handler = recognizeHandler;
+            responseObserver.onNext(handler != null ? handler.apply(request) : recognizeResponse);
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public StreamObserver<StreamingRecognizeRequest> streamingRecognize(
+                StreamObserver<StreamingRecognizeResponse> responseObserver) {
+            if (streamingPaused) {
+                // 요청을 하나도 요청(request)하지 않으므로 흐름 제어 창이 차면 클라이언트가 더 보내지 못함
+                ((ServerCallStreamObserver<StreamingRecognizeResponse>) responseObserver).disableAutoRequest();
+            }
+            return new StreamObserver<>() {
+                private int chunks;
+                private long audioBytes;
+
+                @Override
+                public void onNext(StreamingRecognizeRequest request) {
+                    if (!request.hasAudio()) {
+                        return;  // 설정 요청
+                    }
+                    chunks++;
+                    audioBytes += request.getAudio().size();
+                    responseObserver.onNext(streamingResult("조각 " + chunks, false));
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    // 클라이언트 취소
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onNext(streamingResult(audioBytes + " bytes", true));
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+
+        private StreamingRecognizeResponse streamingResult(String transcript, boolean isFinal) {
+            return StreamingRecognizeResponse.newBuilder()
+                    .addResults(StreamingRecognitionResult.newBuilder()
+                            .addAlternatives(SpeechRecognitionAlternative.newBuilder().setTranscript(transcript))
+                            .setIsFinal(isFinal)
+                            .setStability(isFinal ? 0f : 0.5f))
+                    .build();
+        }
+
+        @Override
+        public void batchRecognize(BatchRecognizeRequest request, StreamObserver<Operation> responseObserver) {
+            batchRequests.add(request);
+            int running = runningBatches.incrementAndGet();
+            maxRunningBatches.accumulateAndGet(running, Math::max);
+            try {
+                Thread.sleep(batchDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // 응답 전에 감소시켜 클라이언트가 다음 요청을 보내는 시점과 겹치지 않게 함
+                runningBatches.decrementAndGet();
+            }
+            String name = completedOperation(request.getFilesList().stream()
+                    .map(BatchRecognizeFileMetadata::getUri)
+                    .toList());
+            responseObserver.onNext(operations.get(name));
+            responseObserver.onCompleted();
+        }
+    }
+
+    private final class OperationsService extends OperationsGrpc.OperationsImplBase {
+
+        @Override
+        public void getOperation(GetOperationRequest request, StreamObserver<Operation> responseObserver) {
+            Operation operation = operations.get(request.getName());
+            if (operation == null) {
+                responseObserver.onError(Status.NOT_FOUND.asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(operation);
+            responseObserver.onCompleted();
+        }
+    }
+}